@@ -0,0 +1,75 @@
+#!/bin/bash
+
+# Soak test: plays concurrent agent vs agent games with the stub model
+# Usage: ./soak-test.sh <games> [level] [model]
+# Example: ./soak-test.sh 200 one stub
+#
+# Both players of every game use the given model (default stub, see ai-agent-model-stub in
+# application.conf). The script only creates the games, the agent workflows play them from
+# the first player's opening move. Requires curl and jq.
+
+if [ $# -lt 1 ]; then
+    echo "Usage: $0 <games> [level] [model]"
+    echo "Example: $0 200 one stub"
+    exit 1
+fi
+
+GAMES="$1"
+LEVEL="${2:-one}"
+MODEL="${3:-stub}"
+PARALLEL="${PARALLEL:-32}"
+POLL_SECONDS="${POLL_SECONDS:-5}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-3600}"
+HOST="${AKKA_RUNTIME_HTTP_INTERFACE:-localhost:9000}"
+BASE_URL="http://$HOST"
+RUN_ID="soak-$(date +%Y%m%d%H%M%S)"
+
+start_game() {
+  local game_id="$RUN_ID-$1"
+  local player1="$RUN_ID-agent-$1-a"
+  local player2="$RUN_ID-agent-$1-b"
+
+  curl -s -X POST -H "Content-Type: application/json" \
+    -d "{\"gameId\":\"$game_id\",\"level\":\"$LEVEL\",
+         \"player1\":{\"id\":\"$player1\",\"type\":\"agent\",\"name\":\"Soak $1 A\",\"model\":\"$MODEL\"},
+         \"player2\":{\"id\":\"$player2\",\"type\":\"agent\",\"name\":\"Soak $1 B\",\"model\":\"$MODEL\"}}" \
+    "$BASE_URL/game/create-game" > /dev/null
+}
+export -f start_game
+export RUN_ID LEVEL MODEL BASE_URL
+
+echo "Run: $RUN_ID, games: $GAMES, level: $LEVEL, model: $MODEL"
+START=$(date +%s)
+seq 1 "$GAMES" | xargs -P "$PARALLEL" -I {} bash -c 'start_game {}'
+echo "Started $GAMES games in $(( $(date +%s) - START ))s"
+
+while true; do
+  FINISHED=0
+  CANCELED=0
+  MOVES=0
+  for i in $(seq 1 "$GAMES"); do
+    STATE=$(curl -s "$BASE_URL/game/get-state/$RUN_ID-$i" | jq -r '"\(.gameState.status) \(.gameState.moveHistory | length)"')
+    STATUS="${STATE% *}"
+    MOVES=$(( MOVES + ${STATE#* } ))
+    case "$STATUS" in
+      won_by_player|draw) FINISHED=$(( FINISHED + 1 )) ;;
+      canceled) CANCELED=$(( CANCELED + 1 )) ;;
+    esac
+  done
+
+  ELAPSED=$(( $(date +%s) - START ))
+  echo "${ELAPSED}s finished: $FINISHED, canceled: $CANCELED, moves: $MOVES, moves/s: $(( MOVES / (ELAPSED > 0 ? ELAPSED : 1) ))"
+
+  if [ $(( FINISHED + CANCELED )) -ge "$GAMES" ] || [ "$ELAPSED" -ge "$TIMEOUT_SECONDS" ]; then
+    break
+  fi
+  sleep "$POLL_SECONDS"
+done
+
+echo ""
+echo "Stub model stats:"
+curl -s "$BASE_URL/game/get-stub-model-stats" | jq .
+echo "Rate limiter stats:"
+curl -s "$BASE_URL/game/get-model-rate-limiter-stats" | jq .
+echo "Review scheduler stats:"
+curl -s "$BASE_URL/game/get-review-scheduler-stats" | jq .
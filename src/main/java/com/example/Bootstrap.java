@@ -3,6 +3,18 @@ package com.example;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.example.api.StaticAssets;
+import com.example.application.BoardEncodings;
+import com.example.application.GameProjectionCache;
+import com.example.application.GameStreams;
+import com.example.application.JournalDiffs;
+import com.example.application.Metrics;
+import com.example.application.ModelProviders;
+import com.example.application.ModelRateLimiter;
+import com.example.application.MoveDecisionCache;
+import com.example.application.ReviewScheduler;
+import com.example.application.SessionMemoryPolicies;
+import com.example.application.ToolCursors;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,6 +23,7 @@ import com.typesafe.config.Config;
 import com.typesafe.config.ConfigObject;
 import com.typesafe.config.ConfigValueType;
 
+import akka.javasdk.DependencyProvider;
 import akka.javasdk.JsonSupport;
 import akka.javasdk.ServiceSetup;
 import akka.javasdk.annotations.Setup;
@@ -18,8 +31,33 @@ import akka.javasdk.annotations.Setup;
 @Setup
 public class Bootstrap implements ServiceSetup {
   static Logger log = LoggerFactory.getLogger(Bootstrap.class);
+  final MoveDecisionCache moveDecisionCache;
+  final ToolCursors toolCursors;
+  final BoardEncodings boardEncodings;
+  final GameProjectionCache gameProjections;
+  final ReviewScheduler reviewScheduler;
+  final ModelRateLimiter rateLimiter;
+  final ModelProviders modelProviders;
+  final Metrics metrics;
+  final SessionMemoryPolicies sessionMemories;
+  final JournalDiffs journalDiffs;
+  final StaticAssets staticAssets;
+  final GameStreams gameStreams;
 
   public Bootstrap(Config config) {
+    this.moveDecisionCache = MoveDecisionCache.fromConfig(config);
+    this.toolCursors = ToolCursors.fromConfig(config);
+    this.boardEncodings = BoardEncodings.fromConfig(config);
+    this.gameProjections = GameProjectionCache.fromConfig(config);
+    this.reviewScheduler = ReviewScheduler.fromConfig(config);
+    this.rateLimiter = ModelRateLimiter.fromConfig(config);
+    this.modelProviders = new ModelProviders(config);
+    this.metrics = Metrics.fromConfig(config);
+    this.sessionMemories = SessionMemoryPolicies.fromConfig(config);
+    this.journalDiffs = JournalDiffs.fromConfig(config);
+    this.staticAssets = StaticAssets.load();
+    this.gameStreams = GameStreams.fromConfig(config);
+
     if (config.getString("akka.javasdk.agent.model-provider").equals("openai") &&
         config.getString("akka.javasdk.agent.openai.api-key").isBlank()) {
       throw new IllegalStateException(
@@ -109,6 +147,53 @@ public class Bootstrap implements ServiceSetup {
     }
   }
 
+  @Override
+  public DependencyProvider createDependencyProvider() {
+    return new DependencyProvider() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <T> T getDependency(Class<T> clazz) {
+        if (clazz == MoveDecisionCache.class) {
+          return (T) moveDecisionCache;
+        }
+        if (clazz == ToolCursors.class) {
+          return (T) toolCursors;
+        }
+        if (clazz == BoardEncodings.class) {
+          return (T) boardEncodings;
+        }
+        if (clazz == GameProjectionCache.class) {
+          return (T) gameProjections;
+        }
+        if (clazz == ReviewScheduler.class) {
+          return (T) reviewScheduler;
+        }
+        if (clazz == ModelRateLimiter.class) {
+          return (T) rateLimiter;
+        }
+        if (clazz == ModelProviders.class) {
+          return (T) modelProviders;
+        }
+        if (clazz == Metrics.class) {
+          return (T) metrics;
+        }
+        if (clazz == SessionMemoryPolicies.class) {
+          return (T) sessionMemories;
+        }
+        if (clazz == JournalDiffs.class) {
+          return (T) journalDiffs;
+        }
+        if (clazz == StaticAssets.class) {
+          return (T) staticAssets;
+        }
+        if (clazz == GameStreams.class) {
+          return (T) gameStreams;
+        }
+        throw new IllegalArgumentException("Unknown dependency type: " + clazz.getName());
+      }
+    };
+  }
+
   static void searchConfig(String searchValue, String prefix, ConfigObject configObject) {
     configObject.entrySet().forEach(entry -> {
       var keyValue = "";
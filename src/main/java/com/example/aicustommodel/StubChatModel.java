@@ -0,0 +1,256 @@
+package com.example.aicustommodel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import akka.javasdk.JsonSupport;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.exception.RateLimitException;
+import dev.langchain4j.exception.TimeoutException;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.model.output.TokenUsage;
+
+/**
+ * Stub chat model that follows the make move workflow with real tool calls: read the game state, move to an available
+ * square, then describe the move. Square choice is seeded by the game id and position so runs are repeatable. Review
+ * prompts write a short playbook when the playbook tool is offered, otherwise they get a short text review.
+ */
+class StubChatModel implements ChatModel {
+  static final Pattern gameIdPattern = Pattern.compile("Game Id: (\\S+)");
+  static final Pattern agentIdPattern = Pattern.compile("Agent Id: (\\S+)");
+  static final Pattern boardRowPattern = Pattern.compile("^([A-Z]) ((?:\\s+[XO.])+)\\s*$");
+
+  final StubModelProvider provider;
+
+  StubChatModel(StubModelProvider provider) {
+    this.provider = provider;
+  }
+
+  @Override
+  public ChatResponse doChat(ChatRequest request) {
+    provider.requests.incrementAndGet();
+    var latency = provider.nextLatency();
+
+    if (provider.inject(provider.settings.rateLimitRate())) {
+      provider.rateLimits.incrementAndGet();
+      throw new RateLimitException("Stub model rate limit reached for %s. Please try again in 1s.".formatted(provider.model));
+    }
+
+    sleep(latency);
+
+    if (provider.inject(provider.settings.timeoutRate())) {
+      provider.timeouts.incrementAndGet();
+      throw new TimeoutException("Stub model request timed out after %d ms".formatted(latency.toMillis()));
+    }
+
+    var aiMessage = respond(request.messages(), toolNames(request.toolSpecifications()));
+    var inputTokens = request.messages().stream().mapToInt(StubChatModel::tokens).sum();
+    var outputTokens = aiMessage.hasToolExecutionRequests()
+        ? aiMessage.toolExecutionRequests().stream().mapToInt(tool -> estimateTokens(tool.arguments())).sum()
+        : estimateTokens(aiMessage.text());
+
+    provider.inputTokens.addAndGet(inputTokens);
+    provider.outputTokens.addAndGet(outputTokens);
+    if (aiMessage.hasToolExecutionRequests()) {
+      provider.toolCalls.incrementAndGet();
+    } else {
+      provider.responses.incrementAndGet();
+    }
+
+    return ChatResponse.builder()
+        .aiMessage(aiMessage)
+        .modelName(provider.model)
+        .tokenUsage(new TokenUsage(inputTokens, outputTokens))
+        .finishReason(aiMessage.hasToolExecutionRequests() ? FinishReason.TOOL_EXECUTION : FinishReason.STOP)
+        .build();
+  }
+
+  AiMessage respond(List<ChatMessage> messages, List<String> tools) {
+    var gameId = find(gameIdPattern, messages);
+    var agentId = find(agentIdPattern, messages);
+    var last = messages.get(messages.size() - 1);
+
+    if (last instanceof ToolExecutionResultMessage result) {
+      if (result.toolName().endsWith("getGameState") && has(tools, "makeMove")) {
+        var squareId = chooseSquare(gameId, result.text());
+        if (!squareId.isEmpty()) {
+          return toolCall(tools, "makeMove", Map.of("gameId", gameId, "agentId", agentId, "squareId", squareId));
+        }
+      }
+      if (result.toolName().endsWith("makeMove")) {
+        return AiMessage.from("""
+            Stub model move.
+
+            I read the game state, chose an available square, and made my move.
+            Tool result: %s
+            """.formatted(result.text()));
+      }
+      return AiMessage.from("Stub model completed the %s tool call.".formatted(result.toolName()));
+    }
+
+    if (has(tools, "getGameState") && has(tools, "makeMove")) {
+      return toolCall(tools, "getGameState", Map.of("gameId", gameId, "agentId", agentId, "fullRefresh", true));
+    }
+
+    if (has(tools, "writePlaybook")) {
+      return toolCall(tools, "writePlaybook", Map.of(
+          "agentId", agentId,
+          "gameId", gameId,
+          "revisedPlaybookContents", "Stub playbook: take any available square, prefer squares next to your own."));
+    }
+
+    return AiMessage.from("Stub model review for game %s: no changes recommended.".formatted(gameId));
+  }
+
+  AiMessage toolCall(List<String> tools, String method, Map<String, Object> arguments) {
+    var name = tools.stream().filter(tool -> tool.endsWith(method)).findFirst().orElse(method);
+    var json = json(arguments);
+
+    if (provider.inject(provider.settings.malformedJsonRate())) {
+      provider.malformedJson.incrementAndGet();
+      json = json.substring(0, json.length() / 2);
+    }
+
+    return AiMessage.from(ToolExecutionRequest.builder()
+        .id(UUID.randomUUID().toString())
+        .name(name)
+        .arguments(json)
+        .build());
+  }
+
+  // picks an available square from either the json or the ascii game state encoding
+  static String chooseSquare(String gameId, String gameStateJson) {
+    var available = new ArrayList<String>();
+    try {
+      var gameState = JsonSupport.getObjectMapper().readTree(gameStateJson);
+      gameState.path("availableSquares").path("availableSquareIds").forEach(square -> available.add(square.asText()));
+      if (available.isEmpty()) {
+        available.addAll(availableSquares(gameState.path("board")));
+      }
+    } catch (JsonProcessingException e) {
+      return "";
+    }
+
+    if (available.isEmpty()) {
+      return "";
+    }
+    var random = new Random(gameId.hashCode() * 31L + available.size());
+    return available.get(random.nextInt(available.size()));
+  }
+
+  static List<String> availableSquares(JsonNode board) {
+    var available = new ArrayList<String>();
+    board.asText("").lines().forEach(line -> {
+      var matcher = boardRowPattern.matcher(line);
+      if (matcher.matches()) {
+        var cells = matcher.group(2).trim().split("\\s+");
+        for (var col = 0; col < cells.length; col++) {
+          if (cells[col].equals(".")) {
+            available.add(matcher.group(1) + (col + 1));
+          }
+        }
+      }
+    });
+    return available;
+  }
+
+  static String find(Pattern pattern, List<ChatMessage> messages) {
+    for (var message : messages) {
+      if (message instanceof UserMessage user && user.hasSingleText()) {
+        var matcher = pattern.matcher(user.singleText());
+        if (matcher.find()) {
+          return matcher.group(1);
+        }
+      }
+    }
+    return "";
+  }
+
+  static List<String> toolNames(List<ToolSpecification> toolSpecifications) {
+    return toolSpecifications == null ? List.of() : toolSpecifications.stream().map(ToolSpecification::name).toList();
+  }
+
+  static boolean has(List<String> tools, String method) {
+    return tools.stream().anyMatch(tool -> tool.endsWith(method));
+  }
+
+  static int tokens(ChatMessage message) {
+    return switch (message) {
+      case UserMessage m -> m.hasSingleText() ? estimateTokens(m.singleText()) : 0;
+      case SystemMessage m -> estimateTokens(m.text());
+      case ToolExecutionResultMessage m -> estimateTokens(m.text());
+      case AiMessage m -> m.hasToolExecutionRequests()
+          ? m.toolExecutionRequests().stream().mapToInt(tool -> estimateTokens(tool.arguments())).sum()
+          : estimateTokens(m.text());
+      default -> 0;
+    };
+  }
+
+  static int estimateTokens(String text) {
+    return text == null ? 0 : (text.length() + 3) / 4;
+  }
+
+  static String json(Map<String, Object> arguments) {
+    try {
+      return JsonSupport.getObjectMapper().writeValueAsString(arguments);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static void sleep(Duration latency) {
+    try {
+      Thread.sleep(latency);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TimeoutException("Stub model request interrupted");
+    }
+  }
+
+  /** Streams the stub response text word by word, tool calls are returned whole. */
+  static class Streaming implements StreamingChatModel {
+    final StubChatModel chatModel;
+
+    Streaming(StubChatModel chatModel) {
+      this.chatModel = chatModel;
+    }
+
+    @Override
+    public void doChat(ChatRequest request, StreamingChatResponseHandler handler) {
+      ChatResponse response;
+      try {
+        response = chatModel.doChat(request);
+      } catch (RuntimeException e) {
+        handler.onError(e);
+        return;
+      }
+
+      var aiMessage = response.aiMessage();
+      if (!aiMessage.hasToolExecutionRequests() && aiMessage.text() != null) {
+        for (var word : aiMessage.text().split("(?<=\\s)")) {
+          handler.onPartialResponse(word);
+        }
+      }
+      handler.onCompleteResponse(response);
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.example.aicustommodel;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.typesafe.config.Config;
+
+import akka.javasdk.agent.ModelProvider;
+
+/**
+ * Local model that plays legal moves through the real agent tools without calling an LLM, for load and soak tests.
+ * Latency follows a log-normal distribution set by its median and 99th percentile, and errors are injected at
+ * configured rates. Token counts are estimated from message sizes.
+ */
+public class StubModelProvider implements ModelProvider.Custom {
+  static final Logger log = LoggerFactory.getLogger(StubModelProvider.class);
+
+  public record Settings(
+      Duration latencyMedian,
+      Duration latencyP99,
+      double timeoutRate,
+      double rateLimitRate,
+      double malformedJsonRate,
+      long seed) {
+
+    public static Settings fromConfig(Config modelConfig) {
+      return new Settings(
+          modelConfig.getDuration("latency-median"),
+          modelConfig.getDuration("latency-p99"),
+          modelConfig.getDouble("timeout-rate"),
+          modelConfig.getDouble("rate-limit-rate"),
+          modelConfig.getDouble("malformed-json-rate"),
+          modelConfig.getLong("seed"));
+    }
+  }
+
+  public record Stats(
+      String model,
+      long requests,
+      long toolCalls,
+      long responses,
+      long inputTokens,
+      long outputTokens,
+      long timeouts,
+      long rateLimits,
+      long malformedJson) {}
+
+  final String model;
+  final Settings settings;
+  final Random random;
+  final AtomicLong requests = new AtomicLong();
+  final AtomicLong toolCalls = new AtomicLong();
+  final AtomicLong responses = new AtomicLong();
+  final AtomicLong inputTokens = new AtomicLong();
+  final AtomicLong outputTokens = new AtomicLong();
+  final AtomicLong timeouts = new AtomicLong();
+  final AtomicLong rateLimits = new AtomicLong();
+  final AtomicLong malformedJson = new AtomicLong();
+
+  public StubModelProvider(String model, Settings settings) {
+    this.model = model;
+    this.settings = settings;
+    this.random = new Random(settings.seed());
+  }
+
+  @Override
+  public Object createChatModel() {
+    log.info("Creating stub chat model: {}", model);
+    return new StubChatModel(this);
+  }
+
+  @Override
+  public Object createStreamingChatModel() {
+    log.info("Creating stub streaming chat model: {}", model);
+    return new StubChatModel.Streaming(new StubChatModel(this));
+  }
+
+  public Stats stats() {
+    return new Stats(
+        model,
+        requests.get(),
+        toolCalls.get(),
+        responses.get(),
+        inputTokens.get(),
+        outputTokens.get(),
+        timeouts.get(),
+        rateLimits.get(),
+        malformedJson.get());
+  }
+
+  Duration nextLatency() {
+    var median = settings.latencyMedian().toNanos();
+    var p99 = settings.latencyP99().toNanos();
+    if (p99 <= median) {
+      return settings.latencyMedian();
+    }
+
+    var sigma = Math.log((double) p99 / median) / 2.326;
+    return Duration.ofNanos((long) (median * Math.exp(sigma * random.nextGaussian())));
+  }
+
+  boolean inject(double rate) {
+    return rate > 0 && random.nextDouble() < rate;
+  }
+}
@@ -1,11 +1,15 @@
 package com.example.api;
 
+import java.util.Optional;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.example.application.AgentRoleEntity;
 import com.example.application.AgentRoleJournalView;
+import com.example.application.JournalDiffs;
 import com.example.domain.AgentRole;
+import com.example.domain.TextDiff;
 
 import akka.Done;
 import akka.javasdk.annotations.Acl;
@@ -17,10 +21,14 @@ import akka.javasdk.client.ComponentClient;
 @HttpEndpoint("/agent-role")
 public class AgentRoleEndpoint {
   static final Logger log = LoggerFactory.getLogger(AgentRoleEndpoint.class);
+  static final int maxIndexEntries = 200;
+  static final int maxBatchEntries = 50;
   final ComponentClient componentClient;
+  final JournalDiffs journalDiffs;
 
-  public AgentRoleEndpoint(ComponentClient componentClient) {
+  public AgentRoleEndpoint(ComponentClient componentClient, JournalDiffs journalDiffs) {
     this.componentClient = componentClient;
+    this.journalDiffs = journalDiffs;
   }
 
   @Post("/get-journal-by-agent-id-down")
@@ -56,6 +64,50 @@ public class AgentRoleEndpoint {
         .invoke(request);
   }
 
+  @Post("/get-journal-index")
+  public AgentRoleJournalView.JournalIndex getJournalIndex(AgentRoleJournalView.GetLatestByAgentIdRequest request) {
+    log.debug("Get journal index: {}", request);
+
+    var limit = Math.max(1, Math.min(request.limit(), maxIndexEntries));
+    var queryRequest = new AgentRoleJournalView.GetLatestByAgentIdRequest(request.agentId(), request.sequenceId(), limit);
+
+    return componentClient.forView()
+        .method(AgentRoleJournalView::getIndexByAgentId)
+        .invoke(queryRequest);
+  }
+
+  @Post("/get-journals")
+  public AgentRoleJournalView.Journals getJournals(AgentRoleJournalView.GetByAgentIdRangeRequest request) {
+    log.debug("Get journals: {}", request);
+
+    var toSequenceId = Math.min(request.toSequenceId(), request.fromSequenceId() + maxBatchEntries - 1);
+    var queryRequest = new AgentRoleJournalView.GetByAgentIdRangeRequest(request.agentId(), request.fromSequenceId(), toSequenceId);
+
+    return componentClient.forView()
+        .method(AgentRoleJournalView::getByAgentIdRange)
+        .invoke(queryRequest);
+  }
+
+  @Post("/get-journal-diff")
+  public JournalDiffs.Diff getJournalDiff(JournalDiffRequest request) {
+    log.debug("Get journal diff: {}", request);
+
+    var mode = request.mode() == null ? TextDiff.Mode.word : request.mode();
+    var key = new JournalDiffs.Key("agent-role", request.agentId(), request.fromSequenceId(), request.toSequenceId(), mode);
+
+    return journalDiffs.diff(key, sequenceId -> systemPrompt(request.agentId(), sequenceId));
+  }
+
+  Optional<String> systemPrompt(String agentId, long sequenceId) {
+    return componentClient.forView()
+        .method(AgentRoleJournalView::getByAgentIdAndSequence)
+        .invoke(new AgentRoleJournalView.GetByAgentIdAndSequenceRequest(agentId, sequenceId))
+        .journals()
+        .stream()
+        .findFirst()
+        .map(AgentRoleJournalView.JournalRow::systemPrompt);
+  }
+
   // this is intended to be used when the initial system prompt is changed, allowing for updating an agent player's system
   // prompt
   @Post("/reset-agent-role")
@@ -66,4 +118,6 @@ public class AgentRoleEndpoint {
         .method(AgentRoleEntity::resetAgentRole)
         .invoke(request);
   }
+
+  public record JournalDiffRequest(String agentId, long fromSequenceId, long toSequenceId, TextDiff.Mode mode) {}
 }
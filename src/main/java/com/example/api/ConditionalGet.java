@@ -0,0 +1,63 @@
+package com.example.api;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import akka.http.javadsl.model.HttpHeader;
+import akka.http.javadsl.model.HttpResponse;
+import akka.http.javadsl.model.StatusCodes;
+import akka.http.javadsl.model.headers.RawHeader;
+import akka.javasdk.http.HttpResponses;
+
+/**
+ * Conditional GET for responses built from a versioned state. The state version is sent as a strong ETag, and a request
+ * whose If-None-Match names the current version gets a 304 before the response body is built or serialized.
+ */
+public interface ConditionalGet {
+
+  static final String revalidate = "no-cache";
+
+  /** The body as JSON with the version's ETag, or a 304 when the client already has this version. */
+  static HttpResponse respond(String ifNoneMatch, String version, String cacheControl, Supplier<Object> body) {
+    var etag = etag(version);
+    var headers = List.<HttpHeader>of(
+        RawHeader.create("ETag", etag),
+        RawHeader.create("Cache-Control", cacheControl),
+        // some endpoints choose the representation by the Accept header
+        RawHeader.create("Vary", "Accept"));
+
+    if (matches(ifNoneMatch, etag)) {
+      return HttpResponse.create()
+          .withStatus(StatusCodes.NOT_MODIFIED)
+          .withHeaders(headers);
+    }
+
+    var response = HttpResponses.ok(body.get());
+    for (var header : headers) {
+      response = response.addHeader(header);
+    }
+    return response;
+  }
+
+  /** Cache-Control for a state that never changes again. */
+  static String immutable(Duration maxAge) {
+    return maxAge.isZero() ? revalidate : "public, max-age=" + maxAge.toSeconds() + ", immutable";
+  }
+
+  static String etag(String version) {
+    return "\"" + version + "\"";
+  }
+
+  /** True when an If-None-Match header names the ETag, weak tags compare by their opaque tag. */
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+      return false;
+    }
+    return Arrays.stream(ifNoneMatch.split(","))
+        .map(String::trim)
+        .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+        .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+  }
+}
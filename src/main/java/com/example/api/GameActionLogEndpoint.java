@@ -50,6 +50,21 @@ public class GameActionLogEndpoint {
     var workflowId = AgentPlayer.sessionId(gameId, agentId);
     log.debug("Workflow step stream, workflowId: {}", workflowId);
 
+    return HttpResponses.serverSentEvents(
+        componentClient
+            .forWorkflow(workflowId)
+            .notificationStream(AgentPlayerWorkflow::stepStream)
+            .source()
+            .filter(notification -> notification.step() != null)
+            .map(AgentPlayerWorkflow.Notification::step));
+  }
+
+  // Streams model output as the agent generates it, interleaved with the workflow steps so moves can be told apart
+  @Get("/model-output-stream/{gameId}/{agentId}")
+  public HttpResponse modelOutputStream(String gameId, String agentId) {
+    var workflowId = AgentPlayer.sessionId(gameId, agentId);
+    log.debug("Model output stream, workflowId: {}", workflowId);
+
     return HttpResponses.serverSentEvents(
         componentClient
             .forWorkflow(workflowId)
@@ -1,44 +1,88 @@
 package com.example.api;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.example.application.AgentPlayerWorkflow;
 import com.example.application.DotGameEntity;
 import com.example.application.DotGameView;
 import com.example.application.DotGameView.GetMoveStreamByGameIdRequest;
+import com.example.application.GameProjectionCache;
+import com.example.application.GameStreams;
+import com.example.application.ModelProviders;
+import com.example.application.ModelRateLimiter;
+import com.example.application.MoveDecisionCache;
 import com.example.application.MoveHistoryTool;
 import com.example.application.MoveResponseLogsTool;
+import com.example.application.ReviewScheduler;
 import com.example.application.MakeMoveTool;
 import com.example.application.GameStateTool;
+import com.example.domain.AgentPlayer;
+import com.example.domain.CompactGameState;
 import com.example.domain.DotGame;
 import com.example.domain.DotGame.Board;
 import com.example.domain.DotGame.Player;
+import com.example.aicustommodel.StubModelProvider;
+import com.example.domain.GameProjection;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.typesafe.config.Config;
 
+import akka.NotUsed;
+import akka.http.javadsl.model.HttpHeader;
 import akka.http.javadsl.model.HttpResponse;
 import akka.javasdk.annotations.Acl;
 import akka.javasdk.annotations.http.Get;
 import akka.javasdk.annotations.http.HttpEndpoint;
 import akka.javasdk.annotations.http.Post;
+import akka.javasdk.annotations.http.WebSocket;
+import akka.javasdk.JsonSupport;
 import akka.javasdk.client.ComponentClient;
+import akka.javasdk.http.AbstractHttpEndpoint;
 import akka.javasdk.http.HttpResponses;
+import akka.stream.Materializer;
+import akka.stream.javadsl.Flow;
+import akka.stream.javadsl.Source;
 
 /**
  * Game endpoint for the me-dot-u-dot game. Handles player moves and game move responses.
  */
 @Acl(allow = @Acl.Matcher(principal = Acl.Principal.INTERNET))
 @HttpEndpoint("/game")
-public class GameEndpoint {
+public class GameEndpoint extends AbstractHttpEndpoint {
   static final Logger log = LoggerFactory.getLogger(GameEndpoint.class);
+  static final Duration channelKeepAlive = Duration.ofSeconds(20);
+  static final String compactMediaType = "application/vnd.dotgame.compact+json";
   final Config config;
   final ComponentClient componentClient;
-
-  public GameEndpoint(ComponentClient componentClient, Config config) {
+  final MoveDecisionCache moveDecisionCache;
+  final GameProjectionCache gameProjections;
+  final ReviewScheduler reviewScheduler;
+  final ModelRateLimiter rateLimiter;
+  final ModelProviders modelProviders;
+  final GameStreams gameStreams;
+  final Materializer materializer;
+  final Duration settledMaxAge;
+
+  public GameEndpoint(ComponentClient componentClient, Config config, MoveDecisionCache moveDecisionCache, GameProjectionCache gameProjections,
+      ReviewScheduler reviewScheduler, ModelRateLimiter rateLimiter, ModelProviders modelProviders, GameStreams gameStreams,
+      Materializer materializer) {
     this.componentClient = componentClient;
     this.config = config;
+    this.moveDecisionCache = moveDecisionCache;
+    this.gameProjections = gameProjections;
+    this.reviewScheduler = reviewScheduler;
+    this.rateLimiter = rateLimiter;
+    this.modelProviders = modelProviders;
+    this.gameStreams = gameStreams;
+    this.materializer = materializer;
+    this.settledMaxAge = config.hasPath("conditional-get.settled-max-age") ? config.getDuration("conditional-get.settled-max-age") : Duration.ZERO;
   }
 
   @Post("/create-game")
@@ -56,7 +100,7 @@ public class GameEndpoint {
   }
 
   @Post("/make-move")
-  public GameResponse makeMove(MakeMove request) {
+  public HttpResponse makeMove(MakeMove request) {
     log.debug("Make move: {}", request);
 
     var command = new DotGame.Command.MakeMove(request.gameId, request.playerId, request.squareId);
@@ -66,7 +110,7 @@ public class GameEndpoint {
         .method(DotGameEntity::makeMove)
         .invoke(command);
 
-    return new GameResponse(gameState);
+    return HttpResponses.ok(gameResponse(gameState, compactRequested()));
   }
 
   @Post("/cancel-game")
@@ -89,24 +133,99 @@ public class GameEndpoint {
     log.debug("Get move stream by game id: {}", gameId);
 
     var request = new GetMoveStreamByGameIdRequest(gameId);
-    var gameState = componentClient
-        .forView()
-        .stream(DotGameView::getMoveStreamByGameId)
-        .source(request);
+    var gameState = gameStreams.subscribe(
+        gameId,
+        () -> componentClient
+            .forView()
+            .stream(DotGameView::getMoveStreamByGameId)
+            .source(request),
+        materializer);
 
     return HttpResponses.serverSentEvents(gameState);
   }
 
-  @Get("/get-state/{gameId}")
-  public GameResponse getState(String gameId) {
-    log.debug("Get state for game: {}", gameId);
+  // One connection per player for interactive play: moves and state requests come in, replies, move stream deltas and
+  // the agent players' workflow steps go out. Replies carry the request id so the client can match them to requests.
+  @WebSocket("/game-channel/{gameId}")
+  public Flow<String, String, NotUsed> gameChannel(String gameId) {
+    log.debug("Game channel: {}", gameId);
 
     var gameState = componentClient
         .forEventSourcedEntity(gameId)
         .method(DotGameEntity::getState)
-        .invoke();
+        .invokeAsync();
+
+    var deltas = gameStreams.subscribe(
+        gameId,
+        () -> componentClient
+            .forView()
+            .stream(DotGameView::getMoveStreamByGameId)
+            .source(new GetMoveStreamByGameIdRequest(gameId)),
+        materializer)
+        .map(ChannelMessage::delta);
+
+    var pushed = Source.completionStage(gameState)
+        .flatMapConcat(state -> Source.single(ChannelMessage.state(null, state))
+            .concat(deltas.merge(agentSteps(state))))
+        .keepAlive(channelKeepAlive, ChannelMessage::ping);
+
+    return Flow.of(String.class)
+        .mapAsync(1, text -> channelReply(gameId, text))
+        .merge(pushed)
+        .map(JsonSupport::encodeToString);
+  }
 
-    return new GameResponse(gameState);
+  CompletionStage<ChannelMessage> channelReply(String gameId, String text) {
+    ChannelCommand command;
+    try {
+      command = JsonSupport.getObjectMapper().readValue(text, ChannelCommand.class);
+    } catch (JsonProcessingException e) {
+      return CompletableFuture.completedFuture(ChannelMessage.error(null, "Invalid message: " + e.getOriginalMessage()));
+    }
+
+    var reply = switch (command.type() == null ? "" : command.type()) {
+      case "move" -> componentClient
+          .forEventSourcedEntity(gameId)
+          .method(DotGameEntity::makeMove)
+          .invokeAsync(new DotGame.Command.MakeMove(gameId, command.playerId(), command.squareId()))
+          .thenApply(state -> ChannelMessage.state(command.id(), state));
+      case "state" -> componentClient
+          .forEventSourcedEntity(gameId)
+          .method(DotGameEntity::getState)
+          .invokeAsync()
+          .thenApply(state -> ChannelMessage.state(command.id(), state));
+      default -> CompletableFuture.completedFuture(ChannelMessage.error(command.id(), "Unknown message type: " + command.type()));
+    };
+
+    // a failed command is reported on the channel, the connection stays open
+    return reply.exceptionally(error -> {
+      log.debug("Game channel command failed: {}", command, error);
+      var cause = error.getCause() != null ? error.getCause() : error;
+      return ChannelMessage.error(command.id(), cause.getMessage());
+    });
+  }
+
+  Source<ChannelMessage, NotUsed> agentSteps(DotGame.State gameState) {
+    return List.of(gameState.player1Status(), gameState.player2Status()).stream()
+        .filter(status -> status != null && status.player().type() == DotGame.PlayerType.agent)
+        .map(status -> componentClient
+            .forWorkflow(AgentPlayer.sessionId(gameState.gameId(), status.player().id()))
+            .notificationStream(AgentPlayerWorkflow::stepStream)
+            .source()
+            .filter(notification -> notification.step() != null)
+            .map(notification -> ChannelMessage.step(status.player().id(), notification.step())))
+        .reduce(Source.empty(), Source::merge);
+  }
+
+  @Get("/get-state/{gameId}")
+  public HttpResponse getState(String gameId) {
+    log.debug("Get state for game: {}", gameId);
+
+    var projection = gameProjections.get(componentClient, gameId);
+    var compact = compactRequested();
+    var version = compact ? projection.version() + ":compact" : projection.version();
+
+    return conditionalGet(projection, version, () -> gameResponse(projection.state(), compact));
   }
 
   @Get("/get-current-in-progress-game")
@@ -160,52 +279,125 @@ public class GameEndpoint {
   @Get("/get-game-state-tool/{gameId}")
   public GameStateTool.GameState getGameStateTool(String gameId) {
     log.debug("Get game state tool: {}", gameId);
-    return new GameStateTool(componentClient).getGameState(gameId, "");
+    return new GameStateTool(componentClient, gameProjections).getGameState(gameId, "", true);
   }
 
   @Get("/get-game-move-history/{gameId}")
-  public GetMoveHistory.Response getGameMoveHistory(String gameId) {
+  public HttpResponse getGameMoveHistory(String gameId) {
     log.debug("Get game move history, gameId: {}, {}", gameId);
-    return getMoveHistoryResponse(gameId);
+
+    var projection = gameProjections.get(componentClient, gameId);
+
+    return conditionalGet(projection, projection.version(), () -> GetMoveHistory.Response.from(projection, ""));
   }
 
   @Get("/get-game-move-history-tool/{gameId}")
   public MoveHistoryTool.Response getGameMoveHistoryTool(String gameId) {
     log.debug("Get game move history tool: {}", gameId);
-    return new MoveHistoryTool(componentClient).getMoveHistory(gameId, "");
+    return new MoveHistoryTool(componentClient, gameProjections).getMoveHistory(gameId, "");
   }
 
   @Get("/get-move-response-logs-tool/{gameId}/{agentId}")
   public MoveResponseLogsTool.Response getGameMoveLogsTool(String gameId, String agentId) {
     log.debug("Get game move logs tool: {}, {}", gameId, agentId);
-    return new MoveResponseLogsTool(componentClient).getMoveResponseLogs(gameId, agentId);
+    return new MoveResponseLogsTool(componentClient).getMoveResponseLogs(gameId, agentId, true);
   }
 
   @Get("/make-move-tool-test/{gameId}/{agentId}/{squareId}")
   public MakeMoveTool.Response getMakeMoveTool(String gameId, String agentId, String squareId) {
     log.debug("Get make move tool: {}, {}, {}", gameId, agentId, squareId);
-    return new MakeMoveTool(componentClient).makeMove(gameId, agentId, squareId);
+    return new MakeMoveTool(componentClient, gameProjections).makeMove(gameId, agentId, squareId);
   }
 
-  GetMoveHistory.Response getMoveHistoryResponse(String gameId) {
-    log.debug("Get move history response: {}", gameId);
+  @Get("/get-move-decision-cache-stats")
+  public MoveDecisionCache.Stats getMoveDecisionCacheStats() {
+    return moveDecisionCache.stats();
+  }
 
-    var gameState = componentClient
-        .forEventSourcedEntity(gameId)
-        .method(DotGameEntity::getState)
-        .invoke();
+  @Get("/get-game-projection-cache-stats")
+  public GameProjectionCache.Stats getGameProjectionCacheStats() {
+    return gameProjections.stats();
+  }
 
-    return GetMoveHistory.Response.from(gameState, "");
+  @Get("/get-review-scheduler-stats")
+  public ReviewScheduler.Stats getReviewSchedulerStats() {
+    return reviewScheduler.stats();
+  }
+
+  @Get("/get-model-rate-limiter-stats")
+  public ModelRateLimiter.Stats getModelRateLimiterStats() {
+    return rateLimiter.stats();
+  }
+
+  @Get("/get-stub-model-stats")
+  public List<StubModelProvider.Stats> getStubModelStats() {
+    return modelProviders.stubStats();
+  }
+
+  // settled games never change, so browsers keep them without asking again
+  HttpResponse conditionalGet(GameProjection projection, String version, Supplier<Object> body) {
+    var cacheControl = projection.isSettled() ? ConditionalGet.immutable(settledMaxAge) : ConditionalGet.revalidate;
+    var ifNoneMatch = requestContext().requestHeader("If-None-Match").map(HttpHeader::value).orElse(null);
+
+    return ConditionalGet.respond(ifNoneMatch, version, cacheControl, body);
+  }
+
+  // the compact game state is opt in, with ?format=compact or the compact media type in the Accept header
+  boolean compactRequested() {
+    return requestContext().queryParams().getString("format").map("compact"::equals).orElse(false)
+        || requestContext().requestHeader("Accept").map(HttpHeader::value).map(accept -> accept.contains(compactMediaType)).orElse(false);
+  }
+
+  Object gameResponse(DotGame.State gameState, boolean compact) {
+    return compact ? new CompactGameResponse(CompactGameState.of(gameState)) : new GameResponse(gameState);
   }
 
   public record CreateGame(String gameId, Player player1, Player player2, Board.Level level) {}
 
   public record MakeMove(String gameId, String playerId, String squareId) {}
 
+
   public record CancelGame(String gameId) {}
 
   public record GameResponse(DotGame.State gameState) {}
 
+  public record CompactGameResponse(CompactGameState compactGameState) {}
+
+  /** Game channel message from the client, type move or state, with an id that is echoed in the reply. */
+  public record ChannelCommand(String type, Long id, String playerId, String squareId) {}
+
+  /** Game channel message to the client, type state, delta, step, error or ping, without the fields it does not use. */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public record ChannelMessage(
+      String type,
+      Long id,
+      CompactGameState compactGameState,
+      DotGameView.DotGameRow delta,
+      String agentId,
+      String step,
+      String message) {
+
+    static ChannelMessage state(Long id, DotGame.State gameState) {
+      return new ChannelMessage("state", id, CompactGameState.of(gameState), null, null, null, null);
+    }
+
+    static ChannelMessage delta(DotGameView.DotGameRow delta) {
+      return new ChannelMessage("delta", null, null, delta, null, null, null);
+    }
+
+    static ChannelMessage step(String agentId, String step) {
+      return new ChannelMessage("step", null, null, null, agentId, step, null);
+    }
+
+    static ChannelMessage error(Long id, String message) {
+      return new ChannelMessage("error", id, null, null, null, null, message);
+    }
+
+    static ChannelMessage ping() {
+      return new ChannelMessage("ping", null, null, null, null, null, null);
+    }
+  }
+
   public interface GetMoveHistory {
 
     record GameInfo(String gameId, String status) {
@@ -271,35 +463,29 @@ public class GameEndpoint {
     }
 
     record Move(String squareId, String who, String playerId, int moveScore, long thinkMs, List<ScoringMove> scoringMoves) {
-      static Move from(DotGame.Move move, String agentId, DotGame.ScoringMoves player1ScoringMoves, DotGame.ScoringMoves player2ScoringMoves) {
+      static Move from(DotGame.Move move, String agentId, GameProjection projection) {
         var who = agentId.equals(move.playerId()) ? "you" : "opponent";
-        var p1ScoringMoves = player1ScoringMoves.scoringMoves()
-            .stream()
-            .filter(scoringMove -> scoringMove.move().squareId().equals(move.squareId()))
-            .map(ScoringMove::from).toList();
-        var p2ScoringMoves = player2ScoringMoves.scoringMoves()
+        var scoringMoves = projection.scoringMovesAt(move.squareId())
             .stream()
-            .filter(scoringMove -> scoringMove.move().squareId().equals(move.squareId()))
-            .map(ScoringMove::from).toList();
-        var scoringMoves = Stream.concat(p1ScoringMoves.stream(), p2ScoringMoves.stream()).toList();
+            .map(ScoringMove::from)
+            .toList();
 
-        var newMoveScore = scoringMoves.stream().map(sm -> sm.score()).reduce(0, Integer::sum);
+        var newMoveScore = projection.moveScoreAt(move.squareId());
 
         return new Move(move.squareId(), who, move.playerId(), newMoveScore, move.thinkMs(), scoringMoves);
       }
     }
 
     public record Response(GameInfo gameInfo, CumulativeScore cumulativeScore, BoardInfo boardInfo, List<Move> moves) {
-      static Response from(DotGame.State gameState, String agentId) {
-        var p1ScoringMoves = gameState.player1Status().scoringMoves();
-        var p2ScoringMoves = gameState.player2Status().scoringMoves();
+      static Response from(GameProjection projection, String agentId) {
+        var gameState = projection.state();
         var gameInfo = GameInfo.from(agentId, gameState);
         var cumulativeScore = CumulativeScore.from(agentId, gameState);
         var boardInfo = BoardInfo.from(gameState.board());
 
         return new Response(gameInfo, cumulativeScore, boardInfo, gameState.moveHistory()
             .stream()
-            .map(move -> Move.from(move, agentId, p1ScoringMoves, p2ScoringMoves))
+            .map(move -> Move.from(move, agentId, projection))
             .toList());
       }
     }
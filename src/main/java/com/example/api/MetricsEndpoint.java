@@ -0,0 +1,31 @@
+package com.example.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.example.application.Metrics;
+
+import akka.http.javadsl.model.ContentTypes;
+import akka.http.javadsl.model.HttpResponse;
+import akka.http.javadsl.model.StatusCodes;
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.http.HttpResponses;
+
+/**
+ * Metrics endpoint, serves workflow step, tool call, model call and consumer lag metrics in the Prometheus text format.
+ */
+@Acl(allow = @Acl.Matcher(principal = Acl.Principal.INTERNET))
+@HttpEndpoint
+public class MetricsEndpoint {
+  final Metrics metrics;
+
+  public MetricsEndpoint(Metrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Get("/metrics")
+  public HttpResponse metrics() {
+    return HttpResponses.of(StatusCodes.OK, ContentTypes.TEXT_PLAIN_UTF8, metrics.prometheus().getBytes(UTF_8));
+  }
+}
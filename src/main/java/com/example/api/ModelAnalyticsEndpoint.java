@@ -0,0 +1,45 @@
+package com.example.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.application.ModelAnalyticsEntity;
+import com.example.application.ModelAnalyticsView;
+import com.example.domain.ModelAnalytics;
+
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.client.ComponentClient;
+
+/**
+ * Per model analytics: think time percentiles, win rates, forfeit rates and average moves per game by board level.
+ */
+@Acl(allow = @Acl.Matcher(principal = Acl.Principal.INTERNET))
+@HttpEndpoint("/model-analytics")
+public class ModelAnalyticsEndpoint {
+  static final Logger log = LoggerFactory.getLogger(ModelAnalyticsEndpoint.class);
+  final ComponentClient componentClient;
+
+  public ModelAnalyticsEndpoint(ComponentClient componentClient) {
+    this.componentClient = componentClient;
+  }
+
+  @Get("/get-model-analytics")
+  public ModelAnalyticsView.ModelAnalyticsList getModelAnalytics() {
+    log.debug("Get model analytics");
+
+    return componentClient.forView()
+        .method(ModelAnalyticsView::getModelAnalytics)
+        .invoke();
+  }
+
+  @Get("/get-model/{model}")
+  public ModelAnalytics.State getModel(String model) {
+    log.debug("Get model analytics: {}", model);
+
+    return componentClient.forEventSourcedEntity(model)
+        .method(ModelAnalyticsEntity::getState)
+        .invoke();
+  }
+}
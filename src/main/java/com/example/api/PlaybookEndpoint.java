@@ -1,9 +1,15 @@
 package com.example.api;
 
+import java.util.Optional;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.example.application.JournalDiffs;
 import com.example.application.PlaybookJournalView;
+import com.example.application.PlaybookJournals;
+import com.example.domain.TextDiff;
+import com.typesafe.config.Config;
 
 import akka.javasdk.annotations.Acl;
 import akka.javasdk.annotations.http.HttpEndpoint;
@@ -14,10 +20,16 @@ import akka.javasdk.client.ComponentClient;
 @HttpEndpoint("/playbook")
 public class PlaybookEndpoint {
   static final Logger log = LoggerFactory.getLogger(PlaybookEndpoint.class);
+  static final int maxIndexEntries = 200;
+  static final int maxBatchEntries = 50;
   final ComponentClient componentClient;
+  final PlaybookJournals journals;
+  final JournalDiffs journalDiffs;
 
-  public PlaybookEndpoint(ComponentClient componentClient) {
+  public PlaybookEndpoint(ComponentClient componentClient, Config config, JournalDiffs journalDiffs) {
     this.componentClient = componentClient;
+    this.journals = PlaybookJournals.fromConfig(componentClient, config);
+    this.journalDiffs = journalDiffs;
   }
 
   @Post("/get-journal-by-agent-id-down")
@@ -26,10 +38,10 @@ public class PlaybookEndpoint {
 
     var queryRequest = new PlaybookJournalView.GetByAgentIdDownRequest(request.agentId(), request.sequenceId());
 
-    return componentClient
+    return journals.rebuild(componentClient
         .forView()
         .method(PlaybookJournalView::getByAgentIdDown)
-        .invoke(queryRequest);
+        .invoke(queryRequest));
   }
 
   @Post("/get-journal-by-agent-id-up")
@@ -38,18 +50,64 @@ public class PlaybookEndpoint {
 
     var queryRequest = new PlaybookJournalView.GetByAgentIdUpRequest(request.agentId(), request.sequenceId());
 
-    return componentClient
+    return journals.rebuild(componentClient
         .forView()
         .method(PlaybookJournalView::getByAgentIdUp)
-        .invoke(queryRequest);
+        .invoke(queryRequest));
   }
 
   @Post("/get-journal-by-agent-id-and-sequence")
   public PlaybookJournalView.Journals getJournalByAgentIdAndSequence(PlaybookJournalView.GetByAgentIdAndSequenceRequest request) {
     log.debug("Get journal by agent id and sequence: {}", request);
 
+    return journals.rebuild(componentClient.forView()
+        .method(PlaybookJournalView::getByAgentIdAndSequence)
+        .invoke(request));
+  }
+
+  @Post("/get-journal-index")
+  public PlaybookJournalView.JournalIndex getJournalIndex(PlaybookJournalView.GetLatestByAgentIdRequest request) {
+    log.debug("Get journal index: {}", request);
+
+    var limit = Math.max(1, Math.min(request.limit(), maxIndexEntries));
+    var queryRequest = new PlaybookJournalView.GetLatestByAgentIdRequest(request.agentId(), request.sequenceId(), limit);
+
     return componentClient.forView()
+        .method(PlaybookJournalView::getIndexByAgentId)
+        .invoke(queryRequest);
+  }
+
+  @Post("/get-journals")
+  public PlaybookJournalView.Journals getJournals(PlaybookJournalView.GetByAgentIdRangeRequest request) {
+    log.debug("Get journals: {}", request);
+
+    var toSequenceId = Math.min(request.toSequenceId(), request.fromSequenceId() + maxBatchEntries - 1);
+    var queryRequest = new PlaybookJournalView.GetByAgentIdRangeRequest(request.agentId(), request.fromSequenceId(), toSequenceId);
+
+    return journals.rebuild(componentClient.forView()
+        .method(PlaybookJournalView::getByAgentIdRange)
+        .invoke(queryRequest));
+  }
+
+  @Post("/get-journal-diff")
+  public JournalDiffs.Diff getJournalDiff(JournalDiffRequest request) {
+    log.debug("Get journal diff: {}", request);
+
+    var mode = request.mode() == null ? TextDiff.Mode.word : request.mode();
+    var key = new JournalDiffs.Key("playbook", request.agentId(), request.fromSequenceId(), request.toSequenceId(), mode);
+
+    return journalDiffs.diff(key, sequenceId -> instructions(request.agentId(), sequenceId));
+  }
+
+  Optional<String> instructions(String agentId, long sequenceId) {
+    return journals.rebuild(componentClient.forView()
         .method(PlaybookJournalView::getByAgentIdAndSequence)
-        .invoke(request);
+        .invoke(new PlaybookJournalView.GetByAgentIdAndSequenceRequest(agentId, sequenceId)))
+        .journals()
+        .stream()
+        .findFirst()
+        .map(PlaybookJournalView.JournalRow::instructions);
   }
+
+  public record JournalDiffRequest(String agentId, long fromSequenceId, long toSequenceId, TextDiff.Mode mode) {}
 }
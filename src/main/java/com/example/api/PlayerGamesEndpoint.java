@@ -7,15 +7,18 @@ import com.example.application.PlayerGamesEntity;
 import com.example.application.PlayerGamesView;
 import com.example.domain.PlayerGames;
 
+import akka.http.javadsl.model.HttpHeader;
+import akka.http.javadsl.model.HttpResponse;
 import akka.javasdk.annotations.Acl;
 import akka.javasdk.annotations.http.Get;
 import akka.javasdk.annotations.http.HttpEndpoint;
 import akka.javasdk.annotations.http.Post;
 import akka.javasdk.client.ComponentClient;
+import akka.javasdk.http.AbstractHttpEndpoint;
 
 @Acl(allow = @Acl.Matcher(principal = Acl.Principal.INTERNET))
 @HttpEndpoint("/player-games")
-public class PlayerGamesEndpoint {
+public class PlayerGamesEndpoint extends AbstractHttpEndpoint {
   static final Logger log = LoggerFactory.getLogger(PlayerGamesEndpoint.class);
   final ComponentClient componentClient;
 
@@ -33,11 +36,14 @@ public class PlayerGamesEndpoint {
   }
 
   @Get("/get-player/{playerId}")
-  public PlayerGames.State getPlayerGames(String playerId) {
+  public HttpResponse getPlayerGames(String playerId) {
     log.debug("Get player games: {}", playerId);
 
-    return componentClient.forEventSourcedEntity(playerId)
+    var state = componentClient.forEventSourcedEntity(playerId)
         .method(PlayerGamesEntity::getState)
         .invoke();
+
+    var ifNoneMatch = requestContext().requestHeader("If-None-Match").map(HttpHeader::value).orElse(null);
+    return ConditionalGet.respond(ifNoneMatch, PlayerGames.versionOf(state), ConditionalGet.revalidate, () -> state);
   }
 }
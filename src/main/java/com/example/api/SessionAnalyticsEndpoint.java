@@ -0,0 +1,43 @@
+package com.example.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.application.SessionAnalyticsView;
+
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.client.ComponentClient;
+
+/**
+ * Agent session capacity data: message counts, history size growth, tool calls and token estimates per session.
+ */
+@Acl(allow = @Acl.Matcher(principal = Acl.Principal.INTERNET))
+@HttpEndpoint("/session-analytics")
+public class SessionAnalyticsEndpoint {
+  static final Logger log = LoggerFactory.getLogger(SessionAnalyticsEndpoint.class);
+  final ComponentClient componentClient;
+
+  public SessionAnalyticsEndpoint(ComponentClient componentClient) {
+    this.componentClient = componentClient;
+  }
+
+  @Get("/get-sessions/{gameId}")
+  public SessionAnalyticsView.Sessions getSessionsByGame(String gameId) {
+    log.debug("Get sessions by game: {}", gameId);
+
+    return componentClient.forView()
+        .method(SessionAnalyticsView::getSessionsByGame)
+        .invoke(new SessionAnalyticsView.GetSessionsByGameRequest(gameId));
+  }
+
+  @Get("/get-sessions/{gameId}/{agentId}")
+  public SessionAnalyticsView.Sessions getSessionsByGameAndAgent(String gameId, String agentId) {
+    log.debug("Get sessions by game: {}, agent: {}", gameId, agentId);
+
+    return componentClient.forView()
+        .method(SessionAnalyticsView::getSessionsByGameAndAgent)
+        .invoke(new SessionAnalyticsView.GetSessionsByGameAndAgentRequest(gameId, agentId));
+  }
+}
@@ -0,0 +1,177 @@
+package com.example.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Static assets under static-resources, read once at startup with a content hash and, when it saves enough, a gzip
+ * variant. Assets are served from memory with strong ETags, so unchanged assets are revalidated with a 304 instead of
+ * being downloaded again. Asset URLs are not versioned by their content hash, so every asset is revalidated on use; a
+ * max-age would let browsers run a cached script against a newer page or server.
+ */
+public class StaticAssets {
+  static final Logger log = LoggerFactory.getLogger(StaticAssets.class);
+  static final String root = "static-resources";
+  static final double minCompressionSavings = 0.1;
+
+  static final Map<String, String> contentTypes = Map.ofEntries(
+      Map.entry("html", "text/html; charset=UTF-8"),
+      Map.entry("css", "text/css; charset=UTF-8"),
+      Map.entry("js", "text/javascript; charset=UTF-8"),
+      Map.entry("json", "application/json"),
+      Map.entry("svg", "image/svg+xml"),
+      Map.entry("png", "image/png"),
+      Map.entry("ico", "image/x-icon"),
+      Map.entry("wav", "audio/wav"),
+      Map.entry("mp3", "audio/mpeg"));
+
+  public record Variant(String encoding, byte[] bytes, String etag) {}
+
+  public record Asset(String path, String contentType, String cacheControl, Variant identity, Optional<Variant> gzip) {
+
+    /** The gzip variant when the client accepts it, otherwise the identity variant. */
+    public Variant variant(String acceptEncoding) {
+      return gzip.filter(variant -> accepts(acceptEncoding, "gzip")).orElse(identity);
+    }
+
+    /** True when the client's If-None-Match header names the variant's ETag. */
+    public boolean notModified(String ifNoneMatch, Variant variant) {
+      return ConditionalGet.matches(ifNoneMatch, variant.etag);
+    }
+  }
+
+  final Map<String, Asset> assets;
+
+  public StaticAssets(Map<String, byte[]> resources) {
+    this.assets = resources.entrySet().stream()
+        .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> asset(entry.getKey(), entry.getValue())));
+  }
+
+  public static StaticAssets load() {
+    var assets = new StaticAssets(resources());
+
+    var stats = assets.stats();
+    log.info("Static assets: {}, {} bytes, {} gzip variants, {} gzip bytes", stats.assets, stats.bytes, stats.gzipVariants, stats.gzipBytes);
+
+    return assets;
+  }
+
+  public record Stats(int assets, long bytes, int gzipVariants, long gzipBytes) {}
+
+  public Stats stats() {
+    return new Stats(
+        assets.size(),
+        assets.values().stream().mapToLong(asset -> asset.identity.bytes.length).sum(),
+        (int) assets.values().stream().filter(asset -> asset.gzip.isPresent()).count(),
+        assets.values().stream().mapToLong(asset -> asset.gzip.map(variant -> variant.bytes.length).orElse(0)).sum());
+  }
+
+  /** The asset at a path relative to static-resources, such as js/index.js. */
+  public Optional<Asset> get(String path) {
+    return Optional.ofNullable(assets.get(path.startsWith("/") ? path.substring(1) : path));
+  }
+
+  static Asset asset(String path, byte[] bytes) {
+    var extension = path.substring(path.lastIndexOf('.') + 1).toLowerCase();
+    var contentType = contentTypes.getOrDefault(extension, "application/octet-stream");
+    // unversioned urls, the strong ETag keeps the revalidation a cheap 304
+    var cacheControl = ConditionalGet.revalidate;
+
+    var hash = hash(bytes);
+    var identity = new Variant("identity", bytes, "\"" + hash + "\"");
+    var gzipped = gzip(bytes);
+    var gzip = gzipped.length <= bytes.length * (1 - minCompressionSavings)
+        ? Optional.of(new Variant("gzip", gzipped, "\"" + hash + "-gzip\""))
+        : Optional.<Variant>empty();
+
+    return new Asset(path, contentType, cacheControl, identity, gzip);
+  }
+
+  static boolean accepts(String acceptEncoding, String encoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    return Arrays.stream(acceptEncoding.split(","))
+        .map(coding -> coding.trim().split(";"))
+        .anyMatch(coding -> coding[0].trim().equalsIgnoreCase(encoding)
+            && Arrays.stream(coding).skip(1).map(String::trim).noneMatch(param -> param.matches("q=0(\\.0*)?")));
+  }
+
+  static String hash(byte[] bytes) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+      return HexFormat.of().formatHex(digest, 0, 16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static byte[] gzip(byte[] bytes) {
+    var out = new ByteArrayOutputStream(bytes.length / 2 + 64);
+    try (var gzip = new GZIPOutputStream(out) {
+      {
+        def.setLevel(Deflater.BEST_COMPRESSION);
+      }
+    }) {
+      gzip.write(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  /** Reads every file under static-resources on the classpath, from a directory or from the service jar. */
+  static Map<String, byte[]> resources() {
+    var url = StaticAssets.class.getClassLoader().getResource(root);
+    if (url == null) {
+      log.warn("No {} found on the classpath", root);
+      return Map.of();
+    }
+
+    try {
+      var uri = url.toURI();
+      try {
+        return read(Path.of(uri));
+      } catch (FileSystemNotFoundException e) {
+        // inside the service jar, open the jar as a file system for the walk
+        try (var fileSystem = FileSystems.newFileSystem(uri, Map.of())) {
+          return read(fileSystem.provider().getPath(uri));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (URISyntaxException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static Map<String, byte[]> read(Path directory) throws IOException {
+    var resources = new HashMap<String, byte[]>();
+    try (var paths = Files.walk(directory)) {
+      for (var path : paths.filter(Files::isRegularFile).toList()) {
+        var relative = directory.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+        resources.put(relative, Files.readAllBytes(path));
+      }
+    }
+    return resources;
+  }
+}
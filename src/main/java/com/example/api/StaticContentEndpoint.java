@@ -1,166 +1,127 @@
 package com.example.api;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import akka.http.javadsl.model.ContentType;
+import akka.http.javadsl.model.ContentTypes;
+import akka.http.javadsl.model.HttpHeader;
 import akka.http.javadsl.model.HttpRequest;
 import akka.http.javadsl.model.HttpResponse;
+import akka.http.javadsl.model.StatusCodes;
+import akka.http.javadsl.model.headers.RawHeader;
 import akka.javasdk.annotations.Acl;
 import akka.javasdk.annotations.http.Get;
 import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.http.AbstractHttpEndpoint;
 import akka.javasdk.http.HttpResponses;
 
 /**
- * Endpoint to serve static content like HTML, CSS, and JavaScript files.
+ * Endpoint to serve static content like HTML, CSS, and JavaScript files. Files are served from {@link StaticAssets},
+ * so every file under static-resources is available without a route of its own; pages at the root are listed here.
  */
 @Acl(allow = @Acl.Matcher(principal = Acl.Principal.INTERNET))
 @HttpEndpoint
-public class StaticContentEndpoint {
+public class StaticContentEndpoint extends AbstractHttpEndpoint {
+  static final Map<String, ContentType> contentTypes = new ConcurrentHashMap<>();
+  final StaticAssets assets;
+
+  public StaticContentEndpoint(StaticAssets assets) {
+    this.assets = assets;
+  }
 
   @Get("/")
   public HttpResponse serveIndex() {
-    return HttpResponses.staticResource("index.html");
+    return serve("index.html");
   }
 
   @Get("/index.html")
   public HttpResponse serveIndexHtml() {
-    return HttpResponses.staticResource("index.html");
-  }
-
-  @Get("/css/index.css")
-  public HttpResponse serveIndexCss() {
-    return HttpResponses.staticResource("css/index.css");
-  }
-
-  @Get("/css/index-journal-viewer.css")
-  public HttpResponse serveIndexJournalViewerCss() {
-    return HttpResponses.staticResource("css/index-journal-viewer.css");
-  }
-
-  @Get("/js/index.js")
-  public HttpResponse serveIndexJs() {
-    return HttpResponses.staticResource("js/index.js");
+    return serve("index.html");
   }
 
   @Get("/playbook.html")
   public HttpResponse servePlaybookHtml() {
-    return HttpResponses.staticResource("playbook.html");
-  }
-
-  @Get("/js/playbook.js")
-  public HttpResponse servePlaybookJs() {
-    return HttpResponses.staticResource("js/playbook.js");
+    return serve("playbook.html");
   }
 
   @Get("/agent-role.html")
   public HttpResponse serveAgentRoleHtml() {
-    return HttpResponses.staticResource("agent-role.html");
-  }
-
-  @Get("/js/agent-role.js")
-  public HttpResponse serveAgentRoleJs() {
-    return HttpResponses.staticResource("js/agent-role.js");
-  }
-
-  @Get("/css/common.css")
-  public HttpResponse serveCommonCss() {
-    return HttpResponses.staticResource("css/common.css");
-  }
-
-  @Get("/js/common.js")
-  public HttpResponse serveCommonJs() {
-    return HttpResponses.staticResource("js/common.js");
-  }
-
-  @Get("/css/common-new.css")
-  public HttpResponse serveCommonNewCss() {
-    return HttpResponses.staticResource("css/common-new.css");
-  }
-
-  @Get("/js/common-new.js")
-  public HttpResponse serveCommonNewJs() {
-    return HttpResponses.staticResource("js/common-new.js");
+    return serve("agent-role.html");
   }
 
   @Get("/help.html")
   public HttpResponse serveHelpHtml() {
-    return HttpResponses.staticResource("help.html");
-  }
-
-  @Get("/css/help.css")
-  public HttpResponse serveHelpCss() {
-    return HttpResponses.staticResource("css/help.css");
-  }
-
-  @Get("/js/help.js")
-  public HttpResponse serveHelpJs() {
-    return HttpResponses.staticResource("js/help.js");
+    return serve("help.html");
   }
 
   @Get("/leader-board.html")
   public HttpResponse serveLeaderBoardHtml() {
-    return HttpResponses.staticResource("leader-board.html");
+    return serve("leader-board.html");
   }
 
-  @Get("/css/leader-board.css")
-  public HttpResponse serveLeaderBoardCss() {
-    return HttpResponses.staticResource("css/leader-board.css");
+  @Get("/game-action-log.html")
+  public HttpResponse serveGameActionLogHtml() {
+    return serve("game-action-log.html");
   }
 
-  @Get("/js/leader-board.js")
-  public HttpResponse serveLeaderBoardJs() {
-    return HttpResponses.staticResource("js/leader-board.js");
+  @Get("/favicon.ico")
+  public HttpResponse serveFavicon() {
+    return serve("favicon.ico");
   }
 
-  @Get("/js/journal-viewer.js")
-  public HttpResponse serveJournalViewerJs() {
-    return HttpResponses.staticResource("js/journal-viewer.js");
+  @Get("/js/**")
+  public HttpResponse serveJs(HttpRequest request) {
+    return serve(request.getUri().path());
   }
 
-  @Get("/css/journal-viewer.css")
-  public HttpResponse serveJournalViewerCss() {
-    return HttpResponses.staticResource("css/journal-viewer.css");
+  @Get("/css/**")
+  public HttpResponse serveCss(HttpRequest request) {
+    return serve(request.getUri().path());
   }
 
-  @Get("/js/square-popup.js")
-  public HttpResponse serveSquarePopupJs() {
-    return HttpResponses.staticResource("js/square-popup.js");
+  // sounds and images are stored at the root of static-resources
+  @Get("/sounds/**")
+  public HttpResponse serveSounds(HttpRequest request) {
+    return serve(request.getUri().path().substring("/sounds/".length()));
   }
 
-  @Get("/js/game-action-log.js")
-  public HttpResponse serveGameActionLogJs() {
-    return HttpResponses.staticResource("js/game-action-log.js");
+  @Get("/images/**")
+  public HttpResponse serveImages(HttpRequest request) {
+    return serve(request.getUri().path().substring("/images/".length()));
   }
 
-  @Get("/css/game-action-log.css")
-  public HttpResponse serveGameActionLogCss() {
-    return HttpResponses.staticResource("css/game-action-log.css");
-  }
+  HttpResponse serve(String path) {
+    var asset = assets.get(path);
+    if (asset.isEmpty()) {
+      return HttpResponses.notFound();
+    }
 
-  @Get("/game-action-log.html")
-  public HttpResponse serveGameActionLogHtml() {
-    return HttpResponses.staticResource("game-action-log.html");
-  }
+    var variant = asset.get().variant(requestHeader("Accept-Encoding"));
+    var headers = new ArrayList<HttpHeader>(List.of(
+        RawHeader.create("ETag", variant.etag()),
+        RawHeader.create("Cache-Control", asset.get().cacheControl()),
+        RawHeader.create("Vary", "Accept-Encoding")));
 
-  @Get("/css/square-popup.css")
-  public HttpResponse serveSquarePopupCss() {
-    return HttpResponses.staticResource("css/square-popup.css");
-  }
+    if (asset.get().notModified(requestHeader("If-None-Match"), variant)) {
+      return HttpResponse.create()
+          .withStatus(StatusCodes.NOT_MODIFIED)
+          .withHeaders(headers);
+    }
 
-  @Get("/js/diff.js")
-  public HttpResponse serveDiffJs() {
-    return HttpResponses.staticResource("js/diff.js");
-  }
+    if (!variant.encoding().equals("identity")) {
+      headers.add(RawHeader.create("Content-Encoding", variant.encoding()));
+    }
 
-  @Get("/favicon.ico")
-  public HttpResponse serveFavicon() {
-    return HttpResponses.staticResource("favicon.ico");
+    return HttpResponse.create()
+        .withStatus(StatusCodes.OK)
+        .withHeaders(headers)
+        .withEntity(contentTypes.computeIfAbsent(asset.get().contentType(), ContentTypes::parse), variant.bytes());
   }
 
-  @Get("/sounds/**")
-  public HttpResponse serveSounds(HttpRequest request) {
-    return HttpResponses.staticResource(request, "/sounds/");
-  }
-
-  @Get("/images/**")
-  public HttpResponse serveImages(HttpRequest request) {
-    return HttpResponses.staticResource(request, "/images/");
+  String requestHeader(String name) {
+    return requestContext().requestHeader(name).map(HttpHeader::value).orElse(null);
   }
 }
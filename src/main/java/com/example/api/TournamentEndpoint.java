@@ -0,0 +1,112 @@
+package com.example.api;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.application.PlayerGamesEntity;
+import com.example.application.TournamentEntity;
+import com.example.domain.DotGame;
+import com.example.domain.Tournament;
+
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.annotations.http.Post;
+import akka.javasdk.client.ComponentClient;
+
+/**
+ * Tournament endpoint, runs round robin or Swiss tournaments of agent vs agent games.
+ */
+@Acl(allow = @Acl.Matcher(principal = Acl.Principal.INTERNET))
+@HttpEndpoint("/tournament")
+public class TournamentEndpoint {
+  static final Logger log = LoggerFactory.getLogger(TournamentEndpoint.class);
+  final ComponentClient componentClient;
+
+  public TournamentEndpoint(ComponentClient componentClient) {
+    this.componentClient = componentClient;
+  }
+
+  @Post("/create-tournament")
+  public Tournament.Progress createTournament(CreateTournament request) {
+    log.debug("Create tournament: {}", request);
+
+    var command = new Tournament.Command.CreateTournament(
+        request.tournamentId,
+        request.format,
+        request.players,
+        request.levels,
+        request.rounds,
+        request.maxConcurrentGames,
+        ratingsOf(request.players));
+
+    var tournament = componentClient
+        .forEventSourcedEntity(request.tournamentId)
+        .method(TournamentEntity::createTournament)
+        .invoke(command);
+
+    return tournament.progress(Instant.now());
+  }
+
+  // each player's standing starts from the rating recorded with their games
+  Map<String, Double> ratingsOf(List<DotGame.Player> players) {
+    if (players == null) {
+      return Map.of();
+    }
+
+    return players.stream()
+        .map(DotGame.Player::id)
+        .distinct()
+        .collect(Collectors.toMap(playerId -> playerId, playerId -> componentClient
+            .forEventSourcedEntity(playerId)
+            .method(PlayerGamesEntity::getRating)
+            .invoke()
+            .rating()));
+  }
+
+  @Post("/cancel-tournament")
+  public Tournament.Progress cancelTournament(CancelTournament request) {
+    log.debug("Cancel tournament: {}", request);
+
+    var command = new Tournament.Command.CancelTournament(request.tournamentId, "User cancelled tournament");
+
+    var tournament = componentClient
+        .forEventSourcedEntity(request.tournamentId)
+        .method(TournamentEntity::cancelTournament)
+        .invoke(command);
+
+    return tournament.progress(Instant.now());
+  }
+
+  @Get("/get-tournament/{tournamentId}")
+  public Tournament.State getTournament(String tournamentId) {
+    log.debug("Get tournament: {}", tournamentId);
+
+    return componentClient
+        .forEventSourcedEntity(tournamentId)
+        .method(TournamentEntity::getState)
+        .invoke();
+  }
+
+  @Get("/get-progress/{tournamentId}")
+  public Tournament.Progress getProgress(String tournamentId) {
+    log.debug("Get tournament progress: {}", tournamentId);
+
+    return getTournament(tournamentId).progress(Instant.now());
+  }
+
+  public record CreateTournament(
+      String tournamentId,
+      Tournament.Format format,
+      List<DotGame.Player> players,
+      List<DotGame.Board.Level> levels,
+      int rounds,
+      int maxConcurrentGames) {}
+
+  public record CancelTournament(String tournamentId) {}
+}
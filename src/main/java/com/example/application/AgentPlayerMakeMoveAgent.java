@@ -1,13 +1,17 @@
 package com.example.application;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 // import com.example.aicustommodel.GeminiCustomModelProvider;
 import com.example.domain.DotGame;
+import com.example.domain.GameProjection;
+import com.example.domain.Playbook;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.typesafe.config.Config;
 
 import akka.javasdk.JsonSupport;
 import akka.javasdk.agent.Agent;
@@ -27,35 +31,103 @@ public class AgentPlayerMakeMoveAgent extends Agent {
   final ComponentClient componentClient;
   final String sessionId;
   final GameActionLogger gameLog;
+  final GameProjectionCache gameProjections;
+  final GameStateTool gameStateTool;
+  final PlaybookTools playbookTools;
+  final MoveResponseLogsTool moveResponseLogsTool;
   final List<Object> functionTools;
-
-  public AgentPlayerMakeMoveAgent(ComponentClient componentClient, AgentContext agentContext) {
+  final boolean prefetchedBriefing;
+  final ModelRateLimiter rateLimiter;
+  final ModelProviders modelProviders;
+  final Metrics metrics;
+
+  public AgentPlayerMakeMoveAgent(ComponentClient componentClient, AgentContext agentContext, Config config,
+      ToolCursors toolCursors,
+      BoardEncodings boardEncodings,
+      GameProjectionCache gameProjections,
+      ModelRateLimiter rateLimiter,
+      ModelProviders modelProviders,
+      Metrics metrics) {
     this.componentClient = componentClient;
     this.sessionId = agentContext.sessionId();
     this.gameLog = new GameActionLogger(componentClient);
+    this.rateLimiter = rateLimiter;
+    this.modelProviders = modelProviders;
+    this.metrics = metrics;
+    this.gameProjections = gameProjections;
+    this.gameStateTool = new GameStateTool(componentClient, toolCursors, boardEncodings, gameProjections, metrics);
+    this.playbookTools = new PlaybookTools(componentClient, metrics);
+    this.moveResponseLogsTool = new MoveResponseLogsTool(componentClient, toolCursors, metrics);
     this.functionTools = List.of(
-        new GameStateTool(componentClient),
-        new PlaybookTools(componentClient),
-        new MoveResponseLogsTool(componentClient),
-        new MakeMoveTool(componentClient));
+        gameStateTool,
+        playbookTools,
+        moveResponseLogsTool,
+        new MakeMoveTool(componentClient, gameProjections, metrics));
+    this.prefetchedBriefing = config.hasPath("agent-player.prefetched-briefing.enabled") && config.getBoolean("agent-player.prefetched-briefing.enabled");
   }
 
   public Effect<String> makeMove(MakeMovePrompt prompt) {
-    var promptFormatted = prompt.toPrompt(componentClient);
-
-    log.debug("SessionId: {}\n_MakeMovePrompt: {}", sessionId, prompt);
-    gameLog.logModelPrompt(prompt.gameId, prompt.agent().id(), promptFormatted);
+    var request = modelRequest(prompt);
 
     return effects()
-        .model(ModelProvider.fromConfig("ai-agent-model-" + prompt.agent().model()))
-        // .model(ModelProvider.custom(new GeminiCustomModelProvider()))
+        .model(request.model())
+        .tools(functionTools)
+        .systemMessage(request.systemPrompt())
+        .userMessage(request.userPrompt())
+        .onFailure(e -> handleError(prompt, e))
+        .thenReply();
+  }
+
+  /** Same as makeMove with the model response streamed as it is generated. */
+  public StreamEffect makeMoveStream(MakeMovePrompt prompt) {
+    var request = modelRequest(prompt);
+
+    return streamEffects()
+        .model(request.model())
         .tools(functionTools)
-        .systemMessage(systemPrompt(prompt.agent().id()))
-        .userMessage(promptFormatted)
+        .systemMessage(request.systemPrompt())
+        .userMessage(request.userPrompt())
         .onFailure(e -> handleError(prompt, e))
         .thenReply();
   }
 
+  record ModelRequest(ModelProvider model, String systemPrompt, String userPrompt) {}
+
+  ModelRequest modelRequest(MakeMovePrompt prompt) {
+    var promptFormatted = prefetchedBriefing
+        ? prompt.toPrompt(briefing(prompt))
+        : prompt.toPrompt(componentClient);
+
+    log.debug("SessionId: {}\n_MakeMovePrompt: {}", sessionId, prompt);
+    gameLog.logModelPrompt(prompt.gameId, prompt.agent().id(), promptFormatted);
+
+    var systemPrompt = systemPrompt(prompt.agent().id());
+    rateLimiter.promptBuilt(prompt.agent().model(), "make-move", systemPrompt, promptFormatted);
+
+    var model = modelProviders.forModel(prompt.agent().model());
+    // var model = ModelProvider.custom(new GeminiCustomModelProvider());
+
+    return new ModelRequest(model, systemPrompt, promptFormatted);
+  }
+
+  // Reads the playbook, game state, and move response logs in parallel so the agent doesn't call each read tool in turn.
+  // With incremental tools the briefing carries only the moves and logs since the agent's last turn in detail, earlier
+  // ones are summarized in the same response, so the briefing still stands on its own in the move's new session.
+  TurnBriefing briefing(MakeMovePrompt prompt) {
+    var agentId = prompt.agent().id();
+    var playbook = playbookTools.readPlaybookAsync(agentId).toCompletableFuture();
+    var projection = gameProjections.getAsync(componentClient, prompt.gameId()).toCompletableFuture();
+    var moveResponseLogs = moveResponseLogsTool.getMoveResponseLogsAsync(prompt.gameId(), agentId, false).toCompletableFuture();
+
+    CompletableFuture.allOf(playbook, projection, moveResponseLogs).join();
+
+    return new TurnBriefing(
+        playbook.join(),
+        projection.join(),
+        gameStateTool.gameState(projection.join(), agentId, false),
+        moveResponseLogs.join());
+  }
+
   String systemPrompt(String agentId) {
     var result = componentClient
         .forEventSourcedEntity(agentId)
@@ -66,9 +138,11 @@ public class AgentPlayerMakeMoveAgent extends Agent {
   }
 
   String handleError(MakeMovePrompt prompt, Throwable exception) {
+    metrics.modelError(prompt.agent().model(), "make-move", exception);
+
     return switch (exception) {
       case ModelException e -> retryMove(prompt, e);
-      case RateLimitException e -> forfeitMove(prompt, e);
+      case RateLimitException e -> rateLimiter.isEnabled() ? rateLimited(prompt, e) : forfeitMove(prompt, e);
       case ModelTimeoutException e -> retryMove(prompt, e);
       case ToolCallExecutionException e -> retryMove(prompt, e);
       case JsonParsingException e -> retryMove(prompt, e);
@@ -83,6 +157,12 @@ public class AgentPlayerMakeMoveAgent extends Agent {
     return "Retry move, possible recoverable agent error, agent: %s, agent error: %s".formatted(prompt.agent().id(), exception.getMessage());
   }
 
+  // the retried move waits for the rate limiter back-off, after too many retries the workflow forfeits the move
+  String rateLimited(MakeMovePrompt prompt, RateLimitException exception) {
+    rateLimiter.rateLimited(prompt.agent().model(), exception);
+    return retryMove(prompt, exception);
+  }
+
   String forfeitMove(MakeMovePrompt prompt, Throwable exception) {
     log.error("SessionId: {}\n_Forfeiting move due to agent error: {}".formatted(sessionId, exception.getMessage()), exception);
 
@@ -97,6 +177,12 @@ public class AgentPlayerMakeMoveAgent extends Agent {
     return "Forfeit move, agent: %s, agent error: %s".formatted(prompt.agent().id(), exception.getMessage());
   }
 
+  record TurnBriefing(
+      Playbook.State playbook,
+      GameProjection projection,
+      GameStateTool.GameState gameState,
+      MoveResponseLogsTool.Response moveResponseLogs) {}
+
   record MakeMovePrompt(String sessionId, String gameId, DotGame.Player agent) {
     public String toPrompt(ComponentClient componentClient) {
       var gameState = componentClient
@@ -104,6 +190,38 @@ public class AgentPlayerMakeMoveAgent extends Agent {
           .method(DotGameEntity::getState)
           .invoke();
 
+      return toPrompt(gameState);
+    }
+
+    public String toPrompt(TurnBriefing briefing) {
+      var playbook = briefing.playbook().instructions().isEmpty() ? "Playbook is empty" : briefing.playbook().instructions();
+
+      return toPrompt(briefing.projection().state()) + """
+
+          Your playbook, the current game state, and your move response logs are included below, you do not need to
+          call PlaybookTools_readPlaybook, GameStateTool_getGameState, or MoveResponseLogsTool_getMoveResponseLogs
+          before making your move. Call them only when you need to refresh this information.
+
+          <PLAYBOOK>
+          %s
+          </PLAYBOOK>
+
+          <GAME_STATE_JSON>
+          %s
+          </GAME_STATE_JSON>
+
+          <MOVE_RESPONSE_LOGS_JSON>
+          %s
+          </MOVE_RESPONSE_LOGS_JSON>
+          """
+          .formatted(
+              playbook,
+              GameStateTool.json(briefing.gameState()),
+              MoveResponseLogsTool.json(briefing.moveResponseLogs()))
+          .stripIndent();
+    }
+
+    String toPrompt(DotGame.State gameState) {
       var agentPlayerStatus = gameState.currentPlayerStatus().get();
       var opponentPlayerStatus = gameState.player1Status().player().id().equals(agent.id())
           ? gameState.player2Status()
@@ -11,7 +11,6 @@ import akka.javasdk.agent.Agent;
 import akka.javasdk.agent.AgentContext;
 import akka.javasdk.agent.JsonParsingException;
 import akka.javasdk.agent.ModelException;
-import akka.javasdk.agent.ModelProvider;
 import akka.javasdk.agent.ModelTimeoutException;
 import akka.javasdk.agent.RateLimitException;
 import akka.javasdk.agent.ToolCallExecutionException;
@@ -25,13 +24,22 @@ public class AgentPlayerPlaybookReviewAgent extends Agent {
   final String sessionId;
   final GameActionLogger gameLog;
   final List<Object> functionTools;
+  final ModelRateLimiter rateLimiter;
+  final ModelProviders modelProviders;
+  final Metrics metrics;
+  final SessionMemoryPolicies sessionMemories;
 
-  public AgentPlayerPlaybookReviewAgent(ComponentClient componentClient, AgentContext agentContext) {
+  public AgentPlayerPlaybookReviewAgent(ComponentClient componentClient, AgentContext agentContext, ModelRateLimiter rateLimiter, ModelProviders modelProviders,
+      Metrics metrics, SessionMemoryPolicies sessionMemories) {
     this.componentClient = componentClient;
     this.sessionId = agentContext.sessionId();
     this.gameLog = new GameActionLogger(componentClient);
+    this.rateLimiter = rateLimiter;
+    this.modelProviders = modelProviders;
+    this.metrics = metrics;
+    this.sessionMemories = sessionMemories;
     this.functionTools = List.of(
-        new PlaybookTools(componentClient));
+        new PlaybookTools(componentClient, metrics));
   }
 
   public Effect<String> playbookReview(PlaybookReviewPrompt prompt) {
@@ -39,11 +47,14 @@ public class AgentPlayerPlaybookReviewAgent extends Agent {
 
     log.debug("SessionId: {}\n_PlaybookReviewPrompt: {}", sessionId, prompt);
     gameLog.logModelPrompt(prompt.gameId, prompt.agent().id(), promptFormatted);
+    rateLimiter.promptBuilt(prompt.agent().model(), "playbook-review", systemPrompt, promptFormatted);
 
-    return effects()
-        .model(ModelProvider.fromConfig("ai-agent-model-" + prompt.agent().model()))
+    var effect = effects()
+        .model(modelProviders.forModel(prompt.agent().model()))
         // .model(ModelProvider.custom(new GeminiCustomModelProvider()))
-        .tools(functionTools)
+        .tools(functionTools);
+
+    return sessionMemories.withMemory(effect, componentClient, "agent-player-playbook-review-agent")
         .systemMessage(systemPrompt)
         .userMessage(promptFormatted)
         .onFailure(e -> handleError(prompt, e))
@@ -51,9 +62,11 @@ public class AgentPlayerPlaybookReviewAgent extends Agent {
   }
 
   String handleError(PlaybookReviewPrompt prompt, Throwable exception) {
+    metrics.modelError(prompt.agent().model(), "playbook-review", exception);
+
     return switch (exception) {
       case ModelException e -> tryAgain(prompt, e);
-      case RateLimitException e -> throwException(prompt, e);
+      case RateLimitException e -> rateLimited(prompt, e);
       case ModelTimeoutException e -> tryAgain(prompt, e);
       case ToolCallExecutionException e -> tryAgain(prompt, e);
       case JsonParsingException e -> tryAgain(prompt, e);
@@ -71,6 +84,12 @@ public class AgentPlayerPlaybookReviewAgent extends Agent {
     throw new TryAgainException(prompt, exception);
   }
 
+  // the workflow step retries the review, the retry waits for the rate limiter back-off
+  String rateLimited(PlaybookReviewPrompt prompt, RateLimitException exception) {
+    rateLimiter.rateLimited(prompt.agent().model(), exception);
+    return throwException(prompt, exception);
+  }
+
   String throwException(PlaybookReviewPrompt prompt, Throwable exception) {
     throw new RuntimeException(exception);
   }
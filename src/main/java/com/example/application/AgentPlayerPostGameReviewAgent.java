@@ -14,7 +14,6 @@ import akka.javasdk.agent.Agent;
 import akka.javasdk.agent.AgentContext;
 import akka.javasdk.agent.JsonParsingException;
 import akka.javasdk.agent.ModelException;
-import akka.javasdk.agent.ModelProvider;
 import akka.javasdk.agent.ModelTimeoutException;
 import akka.javasdk.agent.RateLimitException;
 import akka.javasdk.agent.ToolCallExecutionException;
@@ -28,14 +27,23 @@ public class AgentPlayerPostGameReviewAgent extends Agent {
   final String sessionId;
   final GameActionLogger gameLog;
   final List<Object> functionTools;
+  final ModelRateLimiter rateLimiter;
+  final ModelProviders modelProviders;
+  final Metrics metrics;
+  final SessionMemoryPolicies sessionMemories;
 
-  public AgentPlayerPostGameReviewAgent(ComponentClient componentClient, AgentContext agentContext) {
+  public AgentPlayerPostGameReviewAgent(ComponentClient componentClient, AgentContext agentContext, GameProjectionCache gameProjections, ModelRateLimiter rateLimiter, ModelProviders modelProviders,
+      Metrics metrics, SessionMemoryPolicies sessionMemories) {
     this.componentClient = componentClient;
     this.sessionId = agentContext.sessionId();
     this.gameLog = new GameActionLogger(componentClient);
+    this.rateLimiter = rateLimiter;
+    this.modelProviders = modelProviders;
+    this.metrics = metrics;
+    this.sessionMemories = sessionMemories;
     this.functionTools = List.of(
-        new MoveHistoryTool(componentClient),
-        new MoveResponseLogsTool(componentClient));
+        new MoveHistoryTool(componentClient, gameProjections, metrics),
+        new MoveResponseLogsTool(componentClient, ToolCursors.disabled(), metrics));
   }
 
   public Effect<String> postGameReview(PostGameReviewPrompt prompt) {
@@ -43,10 +51,13 @@ public class AgentPlayerPostGameReviewAgent extends Agent {
 
     log.debug("SessionId: {}\n_PostGameReviewPrompt: {}", sessionId, prompt);
     gameLog.logModelPrompt(prompt.gameId, prompt.agent().id(), promptFormatted);
+    rateLimiter.promptBuilt(prompt.agent().model(), "post-game-review", systemPrompt, promptFormatted);
 
-    return effects()
-        .model(ModelProvider.fromConfig("ai-agent-model-" + prompt.agent().model()))
-        .tools(functionTools)
+    var effect = effects()
+        .model(modelProviders.forModel(prompt.agent().model()))
+        .tools(functionTools);
+
+    return sessionMemories.withMemory(effect, componentClient, "agent-player-post-game-review-agent")
         .systemMessage(systemPrompt)
         .userMessage(promptFormatted)
         .onFailure(e -> handleError(prompt, e))
@@ -54,9 +65,11 @@ public class AgentPlayerPostGameReviewAgent extends Agent {
   }
 
   String handleError(PostGameReviewPrompt prompt, Throwable exception) {
+    metrics.modelError(prompt.agent().model(), "post-game-review", exception);
+
     return switch (exception) {
       case ModelException e -> tryAgain(prompt, e);
-      case RateLimitException e -> throwException(prompt, e);
+      case RateLimitException e -> rateLimited(prompt, e);
       case ModelTimeoutException e -> tryAgain(prompt, e);
       case ToolCallExecutionException e -> tryAgain(prompt, e);
       case JsonParsingException e -> tryAgain(prompt, e);
@@ -69,6 +82,12 @@ public class AgentPlayerPostGameReviewAgent extends Agent {
     return "Try again, possible recoverable agent error, agent: %s, agent error: %s".formatted(prompt.agent().id(), exception.getMessage());
   }
 
+  // the workflow step retries the review, the retry waits for the rate limiter back-off
+  String rateLimited(PostGameReviewPrompt prompt, RateLimitException exception) {
+    rateLimiter.rateLimited(prompt.agent().model(), exception);
+    return throwException(prompt, exception);
+  }
+
   String throwException(PostGameReviewPrompt prompt, Throwable exception) {
     throw new RuntimeException(exception);
   }
@@ -12,7 +12,6 @@ import akka.javasdk.agent.Agent;
 import akka.javasdk.agent.AgentContext;
 import akka.javasdk.agent.JsonParsingException;
 import akka.javasdk.agent.ModelException;
-import akka.javasdk.agent.ModelProvider;
 import akka.javasdk.agent.ModelTimeoutException;
 import akka.javasdk.agent.RateLimitException;
 import akka.javasdk.agent.ToolCallExecutionException;
@@ -25,13 +24,22 @@ public class AgentPlayerSystemPromptReviewAgent extends Agent {
   final String sessionId;
   final GameActionLogger gameLog;
   final List<Object> functionTools;
+  final ModelRateLimiter rateLimiter;
+  final ModelProviders modelProviders;
+  final Metrics metrics;
+  final SessionMemoryPolicies sessionMemories;
 
-  public AgentPlayerSystemPromptReviewAgent(ComponentClient componentClient, AgentContext agentContext) {
+  public AgentPlayerSystemPromptReviewAgent(ComponentClient componentClient, AgentContext agentContext, ModelRateLimiter rateLimiter, ModelProviders modelProviders,
+      Metrics metrics, SessionMemoryPolicies sessionMemories) {
     this.componentClient = componentClient;
     this.sessionId = agentContext.sessionId();
     this.gameLog = new GameActionLogger(componentClient);
+    this.rateLimiter = rateLimiter;
+    this.modelProviders = modelProviders;
+    this.metrics = metrics;
+    this.sessionMemories = sessionMemories;
     this.functionTools = List.of(
-        new SystemPromptTools(componentClient));
+        new SystemPromptTools(componentClient, metrics));
   }
 
   public Effect<String> systemPromptReview(SystemPromptReviewPrompt prompt) {
@@ -39,10 +47,13 @@ public class AgentPlayerSystemPromptReviewAgent extends Agent {
 
     log.debug("SessionId: {}\n_SystemPromptReviewPrompt: {}", sessionId, prompt);
     gameLog.logModelPrompt(prompt.gameId, prompt.agent().id(), promptFormatted);
+    rateLimiter.promptBuilt(prompt.agent().model(), "system-prompt-review", systemPrompt, promptFormatted);
 
-    return effects()
-        .model(ModelProvider.fromConfig("ai-agent-model-" + prompt.agent().model()))
-        .tools(functionTools)
+    var effect = effects()
+        .model(modelProviders.forModel(prompt.agent().model()))
+        .tools(functionTools);
+
+    return sessionMemories.withMemory(effect, componentClient, "agent-player-system-prompt-review-agent")
         .systemMessage(systemPrompt)
         .userMessage(promptFormatted)
         .onFailure(e -> handleError(prompt, e))
@@ -50,9 +61,11 @@ public class AgentPlayerSystemPromptReviewAgent extends Agent {
   }
 
   String handleError(SystemPromptReviewPrompt prompt, Throwable exception) {
+    metrics.modelError(prompt.agent().model(), "system-prompt-review", exception);
+
     return switch (exception) {
       case ModelException e -> tryAgain(prompt, e);
-      case RateLimitException e -> throwException(prompt, e);
+      case RateLimitException e -> rateLimited(prompt, e);
       case ModelTimeoutException e -> tryAgain(prompt, e);
       case ToolCallExecutionException e -> tryAgain(prompt, e);
       case JsonParsingException e -> tryAgain(prompt, e);
@@ -70,6 +83,12 @@ public class AgentPlayerSystemPromptReviewAgent extends Agent {
     throw new TryAgainException(prompt, exception);
   }
 
+  // the workflow step retries the review, the retry waits for the rate limiter back-off
+  String rateLimited(SystemPromptReviewPrompt prompt, RateLimitException exception) {
+    rateLimiter.rateLimited(prompt.agent().model(), exception);
+    return throwException(prompt, exception);
+  }
+
   String throwException(SystemPromptReviewPrompt prompt, Throwable exception) {
     throw new RuntimeException(exception);
   }
@@ -2,13 +2,22 @@ package com.example.application;
 
 import static java.time.Duration.ofMinutes;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.example.domain.AgentPlayer;
 import com.example.domain.AgentPlayer.State;
 import com.example.domain.DotGame;
+import com.example.domain.ForcedMove;
 import com.example.domain.GameMoveLog;
+import com.example.domain.PositionKey;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.typesafe.config.Config;
 
 import akka.Done;
 import akka.javasdk.NotificationPublisher;
@@ -16,6 +25,7 @@ import akka.javasdk.annotations.Component;
 import akka.javasdk.client.ComponentClient;
 import akka.javasdk.workflow.Workflow;
 import akka.javasdk.workflow.WorkflowContext;
+import akka.stream.Materializer;
 
 @Component(id = "agent-player-workflow")
 public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
@@ -23,18 +33,58 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
   final ComponentClient componentClient;
   final GameActionLogger gameLog;
   final String workflowId;
-  final NotificationPublisher<String> notificationPublisher;
+  final NotificationPublisher<Notification> notificationPublisher;
+  final Materializer materializer;
+  final boolean streamingEnabled;
+  final boolean forcedMoveEnabled;
+  final List<String> forcedMoveAgents;
+  final MoveDecisionCache moveDecisionCache;
+  final ReviewScheduler reviewScheduler;
+  final ModelRateLimiter rateLimiter;
+  final Metrics metrics;
 
   public AgentPlayerWorkflow(
       ComponentClient componentClient,
       WorkflowContext workflowContext,
-      NotificationPublisher<String> notificationPublisher) {
+      NotificationPublisher<Notification> notificationPublisher,
+      Materializer materializer,
+      Config config,
+      MoveDecisionCache moveDecisionCache,
+      ReviewScheduler reviewScheduler,
+      ModelRateLimiter rateLimiter,
+      Metrics metrics) {
     this.componentClient = componentClient;
     this.gameLog = new GameActionLogger(componentClient);
     this.workflowId = workflowContext.workflowId();
     this.notificationPublisher = notificationPublisher;
+    this.materializer = materializer;
+    this.streamingEnabled = config.hasPath("agent-player.streaming.enabled") && config.getBoolean("agent-player.streaming.enabled");
+    this.forcedMoveEnabled = config.hasPath("agent-player.forced-move.enabled") && config.getBoolean("agent-player.forced-move.enabled");
+    this.forcedMoveAgents = config.hasPath("agent-player.forced-move.agents") ? config.getStringList("agent-player.forced-move.agents") : List.of();
+    this.moveDecisionCache = moveDecisionCache;
+    this.reviewScheduler = reviewScheduler;
+    this.rateLimiter = rateLimiter;
+    this.metrics = metrics;
   }
 
+  /** Workflow notification, either a completed step or a chunk of streamed model output. */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public record Notification(String step, String modelOutput) {
+    static Notification step(String step) {
+      return new Notification(step, null);
+    }
+
+    static Notification modelOutput(String token) {
+      return new Notification(null, token);
+    }
+  }
+
+  /** A step waiting for its turn at the model, the timer that runs it again carries the step's input. */
+  public record DeferredStep(String step, DotGame.Event.PlayerTurnCompleted event) {}
+
+  /** A move made by the model, cached once the verify step sees it on the board. */
+  public record AgentMove(DotGame.Event.PlayerTurnCompleted event, PositionKey positionKey, int moveCount, String response) {}
+
   @Override
   public State emptyState() {
     return AgentPlayer.State.empty();
@@ -72,9 +122,10 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
           .with(sessionIdPrefix, event.gameId(), agentPlayerStatus.player());
     }
 
-    if (DotGame.Status.in_progress == event.status() && currentState().moveCount() < event.moveHistory().size()) { // de-dup (game is in progress and move count is less than move history size)
+    var openingTurn = currentState().isEmpty() && event.moveHistory().isEmpty(); // a game the agent starts, or whose opening move was forfeited
+    if (DotGame.Status.in_progress == event.status() && (openingTurn || currentState().moveCount() < event.moveHistory().size())) { // de-dup (game is in progress and move count is less than move history size)
       return effects()
-          .updateState(state)
+          .updateState(state.withDeferredStep(""))
           .transitionTo(AgentPlayerWorkflow::makeMoveStep)
           .withInput(event)
           .thenReply(Done.getInstance());
@@ -82,7 +133,7 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
 
     if (DotGame.Status.in_progress != event.status() && currentState().moveCount() < event.moveHistory().size()) { // de-dup (game is not in progress and move count is less than move history size)
       return effects()
-          .updateState(state)
+          .updateState(state.withMoveCount(event.moveHistory().size()).withDeferredStep("")) // reviews can pause, a redelivered game over event must not restart them
           .transitionTo(AgentPlayerWorkflow::startPostGameReviewStep)
           .withInput(event)
           .thenReply(Done.getInstance());
@@ -91,11 +142,46 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
     return effects().reply(Done.getInstance()); // ignore duplicate messages
   }
 
+  public Effect<Done> resumeDeferredStep(DeferredStep deferred) {
+    log.debug("WorkflowId: {}\n_State: {}\n_Resume: {}", workflowId, currentState(), deferred.step());
+
+    if (!currentState().isDeferred(deferred.step())) {
+      return effects().reply(Done.getInstance()); // the workflow has moved on, ignore a stale timer
+    }
+
+    var state = currentState().withDeferredStep("");
+    return switch (deferred.step()) {
+      case "makeMoveStep" -> effects()
+          .updateState(state)
+          .transitionTo(AgentPlayerWorkflow::makeMoveStep)
+          .withInput(deferred.event())
+          .thenReply(Done.getInstance());
+      case "startPostGameReviewStep" -> effects()
+          .updateState(state)
+          .transitionTo(AgentPlayerWorkflow::startPostGameReviewStep)
+          .withInput(deferred.event())
+          .thenReply(Done.getInstance());
+      case "postGamePlaybookReviewStep" -> effects()
+          .updateState(state)
+          .transitionTo(AgentPlayerWorkflow::postGamePlaybookReviewStep)
+          .thenReply(Done.getInstance());
+      case "postGameSystemPromptReviewStep" -> effects()
+          .updateState(state)
+          .transitionTo(AgentPlayerWorkflow::postGameSystemPromptReviewStep)
+          .thenReply(Done.getInstance());
+      default -> effects().reply(Done.getInstance());
+    };
+  }
+
   StepEffect makeMoveStep(DotGame.Event.PlayerTurnCompleted event) {
+    return timed("makeMoveStep", () -> makeMove(event));
+  }
+
+  StepEffect makeMove(DotGame.Event.PlayerTurnCompleted event) {
     log.debug("Make move step, WorkflowId: {}\n_state: {}", workflowId, currentState());
 
     var agentId = currentState().agent().id();
-    var sessionId = "%s/move-%d".formatted(currentState().sessionIdPrefix(), currentState().moveCount() + 1);
+    var sessionId = "%s/move-%d".formatted(currentState().sessionIdPrefix(), currentState().moveCount() + (event.moveHistory().isEmpty() ? 0 : 1)); // move-0 is the opening move
     var prompt = makeMovePromptFor(sessionId, event.gameId(), currentState().agent());
 
     if (currentState().stepRetryCount() > 3) {
@@ -108,11 +194,53 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
           .withInput(event);
     }
 
-    var response = componentClient
-        .forAgent()
-        .inSession(sessionId)
-        .method(AgentPlayerMakeMoveAgent::makeMove)
-        .invoke(prompt);
+    var fastPathEnabled = isForcedMoveEnabled(currentState().agent()) || moveDecisionCache.isEnabled();
+    var stateBeforeMove = fastPathEnabled ? Optional.of(gameState(event.gameId())) : Optional.<DotGame.State>empty();
+
+    if (stateBeforeMove.isPresent() && currentState().stepRetryCount() == 0) {
+      var forcedMove = isForcedMoveEnabled(currentState().agent())
+          ? ForcedMove.find(stateBeforeMove.get(), agentId)
+          : Optional.<ForcedMove>empty();
+
+      if (forcedMove.isPresent()) {
+        var response = """
+            Forced move to square %s, the model was not called.
+
+            Reason: %s
+            """.formatted(forcedMove.get().squareId(), forcedMove.get().description());
+        return playMoveStep(event, stateBeforeMove.get(), forcedMove.get().squareId(), "forcedMove", response);
+      }
+    }
+
+    // the key is computed once per step, used to look up the decision and to cache the model's move
+    var positionKey = moveDecisionCache.isEnabled() ? stateBeforeMove.map(this::positionKeyFor) : Optional.<PositionKey>empty();
+
+    if (positionKey.isPresent() && currentState().stepRetryCount() == 0) {
+      var cachedDecision = moveDecisionCache.get(positionKey.get(), stateBeforeMove.get().moveHistory().size());
+
+      if (cachedDecision.isPresent()) {
+        var response = """
+            Cached move to square %s, the model was not called.
+
+            Rationale from the cached decision:
+            %s
+            """.formatted(cachedDecision.get().squareId(), cachedDecision.get().rationale());
+        return playMoveStep(event, stateBeforeMove.get(), cachedDecision.get().squareId(), "cachedMove", response);
+      }
+    }
+
+    var admissionWait = rateLimiter.tryAcquire(currentState().agent().model(), event.gameId(), sessionId, "make-move");
+    if (admissionWait.isPositive()) {
+      return deferStep("makeMoveStep", event, admissionWait);
+    }
+
+    var response = reviewScheduler.live(currentState().agent().model(), () -> agentCall("make-move", () -> streamingEnabled
+        ? makeMoveStreamed(sessionId, prompt)
+        : componentClient
+            .forAgent()
+            .inSession(sessionId)
+            .method(AgentPlayerMakeMoveAgent::makeMove)
+            .invoke(prompt)));
 
     log.debug("Make move step response, WorkflowId: {}\n_agent player response: {}\n_state: {}", workflowId, response, currentState());
 
@@ -128,6 +256,97 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
           .withInput(event);
     }
 
+    createGameMoveLog(event, response);
+
+    if (positionKey.isPresent()) {
+      return stepEffects()
+          .updateState(currentState().withMoveCount(event.moveHistory().size()))
+          .thenTransitionTo(AgentPlayerWorkflow::verifyAgentMoveStep)
+          .withInput(new AgentMove(event, positionKey.get(), stateBeforeMove.get().moveHistory().size(), response));
+    }
+
+    return stepEffects()
+        .updateState(currentState().withMoveCount(event.moveHistory().size()))
+        .thenTransitionTo(AgentPlayerWorkflow::verifyMoveStep)
+        .withInput(event);
+  }
+
+  // Pauses the workflow and has a timer run the step again after the delay, so no step thread waits for its turn
+  StepEffect deferStep(String step, DotGame.Event.PlayerTurnCompleted event, Duration delay) {
+    log.debug("Defer step, WorkflowId: {}\n_step: {}, delay: {}", workflowId, step, delay);
+
+    timers().createSingleTimer(
+        "deferred-step-" + workflowId,
+        delay,
+        componentClient
+            .forWorkflow(workflowId)
+            .method(AgentPlayerWorkflow::resumeDeferredStep)
+            .deferred(new DeferredStep(step, event)));
+
+    return stepEffects()
+        .updateState(currentState().withDeferredStep(step))
+        .thenPause();
+  }
+
+  // Admits a review's model call, the rate limiter is asked only once the review is first in line
+  Duration admission(String sessionId, String call) {
+    return rateLimiter.tryAcquire(currentState().agent().model(), currentState().gameId(), sessionId, call);
+  }
+
+  // Times a step, the step bodies are kept free of the timing
+  StepEffect timed(String step, Supplier<StepEffect> body) {
+    try (var timer = metrics.workflowStep(step)) {
+      return body.get();
+    }
+  }
+
+  // Times an agent call, which includes the model round trips and the tool calls made by the model
+  <T> T agentCall(String agent, Supplier<T> call) {
+    try (var timer = metrics.modelCall(currentState().agent().model(), agent)) {
+      return call.get();
+    }
+  }
+
+  // Publishes model output as it is generated and returns the complete response once the stream ends
+  String makeMoveStreamed(String sessionId, AgentPlayerMakeMoveAgent.MakeMovePrompt prompt) {
+    return componentClient
+        .forAgent()
+        .inSession(sessionId)
+        .tokenStream(AgentPlayerMakeMoveAgent::makeMoveStream)
+        .source(prompt)
+        .runFold(new StringBuilder(), (response, token) -> {
+          notificationPublisher.publish(Notification.modelOutput(token));
+          return response.append(token);
+        }, materializer)
+        .toCompletableFuture()
+        .join()
+        .toString();
+  }
+
+  // Plays a move chosen without an LLM call, the move is verified the same way as agent moves
+  StepEffect playMoveStep(DotGame.Event.PlayerTurnCompleted event, DotGame.State stateBeforeMove, String squareId, String source, String response) {
+    log.debug("Play move step, WorkflowId: {}\n_source: {}, square: {}\n_state: {}", workflowId, source, squareId, currentState());
+
+    var agentId = currentState().agent().id();
+    var stateAfterMove = componentClient
+        .forEventSourcedEntity(event.gameId())
+        .method(DotGameEntity::makeMove)
+        .invoke(new DotGame.Command.MakeMove(event.gameId(), agentId, squareId));
+
+    var result = MakeMoveTool.Response.from(agentId, squareId, stateBeforeMove, stateAfterMove);
+    gameLog.logToolCall(event.gameId(), agentId, source, MakeMoveTool.json(result));
+    gameLog.logModelResponse(event.gameId(), agentId, response);
+
+    createGameMoveLog(event, response);
+
+    return stepEffects()
+        .updateState(currentState().withMoveCount(event.moveHistory().size()))
+        .thenTransitionTo(AgentPlayerWorkflow::verifyMoveStep)
+        .withInput(event);
+  }
+
+  void createGameMoveLog(DotGame.Event.PlayerTurnCompleted event, String response) {
+    var agentId = currentState().agent().id();
     var moveNumber = event.currentPlayerStatus().get().moves() + 1;
     var command = new GameMoveLog.Command.CreateGameMoveLog(event.gameId(), agentId, moveNumber, response);
     var entityId = GameMoveLog.State.entityIdFrom(event.gameId(), agentId, moveNumber);
@@ -136,14 +355,64 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
         .forEventSourcedEntity(entityId)
         .method(GameMoveLogEntity::createGameMoveLog)
         .invoke(command);
+  }
 
-    return stepEffects()
-        .updateState(currentState().withMoveCount(event.moveHistory().size()))
-        .thenTransitionTo(AgentPlayerWorkflow::verifyMoveStep)
-        .withInput(event);
+  void cacheAgentMove(AgentMove agentMove, DotGame.State stateAfterMove) {
+    var agentId = currentState().agent().id();
+    var moveCount = agentMove.moveCount();
+
+    if (stateAfterMove.moveHistory().size() > moveCount && stateAfterMove.moveHistory().get(moveCount).playerId().equals(agentId)) {
+      moveDecisionCache.put(agentMove.positionKey(), moveCount, stateAfterMove.moveHistory().get(moveCount).squareId(), agentMove.response());
+    }
+  }
+
+  PositionKey positionKeyFor(DotGame.State gameState) {
+    var agentId = currentState().agent().id();
+    var isPlayer1 = gameState.player1Status().player().id().equals(agentId);
+    var agentScore = isPlayer1 ? gameState.player1Status().score() : gameState.player2Status().score();
+    var opponentScore = isPlayer1 ? gameState.player2Status().score() : gameState.player1Status().score();
+
+    // both reads are in flight at once
+    var playbook = componentClient
+        .forEventSourcedEntity(agentId)
+        .method(PlaybookEntity::getState)
+        .invokeAsync();
+
+    var agentRole = componentClient
+        .forEventSourcedEntity(agentId)
+        .method(AgentRoleEntity::getState)
+        .invokeAsync();
+
+    return playbook
+        .thenCombine(agentRole, (playbookState, agentRoleState) -> PositionKey.of(
+            gameState.board().level(),
+            gameState.moveHistory(),
+            agentId,
+            currentState().agent().model(),
+            agentScore,
+            opponentScore,
+            PositionKey.versionOf(playbookState.instructions()),
+            PositionKey.versionOf(agentRoleState.systemPrompt())))
+        .toCompletableFuture()
+        .join();
+  }
+
+  DotGame.State gameState(String gameId) {
+    return componentClient
+        .forEventSourcedEntity(gameId)
+        .method(DotGameEntity::getState)
+        .invoke();
   }
 
   StepEffect verifyMoveStep(DotGame.Event.PlayerTurnCompleted event) {
+    return timed("verifyMoveStep", () -> verifyMove(event, Optional.empty()));
+  }
+
+  StepEffect verifyAgentMoveStep(AgentMove agentMove) {
+    return timed("verifyMoveStep", () -> verifyMove(agentMove.event(), Optional.of(agentMove)));
+  }
+
+  StepEffect verifyMove(DotGame.Event.PlayerTurnCompleted event, Optional<AgentMove> agentMove) {
     log.debug("Verify move step, WorkflowId: {}\n_state: {}", workflowId, currentState());
 
     var gameState = componentClient
@@ -154,12 +423,15 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
     var agentMadeMove = gameState.currentPlayerStatus().isEmpty() || !gameState.currentPlayerStatus().get().player().id().equals(currentState().agent().id());
 
     if (agentMadeMove) {
+      agentMove.ifPresent(move -> cacheAgentMove(move, gameState));
+
       return stepEffects()
           .updateState(currentState().resetStepRetryCount())
           .thenTransitionTo(AgentPlayerWorkflow::moveCompletedStep)
           .withInput(event);
     }
 
+    metrics.modelRetry(currentState().agent().model());
     return stepEffects()
         .updateState(currentState().incrementStepRetryCount())
         .thenTransitionTo(AgentPlayerWorkflow::makeMoveStep)
@@ -167,6 +439,10 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
   }
 
   StepEffect moveCompletedStep(DotGame.Event.PlayerTurnCompleted event) {
+    return timed("moveCompletedStep", () -> moveCompleted(event));
+  }
+
+  StepEffect moveCompleted(DotGame.Event.PlayerTurnCompleted event) {
     log.debug("Move completed step, WorkflowId: {}\n_state: {}", workflowId, currentState());
 
     var command = new DotGame.Command.PlayerTurnCompleted(event.gameId(), currentState().agent().id());
@@ -175,15 +451,21 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
         .method(DotGameEntity::playerTurnCompleted)
         .invoke(command);
 
-    notificationPublisher.publish("moveCompletedStep");
+    notificationPublisher.publish(Notification.step("moveCompletedStep"));
     return stepEffects()
         .updateState(currentState().resetStepRetryCount())
         .thenPause();
   }
 
   StepEffect forfeitMoveStep(DotGame.Event.PlayerTurnCompleted event) {
+    return timed("forfeitMoveStep", () -> forfeitMove(event));
+  }
+
+  StepEffect forfeitMove(DotGame.Event.PlayerTurnCompleted event) {
     log.debug("Forfeit move step, WorkflowId: {}\n_state: {}", workflowId, currentState());
 
+    metrics.moveForfeit(currentState().agent().model());
+
     var message = "Agent: %s, forfeited move after %d failed attempts".formatted(currentState().agent().id(), currentState().stepRetryCount());
     var playerId = currentState().agent().id();
     var command = new DotGame.Command.ForfeitMove(currentState().gameId(), playerId, message);
@@ -193,33 +475,45 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
         .method(DotGameEntity::forfeitMove)
         .invoke(command);
 
-    notificationPublisher.publish("forfeitMoveStep");
+    notificationPublisher.publish(Notification.step("forfeitMoveStep"));
     return stepEffects()
         .updateState(currentState().resetStepRetryCount())
         .thenPause();
   }
 
   StepEffect startPostGameReviewStep(DotGame.Event.PlayerTurnCompleted event) {
+    return timed("startPostGameReviewStep", () -> startPostGameReview(event));
+  }
+
+  StepEffect startPostGameReview(DotGame.Event.PlayerTurnCompleted event) {
     log.debug("Start post game review step, WorkflowId: {}\n_state: {}", workflowId, currentState());
 
     var sessionId = currentState().sessionIdPrefix() + "/post-game-review";
     var prompt = new AgentPlayerPostGameReviewAgent.PostGameReviewPrompt(sessionId, currentState().gameId(), currentState().agent());
 
-    var postGameReview = componentClient
+    var postGameReview = reviewScheduler.tryReview(currentState().agent().model(), sessionId, () -> admission(sessionId, "post-game-review"), () -> agentCall("post-game-review", () -> componentClient
         .forAgent()
         .inSession(sessionId)
         .method(AgentPlayerPostGameReviewAgent::postGameReview)
-        .invoke(prompt);
+        .invoke(prompt)));
+
+    if (postGameReview.isDeferred()) {
+      return deferStep("startPostGameReviewStep", event, postGameReview.retryAfter());
+    }
 
-    notificationPublisher.publish("startPostGameReviewStep");
-    gameLog.logModelResponse(currentState().gameId(), currentState().agent().id(), postGameReview);
+    notificationPublisher.publish(Notification.step("startPostGameReviewStep"));
+    gameLog.logModelResponse(currentState().gameId(), currentState().agent().id(), postGameReview.result().get());
 
     return stepEffects()
-        .updateState(currentState().withPostGameReview(postGameReview))
+        .updateState(currentState().withPostGameReview(postGameReview.result().get()))
         .thenTransitionTo(AgentPlayerWorkflow::postGamePlaybookReviewStep);
   }
 
   StepEffect postGamePlaybookReviewStep() {
+    return timed("postGamePlaybookReviewStep", () -> postGamePlaybookReview());
+  }
+
+  StepEffect postGamePlaybookReview() {
     log.debug("Post game playbook review step, WorkflowId: {}\n_state: {}", workflowId, currentState());
 
     var postGameReview = currentState().postGameReview();
@@ -232,21 +526,29 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
             currentState().agent(),
             postGameReview);
 
-    var playbookReview = componentClient
+    var playbookReview = reviewScheduler.tryReview(currentState().agent().model(), sessionId, () -> admission(sessionId, "playbook-review"), () -> agentCall("playbook-review", () -> componentClient
         .forAgent()
         .inSession(sessionId)
         .method(AgentPlayerPlaybookReviewAgent::playbookReview)
-        .invoke(prompt);
+        .invoke(prompt)));
+
+    if (playbookReview.isDeferred()) {
+      return deferStep("postGamePlaybookReviewStep", null, playbookReview.retryAfter());
+    }
 
-    notificationPublisher.publish("postGamePlaybookReviewStep");
-    gameLog.logModelResponse(currentState().gameId(), currentState().agent().id(), playbookReview);
+    notificationPublisher.publish(Notification.step("postGamePlaybookReviewStep"));
+    gameLog.logModelResponse(currentState().gameId(), currentState().agent().id(), playbookReview.result().get());
 
     return stepEffects()
-        .updateState(currentState().resetStepRetryCount().withPlaybookReview(playbookReview))
+        .updateState(currentState().resetStepRetryCount().withPlaybookReview(playbookReview.result().get()))
         .thenTransitionTo(AgentPlayerWorkflow::verifyPlaybookNotEmptyStep);
   }
 
   StepEffect verifyPlaybookNotEmptyStep() {
+    return timed("verifyPlaybookNotEmptyStep", () -> verifyPlaybookNotEmpty());
+  }
+
+  StepEffect verifyPlaybookNotEmpty() {
     log.debug("Verify playbook not empty step, WorkflowId: {}\n_state: {}", workflowId, currentState());
 
     var postGameReview = currentState().postGameReview();
@@ -271,31 +573,43 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
   }
 
   StepEffect postGameSystemPromptReviewStep() {
+    return timed("postGameSystemPromptReviewStep", () -> postGameSystemPromptReview());
+  }
+
+  StepEffect postGameSystemPromptReview() {
     log.debug("Post game system prompt review step, WorkflowId: {}\n_state: {}", workflowId, currentState());
 
     var postGameReview = currentState().postGameReview();
     var sessionId = currentState().sessionIdPrefix() + "/post-game-system-prompt-review";
     var prompt = new AgentPlayerSystemPromptReviewAgent.SystemPromptReviewPrompt(sessionId, currentState().gameId(), currentState().agent(), postGameReview);
 
-    var systemPromptReview = componentClient
+    var systemPromptReview = reviewScheduler.tryReview(currentState().agent().model(), sessionId, () -> admission(sessionId, "system-prompt-review"), () -> agentCall("system-prompt-review", () -> componentClient
         .forAgent()
         .inSession(sessionId)
         .method(AgentPlayerSystemPromptReviewAgent::systemPromptReview)
-        .invoke(prompt);
+        .invoke(prompt)));
 
-    notificationPublisher.publish("postGameSystemPromptReviewStep");
-    gameLog.logModelResponse(currentState().gameId(), currentState().agent().id(), systemPromptReview.toString());
+    if (systemPromptReview.isDeferred()) {
+      return deferStep("postGameSystemPromptReviewStep", null, systemPromptReview.retryAfter());
+    }
+
+    notificationPublisher.publish(Notification.step("postGameSystemPromptReviewStep"));
+    gameLog.logModelResponse(currentState().gameId(), currentState().agent().id(), systemPromptReview.result().get().toString());
 
     return stepEffects()
-        .updateState(currentState().withSystemPromptReview(systemPromptReview.toString()))
+        .updateState(currentState().withSystemPromptReview(systemPromptReview.result().get().toString()))
         .thenTransitionTo(AgentPlayerWorkflow::postGameReviewCompletedStep);
   }
 
-  public NotificationPublisher.NotificationStream<String> stepStream() {
+  public NotificationPublisher.NotificationStream<Notification> stepStream() {
     return notificationPublisher.stream();
   }
 
   StepEffect postGameReviewCompletedStep() {
+    return timed("postGameReviewCompletedStep", () -> postGameReviewCompleted());
+  }
+
+  StepEffect postGameReviewCompleted() {
     log.debug("Post game review completed step, WorkflowId: {}\n_state: {}", workflowId, currentState());
 
     return stepEffects()
@@ -303,6 +617,10 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
   }
 
   StepEffect cancelGameStep() {
+    return timed("cancelGameStep", () -> cancelGame());
+  }
+
+  StepEffect cancelGame() {
     log.error("Cancelling game step, WorkflowId: {}\n_State: {}", workflowId, currentState());
 
     var reason = "Workflow cancelled game due to unexpected error";
@@ -317,6 +635,11 @@ public class AgentPlayerWorkflow extends Workflow<AgentPlayer.State> {
         .thenEnd();
   }
 
+  boolean isForcedMoveEnabled(DotGame.Player agent) {
+    return forcedMoveEnabled
+        && (forcedMoveAgents.isEmpty() || forcedMoveAgents.contains(agent.id()) || forcedMoveAgents.contains(agent.model()));
+  }
+
   AgentPlayerMakeMoveAgent.MakeMovePrompt makeMovePromptFor(String sessionId, String gameId, DotGame.Player agent) {
     return new AgentPlayerMakeMoveAgent.MakeMovePrompt(
         sessionId,
@@ -49,6 +49,43 @@ public class AgentRoleJournalView extends View {
     return queryResult();
   }
 
+  @Query("""
+      SELECT * AS journals
+        FROM agent_role_journal_view
+       WHERE agentId = :agentId
+       AND sequenceId >= :fromSequenceId
+       AND sequenceId <= :toSequenceId
+       ORDER BY sequenceId ASC
+      """)
+  public QueryEffect<Journals> getByAgentIdRange(GetByAgentIdRangeRequest request) {
+    return queryResult();
+  }
+
+  @Query("""
+      SELECT * AS journals
+        FROM agent_role_journal_view
+       WHERE agentId = :agentId
+       AND sequenceId < :sequenceId
+       ORDER BY sequenceId DESC
+       LIMIT :limit
+      """)
+  public QueryEffect<Journals> getLatestByAgentId(GetLatestByAgentIdRequest request) {
+    return queryResult();
+  }
+
+  // metadata only, the index of a long journal would otherwise read every stored text
+  @Query("""
+      SELECT (sequenceId, updatedAt, size) AS entries
+        FROM agent_role_journal_view
+       WHERE agentId = :agentId
+       AND sequenceId < :sequenceId
+       ORDER BY sequenceId DESC
+       LIMIT :limit
+      """)
+  public QueryEffect<JournalIndex> getIndexByAgentId(GetLatestByAgentIdRequest request) {
+    return queryResult();
+  }
+
   @Consume.FromEventSourcedEntity(AgentRoleJournalEntity.class)
   public static class ByAgent extends TableUpdater<JournalRow> {
 
@@ -64,7 +101,8 @@ public class AgentRoleJournalView extends View {
           e.agentId(),
           e.sequenceId(),
           e.systemPrompt(),
-          e.updatedAt());
+          e.updatedAt(),
+          e.systemPrompt().length());
     }
   }
 
@@ -73,7 +111,8 @@ public class AgentRoleJournalView extends View {
       String agentId,
       long sequenceId,
       String systemPrompt,
-      Instant updatedAt) {}
+      Instant updatedAt,
+      int size) {}
 
   public record GetByAgentIdRequest(String agentId) {}
 
@@ -83,5 +122,14 @@ public class AgentRoleJournalView extends View {
 
   public record GetByAgentIdUpRequest(String agentId, long sequenceId) {}
 
+  public record GetByAgentIdRangeRequest(String agentId, long fromSequenceId, long toSequenceId) {}
+
+  public record GetLatestByAgentIdRequest(String agentId, long sequenceId, int limit) {}
+
   public record Journals(List<JournalRow> journals) {}
+
+  /** Journal entry metadata without the system prompt, size is the length of the system prompt. */
+  public record JournalIndexEntry(long sequenceId, Instant updatedAt, int size) {}
+
+  public record JournalIndex(List<JournalIndexEntry> entries) {}
 }
@@ -18,12 +18,16 @@ import akka.javasdk.consumer.Consumer;
 public class AgentRoleToAgentRoleJournalConsumer extends Consumer {
   final Logger log = LoggerFactory.getLogger(getClass());
   final ComponentClient componentClient;
+  final Metrics metrics;
 
-  public AgentRoleToAgentRoleJournalConsumer(ComponentClient componentClient) {
+  public AgentRoleToAgentRoleJournalConsumer(ComponentClient componentClient, Metrics metrics) {
     this.componentClient = componentClient;
+    this.metrics = metrics;
   }
 
   public Effect onEvent(AgentRole.Event event) {
+    metrics.consumerLag("agent-role-to-agent-role-journal-consumer", messageContext());
+
     if (!messageContext().hasLocalOrigin()) {
       log.debug("Ignoring event from other region: {}", event);
       return effects().done();
@@ -53,12 +57,12 @@ public class AgentRoleToAgentRoleJournalConsumer extends Consumer {
         event.systemPrompt(),
         event.createdAt());
 
-    componentClient
+    var createJournal = componentClient
         .forEventSourcedEntity(journalId)
         .method(AgentRoleJournalEntity::createAgentRoleJournal)
-        .invoke(command);
+        .invokeAsync(command);
 
-    return effects().done();
+    return effects().asyncDone(createJournal);
   }
 
   Effect onEvent(AgentRole.Event.AgentRoleUpdated event) {
@@ -72,12 +76,12 @@ public class AgentRoleToAgentRoleJournalConsumer extends Consumer {
         event.systemPrompt(),
         event.updatedAt());
 
-    componentClient
+    var createJournal = componentClient
         .forEventSourcedEntity(journalId)
         .method(AgentRoleJournalEntity::createAgentRoleJournal)
-        .invoke(command);
+        .invokeAsync(command);
 
-    return effects().done();
+    return effects().asyncDone(createJournal);
   }
 
   Effect onEvent(AgentRole.Event.AgentRoleReset event) {
@@ -91,11 +95,11 @@ public class AgentRoleToAgentRoleJournalConsumer extends Consumer {
         event.systemPrompt(),
         event.resetAt());
 
-    componentClient
+    var createJournal = componentClient
         .forEventSourcedEntity(journalId)
         .method(AgentRoleJournalEntity::createAgentRoleJournal)
-        .invoke(command);
+        .invokeAsync(command);
 
-    return effects().done();
+    return effects().asyncDone(createJournal);
   }
 }
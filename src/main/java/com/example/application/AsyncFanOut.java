@@ -0,0 +1,24 @@
+package com.example.application;
+
+import static akka.Done.done;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import akka.Done;
+
+/**
+ * Waits for independent async component calls that run in parallel.
+ * Used by consumers to fan out to multiple targets without blocking the consumer thread.
+ */
+public class AsyncFanOut {
+
+  public static CompletionStage<Done> all(List<? extends CompletionStage<?>> calls) {
+    var futures = calls.stream()
+        .map(CompletionStage::toCompletableFuture)
+        .toArray(CompletableFuture[]::new);
+
+    return CompletableFuture.allOf(futures).thenApply(v -> done());
+  }
+}
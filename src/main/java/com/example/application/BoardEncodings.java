@@ -0,0 +1,47 @@
+package com.example.application;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.typesafe.config.Config;
+
+/**
+ * Board encoding used by agent tools, selected per agent model. The json encoding lists available squares and every
+ * move as objects; the ascii encoding renders the board as a text grid and the moves as one short line each.
+ */
+public class BoardEncodings {
+  public enum Encoding {
+    json,
+    ascii
+  }
+
+  final Encoding defaultEncoding;
+  final Map<String, Encoding> modelEncodings;
+
+  public BoardEncodings(Encoding defaultEncoding, Map<String, Encoding> modelEncodings) {
+    this.defaultEncoding = defaultEncoding;
+    this.modelEncodings = modelEncodings;
+  }
+
+  public static BoardEncodings json() {
+    return new BoardEncodings(Encoding.json, Map.of());
+  }
+
+  public static BoardEncodings fromConfig(Config config) {
+    var path = "agent-player.board-encoding";
+    if (!config.hasPath(path)) {
+      return json();
+    }
+
+    var encodingConfig = config.getConfig(path);
+    var models = encodingConfig.getConfig("models");
+    var modelEncodings = models.root().keySet().stream()
+        .collect(Collectors.toMap(model -> model, model -> Encoding.valueOf(models.getString("\"" + model + "\""))));
+
+    return new BoardEncodings(Encoding.valueOf(encodingConfig.getString("default")), modelEncodings);
+  }
+
+  public Encoding forModel(String model) {
+    return modelEncodings.getOrDefault(model, defaultEncoding);
+  }
+}
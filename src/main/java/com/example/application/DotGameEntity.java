@@ -42,6 +42,10 @@ public class DotGameEntity extends EventSourcedEntity<DotGame.State, DotGame.Eve
   public Effect<DotGame.State> playerTurnCompleted(DotGame.Command.PlayerTurnCompleted command) {
     log.debug("EntityId: {}\n_State: {}\n_Command: {}", entityId, currentState(), command);
 
+    if (currentState().moveHistory().isEmpty()) {
+      return effects().error("Game '%s' has no moves, there is no turn to complete".formatted(entityId));
+    }
+
     return effects()
         .persist(currentState().onCommand(command))
         .thenReply(newState -> newState);
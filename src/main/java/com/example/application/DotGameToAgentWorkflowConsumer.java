@@ -1,5 +1,7 @@
 package com.example.application;
 
+import java.util.ArrayList;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,14 +18,18 @@ import akka.javasdk.consumer.Consumer;
 public class DotGameToAgentWorkflowConsumer extends Consumer {
   final Logger log = LoggerFactory.getLogger(getClass());
   final ComponentClient componentClient;
+  final Metrics metrics;
   final GameActionLogger gameLog;
 
-  public DotGameToAgentWorkflowConsumer(ComponentClient componentClient) {
+  public DotGameToAgentWorkflowConsumer(ComponentClient componentClient, Metrics metrics) {
     this.componentClient = componentClient;
+    this.metrics = metrics;
     this.gameLog = new GameActionLogger(componentClient);
   }
 
   public Effect onEvent(DotGame.Event event) {
+    metrics.consumerLag("dot-game-to-agent-workflow-consumer", messageContext());
+
     if (!messageContext().hasLocalOrigin()) {
       log.debug("Ignoring event from other region: {}", event);
       return effects().done();
@@ -47,42 +53,57 @@ public class DotGameToAgentWorkflowConsumer extends Consumer {
 
     log.debug("Player turn completed: {}, move count: {},\n_Current player status: {}", event.status(), event.moveHistory().size(), currentPlayerStatus);
 
+    var agentIds = new ArrayList<String>();
+
     if (DotGame.Status.in_progress != event.status()) { // game over
       if (event.player1Status().player().isAgent()) {
-        var sessionId = AgentPlayer.sessionId(event.gameId(), event.player1Status().player().id());
-        componentClient
-            .forWorkflow(sessionId)
-            .method(AgentPlayerWorkflow::playerTurnCompleted)
-            .invoke(event);
+        agentIds.add(event.player1Status().player().id());
       }
 
       if (event.player2Status().player().isAgent()) {
-        var sessionId = AgentPlayer.sessionId(event.gameId(), event.player2Status().player().id());
-        componentClient
-            .forWorkflow(sessionId)
-            .method(AgentPlayerWorkflow::playerTurnCompleted)
-            .invoke(event);
+        agentIds.add(event.player2Status().player().id());
       }
     }
 
     if (DotGame.Status.in_progress == event.status()) {
       if (currentPlayerStatus.isPresent() && currentPlayerStatus.get().player().isAgent()) {
-        var agentPlayer = currentPlayerStatus.get();
-        var sessionId = AgentPlayer.sessionId(event.gameId(), agentPlayer.player().id());
-        componentClient
-            .forWorkflow(sessionId)
-            .method(AgentPlayerWorkflow::playerTurnCompleted)
-            .invoke(event);
+        agentIds.add(currentPlayerStatus.get().player().id());
       }
     }
 
-    return effects().done();
+    var calls = agentIds.stream()
+        .map(agentId -> componentClient
+            .forWorkflow(AgentPlayer.sessionId(event.gameId(), agentId))
+            .method(AgentPlayerWorkflow::playerTurnCompleted)
+            .invokeAsync(event))
+        .toList();
+
+    return effects().asyncDone(AsyncFanOut.all(calls));
   }
 
+  // a game an agent starts has no completed turn before its first move, so the created game is handed to player 1
   Effect onEvent(DotGame.Event.GameCreated event) {
-    gameLog.logGameCreated(event);
+    var logged = gameLog.logGameCreated(event);
+    var player1 = event.player1Status().player();
+    if (!player1.isAgent()) {
+      return effects().asyncDone(logged);
+    }
 
-    return effects().done();
+    var openingTurn = new DotGame.Event.PlayerTurnCompleted(
+        event.gameId(),
+        event.status(),
+        event.turnCompletedAt(),
+        event.player1Status(),
+        event.player2Status(),
+        event.currentPlayerStatus(),
+        event.moveHistory());
+
+    var started = logged.thenCompose(done -> componentClient
+        .forWorkflow(AgentPlayer.sessionId(event.gameId(), player1.id()))
+        .method(AgentPlayerWorkflow::playerTurnCompleted)
+        .invokeAsync(openingTurn));
+
+    return effects().asyncDone(started);
   }
 
   Effect onEvent(DotGame.Event.MoveMade event) {
@@ -91,27 +112,21 @@ public class DotGameToAgentWorkflowConsumer extends Consumer {
         ? event.player1Status()
         : event.player2Status();
     if (lastPlayerStatus.player().isHuman()) {
-      gameLog.logLastMove(event);
+      return effects().asyncDone(gameLog.logLastMove(event));
     }
 
     return effects().done();
   }
 
   Effect onEvent(DotGame.Event.MoveForfeited event) {
-    gameLog.logForfeitMove(event);
-
-    return effects().done();
+    return effects().asyncDone(gameLog.logForfeitMove(event));
   }
 
   Effect onEvent(DotGame.Event.GameFinished event) {
-    gameLog.logGameFinished(event);
-
-    return effects().done();
+    return effects().asyncDone(gameLog.logGameFinished(event));
   }
 
   Effect onEvent(DotGame.Event.GameCanceled event) {
-    gameLog.logGameCanceled(event);
-
-    return effects().done();
+    return effects().asyncDone(gameLog.logGameCanceled(event));
   }
 }
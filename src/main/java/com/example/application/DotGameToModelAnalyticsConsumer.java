@@ -0,0 +1,98 @@
+package com.example.application;
+
+import static akka.Done.done;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.domain.DotGame;
+import com.example.domain.ModelAnalytics;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.consumer.Consumer;
+
+/**
+ * Feeds finished games and forfeited moves of agent players into the per model analytics. The final game state is read
+ * for the think time of each move, and for the player that forfeited, which is the player whose turn it was.
+ */
+@Component(id = "dot-game-to-model-analytics-consumer")
+@Consume.FromEventSourcedEntity(DotGameEntity.class)
+public class DotGameToModelAnalyticsConsumer extends Consumer {
+  final Logger log = LoggerFactory.getLogger(getClass());
+  final ComponentClient componentClient;
+  final Metrics metrics;
+
+  public DotGameToModelAnalyticsConsumer(ComponentClient componentClient, Metrics metrics) {
+    this.componentClient = componentClient;
+    this.metrics = metrics;
+  }
+
+  public Effect onEvent(DotGame.Event event) {
+    metrics.consumerLag("dot-game-to-model-analytics-consumer", messageContext());
+
+    if (!messageContext().hasLocalOrigin()) {
+      log.debug("Ignoring event from other region: {}", event);
+      return effects().done();
+    }
+
+    return switch (event) {
+      case DotGame.Event.GameResults e -> onEvent(e);
+      case DotGame.Event.MoveForfeited e -> onEvent(e);
+      default -> effects().done();
+    };
+  }
+
+  Effect onEvent(DotGame.Event.GameResults event) {
+    log.debug("Event: {}", event);
+
+    var recordGames = gameState(event.gameId())
+        .thenCompose(gameState -> AsyncFanOut.all(ModelAnalytics.Command.RecordGame.from(gameState).stream()
+            .map(command -> componentClient
+                .forEventSourcedEntity(command.model())
+                .method(ModelAnalyticsEntity::recordGame)
+                .invokeAsync(command))
+            .toList()));
+
+    return effects().asyncDone(recordGames);
+  }
+
+  Effect onEvent(DotGame.Event.MoveForfeited event) {
+    log.debug("Event: {}", event);
+
+    // the event's current player is the next player, so the forfeiting player is the other one
+    var nextPlayerId = event.currentPlayerStatus().map(playerStatus -> playerStatus.player().id()).orElse("");
+    var sequence = messageContext().metadata().asCloudEvent().sequence().orElse(-1L);
+    var forfeitId = "%s:%d".formatted(event.gameId(), sequence);
+
+    var recordForfeit = gameState(event.gameId())
+        .thenCompose(gameState -> {
+          var forfeited = gameState.player1Status().player().id().equals(nextPlayerId)
+              ? gameState.player2Status().player()
+              : gameState.player1Status().player();
+          if (!forfeited.isAgent()) {
+            return CompletableFuture.completedFuture(done());
+          }
+
+          var command = new ModelAnalytics.Command.RecordForfeit(forfeited.model(), forfeitId, event.gameId(), gameState.board().level());
+          return componentClient
+              .forEventSourcedEntity(forfeited.model())
+              .method(ModelAnalyticsEntity::recordForfeit)
+              .invokeAsync(command)
+              .thenApply(r -> done());
+        });
+
+    return effects().asyncDone(recordForfeit);
+  }
+
+  CompletionStage<DotGame.State> gameState(String gameId) {
+    return componentClient
+        .forEventSourcedEntity(gameId)
+        .method(DotGameEntity::getState)
+        .invokeAsync();
+  }
+}
@@ -1,5 +1,7 @@
 package com.example.application;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,12 +18,16 @@ import akka.javasdk.consumer.Consumer;
 public class DotGameToPlayerGamesConsumer extends Consumer {
   final Logger log = LoggerFactory.getLogger(getClass());
   final ComponentClient componentClient;
+  final Metrics metrics;
 
-  public DotGameToPlayerGamesConsumer(ComponentClient componentClient) {
+  public DotGameToPlayerGamesConsumer(ComponentClient componentClient, Metrics metrics) {
     this.componentClient = componentClient;
+    this.metrics = metrics;
   }
 
   public Effect onEvent(DotGame.Event event) {
+    metrics.consumerLag("dot-game-to-player-games-consumer", messageContext());
+
     if (!messageContext().hasLocalOrigin()) {
       log.debug("Ignoring event from other region: {}", event);
       return effects().done();
@@ -55,14 +61,14 @@ public class DotGameToPlayerGamesConsumer extends Consumer {
     var addGamePlayer1 = new PlayerGames.Command.AddGame(player1.player().id(), gameId, gameStatsPlayer1);
     var addGamePlayer2 = new PlayerGames.Command.AddGame(player2.player().id(), gameId, gameStatsPlayer2);
 
-    componentClient.forEventSourcedEntity(player1.player().id())
-        .method(PlayerGamesEntity::addGame)
-        .invoke(addGamePlayer1);
-
-    componentClient.forEventSourcedEntity(player2.player().id())
-        .method(PlayerGamesEntity::addGame)
-        .invoke(addGamePlayer2);
+    var addGames = AsyncFanOut.all(List.of(
+        componentClient.forEventSourcedEntity(player1.player().id())
+            .method(PlayerGamesEntity::addGame)
+            .invokeAsync(addGamePlayer1),
+        componentClient.forEventSourcedEntity(player2.player().id())
+            .method(PlayerGamesEntity::addGame)
+            .invokeAsync(addGamePlayer2)));
 
-    return effects().done();
+    return effects().asyncDone(addGames);
   }
 }
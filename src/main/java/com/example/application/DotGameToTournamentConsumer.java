@@ -0,0 +1,66 @@
+package com.example.application;
+
+import static akka.Done.done;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.domain.DotGame;
+import com.example.domain.Tournament;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.consumer.Consumer;
+
+/**
+ * Reports finished and canceled tournament games back to their tournament, which frees the game's slot for the next
+ * pending game. The final game state is read so the tournament can record per model think times.
+ */
+@Component(id = "dot-game-to-tournament-consumer")
+@Consume.FromEventSourcedEntity(DotGameEntity.class)
+public class DotGameToTournamentConsumer extends Consumer {
+  final Logger log = LoggerFactory.getLogger(getClass());
+  final ComponentClient componentClient;
+  final Metrics metrics;
+
+  public DotGameToTournamentConsumer(ComponentClient componentClient, Metrics metrics) {
+    this.componentClient = componentClient;
+    this.metrics = metrics;
+  }
+
+  public Effect onEvent(DotGame.Event event) {
+    metrics.consumerLag("dot-game-to-tournament-consumer", messageContext());
+
+    if (!messageContext().hasLocalOrigin()) {
+      log.debug("Ignoring event from other region: {}", event);
+      return effects().done();
+    }
+
+    return switch (event) {
+      case DotGame.Event.GameResults e -> onGameOver(e.gameId());
+      case DotGame.Event.GameCanceled e -> onGameOver(e.gameId());
+      default -> effects().done();
+    };
+  }
+
+  Effect onGameOver(String gameId) {
+    var tournamentId = Tournament.tournamentIdOf(gameId);
+    if (tournamentId.isEmpty()) {
+      return effects().done();
+    }
+
+    log.debug("Tournament game over, tournamentId: {}, gameId: {}", tournamentId.get(), gameId);
+
+    var gameFinished = componentClient
+        .forEventSourcedEntity(gameId)
+        .method(DotGameEntity::getState)
+        .invokeAsync()
+        .thenCompose(gameState -> componentClient
+            .forEventSourcedEntity(tournamentId.get())
+            .method(TournamentEntity::gameFinished)
+            .invokeAsync(Tournament.Command.GameFinished.from(tournamentId.get(), gameState)));
+
+    return effects().asyncDone(gameFinished.thenApply(r -> done()));
+  }
+}
@@ -3,6 +3,7 @@ package com.example.application;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.example.domain.DotGame;
 
@@ -108,7 +109,10 @@ public class DotGameView extends View {
           currentPlayerName,
           Optional.empty(),
           LastAction.game_created.name(),
-          "");
+          "",
+          nextVersion(),
+          Optional.empty(),
+          List.of());
     }
 
     DotGameRow onEvent(DotGame.Event.MoveMade event) {
@@ -117,6 +121,7 @@ public class DotGameView extends View {
       var currentPlayerId = event.currentPlayerStatus().map(ps -> ps.player().id()).orElse("");
       var currentPlayerName = event.currentPlayerStatus().map(ps -> ps.player().name()).orElse("");
       var winnerId = player1.isWinner() ? Optional.of(player1.player().id()) : player2.isWinner() ? Optional.of(player2.player().id()) : Optional.<String>empty();
+      var lastMove = lastMove(event.moveHistory());
 
       return new DotGameRow(
           event.gameId(),
@@ -138,7 +143,10 @@ public class DotGameView extends View {
           currentPlayerName,
           winnerId,
           LastAction.move_made.name(),
-          "");
+          "",
+          nextVersion(),
+          lastMove,
+          scoringMoves(lastMove, player1, player2));
     }
 
     DotGameRow onEvent(DotGame.Event.PlayerTurnCompleted event) {
@@ -162,7 +170,10 @@ public class DotGameView extends View {
           rowState().currentPlayerName(),
           rowState().winnerId(),
           LastAction.player_turn_completed.name(),
-          "");
+          "",
+          nextVersion(),
+          lastMove(event.moveHistory()),
+          List.of());
     }
 
     DotGameRow onEvent(DotGame.Event.GameCanceled event) {
@@ -186,7 +197,10 @@ public class DotGameView extends View {
           rowState().currentPlayerName(),
           Optional.empty(),
           LastAction.game_canceled.name(),
-          "");
+          "",
+          nextVersion(),
+          Optional.empty(),
+          List.of());
     }
 
     DotGameRow onEvent(DotGame.Event.MoveForfeited event) {
@@ -213,7 +227,10 @@ public class DotGameView extends View {
           newCurrentPlayerName,
           Optional.empty(),
           LastAction.move_forfeited.name(),
-          event.message());
+          event.message(),
+          nextVersion(),
+          Optional.empty(),
+          List.of());
     }
 
     DotGameRow onEvent(DotGame.Event.GameFinished event) {
@@ -237,12 +254,31 @@ public class DotGameView extends View {
           rowState().currentPlayerName(),
           Optional.empty(),
           LastAction.game_finished.name(),
-          "");
+          "",
+          nextVersion(),
+          Optional.empty(),
+          List.of());
     }
 
     DotGameRow onEvent(DotGame.Event.GameResults event) {
       return rowState();
     }
+
+    long nextVersion() {
+      return rowState() == null ? 1 : rowState().version() + 1;
+    }
+
+    static Optional<DotGame.Move> lastMove(List<DotGame.Move> moveHistory) {
+      return moveHistory.isEmpty() ? Optional.empty() : Optional.of(moveHistory.get(moveHistory.size() - 1));
+    }
+
+    static List<DotGame.ScoringMove> scoringMoves(Optional<DotGame.Move> move, DotGame.PlayerStatus... playerStatuses) {
+      return move.map(m -> Stream.of(playerStatuses)
+          .flatMap(playerStatus -> playerStatus.scoringMoves().scoringMoves().stream())
+          .filter(scoringMove -> scoringMove.move().squareId().equals(m.squareId()))
+          .toList())
+          .orElse(List.of());
+    }
   }
 
   public record DotGameRow(
@@ -265,7 +301,10 @@ public class DotGameView extends View {
       String currentPlayerName,
       Optional<String> winnerId,
       String lastAction,
-      String message) {}
+      String message,
+      long version,
+      Optional<DotGame.Move> lastMove,
+      List<DotGame.ScoringMove> lastScoringMoves) {}
 
   public record GetMoveStreamByGameIdRequest(String gameId) {}
 
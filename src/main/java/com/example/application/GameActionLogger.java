@@ -4,9 +4,11 @@ import com.example.domain.GameActionLog;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import java.time.Instant;
+import java.util.concurrent.CompletionStage;
 
 import com.example.domain.DotGame;
 
+import akka.Done;
 import akka.javasdk.client.ComponentClient;
 import akka.javasdk.JsonSupport;
 
@@ -26,22 +28,22 @@ public class GameActionLogger {
         .invoke(command);
   }
 
-  public void log(GameActionLog.Type type, Instant time, String agentId, String gameId, String message) {
+  public CompletionStage<Done> logAsync(GameActionLog.Type type, Instant time, String agentId, String gameId, String message) {
     var command = GameActionLog.State.log(type, time, agentId, gameId, message);
 
-    componentClient
+    return componentClient
         .forKeyValueEntity(command.id())
         .method(GameActionLogEntity::createAgentLog)
-        .invoke(command);
+        .invokeAsync(command);
   }
 
-  public void logGameCreated(DotGame.Event.GameCreated event) {
+  public CompletionStage<Done> logGameCreated(DotGame.Event.GameCreated event) {
     var time = event.createdAt();
     var message = "Game created";
-    logGameCreated(time, event.gameId(), message);
+    return logAsync(GameActionLog.Type.game_created, time, "", event.gameId(), message);
   }
 
-  public void logLastMove(DotGame.Event.MoveMade event) {
+  public CompletionStage<Done> logLastMove(DotGame.Event.MoveMade event) {
     var lastMove = event.moveHistory().get(event.moveHistory().size() - 1);
     var playerId = lastMove.playerId();
     var squareId = lastMove.squareId();
@@ -65,10 +67,10 @@ public class GameActionLogger {
         Other player scoring moves:\n%s
         """.formatted(squareId, playerId, event.status().name(), thisPlayerScoringMovesJson, otherPlayerScoringMovesJson);
 
-    logLastMove(time, event.gameId(), playerId, message);
+    return logAsync(GameActionLog.Type.make_move, time, playerId, event.gameId(), message);
   }
 
-  public void logLastPlayerTurnCompleted(DotGame.Event.PlayerTurnCompleted event) {
+  public CompletionStage<Done> logLastPlayerTurnCompleted(DotGame.Event.PlayerTurnCompleted event) {
     var lastMove = event.moveHistory().get(event.moveHistory().size() - 1);
     var playerId = lastMove.playerId();
     var squareId = lastMove.squareId();
@@ -92,69 +94,64 @@ public class GameActionLogger {
         Other player scoring moves:\n%s
         """.formatted(squareId, playerId, event.status().name(), thisPlayerScoringMovesJson, otherPlayerScoringMovesJson);
 
-    logLastMove(time, event.gameId(), playerId, message);
+    return logAsync(GameActionLog.Type.make_move, time, playerId, event.gameId(), message);
   }
 
-  public void logForfeitMove(DotGame.Event.MoveForfeited event) {
-    var state = componentClient
+  public CompletionStage<Done> logForfeitMove(DotGame.Event.MoveForfeited event) {
+    return componentClient
         .forEventSourcedEntity(event.gameId())
         .method(DotGameEntity::getState)
-        .invoke();
-
-    var player1id = state.player1Status().player().id();
-    var player2id = state.player2Status().player().id();
-    var currentPlayerId = state.currentPlayerStatus().isPresent() ? state.currentPlayerStatus().get().player().id() : "";
+        .invokeAsync()
+        .thenCompose(state -> {
+          var player1id = state.player1Status().player().id();
+          var player2id = state.player2Status().player().id();
+          var currentPlayerId = state.currentPlayerStatus().isPresent() ? state.currentPlayerStatus().get().player().id() : "";
 
-    var time = event.updatedAt();
-    var playerId = currentPlayerId.equals(player1id) ? player2id : player1id; // current player is NOT the one who forfeited the move
-    logForfeitMove(time, event.gameId(), playerId, event.message());
+          var time = event.updatedAt();
+          var playerId = currentPlayerId.equals(player1id) ? player2id : player1id; // current player is NOT the one who forfeited the move
+          return logAsync(GameActionLog.Type.forfeit_move, time, playerId, event.gameId(), event.message());
+        });
   }
 
-  public void logGameFinished(DotGame.Event.GameFinished event) {
-    var state = componentClient
+  public CompletionStage<Done> logGameFinished(DotGame.Event.GameFinished event) {
+    return componentClient
         .forEventSourcedEntity(event.gameId())
         .method(DotGameEntity::getState)
-        .invoke();
-
-    var time = event.updatedAt();
-    var player1Id = state.player1Status().player().id();
-    var player2Id = state.player2Status().player().id();
-    var didPlayer1Win = state.player1Status().isWinner();
-    var didPlayer2Win = state.player2Status().isWinner();
-
-    var messagePlayer1 = "player %s %s".formatted(player1Id, didPlayer1Win ? "won" : "lost");
-    var messagePlayer2 = "player %s %s".formatted(player2Id, didPlayer2Win ? "won" : "lost");
-    var message = "Game finished, %s and %s".formatted(messagePlayer1, messagePlayer2);
-    logGameFinished(time, event.gameId(), message);
-  }
-
-  public void logGameFinished(String agentId, DotGame.Event.GameFinished event) {
-    var state = componentClient
+        .invokeAsync()
+        .thenCompose(state -> {
+          var time = event.updatedAt();
+          var player1Id = state.player1Status().player().id();
+          var player2Id = state.player2Status().player().id();
+          var didPlayer1Win = state.player1Status().isWinner();
+          var didPlayer2Win = state.player2Status().isWinner();
+
+          var messagePlayer1 = "player %s %s".formatted(player1Id, didPlayer1Win ? "won" : "lost");
+          var messagePlayer2 = "player %s %s".formatted(player2Id, didPlayer2Win ? "won" : "lost");
+          var message = "Game finished, %s and %s".formatted(messagePlayer1, messagePlayer2);
+          return logAsync(GameActionLog.Type.game_finished, time, "", event.gameId(), message);
+        });
+  }
+
+  public CompletionStage<Done> logGameFinished(String agentId, DotGame.Event.GameFinished event) {
+    return componentClient
         .forEventSourcedEntity(event.gameId())
         .method(DotGameEntity::getState)
-        .invoke();
-
-    var time = event.updatedAt();
-    var player1Id = state.player1Status().player().id();
-    var player2Id = state.player2Status().player().id();
-    var isAgentWinner = state.player1Status().isWinner() && player1Id.equals(agentId)
-        || state.player2Status().isWinner() && player2Id.equals(agentId);
-    var message = "Game finished, you " + (isAgentWinner ? "won" : "lost");
-    logGameFinished(time, event.gameId(), message);
-  }
-
-  public void logGameCanceled(DotGame.Event.GameCanceled event) {
+        .invokeAsync()
+        .thenCompose(state -> {
+          var time = event.updatedAt();
+          var player1Id = state.player1Status().player().id();
+          var player2Id = state.player2Status().player().id();
+          var isAgentWinner = state.player1Status().isWinner() && player1Id.equals(agentId)
+              || state.player2Status().isWinner() && player2Id.equals(agentId);
+          var message = "Game finished, you " + (isAgentWinner ? "won" : "lost");
+          return logAsync(GameActionLog.Type.game_finished, time, "", event.gameId(), message);
+        });
+  }
+
+  public CompletionStage<Done> logGameCanceled(DotGame.Event.GameCanceled event) {
     var time = event.updatedAt();
     var message = "Game canceled";
-    logGameCanceled(time, event.gameId(), "", message);
-  }
-
-  public void logGameCreated(Instant time, String gameId, String message) {
-    log(GameActionLog.Type.game_created, time, "", gameId, message);
-  }
-
-  public void logLastMove(Instant time, String gameId, String playerId, String message) {
-    log(GameActionLog.Type.make_move, time, playerId, gameId, message);
+    return logAsync(GameActionLog.Type.game_canceled, time, "", event.gameId(), message);
   }
 
   public void logToolCall(String gameId, String playerId, String toolName, String message) {
@@ -169,18 +166,6 @@ public class GameActionLogger {
     log(GameActionLog.Type.model_response, playerId, gameId, message);
   }
 
-  public void logForfeitMove(Instant time, String gameId, String playerId, String message) {
-    log(GameActionLog.Type.forfeit_move, time, playerId, gameId, message);
-  }
-
-  public void logGameFinished(Instant time, String gameId, String message) {
-    log(GameActionLog.Type.game_finished, time, "", gameId, message);
-  }
-
-  public void logGameCanceled(Instant time, String gameId, String playerId, String message) {
-    log(GameActionLog.Type.game_canceled, time, playerId, gameId, message);
-  }
-
   public void logGuardrailEvent(String gameId, String playerId, String message) {
     log(GameActionLog.Type.guardrail_event, playerId, gameId, message);
   }
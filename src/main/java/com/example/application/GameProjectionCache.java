@@ -0,0 +1,106 @@
+package com.example.application;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.domain.DotGame;
+import com.example.domain.GameProjection;
+import com.typesafe.config.Config;
+
+import akka.javasdk.client.ComponentClient;
+
+/**
+ * Latest projection of each recently read game, keyed by game id and replaced when the game state version changes.
+ * Settled games never change, so they are served without reading the game entity again.
+ */
+public class GameProjectionCache {
+  public record Stats(int size, int maxEntries, long hits, long settledHits, long misses) {}
+
+  final int maxEntries;
+  final Map<String, GameProjection> projections;
+  final AtomicLong hits = new AtomicLong();
+  final AtomicLong settledHits = new AtomicLong();
+  final AtomicLong misses = new AtomicLong();
+
+  public GameProjectionCache(int maxEntries) {
+    this.maxEntries = maxEntries;
+    this.projections = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, GameProjection> eldest) {
+        return size() > GameProjectionCache.this.maxEntries;
+      }
+    };
+  }
+
+  public static GameProjectionCache disabled() {
+    return new GameProjectionCache(0);
+  }
+
+  public static GameProjectionCache fromConfig(Config config) {
+    var path = "game-projection-cache.max-entries";
+    return new GameProjectionCache(config.hasPath(path) ? config.getInt(path) : 0);
+  }
+
+  public GameProjection get(ComponentClient componentClient, String gameId) {
+    var cached = cached(gameId);
+    if (cached != null && cached.isSettled()) {
+      settledHits.incrementAndGet();
+      return cached;
+    }
+
+    var state = componentClient
+        .forEventSourcedEntity(gameId)
+        .method(DotGameEntity::getState)
+        .invoke();
+
+    return project(state);
+  }
+
+  public CompletionStage<GameProjection> getAsync(ComponentClient componentClient, String gameId) {
+    var cached = cached(gameId);
+    if (cached != null && cached.isSettled()) {
+      settledHits.incrementAndGet();
+      return CompletableFuture.completedFuture(cached);
+    }
+
+    return componentClient
+        .forEventSourcedEntity(gameId)
+        .method(DotGameEntity::getState)
+        .invokeAsync()
+        .thenApply(this::project);
+  }
+
+  /** Returns the cached projection when it matches the state version, otherwise builds and caches a new one. */
+  public GameProjection project(DotGame.State state) {
+    var cached = cached(state.gameId());
+    if (cached != null && cached.version().equals(GameProjection.versionOf(state))) {
+      hits.incrementAndGet();
+      return cached;
+    }
+
+    misses.incrementAndGet();
+    var projection = GameProjection.of(state);
+    if (maxEntries > 0) {
+      synchronized (projections) {
+        projections.put(state.gameId(), projection);
+      }
+    }
+
+    return projection;
+  }
+
+  public Stats stats() {
+    synchronized (projections) {
+      return new Stats(projections.size(), maxEntries, hits.get(), settledHits.get(), misses.get());
+    }
+  }
+
+  GameProjection cached(String gameId) {
+    synchronized (projections) {
+      return projections.get(gameId);
+    }
+  }
+}
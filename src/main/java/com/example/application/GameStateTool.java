@@ -1,12 +1,15 @@
 package com.example.application;
 
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.example.domain.BoardRenderer;
 import com.example.domain.DotGame;
+import com.example.domain.GameProjection;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import akka.javasdk.JsonSupport;
@@ -18,10 +21,23 @@ public class GameStateTool {
   static final Logger log = LoggerFactory.getLogger(GameStateTool.class);
   final ComponentClient componentClient;
   final GameActionLogger gameLog;
+  final ToolCursors toolCursors;
+  final BoardEncodings boardEncodings;
+  final GameProjectionCache gameProjections;
+  final Metrics metrics;
 
-  public GameStateTool(ComponentClient componentClient) {
+  public GameStateTool(ComponentClient componentClient, GameProjectionCache gameProjections) {
+    this(componentClient, ToolCursors.disabled(), BoardEncodings.json(), gameProjections, Metrics.disabled());
+  }
+
+  public GameStateTool(ComponentClient componentClient, ToolCursors toolCursors, BoardEncodings boardEncodings,
+      GameProjectionCache gameProjections, Metrics metrics) {
     this.componentClient = componentClient;
     this.gameLog = new GameActionLogger(componentClient);
+    this.toolCursors = toolCursors;
+    this.boardEncodings = boardEncodings;
+    this.gameProjections = gameProjections;
+    this.metrics = metrics;
   }
 
   @FunctionTool(description = """
@@ -38,29 +54,58 @@ public class GameStateTool {
       - boardInfo: {level, topLeftSquare, bottomRightSquare}
         - level: one..nine (board size: one=5x5 .. nine=21x21)
         - squares: {squareId, row, column} for board bounds
+      - availableSquares: {availableSquareIds: [...]}
       - moveHistory: {moves: [{squareId, playerId}, ...]}
-        - Chronological list of all moves made in the game
+        - Chronological list of moves made in the game
+      - earlierMoves: {moveCount, yourSquares, opponentSquares} (only present when moveHistory is a delta)
+        - Compact summary of the squares taken by the first moveCount moves, which are not repeated in detail
+        - moveHistory then lists only the moves made after those moveCount moves, with their scoring details
+
+      Some agents receive a compact encoding instead of availableSquares and moveHistory:
+      - board: text grid with row letters on the left and column numbers across the top,
+        X = your square, O = opponent square, . = available square
+      - compactMoveHistory: one line per move, "#<move number> <you|opponent> <squareId> +<move score> (<scoring types>)"
 
       Coordinates: A1 = top-left, columns A–U, rows 1–21 depending on level.
       This is the authoritative source for board state, scores, and whose turn it is.
+      Set fullRefresh to true to get the detailed history of every move in the game.
       """)
   public GameState getGameState(
       @Description("The ID of the game you are playing and want to get the move history for") String gameId,
-      @Description("The ID of your agent id for this game") String agentId) {
-    log.debug("GameId: {}, AgentId: {}, Get game state", gameId, agentId);
+      @Description("The ID of your agent id for this game") String agentId,
+      @Description("True to return the full move history, false to return only the moves since your last call") boolean fullRefresh) {
+    try (var timer = metrics.toolCall("GameStateTool_getGameState")) {
+      log.debug("GameId: {}, AgentId: {}, Get game state, full refresh: {}", gameId, agentId, fullRefresh);
 
-    DotGame.State fullState = componentClient.forEventSourcedEntity(gameId)
-        .method(DotGameEntity::getState)
-        .invoke();
+      var projection = gameProjections.get(componentClient, gameId);
+      var gameState = gameState(projection, agentId, fullRefresh);
 
-    var gameState = GameState.from(agentId, fullState);
+      gameLog.logToolCall(gameId, agentId, "getGameState", json(gameState));
+
+      return gameState;
+    }
+  }
 
-    gameLog.logToolCall(gameId, agentId, "getGameState", json(gameState));
+  /** Game state as returned by the tool, used to prefetch the game state into a turn briefing. */
+  GameState gameState(GameProjection projection, String agentId, boolean fullRefresh) {
+    var fullState = projection.state();
+    var gameId = fullState.gameId();
+
+    var lastServed = fullRefresh ? -1 : toolCursors.lastServed("getGameState", gameId, agentId);
+    var encoding = boardEncodings.forModel(modelOf(agentId, fullState));
+    var gameState = GameState.from(agentId, projection, lastServed, encoding);
+    toolCursors.served("getGameState", gameId, agentId, fullState.moveHistory().size());
 
     return gameState;
   }
 
-  String json(GameState gameState) {
+  static String modelOf(String agentId, DotGame.State gameState) {
+    return gameState.player1Status().player().id().equals(agentId)
+        ? gameState.player1Status().player().model()
+        : gameState.player2Status().player().model();
+  }
+
+  static String json(GameState gameState) {
     var om = JsonSupport.getObjectMapper();
     try {
       return om.writerWithDefaultPrettyPrinter().writeValueAsString(gameState);
@@ -69,22 +114,52 @@ public class GameStateTool {
     }
   }
 
+  @JsonInclude(JsonInclude.Include.NON_NULL)
   public record GameState(
       GameInfo gameInfo,
       CumulativeScore cumulativeScore,
       ActivePlayer activePlayer,
       BoardInfo boardInfo,
       AvailableSquares availableSquares,
-      MoveHistory moveHistory) {
+      String board,
+      EarlierMoves earlierMoves,
+      MoveHistory moveHistory,
+      List<String> compactMoveHistory) {
 
     static GameState from(String agentId, DotGame.State gameState) {
+      return from(agentId, GameProjection.of(gameState), -1, BoardEncodings.Encoding.json);
+    }
+
+    // lastServed is the number of moves already returned in detail, -1 returns the full move history
+    static GameState from(String agentId, GameProjection projection, int lastServed, BoardEncodings.Encoding encoding) {
+      var gameState = projection.state();
+      var earlierMoveCount = Math.min(lastServed, gameState.moveHistory().size());
+      var fromMoveIndex = Math.max(0, earlierMoveCount);
+      var ascii = encoding == BoardEncodings.Encoding.ascii;
+
       return new GameState(
           GameInfo.from(gameState),
           CumulativeScore.from(agentId, gameState),
           ActivePlayer.from(agentId, gameState),
           BoardInfo.from(gameState.board()),
-          AvailableSquares.from(gameState.board()),
-          MoveHistory.from(agentId, gameState));
+          ascii ? null : AvailableSquares.from(gameState.board()),
+          ascii ? BoardRenderer.ascii(gameState.board(), agentId) : null,
+          earlierMoveCount < 0 ? null : EarlierMoves.from(agentId, gameState, earlierMoveCount, !ascii),
+          ascii ? null : MoveHistory.from(agentId, projection, fromMoveIndex),
+          ascii ? compactMoveHistory(agentId, projection, fromMoveIndex) : null);
+    }
+
+    static List<String> compactMoveHistory(String agentId, GameProjection projection, int fromMoveIndex) {
+      var moves = projection.state().moveHistory();
+
+      return IntStream.range(fromMoveIndex, moves.size())
+          .mapToObj(i -> {
+            var move = Move.from(moves.get(i), agentId, projection);
+            var types = move.scoringMoves().stream().map(ScoringMove::type).distinct().toList();
+            var line = "#%d %s %s +%d".formatted(i + 1, move.who(), move.squareId(), move.moveScore());
+            return types.isEmpty() ? line : line + " (" + String.join(", ", types) + ")";
+          })
+          .toList();
     }
   }
 
@@ -148,36 +223,51 @@ public class GameStateTool {
   }
 
   record Move(String squareId, String who, String playerId, int moveScore, List<ScoringMove> scoringMoves) {
-    static Move from(DotGame.Move move, String agentId, DotGame.ScoringMoves player1ScoringMoves, DotGame.ScoringMoves player2ScoringMoves) {
+    static Move from(DotGame.Move move, String agentId, GameProjection projection) {
       var who = agentId.equals(move.playerId()) ? "you" : "opponent";
-      var p1ScoringMoves = player1ScoringMoves.scoringMoves()
-          .stream()
-          .filter(scoringMove -> scoringMove.move().squareId().equals(move.squareId()))
-          .map(ScoringMove::from).toList();
-      var p2ScoringMoves = player2ScoringMoves.scoringMoves()
+      var scoringMoves = projection.scoringMovesAt(move.squareId())
           .stream()
-          .filter(scoringMove -> scoringMove.move().squareId().equals(move.squareId()))
-          .map(ScoringMove::from).toList();
-      var scoringMoves = Stream.concat(p1ScoringMoves.stream(), p2ScoringMoves.stream()).toList();
+          .map(ScoringMove::from)
+          .toList();
 
-      var newMoveScore = scoringMoves.stream().map(sm -> sm.score()).reduce(0, Integer::sum);
+      var newMoveScore = projection.moveScoreAt(move.squareId());
 
       return new Move(move.squareId(), who, move.playerId(), newMoveScore, scoringMoves);
     }
   }
 
   public record MoveHistory(List<Move> moves) {
-    static MoveHistory from(String agentId, DotGame.State gameState) {
-      var p1ScoringMoves = gameState.player1Status().scoringMoves();
-      var p2ScoringMoves = gameState.player2Status().scoringMoves();
-
-      return new MoveHistory(gameState.moveHistory()
+    static MoveHistory from(String agentId, GameProjection projection, int fromMoveIndex) {
+      return new MoveHistory(projection.state().moveHistory()
           .stream()
-          .map(move -> Move.from(move, agentId, p1ScoringMoves, p2ScoringMoves))
+          .skip(fromMoveIndex)
+          .map(move -> Move.from(move, agentId, projection))
           .toList());
     }
   }
 
+  // the square lists are left out when the board grid already shows every square
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  record EarlierMoves(int moveCount, String yourSquares, String opponentSquares) {
+    static EarlierMoves from(String agentId, DotGame.State gameState, int moveCount, boolean withSquares) {
+      if (!withSquares) {
+        return new EarlierMoves(moveCount, null, null);
+      }
+
+      var earlierMoves = gameState.moveHistory().subList(0, moveCount);
+      var yourSquares = earlierMoves.stream()
+          .filter(move -> move.playerId().equals(agentId))
+          .map(DotGame.Move::squareId)
+          .toList();
+      var opponentSquares = earlierMoves.stream()
+          .filter(move -> !move.playerId().equals(agentId))
+          .map(DotGame.Move::squareId)
+          .toList();
+
+      return new EarlierMoves(moveCount, String.join(" ", yourSquares), String.join(" ", opponentSquares));
+    }
+  }
+
   record ScoringMove(String moveSquareId, String type, int score, List<String> scoringSquareIds) {
     static ScoringMove from(DotGame.ScoringMove scoringMove) {
       var type = switch (scoringMove.type()) {
@@ -0,0 +1,188 @@
+package com.example.application;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.typesafe.config.Config;
+
+import akka.NotUsed;
+import akka.stream.KillSwitches;
+import akka.stream.Materializer;
+import akka.stream.OverflowStrategy;
+import akka.stream.UniqueKillSwitch;
+import akka.stream.javadsl.BroadcastHub;
+import akka.stream.javadsl.Keep;
+import akka.stream.javadsl.Sink;
+import akka.stream.javadsl.Source;
+
+/**
+ * Shares one game move stream between all viewers of a game. The first viewer starts the upstream view query, later
+ * viewers attach to a broadcast hub and first get the most recent rows from a small replay buffer. Each viewer has its
+ * own buffer that drops the oldest rows when the viewer falls behind, the missing versions then make the client read
+ * the full game state. The upstream query is stopped once a game has had no viewers for the idle timeout.
+ */
+public class GameStreams {
+  static final Logger log = LoggerFactory.getLogger(GameStreams.class);
+  static final int hubBufferSize = 16;
+
+  public record Stats(int games, int subscribers, long upstreams) {}
+
+  final boolean enabled;
+  final int replaySize;
+  final int subscriberBuffer;
+  final Duration idleTimeout;
+  final Map<String, Hub> hubs = new HashMap<>();
+  final AtomicLong upstreams = new AtomicLong();
+
+  public GameStreams(boolean enabled, int replaySize, int subscriberBuffer, Duration idleTimeout) {
+    this.enabled = enabled;
+    this.replaySize = replaySize;
+    this.subscriberBuffer = subscriberBuffer;
+    this.idleTimeout = idleTimeout;
+  }
+
+  public static GameStreams disabled() {
+    return new GameStreams(false, 0, 0, Duration.ZERO);
+  }
+
+  public static GameStreams fromConfig(Config config) {
+    if (!config.hasPath("game-streams")) {
+      return disabled();
+    }
+
+    var streamsConfig = config.getConfig("game-streams");
+    return new GameStreams(
+        streamsConfig.getBoolean("enabled"),
+        streamsConfig.getInt("replay"),
+        streamsConfig.getInt("subscriber-buffer"),
+        streamsConfig.getDuration("idle-timeout"));
+  }
+
+  /** A viewer's stream of the game's rows, sharing the upstream query with the game's other viewers. */
+  public Source<DotGameView.DotGameRow, NotUsed> subscribe(
+      String gameId,
+      Supplier<Source<DotGameView.DotGameRow, NotUsed>> upstream,
+      Materializer materializer) {
+    if (!enabled) {
+      return upstream.get();
+    }
+
+    // the viewer attaches when its stream is materialized, so a stream that never runs never holds the upstream
+    return Source.fromMaterializer((viewerMaterializer, attributes) -> {
+          var hub = attach(gameId, upstream, materializer);
+
+          // rows from the replay may also arrive from the hub, so each viewer only passes rows with a newer version
+          var lastVersion = new AtomicLong(-1);
+          return Source.from(hub.replay())
+              .concat(hub.source)
+              .filter(row -> lastVersion.getAndAccumulate(row.version(), Math::max) < row.version())
+              .buffer(subscriberBuffer, OverflowStrategy.dropHead())
+              .watchTermination((notUsed, done) -> {
+                done.whenComplete((ok, error) -> unsubscribe(hub));
+                return notUsed;
+              });
+        })
+        .mapMaterializedValue(notUsed -> NotUsed.getInstance());
+  }
+
+  synchronized Hub attach(String gameId, Supplier<Source<DotGameView.DotGameRow, NotUsed>> upstream, Materializer materializer) {
+    var hub = hubs.get(gameId);
+    if (hub == null || hub.closed) {
+      hub = start(gameId, upstream.get(), materializer);
+      hubs.put(gameId, hub);
+    }
+    hub.subscribers.incrementAndGet();
+    return hub;
+  }
+
+  Hub start(String gameId, Source<DotGameView.DotGameRow, NotUsed> upstream, Materializer materializer) {
+    log.debug("Start game stream: {}", gameId);
+    upstreams.incrementAndGet();
+
+    var hub = new Hub(gameId, replaySize);
+    var running = upstream
+        .map(row -> {
+          hub.record(row);
+          return row;
+        })
+        .watchTermination((notUsed, done) -> {
+          done.whenComplete((ok, error) -> remove(hub));
+          return notUsed;
+        })
+        .viaMat(KillSwitches.<DotGameView.DotGameRow>single(), Keep.right())
+        .toMat(BroadcastHub.of(DotGameView.DotGameRow.class, hubBufferSize), Keep.both())
+        .run(materializer);
+
+    hub.killSwitch = running.first();
+    hub.source = running.second();
+
+    // keeps the hub draining while no viewer is attached, so the replay stays current
+    hub.source.runWith(Sink.ignore(), materializer);
+
+    return hub;
+  }
+
+  void unsubscribe(Hub hub) {
+    if (hub.subscribers.decrementAndGet() > 0) {
+      return;
+    }
+
+    CompletableFuture.delayedExecutor(idleTimeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> stopIfIdle(hub));
+  }
+
+  synchronized void stopIfIdle(Hub hub) {
+    if (hub.closed || hub.subscribers.get() > 0) {
+      return;
+    }
+
+    log.debug("Stop idle game stream: {}", hub.gameId);
+    remove(hub);
+    hub.killSwitch.shutdown();
+  }
+
+  synchronized void remove(Hub hub) {
+    hub.closed = true;
+    hubs.remove(hub.gameId, hub);
+  }
+
+  public synchronized Stats stats() {
+    return new Stats(hubs.size(), hubs.values().stream().mapToInt(hub -> hub.subscribers.get()).sum(), upstreams.get());
+  }
+
+  static class Hub {
+    final String gameId;
+    final int replaySize;
+    final ArrayDeque<DotGameView.DotGameRow> recent = new ArrayDeque<>();
+    final AtomicInteger subscribers = new AtomicInteger();
+    volatile boolean closed;
+    UniqueKillSwitch killSwitch;
+    Source<DotGameView.DotGameRow, NotUsed> source;
+
+    Hub(String gameId, int replaySize) {
+      this.gameId = gameId;
+      this.replaySize = replaySize;
+    }
+
+    synchronized void record(DotGameView.DotGameRow row) {
+      recent.addLast(row);
+      while (recent.size() > replaySize) {
+        recent.removeFirst();
+      }
+    }
+
+    synchronized List<DotGameView.DotGameRow> replay() {
+      return List.copyOf(recent);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.example.application;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import com.example.domain.TextDiff;
+import com.typesafe.config.Config;
+
+/**
+ * Recently computed diffs between two journal versions, keyed by journal, agent, both sequence ids and diff mode.
+ * Journal versions never change once written, so a diff is cached as soon as both versions exist.
+ */
+public class JournalDiffs {
+  public record Key(String journal, String agentId, long fromSequenceId, long toSequenceId, TextDiff.Mode mode) {}
+
+  public record Diff(
+      String agentId,
+      long fromSequenceId,
+      long toSequenceId,
+      TextDiff.Mode mode,
+      boolean fromFound,
+      boolean toFound,
+      List<TextDiff.Part> parts) {}
+
+  public record Stats(int size, int maxEntries, long hits, long misses) {}
+
+  final int maxEntries;
+  final Map<Key, Diff> diffs;
+  final AtomicLong hits = new AtomicLong();
+  final AtomicLong misses = new AtomicLong();
+
+  public JournalDiffs(int maxEntries) {
+    this.maxEntries = maxEntries;
+    this.diffs = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Diff> eldest) {
+        return size() > JournalDiffs.this.maxEntries;
+      }
+    };
+  }
+
+  public static JournalDiffs disabled() {
+    return new JournalDiffs(0);
+  }
+
+  public static JournalDiffs fromConfig(Config config) {
+    var path = "journal-diff-cache.max-entries";
+    return new JournalDiffs(config.hasPath(path) ? config.getInt(path) : 0);
+  }
+
+  /** Returns the cached diff for the key, or diffs the two versions' texts read with textOf. */
+  public Diff diff(Key key, LongFunction<Optional<String>> textOf) {
+    synchronized (diffs) {
+      var cached = diffs.get(key);
+      if (cached != null) {
+        hits.incrementAndGet();
+        return cached;
+      }
+    }
+
+    misses.incrementAndGet();
+    var from = textOf.apply(key.fromSequenceId());
+    var to = textOf.apply(key.toSequenceId());
+    var diff = new Diff(
+        key.agentId(),
+        key.fromSequenceId(),
+        key.toSequenceId(),
+        key.mode(),
+        from.isPresent(),
+        to.isPresent(),
+        TextDiff.diff(from.orElse(""), to.orElse(""), key.mode()));
+
+    // a missing version, or one whose diff chain is not complete in the view yet, may still be on its way
+    if (maxEntries > 0 && from.isPresent() && to.isPresent()) {
+      synchronized (diffs) {
+        diffs.put(key, diff);
+      }
+    }
+
+    return diff;
+  }
+
+  public Stats stats() {
+    synchronized (diffs) {
+      return new Stats(diffs.size(), maxEntries, hits.get(), misses.get());
+    }
+  }
+}
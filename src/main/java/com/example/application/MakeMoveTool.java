@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.example.domain.DotGame;
+import com.example.domain.GameProjection;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import akka.javasdk.JsonSupport;
@@ -17,10 +18,18 @@ public class MakeMoveTool {
   static final Logger log = LoggerFactory.getLogger(MakeMoveTool.class);
   final ComponentClient componentClient;
   final GameActionLogger gameLog;
+  final GameProjectionCache gameProjections;
+  final Metrics metrics;
 
-  public MakeMoveTool(ComponentClient componentClient) {
+  public MakeMoveTool(ComponentClient componentClient, GameProjectionCache gameProjections) {
+    this(componentClient, gameProjections, Metrics.disabled());
+  }
+
+  public MakeMoveTool(ComponentClient componentClient, GameProjectionCache gameProjections, Metrics metrics) {
     this.componentClient = componentClient;
     this.gameLog = new GameActionLogger(componentClient);
+    this.gameProjections = gameProjections;
+    this.metrics = metrics;
   }
 
   @FunctionTool(description = """
@@ -40,43 +49,47 @@ public class MakeMoveTool {
           The square (board coordinate) to claim (e.g., "C3"). Squares IDs start
           at A1 in the top-left and extend to the board size determined by level
           """) String squareId) {
-    log.debug("GameId: {}, AgentId: {}, Make move: {}", gameId, agentId, squareId);
+    try (var timer = metrics.toolCall("MakeMoveTool_makeMove")) {
+      log.debug("GameId: {}, AgentId: {}, Make move: {}", gameId, agentId, squareId);
 
-    var command = new DotGame.Command.MakeMove(gameId, agentId, squareId);
+      var command = new DotGame.Command.MakeMove(gameId, agentId, squareId);
 
-    var stateBeforeMove = componentClient.forEventSourcedEntity(gameId)
-        .method(DotGameEntity::getState)
-        .invoke();
+      var stateBeforeMove = componentClient.forEventSourcedEntity(gameId)
+          .method(DotGameEntity::getState)
+          .invoke();
 
-    var stateAfterMove = componentClient.forEventSourcedEntity(gameId)
-        .method(DotGameEntity::makeMove)
-        .invoke(command);
+      var stateAfterMove = componentClient.forEventSourcedEntity(gameId)
+          .method(DotGameEntity::makeMove)
+          .invoke(command);
 
-    var gameOver = stateAfterMove.status() != DotGame.Status.in_progress;
-    var moveCompleted = stateBeforeMove.moveHistory().size() < stateAfterMove.moveHistory().size();
+      var projectionAfterMove = gameProjections.project(stateAfterMove);
 
-    if (moveCompleted && gameOver) {
-      var result = Response.from(agentId, squareId, stateBeforeMove, stateAfterMove);
-      log.debug(json(result));
-      gameLog.logToolCall(gameId, agentId, "makeMove", json(result));
+      var gameOver = stateAfterMove.status() != DotGame.Status.in_progress;
+      var moveCompleted = stateBeforeMove.moveHistory().size() < stateAfterMove.moveHistory().size();
 
-      return Response.from(agentId, squareId, stateBeforeMove, stateAfterMove);
-    }
+      if (moveCompleted && gameOver) {
+        var result = Response.from(agentId, squareId, stateBeforeMove, projectionAfterMove);
+        log.debug(json(result));
+        gameLog.logToolCall(gameId, agentId, "makeMove", json(result));
 
-    if (moveCompleted) {
-      var result = Response.from(agentId, squareId, stateBeforeMove, stateAfterMove);
-      log.debug(json(result));
-      gameLog.logToolCall(gameId, agentId, "makeMove", json(result));
+        return result;
+      }
 
-      return Response.from(agentId, squareId, stateBeforeMove, stateAfterMove);
-    }
+      if (moveCompleted) {
+        var result = Response.from(agentId, squareId, stateBeforeMove, projectionAfterMove);
+        log.debug(json(result));
+        gameLog.logToolCall(gameId, agentId, "makeMove", json(result));
+
+        return result;
+      }
 
-    var result = Response.from(agentId, squareId, stateBeforeMove, stateAfterMove);
+      var result = Response.from(agentId, squareId, stateBeforeMove, projectionAfterMove);
 
-    log.debug(json(result));
-    gameLog.logToolCall(gameId, agentId, "makeMove", json(result));
+      log.debug(json(result));
+      gameLog.logToolCall(gameId, agentId, "makeMove", json(result));
 
-    return Response.from(agentId, squareId, stateBeforeMove, stateAfterMove);
+      return result;
+    }
   }
 
   static String json(Response response) {
@@ -133,27 +146,24 @@ public class MakeMoveTool {
   }
 
   public record ScoringMoves(List<ScoringMove> scoringMoves) {
-    static ScoringMoves from(String squareId, DotGame.ScoringMoves scoringMoves) {
-      return new ScoringMoves(scoringMoves.scoringMoves()
-          .stream()
-          .filter(sm -> sm.move().squareId().equals(squareId))
+    static ScoringMoves from(List<DotGame.ScoringMove> scoringMoves) {
+      return new ScoringMoves(scoringMoves.stream()
           .map(ScoringMove::from)
           .toList());
     }
   }
 
   public record MoveScore(int delta, ScoringMoves scoringMoves) {
-    static MoveScore from(String agentId, String squareId, DotGame.State gameState) {
-      var scoringMoves = agentId.equals(gameState.player1Status().player().id())
-          ? gameState.player1Status().scoringMoves()
-          : gameState.player2Status().scoringMoves();
-      var delta = scoringMoves.scoringMoves()
+    static MoveScore from(String agentId, String squareId, GameProjection projection) {
+      var scoringMoves = projection.scoringMovesAt(squareId)
           .stream()
-          .filter(m -> m.move().squareId().equals(squareId))
+          .filter(m -> m.move().playerId().map(agentId::equals).orElse(false))
+          .toList();
+      var delta = scoringMoves.stream()
           .map(m -> m.score())
           .reduce(0, Integer::sum);
 
-      return new MoveScore(delta, ScoringMoves.from(squareId, scoringMoves));
+      return new MoveScore(delta, ScoringMoves.from(scoringMoves));
     }
   }
 
@@ -180,9 +190,14 @@ public class MakeMoveTool {
 
   public record Response(MoveDetails moveDetails, CumulativeScore cumulativeScore, MoveScore moveScore, ActivePlayer activePlayer) {
     static Response from(String agentId, String squareId, DotGame.State stateBeforeMove, DotGame.State stateAfterMove) {
+      return from(agentId, squareId, stateBeforeMove, GameProjection.of(stateAfterMove));
+    }
+
+    static Response from(String agentId, String squareId, DotGame.State stateBeforeMove, GameProjection projectionAfterMove) {
+      var stateAfterMove = projectionAfterMove.state();
       var moveDetails = MoveDetails.from(squareId, stateBeforeMove, stateAfterMove);
       var cumulativeScore = CumulativeScore.from(agentId, stateAfterMove);
-      var moveScore = MoveScore.from(agentId, squareId, stateAfterMove);
+      var moveScore = MoveScore.from(agentId, squareId, projectionAfterMove);
       var activePlayer = ActivePlayer.from(agentId, stateAfterMove);
 
       return new Response(moveDetails, cumulativeScore, moveScore, activePlayer);
@@ -0,0 +1,238 @@
+package com.example.application;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.typesafe.config.Config;
+
+import akka.javasdk.consumer.MessageContext;
+
+/**
+ * Runtime metrics exposed in Prometheus text format: timers for workflow steps, tool calls, model calls and consumer
+ * lag, and counters for model errors, retries and forfeits. Timers record into HdrHistogram recorders, which are wait
+ * free for writers, so recording on the hot paths is a map lookup and a histogram increment. Quantiles cover the
+ * current and the previous window, counts and sums are cumulative.
+ */
+public class Metrics {
+  static final String prefix = "me_dot_u_dot_";
+  static final long highestTrackableMicros = TimeUnit.HOURS.toMicros(1);
+  static final double[] quantiles = { 0.5, 0.9, 0.99, 0.999 };
+
+  enum Metric {
+    workflowStep("workflow_step_duration_seconds", "summary", "Agent player workflow step duration"),
+    toolCall("tool_call_duration_seconds", "summary", "Function tool call duration"),
+    modelCall("model_call_duration_seconds", "summary", "Agent call duration, including model round trips and tool calls"),
+    consumerLag("consumer_lag_seconds", "summary", "Time from event creation to consumer processing"),
+    modelErrors("model_errors_total", "counter", "Agent model call errors by error type"),
+    modelRetries("model_retries_total", "counter", "Make move retries after a move was not made"),
+    moveForfeits("move_forfeits_total", "counter", "Moves forfeited after agent errors or too many retries");
+
+    final String name;
+    final String type;
+    final String help;
+
+    Metric(String name, String type, String help) {
+      this.name = prefix + name;
+      this.type = type;
+      this.help = help;
+    }
+  }
+
+  record Key(Metric metric, String labels) {}
+
+  final boolean enabled;
+  final long windowNanos;
+  final LongSupplier nanoClock;
+  final Map<Key, Timer> timers = new ConcurrentHashMap<>();
+  final Map<Key, LongAdder> counters = new ConcurrentHashMap<>();
+
+  public Metrics(boolean enabled, Duration window, LongSupplier nanoClock) {
+    this.enabled = enabled;
+    this.windowNanos = window.toNanos();
+    this.nanoClock = nanoClock;
+  }
+
+  public static Metrics disabled() {
+    return new Metrics(false, Duration.ofMinutes(1), System::nanoTime);
+  }
+
+  public static Metrics fromConfig(Config config) {
+    if (!config.hasPath("metrics")) {
+      return disabled();
+    }
+
+    var metricsConfig = config.getConfig("metrics");
+    return new Metrics(metricsConfig.getBoolean("enabled"), metricsConfig.getDuration("window"), System::nanoTime);
+  }
+
+  /** Times a block with try with resources, the sample records when closed. */
+  public Sample workflowStep(String step) {
+    return sample(Metric.workflowStep, label("step", step));
+  }
+
+  public Sample toolCall(String tool) {
+    return sample(Metric.toolCall, label("tool", tool));
+  }
+
+  public Sample modelCall(String model, String agent) {
+    return sample(Metric.modelCall, label("model", model) + "," + label("agent", agent));
+  }
+
+  public void modelError(String model, String agent, Throwable exception) {
+    increment(Metric.modelErrors, label("model", model) + "," + label("agent", agent) + "," + label("error", exception.getClass().getSimpleName()));
+  }
+
+  public void modelRetry(String model) {
+    increment(Metric.modelRetries, label("model", model));
+  }
+
+  public void moveForfeit(String model) {
+    increment(Metric.moveForfeits, label("model", model));
+  }
+
+  /** Records the time since the consumed event was created, from the event's cloud event time. */
+  public void consumerLag(String consumer, MessageContext messageContext) {
+    if (!enabled) {
+      return;
+    }
+
+    messageContext.metadata().asCloudEvent().time().ifPresent(time -> {
+      var lag = Duration.between(time.toInstant(), Instant.now());
+      timer(Metric.consumerLag, label("consumer", consumer)).record(Math.max(0, lag.toNanos()));
+    });
+  }
+
+  Sample sample(Metric metric, String labels) {
+    return enabled ? new Sample(timer(metric, labels), nanoClock) : Sample.disabled;
+  }
+
+  Timer timer(Metric metric, String labels) {
+    var key = new Key(metric, labels);
+    var timer = timers.get(key);
+    return timer != null ? timer : timers.computeIfAbsent(key, k -> new Timer(nanoClock.getAsLong()));
+  }
+
+  void increment(Metric metric, String labels) {
+    if (enabled) {
+      counters.computeIfAbsent(new Key(metric, labels), k -> new LongAdder()).increment();
+    }
+  }
+
+  static String label(String name, String value) {
+    var escaped = value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    return "%s=\"%s\"".formatted(name, escaped);
+  }
+
+  /** Renders all metrics in the Prometheus text exposition format. */
+  public String prometheus() {
+    var now = nanoClock.getAsLong();
+    var text = new StringBuilder();
+
+    for (var metric : Metric.values()) {
+      var timerKeys = sortedKeys(timers, metric);
+      var counterKeys = sortedKeys(counters, metric);
+      if (timerKeys.isEmpty() && counterKeys.isEmpty()) {
+        continue;
+      }
+
+      text.append("# HELP ").append(metric.name).append(' ').append(metric.help).append('\n');
+      text.append("# TYPE ").append(metric.name).append(' ').append(metric.type).append('\n');
+
+      timerKeys.forEach(key -> {
+        var snapshot = timers.get(key).snapshot(now, windowNanos);
+        for (var quantile : quantiles) {
+          text.append(metric.name).append('{').append(key.labels).append(",quantile=\"").append(quantile).append("\"} ")
+              .append(snapshot.quantile(quantile)).append('\n');
+        }
+        text.append(metric.name).append("_sum{").append(key.labels).append("} ").append(snapshot.sumSeconds).append('\n');
+        text.append(metric.name).append("_count{").append(key.labels).append("} ").append(snapshot.count).append('\n');
+      });
+
+      counterKeys.forEach(key -> text.append(metric.name).append('{').append(key.labels).append("} ")
+          .append(counters.get(key).sum()).append('\n'));
+    }
+
+    return text.toString();
+  }
+
+  static List<Key> sortedKeys(Map<Key, ?> map, Metric metric) {
+    return map.keySet().stream()
+        .filter(key -> key.metric == metric)
+        .sorted(Comparator.comparing(Key::labels))
+        .toList();
+  }
+
+  public static class Sample implements AutoCloseable {
+    static final Sample disabled = new Sample(null, () -> 0);
+
+    final Timer timer;
+    final LongSupplier nanoClock;
+    final long startedAt;
+
+    Sample(Timer timer, LongSupplier nanoClock) {
+      this.timer = timer;
+      this.nanoClock = nanoClock;
+      this.startedAt = nanoClock.getAsLong();
+    }
+
+    @Override
+    public void close() {
+      if (timer != null) {
+        timer.record(nanoClock.getAsLong() - startedAt);
+      }
+    }
+  }
+
+  record Snapshot(Histogram window, long count, double sumSeconds) {
+    // histogram values are microseconds, NaN when nothing was recorded in the window
+    double quantile(double quantile) {
+      return window.getTotalCount() == 0 ? Double.NaN : window.getValueAtPercentile(quantile * 100) / 1e6;
+    }
+  }
+
+  static class Timer {
+    final Recorder recorder = new Recorder(highestTrackableMicros, 2);
+    final LongAdder count = new LongAdder();
+    final LongAdder sumNanos = new LongAdder();
+    Histogram interval;
+    Histogram previous = new Histogram(highestTrackableMicros, 2);
+    Histogram current = new Histogram(highestTrackableMicros, 2);
+    long rotatedAt;
+
+    Timer(long now) {
+      this.rotatedAt = now;
+    }
+
+    void record(long nanos) {
+      recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), highestTrackableMicros));
+      count.increment();
+      sumNanos.add(nanos);
+    }
+
+    synchronized Snapshot snapshot(long now, long windowNanos) {
+      interval = recorder.getIntervalHistogram(interval);
+      current.add(interval);
+      if (now - rotatedAt >= windowNanos) {
+        var recycled = previous;
+        previous = current;
+        current = recycled;
+        current.reset();
+        rotatedAt = now;
+      }
+
+      var window = previous.copy();
+      window.add(current);
+      return new Snapshot(window, count.sum(), sumNanos.sum() / 1e9);
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.example.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.domain.ModelAnalytics;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.eventsourcedentity.EventSourcedEntity;
+import akka.javasdk.eventsourcedentity.EventSourcedEntityContext;
+
+@Component(id = "model-analytics-entity")
+public class ModelAnalyticsEntity extends EventSourcedEntity<ModelAnalytics.State, ModelAnalytics.Event> {
+  final Logger log = LoggerFactory.getLogger(getClass());
+  final String entityId;
+
+  public ModelAnalyticsEntity(EventSourcedEntityContext context) {
+    this.entityId = context.entityId();
+  }
+
+  @Override
+  public ModelAnalytics.State emptyState() {
+    return ModelAnalytics.State.empty();
+  }
+
+  public Effect<ModelAnalytics.State> recordGame(ModelAnalytics.Command.RecordGame command) {
+    log.debug("EntityId: {}\n_State: {}\n_Command: {}", entityId, currentState(), command);
+
+    return effects()
+        .persistAll(currentState().onCommand(command).stream().toList())
+        .thenReply(newState -> newState);
+  }
+
+  public Effect<ModelAnalytics.State> recordForfeit(ModelAnalytics.Command.RecordForfeit command) {
+    log.debug("EntityId: {}\n_State: {}\n_Command: {}", entityId, currentState(), command);
+
+    return effects()
+        .persistAll(currentState().onCommand(command).stream().toList())
+        .thenReply(newState -> newState);
+  }
+
+  public ReadOnlyEffect<ModelAnalytics.State> getState() {
+    log.debug("EntityId: {}\n_State: {}", entityId, currentState());
+
+    if (currentState().isEmpty()) {
+      return effects().error("ModelAnalytics '%s' not found".formatted(entityId));
+    }
+
+    return effects().reply(currentState());
+  }
+
+  @Override
+  public ModelAnalytics.State applyEvent(ModelAnalytics.Event event) {
+    log.debug("EntityId: {}\n_State: {}\n_Event: {}", entityId, currentState(), event);
+
+    return switch (event) {
+      case ModelAnalytics.Event.GameRecorded e -> currentState().onEvent(e);
+      case ModelAnalytics.Event.ForfeitRecorded e -> currentState().onEvent(e);
+    };
+  }
+}
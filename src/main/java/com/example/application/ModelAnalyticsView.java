@@ -0,0 +1,62 @@
+package com.example.application;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.domain.ModelAnalytics;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.Query;
+import akka.javasdk.view.TableUpdater;
+import akka.javasdk.view.View;
+
+@Component(id = "model-analytics-view")
+public class ModelAnalyticsView extends View {
+  static final Logger log = LoggerFactory.getLogger(ModelAnalyticsView.class);
+
+  @Query("""
+      SELECT * AS models
+        FROM model_analytics_view
+       ORDER BY model
+      """)
+  public QueryEffect<ModelAnalyticsList> getModelAnalytics() {
+    return queryResult();
+  }
+
+  @Consume.FromEventSourcedEntity(ModelAnalyticsEntity.class)
+  public static class ByModel extends TableUpdater<ModelAnalyticsRow> {
+
+    public Effect<ModelAnalyticsRow> onEvent(ModelAnalytics.Event event) {
+      log.debug("Event: {}", event);
+
+      return switch (event) {
+        case ModelAnalytics.Event.GameRecorded e -> effects().updateRow(onEvent(e.model(), e.levelStats(), e.updatedAt()));
+        case ModelAnalytics.Event.ForfeitRecorded e -> effects().updateRow(onEvent(e.model(), e.levelStats(), e.updatedAt()));
+      };
+    }
+
+    ModelAnalyticsRow onEvent(String model, ModelAnalytics.LevelStats levelStats, Instant updatedAt) {
+      var levels = rowState() == null ? List.<ModelAnalytics.Summary>of() : rowState().levels();
+      var newLevels = Stream.concat(
+          levels.stream().filter(level -> level.level() != levelStats.level()),
+          Stream.of(levelStats.summary()))
+          .sorted(Comparator.comparing(ModelAnalytics.Summary::level))
+          .toList();
+
+      return new ModelAnalyticsRow(model, newLevels, updatedAt);
+    }
+  }
+
+  public record ModelAnalyticsRow(
+      String model,
+      List<ModelAnalytics.Summary> levels,
+      Instant updatedAt) {}
+
+  public record ModelAnalyticsList(List<ModelAnalyticsRow> models) {}
+}
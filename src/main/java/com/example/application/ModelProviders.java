@@ -0,0 +1,40 @@
+package com.example.application;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.aicustommodel.StubModelProvider;
+import com.typesafe.config.Config;
+
+import akka.javasdk.agent.ModelProvider;
+
+/**
+ * Model provider for an agent model key. Models configured with provider = "stub" use the local stub model, all others
+ * are read from their ai-agent-model-* config.
+ */
+public class ModelProviders {
+  final Config config;
+  final Map<String, StubModelProvider> stubProviders = new ConcurrentHashMap<>();
+
+  public ModelProviders(Config config) {
+    this.config = config;
+  }
+
+  public ModelProvider forModel(String model) {
+    var path = "ai-agent-model-" + model;
+    var isStub = config.hasPath(path + ".provider") && config.getString(path + ".provider").equals("stub");
+
+    return isStub
+        ? ModelProvider.custom(stubProviders.computeIfAbsent(model, m -> new StubModelProvider(m, StubModelProvider.Settings.fromConfig(config.getConfig(path)))))
+        : ModelProvider.fromConfig(path);
+  }
+
+  public List<StubModelProvider.Stats> stubStats() {
+    return stubProviders.values().stream()
+        .map(StubModelProvider::stats)
+        .sorted(Comparator.comparing(StubModelProvider.Stats::model))
+        .toList();
+  }
+}
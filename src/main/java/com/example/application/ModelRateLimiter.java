@@ -0,0 +1,428 @@
+package com.example.application;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.typesafe.config.Config;
+
+/**
+ * Admission control for model calls, one pair of token buckets per ai-agent-model-* config: requests per minute and
+ * estimated tokens per minute. Nothing blocks: a call that doesn't fit keeps its place in line and is told how long to
+ * wait, and its workflow step asks again after that delay. Waiting calls are admitted round robin across games so one
+ * busy game can't starve the others. A provider rate limit error empties the buckets and backs off for the provider's
+ * retry after hint, or for an exponential back-off when there is no hint. A call that has waited maxWait is admitted
+ * anyway and left to the provider.
+ * <p>
+ * Admission is per agent command, but an agent command makes one provider request per tool call round trip, each
+ * resending the conversation so far. The model providers are built by the SDK from config and can't be wrapped per
+ * request, so a command is charged its expected round trips up front: that many requests, the prompt once per round
+ * trip, and completionTokens for each earlier round trip's output and tool results as the history is resent. The
+ * prompt is built by the agent after admission, so admission charges the last prompt size seen for the same model and
+ * call, starting from promptTokens, and the agent settles the difference once its prompt is built.
+ */
+public class ModelRateLimiter {
+  public record Limits(int requestsPerMinute, int tokensPerMinute) {}
+
+  public record ModelStats(
+      String model,
+      int requestsPerMinute,
+      int tokensPerMinute,
+      double availableRequests,
+      double availableTokens,
+      int waiting,
+      int waitingGames,
+      long admitted,
+      long admittedAfterMaxWait,
+      long deferred,
+      long rateLimited,
+      long backoffMs) {}
+
+  public record Stats(boolean enabled, List<ModelStats> models) {}
+
+  static final long minRetryNanos = Duration.ofMillis(250).toNanos();
+  static final Pattern retryAfterPattern = Pattern.compile(
+      "(?i)(?:retry[- ]after|try again in)[:\\s]*(\\d+(?:\\.\\d+)?)\\s*(ms|milliseconds?|s|sec|seconds?)?");
+
+  final boolean enabled;
+  final Limits defaultLimits;
+  final Map<String, Limits> modelLimits;
+  final Duration maxWait;
+  final Duration initialBackoff;
+  final Duration maxBackoff;
+  final int completionTokens;
+  final int promptTokens;
+  final Map<String, Integer> roundTrips;
+  final LongSupplier nanoClock;
+  final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+  final Map<String, Integer> lastPromptTokens = new ConcurrentHashMap<>();
+
+  public ModelRateLimiter(
+      boolean enabled,
+      Limits defaultLimits,
+      Map<String, Limits> modelLimits,
+      Duration maxWait,
+      Duration initialBackoff,
+      Duration maxBackoff,
+      int completionTokens,
+      int promptTokens,
+      Map<String, Integer> roundTrips,
+      LongSupplier nanoClock) {
+    this.enabled = enabled;
+    this.defaultLimits = defaultLimits;
+    this.modelLimits = modelLimits;
+    this.maxWait = maxWait;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.completionTokens = completionTokens;
+    this.promptTokens = promptTokens;
+    this.roundTrips = roundTrips;
+    this.nanoClock = nanoClock;
+  }
+
+  public static ModelRateLimiter disabled() {
+    return new ModelRateLimiter(false, new Limits(0, 0), Map.of(), Duration.ZERO, Duration.ZERO, Duration.ZERO, 0, 0, Map.of(), System::nanoTime);
+  }
+
+  public static ModelRateLimiter fromConfig(Config config) {
+    var path = "agent-player.rate-limits";
+    if (!config.hasPath(path)) {
+      return disabled();
+    }
+
+    var limitsConfig = config.getConfig(path);
+    var models = limitsConfig.getConfig("models");
+    var modelLimits = models.root().keySet().stream()
+        .collect(Collectors.toMap(model -> model, model -> limits(models.getConfig("\"" + model + "\""))));
+    var roundTripsConfig = limitsConfig.getConfig("round-trips");
+    var roundTrips = roundTripsConfig.root().keySet().stream()
+        .collect(Collectors.toMap(call -> call, roundTripsConfig::getInt));
+
+    return new ModelRateLimiter(
+        limitsConfig.getBoolean("enabled"),
+        limits(limitsConfig.getConfig("default")),
+        modelLimits,
+        limitsConfig.getDuration("max-wait"),
+        limitsConfig.getDuration("initial-backoff"),
+        limitsConfig.getDuration("max-backoff"),
+        limitsConfig.getInt("completion-tokens"),
+        limitsConfig.getInt("prompt-tokens"),
+        roundTrips,
+        System::nanoTime);
+  }
+
+  static Limits limits(Config config) {
+    return new Limits(config.getInt("requests-per-minute"), config.getInt("tokens-per-minute"));
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** The expected model round trips of an agent command, e.g. make-move, 1 when not configured. */
+  public int roundTrips(String call) {
+    return Math.max(1, roundTrips.getOrDefault(call, 1));
+  }
+
+  /**
+   * Admits an agent command, e.g. make-move, for the model when it has capacity and the caller is next in line, and
+   * returns zero. Otherwise nothing is charged, the caller keeps its place in line, and the result is how long to wait
+   * before asking again with the same callerId.
+   */
+  public Duration tryAcquire(String model, String gameId, String callerId, String call) {
+    if (!enabled) {
+      return Duration.ZERO;
+    }
+
+    var roundTrips = roundTrips(call);
+    var tokens = estimateTokens(roundTrips, completionTokens, lastPromptTokens.getOrDefault(model + ":" + call, promptTokens));
+    return Duration.ofNanos(bucket(model).tryAcquire(callerId, gameId, roundTrips, tokens));
+  }
+
+  /**
+   * Settles an admitted command's token charge once the agent has built its prompt: charges or refunds the difference
+   * from the estimate made at admission, without waiting, and remembers the prompt size for the next admission.
+   */
+  public void promptBuilt(String model, String call, String... promptTexts) {
+    if (!enabled) {
+      return;
+    }
+
+    var roundTrips = roundTrips(call);
+    var actual = estimateTokens(promptTexts);
+    var estimated = lastPromptTokens.getOrDefault(model + ":" + call, promptTokens);
+    lastPromptTokens.put(model + ":" + call, actual);
+    bucket(model).settle(estimateTokens(roundTrips, completionTokens, actual) - estimateTokens(roundTrips, completionTokens, estimated));
+  }
+
+  /** Records a provider rate limit error, calls to the model wait for the retry after hint or the current back-off. */
+  public void rateLimited(String model, Throwable exception) {
+    if (!enabled) {
+      return;
+    }
+
+    bucket(model).rateLimited(retryAfter(exception.getMessage()));
+  }
+
+  public Stats stats() {
+    var models = buckets.values().stream()
+        .map(Bucket::stats)
+        .sorted(Comparator.comparing(ModelStats::model))
+        .toList();
+
+    return new Stats(enabled, models);
+  }
+
+  // every round trip resends the prompt and the output and tool results of the round trips before it
+  static int estimateTokens(int roundTrips, int completionTokens, String... promptTexts) {
+    return estimateTokens(roundTrips, completionTokens, estimateTokens(promptTexts));
+  }
+
+  static int estimateTokens(int roundTrips, int completionTokens, int promptTokens) {
+    var prompt = (long) promptTokens;
+    var completions = (long) roundTrips * (roundTrips + 1) / 2;
+    return (int) Math.min(Integer.MAX_VALUE, roundTrips * prompt + completions * completionTokens);
+  }
+
+  // about four characters per token for English text and JSON
+  static int estimateTokens(String... texts) {
+    var chars = 0L;
+    for (var text : texts) {
+      chars += text == null ? 0 : text.length();
+    }
+    return (int) Math.min(Integer.MAX_VALUE, (chars + 3) / 4);
+  }
+
+  static Optional<Duration> retryAfter(String message) {
+    if (message == null) {
+      return Optional.empty();
+    }
+
+    var matcher = retryAfterPattern.matcher(message);
+    if (!matcher.find()) {
+      return Optional.empty();
+    }
+
+    var value = Double.parseDouble(matcher.group(1));
+    var unit = matcher.group(2);
+    var millis = unit != null && unit.toLowerCase().startsWith("m") ? value : value * 1000;
+    return Optional.of(Duration.ofMillis((long) Math.ceil(millis)));
+  }
+
+  static class Waiter {
+    final String callerId;
+    final String gameId;
+    final long firstAskedAt;
+    long expiresAt;
+
+    Waiter(String callerId, String gameId, long now) {
+      this.callerId = callerId;
+      this.gameId = gameId;
+      this.firstAskedAt = now;
+      this.expiresAt = now;
+    }
+  }
+
+  Bucket bucket(String model) {
+    return buckets.computeIfAbsent(model, m -> new Bucket(m, modelLimits.getOrDefault(m, defaultLimits)));
+  }
+
+  class Bucket {
+    final String model;
+    final Limits limits;
+    final ReentrantLock lock = new ReentrantLock();
+    final Map<String, Waiter> waiters = new LinkedHashMap<>();
+    final Map<String, ArrayDeque<Waiter>> waitersByGame = new LinkedHashMap<>();
+    final ArrayDeque<String> gameRotation = new ArrayDeque<>();
+    double availableRequests;
+    double availableTokens;
+    long refilledAt;
+    long backoffUntil;
+    long backoffNanos;
+    long rateLimitedAt;
+    long admitted;
+    long admittedAfterMaxWait;
+    long deferred;
+    long rateLimitedCount;
+
+    Bucket(String model, Limits limits) {
+      this.model = model;
+      this.limits = limits;
+      this.availableRequests = limits.requestsPerMinute();
+      this.availableTokens = limits.tokensPerMinute();
+      this.refilledAt = nanoClock.getAsLong();
+      this.backoffUntil = refilledAt;
+    }
+
+    // 0 when admitted, otherwise the nanos to wait before asking again
+    long tryAcquire(String callerId, String gameId, int roundTrips, int estimatedTokens) {
+      var requests = limits.requestsPerMinute() > 0 ? Math.min(roundTrips, limits.requestsPerMinute()) : 0;
+      var tokens = limits.tokensPerMinute() > 0 ? Math.min(estimatedTokens, limits.tokensPerMinute()) : 0;
+
+      lock.lock();
+      try {
+        var now = nanoClock.getAsLong();
+        expire(now);
+
+        var waiter = waiters.get(callerId);
+        if (waiter == null) {
+          waiter = new Waiter(callerId, gameId, now);
+          enqueue(waiter);
+        }
+
+        var wait = waitNanos(now, requests, tokens);
+        var waitedMax = now - waiter.firstAskedAt >= maxWait.toNanos();
+        if (isNext(waiter) && (wait <= 0 || waitedMax)) {
+          dequeue(waiter);
+          take(requests, tokens);
+          admitted++;
+          if (wait > 0) {
+            admittedAfterMaxWait++;
+          }
+          return 0;
+        }
+
+        // a caller that doesn't ask again within twice its delay has gone away and gives up its place
+        var retry = Math.max(wait, minRetryNanos);
+        waiter.expiresAt = now + 2 * retry + TimeUnit.SECONDS.toNanos(1);
+        deferred++;
+        return retry;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void settle(int tokens) {
+      lock.lock();
+      try {
+        refill(nanoClock.getAsLong());
+        if (limits.tokensPerMinute() > 0) {
+          availableTokens = Math.min(limits.tokensPerMinute(), availableTokens - tokens);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void rateLimited(Optional<Duration> retryAfter) {
+      lock.lock();
+      try {
+        var now = nanoClock.getAsLong();
+        var initial = initialBackoff.toNanos();
+        var consecutive = rateLimitedCount > 0 && now - rateLimitedAt < 2 * Math.max(backoffNanos, initial);
+        backoffNanos = consecutive ? Math.min(Math.max(backoffNanos, initial) * 2, maxBackoff.toNanos()) : initial;
+
+        var delay = retryAfter.map(Duration::toNanos).orElse(backoffNanos);
+        backoffUntil = Math.max(backoffUntil, now + delay);
+        rateLimitedAt = now;
+        rateLimitedCount++;
+        availableRequests = Math.min(availableRequests, 0);
+        availableTokens = Math.min(availableTokens, 0);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    // nanos until the next call fits in both buckets, 0 or less when it fits now
+    long waitNanos(long now, int requests, int tokens) {
+      refill(now);
+      var wait = backoffUntil - now;
+      if (limits.requestsPerMinute() > 0 && availableRequests < requests) {
+        wait = Math.max(wait, nanosToRefill(requests - availableRequests, limits.requestsPerMinute()));
+      }
+      if (limits.tokensPerMinute() > 0 && availableTokens < tokens) {
+        wait = Math.max(wait, nanosToRefill(tokens - availableTokens, limits.tokensPerMinute()));
+      }
+      return wait;
+    }
+
+    void refill(long now) {
+      var elapsed = now - refilledAt;
+      if (elapsed <= 0) {
+        return;
+      }
+      var minutes = elapsed / 60e9;
+      availableRequests = Math.min(limits.requestsPerMinute(), availableRequests + minutes * limits.requestsPerMinute());
+      availableTokens = Math.min(limits.tokensPerMinute(), availableTokens + minutes * limits.tokensPerMinute());
+      refilledAt = now;
+    }
+
+    // the bucket may go negative when a call is admitted after max wait, later calls pay it back
+    void take(int requests, int tokens) {
+      availableRequests -= requests;
+      availableTokens -= tokens;
+    }
+
+    static long nanosToRefill(double amount, int perMinute) {
+      return (long) Math.ceil(amount * 60e9 / perMinute);
+    }
+
+    void enqueue(Waiter waiter) {
+      waiters.put(waiter.callerId, waiter);
+      var gameWaiters = waitersByGame.computeIfAbsent(waiter.gameId, id -> new ArrayDeque<>());
+      if (gameWaiters.isEmpty()) {
+        gameRotation.add(waiter.gameId);
+      }
+      gameWaiters.add(waiter);
+    }
+
+    // the next call admitted is the oldest waiting call of the game at the front of the rotation
+    boolean isNext(Waiter waiter) {
+      var gameId = gameRotation.peek();
+      return gameId != null && waitersByGame.get(gameId).peek() == waiter;
+    }
+
+    // removes the waiter and moves its game to the back of the rotation when it has more calls waiting
+    void dequeue(Waiter waiter) {
+      waiters.remove(waiter.callerId);
+      var gameWaiters = waitersByGame.get(waiter.gameId);
+      gameWaiters.remove(waiter);
+      gameRotation.remove(waiter.gameId);
+      if (gameWaiters.isEmpty()) {
+        waitersByGame.remove(waiter.gameId);
+      } else {
+        gameRotation.add(waiter.gameId);
+      }
+    }
+
+    void expire(long now) {
+      waiters.values().stream()
+          .filter(w -> now - w.expiresAt > 0)
+          .toList()
+          .forEach(this::dequeue);
+    }
+
+    ModelStats stats() {
+      lock.lock();
+      try {
+        refill(nanoClock.getAsLong());
+        var waiting = waitersByGame.values().stream().mapToInt(ArrayDeque::size).sum();
+        return new ModelStats(
+            model,
+            limits.requestsPerMinute(),
+            limits.tokensPerMinute(),
+            availableRequests,
+            availableTokens,
+            waiting,
+            waitersByGame.size(),
+            admitted,
+            admittedAfterMaxWait,
+            deferred,
+            rateLimitedCount,
+            Duration.ofNanos(backoffNanos).toMillis());
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.example.application;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.domain.PositionKey;
+import com.typesafe.config.Config;
+
+/**
+ * In-memory transposition table of agent move decisions keyed by canonical position. Squares are stored in canonical
+ * coordinates so a decision made on one board is reused on all of its symmetric boards. Entries are evicted least
+ * recently used first once the cache is full.
+ */
+public class MoveDecisionCache {
+  public enum HitPolicy {
+    always,
+    openings,
+    sample
+  }
+
+  public record Decision(String squareId, String rationale) {}
+
+  public record Stats(boolean enabled, String hitPolicy, int size, int maxEntries, long hits, long misses, long skipped, long puts, long evictions) {
+    public double hitRate() {
+      var lookups = hits + misses;
+      return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+  }
+
+  final boolean enabled;
+  final int maxEntries;
+  final HitPolicy hitPolicy;
+  final int openingMoves;
+  final double sampleRate;
+  final Map<String, Decision> decisions;
+  final AtomicLong hits = new AtomicLong();
+  final AtomicLong misses = new AtomicLong();
+  final AtomicLong skipped = new AtomicLong();
+  final AtomicLong puts = new AtomicLong();
+  final AtomicLong evictions = new AtomicLong();
+
+  public MoveDecisionCache(boolean enabled, int maxEntries, HitPolicy hitPolicy, int openingMoves, double sampleRate) {
+    this.enabled = enabled;
+    this.maxEntries = maxEntries;
+    this.hitPolicy = hitPolicy;
+    this.openingMoves = openingMoves;
+    this.sampleRate = sampleRate;
+    this.decisions = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Decision> eldest) {
+        var evict = size() > MoveDecisionCache.this.maxEntries;
+        if (evict) {
+          evictions.incrementAndGet();
+        }
+        return evict;
+      }
+    };
+  }
+
+  public static MoveDecisionCache fromConfig(Config config) {
+    var path = "agent-player.decision-cache";
+    if (!config.hasPath(path)) {
+      return new MoveDecisionCache(false, 0, HitPolicy.openings, 0, 0.0);
+    }
+
+    var cacheConfig = config.getConfig(path);
+    return new MoveDecisionCache(
+        cacheConfig.getBoolean("enabled"),
+        cacheConfig.getInt("max-entries"),
+        HitPolicy.valueOf(cacheConfig.getString("hit-policy")),
+        cacheConfig.getInt("opening-moves"),
+        cacheConfig.getDouble("sample-rate"));
+  }
+
+  public boolean isEnabled() {
+    return enabled && maxEntries > 0;
+  }
+
+  /** Returns the cached decision mapped back to the actual board, when the hit policy allows using the cache for this move. */
+  public Optional<Decision> get(PositionKey positionKey, int moveCount) {
+    if (!isEnabled()) {
+      return Optional.empty();
+    }
+
+    if (!isPolicyHit(moveCount)) {
+      skipped.incrementAndGet();
+      return Optional.empty();
+    }
+
+    Decision decision;
+    synchronized (decisions) {
+      decision = decisions.get(positionKey.key());
+    }
+
+    if (decision == null) {
+      misses.incrementAndGet();
+      return Optional.empty();
+    }
+
+    hits.incrementAndGet();
+    return Optional.of(new Decision(positionKey.fromCanonical(decision.squareId()), decision.rationale()));
+  }
+
+  public void put(PositionKey positionKey, int moveCount, String squareId, String rationale) {
+    if (!isEnabled() || hitPolicy == HitPolicy.openings && moveCount >= openingMoves) {
+      return;
+    }
+
+    var decision = new Decision(positionKey.toCanonical(squareId), rationale);
+    synchronized (decisions) {
+      decisions.put(positionKey.key(), decision);
+    }
+    puts.incrementAndGet();
+  }
+
+  public Stats stats() {
+    int size;
+    synchronized (decisions) {
+      size = decisions.size();
+    }
+    return new Stats(isEnabled(), hitPolicy.name(), size, maxEntries, hits.get(), misses.get(), skipped.get(), puts.get(), evictions.get());
+  }
+
+  boolean isPolicyHit(int moveCount) {
+    return switch (hitPolicy) {
+      case always -> true;
+      case openings -> moveCount < openingMoves;
+      case sample -> ThreadLocalRandom.current().nextDouble() < sampleRate;
+    };
+  }
+}
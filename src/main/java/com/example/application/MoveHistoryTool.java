@@ -1,12 +1,12 @@
 package com.example.application;
 
 import java.util.List;
-import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.example.domain.DotGame;
+import com.example.domain.GameProjection;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import akka.javasdk.JsonSupport;
@@ -18,10 +18,18 @@ public class MoveHistoryTool {
   static final Logger log = LoggerFactory.getLogger(MoveHistoryTool.class);
   final ComponentClient componentClient;
   final GameActionLogger gameLog;
+  final GameProjectionCache gameProjections;
+  final Metrics metrics;
 
-  public MoveHistoryTool(ComponentClient componentClient) {
+  public MoveHistoryTool(ComponentClient componentClient, GameProjectionCache gameProjections) {
+    this(componentClient, gameProjections, Metrics.disabled());
+  }
+
+  public MoveHistoryTool(ComponentClient componentClient, GameProjectionCache gameProjections, Metrics metrics) {
     this.componentClient = componentClient;
     this.gameLog = new GameActionLogger(componentClient);
+    this.gameProjections = gameProjections;
+    this.metrics = metrics;
   }
 
   @FunctionTool(description = """
@@ -33,19 +41,19 @@ public class MoveHistoryTool {
   public Response getMoveHistory(
       @Description("The ID of the game you are playing and want to get the move history for") String gameId,
       @Description("The ID of your player/agent id for this game") String agentId) {
-    log.debug("GameId: {}, AgentId: {}, Get game move history", gameId, agentId);
+    try (var timer = metrics.toolCall("MoveHistoryTool_getMoveHistory")) {
+      log.debug("GameId: {}, AgentId: {}, Get game move history", gameId, agentId);
 
-    DotGame.State gameState = componentClient.forEventSourcedEntity(gameId)
-        .method(DotGameEntity::getState)
-        .invoke();
+      var projection = gameProjections.get(componentClient, gameId);
 
-    var moveHistory = Response.from(gameState, agentId);
+      var moveHistory = Response.from(projection, agentId);
 
-    if (!agentId.isEmpty()) {
-      gameLog.logToolCall(gameId, agentId, "getMoveHistory", json(moveHistory));
-    }
+      if (!agentId.isEmpty()) {
+        gameLog.logToolCall(gameId, agentId, "getMoveHistory", json(moveHistory));
+      }
 
-    return moveHistory;
+      return moveHistory;
+    }
   }
 
   static String json(Response moveHistory) {
@@ -120,35 +128,29 @@ public class MoveHistoryTool {
   }
 
   public record Move(String squareId, String who, String playerId, int moveScore, List<ScoringMove> scoringMoves) {
-    static Move from(DotGame.Move move, String agentId, DotGame.ScoringMoves player1ScoringMoves, DotGame.ScoringMoves player2ScoringMoves) {
+    static Move from(DotGame.Move move, String agentId, GameProjection projection) {
       var who = agentId.equals(move.playerId()) ? "you" : "opponent";
-      var p1ScoringMoves = player1ScoringMoves.scoringMoves()
-          .stream()
-          .filter(scoringMove -> scoringMove.move().squareId().equals(move.squareId()))
-          .map(ScoringMove::from).toList();
-      var p2ScoringMoves = player2ScoringMoves.scoringMoves()
+      var scoringMoves = projection.scoringMovesAt(move.squareId())
           .stream()
-          .filter(scoringMove -> scoringMove.move().squareId().equals(move.squareId()))
-          .map(ScoringMove::from).toList();
-      var scoringMoves = Stream.concat(p1ScoringMoves.stream(), p2ScoringMoves.stream()).toList();
+          .map(ScoringMove::from)
+          .toList();
 
-      var newMoveScore = scoringMoves.stream().map(sm -> sm.score()).reduce(0, Integer::sum);
+      var newMoveScore = projection.moveScoreAt(move.squareId());
 
       return new Move(move.squareId(), who, move.playerId(), newMoveScore, scoringMoves);
     }
   }
 
   public record Response(GameInfo gameInfo, CumulativeScore cumulativeScore, BoardInfo boardInfo, List<Move> moves) {
-    static Response from(DotGame.State gameState, String agentId) {
-      var p1ScoringMoves = gameState.player1Status().scoringMoves();
-      var p2ScoringMoves = gameState.player2Status().scoringMoves();
+    static Response from(GameProjection projection, String agentId) {
+      var gameState = projection.state();
       var gameInfo = GameInfo.from(agentId, gameState);
       var cumulativeScore = CumulativeScore.from(agentId, gameState);
       var boardInfo = BoardInfo.from(gameState.board());
 
       return new Response(gameInfo, cumulativeScore, boardInfo, gameState.moveHistory()
           .stream()
-          .map(move -> Move.from(move, agentId, p1ScoringMoves, p2ScoringMoves))
+          .map(move -> Move.from(move, agentId, projection))
           .toList());
     }
   }
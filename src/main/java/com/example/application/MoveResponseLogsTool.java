@@ -1,10 +1,12 @@
 package com.example.application;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import akka.javasdk.JsonSupport;
@@ -16,10 +18,18 @@ public class MoveResponseLogsTool {
   static final Logger log = LoggerFactory.getLogger(MoveResponseLogsTool.class);
   final ComponentClient componentClient;
   final GameActionLogger gameLog;
+  final ToolCursors toolCursors;
+  final Metrics metrics;
 
   public MoveResponseLogsTool(ComponentClient componentClient) {
+    this(componentClient, ToolCursors.disabled(), Metrics.disabled());
+  }
+
+  public MoveResponseLogsTool(ComponentClient componentClient, ToolCursors toolCursors, Metrics metrics) {
     this.componentClient = componentClient;
     this.gameLog = new GameActionLogger(componentClient);
+    this.toolCursors = toolCursors;
+    this.metrics = metrics;
   }
 
   @FunctionTool(description = """
@@ -28,22 +38,48 @@ public class MoveResponseLogsTool {
 
       - Returns a list of move logs, which is an agent's summary of the last move it made.
       - Logs are ordered chronologically from oldest to newest.
+      - When earlierResponses is present, older logs are summarized there by their first line and moveResponses lists only
+        the logs added since your last call. Set fullRefresh to true to get every log in full.
       """)
   public Response getMoveResponseLogs(
       @Description("The ID of the game you want to get move logs for") String gameId,
-      @Description("The ID of your player/agent id for this game") String agentId) {
-    log.debug("GameId: {}, AgentId: {}, Get move response logs", gameId, agentId);
+      @Description("The ID of your player/agent id for this game") String agentId,
+      @Description("True to return every move log in full, false to return only the logs since your last call") boolean fullRefresh) {
+    try (var timer = metrics.toolCall("MoveResponseLogsTool_getMoveResponseLogs")) {
+      log.debug("GameId: {}, AgentId: {}, Get move response logs, full refresh: {}", gameId, agentId, fullRefresh);
 
-    var request = new GameMoveLogView.GetByGameIdAndAgentIdRequest(gameId, agentId);
-    var logs = componentClient.forView()
-        .method(GameMoveLogView::getByGameIdAndAgentId)
-        .invoke(request);
+      var request = new GameMoveLogView.GetByGameIdAndAgentIdRequest(gameId, agentId);
+      var logs = componentClient.forView()
+          .method(GameMoveLogView::getByGameIdAndAgentId)
+          .invoke(request);
+
+      var response = response(gameId, agentId, logs, fullRefresh);
 
-    var response = Response.from(gameId, agentId, logs);
+      if (!agentId.isEmpty()) {
+        gameLog.logToolCall(gameId, agentId, "getMoveResponseLogs", json(response));
+      }
 
-    if (!agentId.isEmpty()) {
-      gameLog.logToolCall(gameId, agentId, "getMoveResponseLogs", json(response));
+      return response;
     }
+  }
+
+  /** Move response logs as returned by the tool, used to prefetch the logs into a turn briefing. */
+  CompletionStage<Response> getMoveResponseLogsAsync(String gameId, String agentId, boolean fullRefresh) {
+    var request = new GameMoveLogView.GetByGameIdAndAgentIdRequest(gameId, agentId);
+
+    return componentClient.forView()
+        .method(GameMoveLogView::getByGameIdAndAgentId)
+        .invokeAsync(request)
+        .thenApply(logs -> response(gameId, agentId, logs, fullRefresh));
+  }
+
+  Response response(String gameId, String agentId, GameMoveLogView.GameMoveLogs logs, boolean fullRefresh) {
+    var lastServed = fullRefresh ? -1 : toolCursors.lastServed("getMoveResponseLogs", gameId, agentId);
+    var response = Response.from(gameId, agentId, logs, lastServed);
+    logs.gameMoveLogs().stream()
+        .mapToInt(GameMoveLogView.GameMoveLogRow::moveNumber)
+        .max()
+        .ifPresent(moveNumber -> toolCursors.served("getMoveResponseLogs", gameId, agentId, moveNumber));
 
     return response;
   }
@@ -63,9 +99,33 @@ public class MoveResponseLogsTool {
     }
   }
 
-  public record Response(String gameId, String agentId, List<MoveResponse> moveResponses) {
+  public record EarlierResponse(int moveNumber, String summary) {
+    static final int maxSummaryLength = 160;
+
+    static EarlierResponse from(GameMoveLogView.GameMoveLogRow gameMoveLogRow) {
+      var firstLine = gameMoveLogRow.response().strip().lines().findFirst().orElse("");
+      var summary = firstLine.length() > maxSummaryLength ? firstLine.substring(0, maxSummaryLength) + "..." : firstLine;
+      return new EarlierResponse(gameMoveLogRow.moveNumber(), summary);
+    }
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public record Response(String gameId, String agentId, List<EarlierResponse> earlierResponses, List<MoveResponse> moveResponses) {
     static Response from(String gameId, String agentId, GameMoveLogView.GameMoveLogs logs) {
-      return new Response(gameId, agentId, logs.gameMoveLogs().stream()
+      return from(gameId, agentId, logs, -1);
+    }
+
+    // lastServed is the last move number already returned in full, -1 returns every log in full
+    static Response from(String gameId, String agentId, GameMoveLogView.GameMoveLogs logs, int lastServed) {
+      var earlierResponses = lastServed < 0
+          ? null
+          : logs.gameMoveLogs().stream()
+              .filter(row -> row.moveNumber() <= lastServed)
+              .map(EarlierResponse::from)
+              .toList();
+
+      return new Response(gameId, agentId, earlierResponses, logs.gameMoveLogs().stream()
+          .filter(row -> row.moveNumber() > lastServed)
           .map(MoveResponse::from)
           .toList());
     }
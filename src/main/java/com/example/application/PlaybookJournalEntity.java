@@ -34,6 +34,14 @@ public class PlaybookJournalEntity extends EventSourcedEntity<PlaybookJournal.St
         .thenReply(newState -> done());
   }
 
+  public Effect<Done> createPlaybookJournalDelta(PlaybookJournal.Command.CreatePlaybookJournalDelta command) {
+    log.debug("EntityId: {}\n_State: {}\n_Command: {}", entityId, currentState(), command);
+
+    return effects()
+        .persistAll(currentState().onCommand(command).stream().toList())
+        .thenReply(newState -> done());
+  }
+
   public ReadOnlyEffect<PlaybookJournal.State> getState() {
     log.debug("EntityId: {}\n_State: {}", entityId, currentState());
 
@@ -46,6 +54,7 @@ public class PlaybookJournalEntity extends EventSourcedEntity<PlaybookJournal.St
 
     return switch (event) {
       case PlaybookJournal.Event.PlaybookJournalCreated e -> currentState().onEvent(e);
+      case PlaybookJournal.Event.PlaybookJournalDeltaCreated e -> currentState().onEvent(e);
     };
   }
 }
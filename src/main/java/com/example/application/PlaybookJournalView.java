@@ -11,6 +11,10 @@ import akka.javasdk.annotations.Query;
 import akka.javasdk.view.TableUpdater;
 import akka.javasdk.view.View;
 
+/**
+ * Playbook journal entries as stored, diff entries have empty instructions. Use {@link PlaybookJournals} to read
+ * entries with their instructions rebuilt.
+ */
 @Component(id = "playbook-journal-view")
 public class PlaybookJournalView extends View {
 
@@ -49,12 +53,50 @@ public class PlaybookJournalView extends View {
     return queryResult();
   }
 
+  @Query("""
+      SELECT * AS journals
+        FROM playbook_journal_view
+       WHERE agentId = :agentId
+       AND sequenceId >= :fromSequenceId
+       AND sequenceId <= :toSequenceId
+       ORDER BY sequenceId ASC
+      """)
+  public QueryEffect<Journals> getByAgentIdRange(GetByAgentIdRangeRequest request) {
+    return queryResult();
+  }
+
+  @Query("""
+      SELECT * AS journals
+        FROM playbook_journal_view
+       WHERE agentId = :agentId
+       AND sequenceId < :sequenceId
+       ORDER BY sequenceId DESC
+       LIMIT :limit
+      """)
+  public QueryEffect<Journals> getLatestByAgentId(GetLatestByAgentIdRequest request) {
+    return queryResult();
+  }
+
+  // metadata only, the index of a long journal would otherwise read every stored text
+  @Query("""
+      SELECT (sequenceId, updatedAt, size) AS entries
+        FROM playbook_journal_view
+       WHERE agentId = :agentId
+       AND sequenceId < :sequenceId
+       ORDER BY sequenceId DESC
+       LIMIT :limit
+      """)
+  public QueryEffect<JournalIndex> getIndexByAgentId(GetLatestByAgentIdRequest request) {
+    return queryResult();
+  }
+
   @Consume.FromEventSourcedEntity(PlaybookJournalEntity.class)
   public static class ByAgent extends TableUpdater<JournalRow> {
 
     public Effect<JournalRow> onEvent(PlaybookJournal.Event event) {
       return switch (event) {
         case PlaybookJournal.Event.PlaybookJournalCreated e -> effects().updateRow(onEvent(e));
+        case PlaybookJournal.Event.PlaybookJournalDeltaCreated e -> effects().updateRow(onEvent(e));
       };
     }
 
@@ -64,7 +106,26 @@ public class PlaybookJournalView extends View {
           e.agentId(),
           e.sequenceId(),
           e.instructions(),
-          e.updatedAt());
+          e.updatedAt(),
+          0,
+          e.sequenceId(),
+          0,
+          List.of(),
+          e.instructions().length());
+    }
+
+    private JournalRow onEvent(PlaybookJournal.Event.PlaybookJournalDeltaCreated e) {
+      return new JournalRow(
+          e.journalId(),
+          e.agentId(),
+          e.sequenceId(),
+          "",
+          e.updatedAt(),
+          e.baseSequenceId(),
+          e.checkpointSequenceId(),
+          e.depth(),
+          e.edits(),
+          e.size());
     }
   }
 
@@ -73,7 +134,25 @@ public class PlaybookJournalView extends View {
       String agentId,
       long sequenceId,
       String instructions,
-      Instant updatedAt) {}
+      Instant updatedAt,
+      long baseSequenceId,
+      long checkpointSequenceId,
+      int depth,
+      List<PlaybookJournal.Edit> edits,
+      int size) {
+
+    public boolean isCheckpoint() {
+      return baseSequenceId <= 0;
+    }
+
+    public PlaybookJournal.Entry entry() {
+      return new PlaybookJournal.Entry(sequenceId, instructions, baseSequenceId, edits == null ? List.of() : edits);
+    }
+
+    public JournalRow withInstructions(String newInstructions) {
+      return new JournalRow(journalId, agentId, sequenceId, newInstructions, updatedAt, 0, sequenceId, 0, List.of(), newInstructions.length());
+    }
+  }
 
   public record GetByAgentIdRequest(String agentId) {}
 
@@ -83,5 +162,14 @@ public class PlaybookJournalView extends View {
 
   public record GetByAgentIdUpRequest(String agentId, long sequenceId) {}
 
+  public record GetByAgentIdRangeRequest(String agentId, long fromSequenceId, long toSequenceId) {}
+
+  public record GetLatestByAgentIdRequest(String agentId, long sequenceId, int limit) {}
+
   public record Journals(List<JournalRow> journals) {}
+
+  /** Journal entry metadata without the instructions, size is the length of the full instructions. */
+  public record JournalIndexEntry(long sequenceId, Instant updatedAt, int size) {}
+
+  public record JournalIndex(List<JournalIndexEntry> entries) {}
 }
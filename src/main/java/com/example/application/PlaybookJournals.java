@@ -0,0 +1,132 @@
+package com.example.application;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.domain.PlaybookJournal;
+import com.typesafe.config.Config;
+
+import akka.Done;
+import akka.javasdk.client.ComponentClient;
+
+/**
+ * Writes playbook versions as journal entries, a line diff against the latest entry with a full checkpoint every
+ * checkpoint-interval versions, and reads entries back with their instructions rebuilt.
+ */
+public class PlaybookJournals {
+  static final Logger log = LoggerFactory.getLogger(PlaybookJournals.class);
+  final ComponentClient componentClient;
+  final int checkpointInterval;
+
+  public PlaybookJournals(ComponentClient componentClient, int checkpointInterval) {
+    this.componentClient = componentClient;
+    this.checkpointInterval = checkpointInterval;
+  }
+
+  public static PlaybookJournals fromConfig(ComponentClient componentClient, Config config) {
+    var path = "agent-player.playbook-journal.checkpoint-interval";
+    return new PlaybookJournals(componentClient, config.hasPath(path) ? config.getInt(path) : 1);
+  }
+
+  /** Adds a playbook version, a checkpoint interval of 1 or less stores every version in full. */
+  public CompletionStage<Done> add(String agentId, long sequenceId, String instructions, Instant updatedAt) {
+    var journalId = agentId + ":" + sequenceId;
+    var checkpoint = new PlaybookJournal.Command.CreatePlaybookJournal(agentId, sequenceId, instructions, updatedAt);
+
+    if (checkpointInterval <= 1) {
+      return createCheckpoint(journalId, checkpoint);
+    }
+
+    return componentClient.forView()
+        .method(PlaybookJournalView::getLatestByAgentId)
+        .invokeAsync(new PlaybookJournalView.GetLatestByAgentIdRequest(agentId, sequenceId, checkpointInterval))
+        .thenCompose(latest -> {
+          if (latest.journals().isEmpty()) {
+            return createCheckpoint(journalId, checkpoint);
+          }
+
+          var base = latest.journals().get(0);
+          var depth = base.isCheckpoint() ? 1 : base.depth() + 1;
+          var baseInstructions = PlaybookJournal.reconstruct(base.sequenceId(), entries(latest.journals()));
+          if (depth >= checkpointInterval || baseInstructions.isEmpty()) {
+            return createCheckpoint(journalId, checkpoint);
+          }
+
+          var edits = PlaybookJournal.diff(baseInstructions.get(), instructions);
+          if (PlaybookJournal.size(edits) >= instructions.length()) {
+            return createCheckpoint(journalId, checkpoint);
+          }
+
+          var checkpointSequenceId = base.isCheckpoint() ? base.sequenceId() : base.checkpointSequenceId();
+          var delta = new PlaybookJournal.Command.CreatePlaybookJournalDelta(
+              agentId, sequenceId, base.sequenceId(), checkpointSequenceId, depth, edits, instructions.length(), updatedAt);
+
+          return componentClient
+              .forEventSourcedEntity(journalId)
+              .method(PlaybookJournalEntity::createPlaybookJournalDelta)
+              .invokeAsync(delta);
+        });
+  }
+
+  CompletionStage<Done> createCheckpoint(String journalId, PlaybookJournal.Command.CreatePlaybookJournal command) {
+    return componentClient
+        .forEventSourcedEntity(journalId)
+        .method(PlaybookJournalEntity::createPlaybookJournal)
+        .invokeAsync(command);
+  }
+
+  /**
+   * Returns the journals with the instructions of diff entries rebuilt from their checkpoint. The chains of all diff
+   * entries are read with one range query, so a window of entries costs one extra view query. A diff entry that can't
+   * be rebuilt, e.g. its base entry is not in the view yet, is left out rather than returned with empty instructions.
+   */
+  public PlaybookJournalView.Journals rebuild(PlaybookJournalView.Journals journals) {
+    var diffRows = journals.journals().stream().filter(row -> !row.isCheckpoint()).toList();
+    if (diffRows.isEmpty()) {
+      return journals;
+    }
+
+    var agentId = diffRows.get(0).agentId();
+    var from = diffRows.stream().mapToLong(PlaybookJournalView.JournalRow::checkpointSequenceId).min().getAsLong();
+    var to = diffRows.stream().mapToLong(PlaybookJournalView.JournalRow::sequenceId).max().getAsLong();
+    var chains = componentClient.forView()
+        .method(PlaybookJournalView::getByAgentIdRange)
+        .invoke(new PlaybookJournalView.GetByAgentIdRangeRequest(agentId, from, to));
+
+    var entries = entries(chains.journals());
+    return new PlaybookJournalView.Journals(journals.journals().stream()
+        .flatMap(row -> (row.isCheckpoint() || !row.agentId().equals(agentId) ? rebuild(row) : rebuild(row, entries)).stream())
+        .toList());
+  }
+
+  Optional<PlaybookJournalView.JournalRow> rebuild(PlaybookJournalView.JournalRow row) {
+    if (row.isCheckpoint()) {
+      return Optional.of(row);
+    }
+
+    var chain = componentClient.forView()
+        .method(PlaybookJournalView::getByAgentIdRange)
+        .invoke(new PlaybookJournalView.GetByAgentIdRangeRequest(row.agentId(), row.checkpointSequenceId(), row.sequenceId()));
+
+    return rebuild(row, entries(chain.journals()));
+  }
+
+  // empty when the chain back to the checkpoint is incomplete
+  Optional<PlaybookJournalView.JournalRow> rebuild(PlaybookJournalView.JournalRow row, List<PlaybookJournal.Entry> entries) {
+    var instructions = PlaybookJournal.reconstruct(row.sequenceId(), entries);
+    if (instructions.isEmpty()) {
+      log.warn("Playbook journal {} could not be rebuilt from checkpoint {}", row.journalId(), row.checkpointSequenceId());
+    }
+
+    return instructions.map(row::withInstructions);
+  }
+
+  static List<PlaybookJournal.Entry> entries(List<PlaybookJournalView.JournalRow> rows) {
+    return rows.stream().map(PlaybookJournalView.JournalRow::entry).toList();
+  }
+}
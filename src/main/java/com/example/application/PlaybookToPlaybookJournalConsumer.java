@@ -6,7 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.example.domain.Playbook;
-import com.example.domain.PlaybookJournal;
+import com.typesafe.config.Config;
 
 import akka.javasdk.annotations.Component;
 import akka.javasdk.annotations.Consume;
@@ -18,12 +18,18 @@ import akka.javasdk.consumer.Consumer;
 public class PlaybookToPlaybookJournalConsumer extends Consumer {
   final Logger log = LoggerFactory.getLogger(getClass());
   final ComponentClient componentClient;
+  final Metrics metrics;
+  final PlaybookJournals journals;
 
-  public PlaybookToPlaybookJournalConsumer(ComponentClient componentClient) {
+  public PlaybookToPlaybookJournalConsumer(ComponentClient componentClient, Config config, Metrics metrics) {
     this.componentClient = componentClient;
+    this.metrics = metrics;
+    this.journals = PlaybookJournals.fromConfig(componentClient, config);
   }
 
   public Effect onEvent(Playbook.Event event) {
+    metrics.consumerLag("playbook-to-playbook-journal-consumer", messageContext());
+
     if (!messageContext().hasLocalOrigin()) {
       log.debug("Ignoring event from other region: {}", event);
       return effects().done();
@@ -43,19 +49,9 @@ public class PlaybookToPlaybookJournalConsumer extends Consumer {
   Effect onEvent(Playbook.Event.PlaybookUpdated event) {
     var agentId = event.agentId();
     var sequence = messageContext().metadata().asCloudEvent().sequence().orElse(Instant.now().toEpochMilli());
-    var journalId = agentId + ":" + sequence;
-
-    var command = new PlaybookJournal.Command.CreatePlaybookJournal(
-        agentId,
-        sequence,
-        event.instructions(),
-        event.updatedAt());
 
-    componentClient
-        .forEventSourcedEntity(journalId)
-        .method(PlaybookJournalEntity::createPlaybookJournal)
-        .invoke(command);
+    var createJournal = journals.add(agentId, sequence, event.instructions(), event.updatedAt());
 
-    return effects().done();
+    return effects().asyncDone(createJournal);
   }
 }
@@ -1,5 +1,7 @@
 package com.example.application;
 
+import java.util.concurrent.CompletionStage;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,10 +16,16 @@ public class PlaybookTools {
   static final Logger log = LoggerFactory.getLogger(PlaybookTools.class);
   final ComponentClient componentClient;
   final GameActionLogger gameLog;
+  final Metrics metrics;
 
   public PlaybookTools(ComponentClient componentClient) {
+    this(componentClient, Metrics.disabled());
+  }
+
+  public PlaybookTools(ComponentClient componentClient, Metrics metrics) {
     this.componentClient = componentClient;
     this.gameLog = new GameActionLogger(componentClient);
+    this.metrics = metrics;
   }
 
   @FunctionTool(description = """
@@ -29,15 +37,24 @@ public class PlaybookTools {
   public Playbook.State readPlaybook(
       @Description("The ID of your agent") String agentId,
       @Description("The ID of the game you are playing and want to get the playbook for") String gameId) {
-    log.debug("AgentId: {}, GameId: {}, Read playbook", agentId, gameId);
+    try (var timer = metrics.toolCall("PlaybookTools_readPlaybook")) {
+      log.debug("AgentId: {}, GameId: {}, Read playbook", agentId, gameId);
 
-    var state = componentClient.forEventSourcedEntity(agentId)
-        .method(PlaybookEntity::getState)
-        .invoke();
+      var state = componentClient.forEventSourcedEntity(agentId)
+          .method(PlaybookEntity::getState)
+          .invoke();
 
-    gameLog.logToolCall(gameId, agentId, "readPlaybook", state.instructions().isEmpty() ? "Playbook is empty" : state.instructions());
+      gameLog.logToolCall(gameId, agentId, "readPlaybook", state.instructions().isEmpty() ? "Playbook is empty" : state.instructions());
 
-    return state;
+      return state;
+    }
+  }
+
+  /** Playbook as returned by the tool, used to prefetch the playbook into a turn briefing. */
+  CompletionStage<Playbook.State> readPlaybookAsync(String agentId) {
+    return componentClient.forEventSourcedEntity(agentId)
+        .method(PlaybookEntity::getState)
+        .invokeAsync();
   }
 
   @FunctionTool(description = """
@@ -50,13 +67,15 @@ public class PlaybookTools {
       @Description("The ID of your agent") String agentId,
       @Description("The ID of the game you are playing and want to get the playbook for") String gameId,
       @Description("The revised playbook contents you want to write") String revisedPlaybookContents) {
-    log.debug("AgentId: {}, GameId: {}, Write playbook", agentId, gameId);
-    gameLog.logToolCall(gameId, agentId, "writePlaybook", revisedPlaybookContents);
+    try (var timer = metrics.toolCall("PlaybookTools_writePlaybook")) {
+      log.debug("AgentId: {}, GameId: {}, Write playbook", agentId, gameId);
+      gameLog.logToolCall(gameId, agentId, "writePlaybook", revisedPlaybookContents);
 
-    var command = new Playbook.Command.WritePlaybook(agentId, revisedPlaybookContents);
+      var command = new Playbook.Command.WritePlaybook(agentId, revisedPlaybookContents);
 
-    return componentClient.forEventSourcedEntity(agentId)
-        .method(PlaybookEntity::writePlaybook)
-        .invoke(command);
+      return componentClient.forEventSourcedEntity(agentId)
+          .method(PlaybookEntity::writePlaybook)
+          .invoke(command);
+    }
   }
 }
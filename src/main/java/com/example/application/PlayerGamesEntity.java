@@ -47,6 +47,19 @@ public class PlayerGamesEntity extends EventSourcedEntity<PlayerGames.State, Pla
         .thenReply(newState -> newState);
   }
 
+  public Effect<PlayerGames.State> recordRating(PlayerGames.Command.RecordRating command) {
+    log.debug("EntityId: {}\n_State: {}\n_Command: {}", entityId, currentState(), command);
+
+    return effects()
+        .persistAll(currentState().onCommand(command).stream().toList())
+        .thenReply(newState -> newState);
+  }
+
+  // a player without rated games has the initial rating
+  public ReadOnlyEffect<PlayerGames.Rating> getRating() {
+    return effects().reply(currentState().rating());
+  }
+
   public ReadOnlyEffect<PlayerGames.State> getState() {
     log.debug("EntityId: {}\n_State: {}", entityId, currentState());
 
@@ -66,6 +79,7 @@ public class PlayerGamesEntity extends EventSourcedEntity<PlayerGames.State, Pla
       case PlayerGames.Event.DelegatedGameToSubBranch e -> currentState().onEvent(e);
       case PlayerGames.Event.StatsUpdated e -> currentState().onEvent(e);
       case PlayerGames.Event.ParentUpdateRequired e -> currentState().onEvent(e);
+      case PlayerGames.Event.RatingRecorded e -> currentState().onEvent(e);
     };
   }
 }
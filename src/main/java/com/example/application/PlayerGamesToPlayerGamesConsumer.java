@@ -1,5 +1,7 @@
 package com.example.application;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,12 +17,16 @@ import akka.javasdk.consumer.Consumer;
 public class PlayerGamesToPlayerGamesConsumer extends Consumer {
   final Logger log = LoggerFactory.getLogger(getClass());
   final ComponentClient componentClient;
+  final Metrics metrics;
 
-  public PlayerGamesToPlayerGamesConsumer(ComponentClient componentClient) {
+  public PlayerGamesToPlayerGamesConsumer(ComponentClient componentClient, Metrics metrics) {
     this.componentClient = componentClient;
+    this.metrics = metrics;
   }
 
   public Effect onEvent(PlayerGames.Event event) {
+    metrics.consumerLag("player-games-to-player-games-consumer", messageContext());
+
     return switch (event) {
       case PlayerGames.Event.GameAdded e -> onEvent(e);
       case PlayerGames.Event.DelegatedGameToSubBranch e -> onEvent(e);
@@ -49,11 +55,11 @@ public class PlayerGamesToPlayerGamesConsumer extends Consumer {
         event.parentBranchId(),
         event.stats());
 
-    componentClient.forEventSourcedEntity(event.subBranchId())
+    var addGame = componentClient.forEventSourcedEntity(event.subBranchId())
         .method(PlayerGamesEntity::addGameToBranch)
-        .invoke(command);
+        .invokeAsync(command);
 
-    return effects().done();
+    return effects().asyncDone(AsyncFanOut.all(List.of(addGame)));
   }
 
   Effect onEvent(PlayerGames.Event.ParentUpdateRequired event) {
@@ -64,11 +70,11 @@ public class PlayerGamesToPlayerGamesConsumer extends Consumer {
         event.updatedSubBranchId(),
         event.updatedSubBranchStats());
 
-    componentClient.forEventSourcedEntity(event.parentBranchId())
+    var updateStats = componentClient.forEventSourcedEntity(event.parentBranchId())
         .method(PlayerGamesEntity::updateSubBranchStats)
-        .invoke(command);
+        .invokeAsync(command);
 
-    return effects().done();
+    return effects().asyncDone(AsyncFanOut.all(List.of(updateStats)));
   }
 
   Effect onEvent(PlayerGames.Event.StatsUpdated event) {
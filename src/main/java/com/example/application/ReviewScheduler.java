@@ -0,0 +1,232 @@
+package com.example.application;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import com.typesafe.config.Config;
+
+/**
+ * Schedules post-game review model calls behind live move model calls, per model. Reviews run first come first served
+ * with at most maxConcurrentReviews in flight per model, and wait while the model has liveMoveThreshold or more live
+ * moves in flight. A review that has waited maxQueueWait no longer yields to live moves, so reviews are never starved.
+ * Nothing blocks while a review waits: a review that cannot start keeps its place in line and its workflow step is
+ * deferred, asking again after retryDelay. A review at the front of the line also needs the caller's admission, e.g.
+ * the model rate limiter, and waits for the delay it returns. A waiting review that has not asked again within a few retry delays is
+ * dropped from the line, and takes a new place at the back when it does ask again.
+ */
+public class ReviewScheduler {
+  public record ModelStats(
+      String model,
+      int liveMovesInFlight,
+      int reviewsInFlight,
+      int reviewsQueued,
+      int maxQueueDepth,
+      long reviewsCompleted,
+      long reviewsStartedAfterMaxWait,
+      long reviewsDeferred) {}
+
+  /** The result of a review that ran, or how long to wait before asking again when it did not. */
+  public record Attempt<T>(Optional<T> result, Duration retryAfter) {
+    public boolean isDeferred() {
+      return result.isEmpty();
+    }
+  }
+
+  public record Stats(boolean enabled, int maxConcurrentReviews, int liveMoveThreshold, long maxQueueWaitMs, long retryDelayMs, List<ModelStats> models) {}
+
+  final boolean enabled;
+  final int maxConcurrentReviews;
+  final int liveMoveThreshold;
+  final Duration maxQueueWait;
+  final Duration retryDelay;
+  final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+  public ReviewScheduler(boolean enabled, int maxConcurrentReviews, int liveMoveThreshold, Duration maxQueueWait, Duration retryDelay) {
+    this.enabled = enabled;
+    this.maxConcurrentReviews = maxConcurrentReviews;
+    this.liveMoveThreshold = liveMoveThreshold;
+    this.maxQueueWait = maxQueueWait;
+    this.retryDelay = retryDelay;
+  }
+
+  public static ReviewScheduler disabled() {
+    return new ReviewScheduler(false, 0, 0, Duration.ZERO, Duration.ZERO);
+  }
+
+  public static ReviewScheduler fromConfig(Config config) {
+    var path = "agent-player.review-scheduler";
+    if (!config.hasPath(path)) {
+      return disabled();
+    }
+
+    var schedulerConfig = config.getConfig(path);
+    return new ReviewScheduler(
+        schedulerConfig.getBoolean("enabled"),
+        schedulerConfig.getInt("max-concurrent-reviews"),
+        schedulerConfig.getInt("live-move-threshold"),
+        schedulerConfig.getDuration("max-queue-wait"),
+        schedulerConfig.getDuration("retry-delay"));
+  }
+
+  public boolean isEnabled() {
+    return enabled && maxConcurrentReviews > 0;
+  }
+
+  /** How long a deferred review waits before it asks again. */
+  public Duration retryDelay() {
+    return retryDelay;
+  }
+
+  /** Runs a live move model call, waiting reviews for the model do not start until it completes. */
+  public <T> T live(String model, Supplier<T> call) {
+    if (!isEnabled()) {
+      return call.get();
+    }
+
+    var lane = lane(model);
+    lane.update(() -> lane.liveInFlight++);
+    try {
+      return call.get();
+    } finally {
+      lane.update(() -> lane.liveInFlight--);
+    }
+  }
+
+  /**
+   * Runs a review model call when the review is at the front of the model's line, the model has capacity for it, and
+   * admission returns zero. Otherwise the call is not made, the review keeps its place in line, and the attempt is
+   * deferred: the caller should ask again with the same reviewId after the attempt's retryAfter.
+   */
+  public <T> Attempt<T> tryReview(String model, String reviewId, Supplier<Duration> admission, Supplier<T> call) {
+    if (!isEnabled()) {
+      var wait = admission.get();
+      return wait.isPositive()
+          ? new Attempt<>(Optional.empty(), wait)
+          : new Attempt<>(Optional.of(call.get()), Duration.ZERO);
+    }
+
+    var lane = lane(model);
+    var wait = lane.tryStart(reviewId, admission);
+    if (wait.isPositive()) {
+      return new Attempt<>(Optional.empty(), wait);
+    }
+    try {
+      return new Attempt<>(Optional.of(call.get()), Duration.ZERO);
+    } finally {
+      lane.update(() -> {
+        lane.reviewsInFlight--;
+        lane.reviewsCompleted++;
+      });
+    }
+  }
+
+  public Stats stats() {
+    var models = lanes.values().stream()
+        .map(Lane::stats)
+        .sorted(Comparator.comparing(ModelStats::model))
+        .toList();
+
+    return new Stats(enabled, maxConcurrentReviews, liveMoveThreshold, maxQueueWait.toMillis(), retryDelay.toMillis(), models);
+  }
+
+  Lane lane(String model) {
+    return lanes.computeIfAbsent(model, Lane::new);
+  }
+
+  static class Waiter {
+    final String reviewId;
+    final long firstAskedAt;
+    long lastAskedAt;
+
+    Waiter(String reviewId, long now) {
+      this.reviewId = reviewId;
+      this.firstAskedAt = now;
+      this.lastAskedAt = now;
+    }
+  }
+
+  class Lane {
+    final String model;
+    final ReentrantLock lock = new ReentrantLock();
+    final ArrayDeque<Waiter> waiting = new ArrayDeque<>();
+    int liveInFlight;
+    int reviewsInFlight;
+    int maxQueueDepth;
+    long reviewsCompleted;
+    long reviewsStartedAfterMaxWait;
+    long reviewsDeferred;
+
+    Lane(String model) {
+      this.model = model;
+    }
+
+    // zero when the review has started, otherwise how long to wait before asking again
+    Duration tryStart(String reviewId, Supplier<Duration> admission) {
+      var now = System.nanoTime();
+
+      lock.lock();
+      try {
+        var staleAfter = retryDelay.multipliedBy(5).toNanos();
+        waiting.removeIf(w -> !w.reviewId.equals(reviewId) && now - w.lastAskedAt > staleAfter);
+
+        var waiter = waiting.stream().filter(w -> w.reviewId.equals(reviewId)).findFirst().orElse(null);
+        if (waiter == null) {
+          waiter = new Waiter(reviewId, now);
+          waiting.add(waiter);
+          maxQueueDepth = Math.max(maxQueueDepth, waiting.size());
+        }
+        waiter.lastAskedAt = now;
+
+        var waited = now - waiter.firstAskedAt >= maxQueueWait.toNanos();
+        var canStart = waiting.peek() == waiter
+            && reviewsInFlight < maxConcurrentReviews
+            && (liveInFlight < liveMoveThreshold || waited);
+
+        if (!canStart) {
+          reviewsDeferred++;
+          return retryDelay;
+        }
+
+        var admissionWait = admission.get();
+        if (admissionWait.isPositive()) {
+          reviewsDeferred++;
+          return admissionWait;
+        }
+
+        if (liveInFlight >= liveMoveThreshold) {
+          reviewsStartedAfterMaxWait++;
+        }
+        waiting.poll();
+        reviewsInFlight++;
+        return Duration.ZERO;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void update(Runnable change) {
+      lock.lock();
+      try {
+        change.run();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    ModelStats stats() {
+      lock.lock();
+      try {
+        return new ModelStats(model, liveInFlight, reviewsInFlight, waiting.size(), maxQueueDepth, reviewsCompleted, reviewsStartedAfterMaxWait, reviewsDeferred);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.example.application;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.domain.SessionAnalytics;
+
+import akka.javasdk.agent.SessionMemoryEntity;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.Query;
+import akka.javasdk.view.TableUpdater;
+import akka.javasdk.view.View;
+
+/**
+ * Session memory capacity data per agent session: message counts, history size growth, tool calls and token
+ * estimates. Rows are updated from each session memory event, the session history is never read.
+ */
+@Component(id = "session-analytics-view")
+public class SessionAnalyticsView extends View {
+  static final Logger log = LoggerFactory.getLogger(SessionAnalyticsView.class);
+
+  @Query("""
+      SELECT * AS sessions
+        FROM session_analytics_view
+       WHERE gameId = :gameId
+       ORDER BY startedAt ASC
+      """)
+  public QueryEffect<Sessions> getSessionsByGame(GetSessionsByGameRequest request) {
+    return queryResult();
+  }
+
+  @Query("""
+      SELECT * AS sessions
+        FROM session_analytics_view
+       WHERE gameId = :gameId
+         AND agentId = :agentId
+       ORDER BY startedAt ASC
+      """)
+  public QueryEffect<Sessions> getSessionsByGameAndAgent(GetSessionsByGameAndAgentRequest request) {
+    return queryResult();
+  }
+
+  @Consume.FromEventSourcedEntity(SessionMemoryEntity.class)
+  public static class BySession extends TableUpdater<SessionAnalytics.Session> {
+
+    public Effect<SessionAnalytics.Session> onEvent(SessionMemoryEntity.Event event) {
+      return switch (event) {
+        case SessionMemoryEntity.Event.UserMessageAdded e -> effects().updateRow(session(e.timestamp()).onUserMessage(e.sizeInBytes(), e.timestamp()));
+        case SessionMemoryEntity.Event.AiMessageAdded e -> effects().updateRow(session(e.timestamp())
+            .onAiMessage(e.sizeInBytes(), e.historySizeInBytes(), e.toolCallRequests().size(), e.timestamp()));
+        case SessionMemoryEntity.Event.ToolResponseMessageAdded e -> effects().updateRow(session(e.timestamp()).onToolResponse(e.sizeInBytes(), e.timestamp()));
+        case SessionMemoryEntity.Event.HistoryCleared e -> rowState() == null
+            ? effects().ignore()
+            : effects().updateRow(rowState().onHistoryCleared(rowState().updatedAt()));
+        case SessionMemoryEntity.Event.DeletedEvent e -> effects().deleteRow();
+      };
+    }
+
+    SessionAnalytics.Session session(Instant timestamp) {
+      if (rowState() != null) {
+        return rowState();
+      }
+
+      var sessionId = updateContext().eventSubject().orElse("");
+      log.debug("New session: {}", sessionId);
+      return SessionAnalytics.Session.of(sessionId, timestamp);
+    }
+  }
+
+  public record GetSessionsByGameRequest(String gameId) {}
+
+  public record GetSessionsByGameAndAgentRequest(String gameId, String agentId) {}
+
+  public record Sessions(List<SessionAnalytics.Session> sessions) {}
+}
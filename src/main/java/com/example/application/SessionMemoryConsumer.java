@@ -1,29 +1,26 @@
 package com.example.application;
 
-import java.util.Optional;
-import java.util.stream.IntStream;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import akka.javasdk.agent.SessionHistory;
 import akka.javasdk.agent.SessionMemoryEntity;
 import akka.javasdk.annotations.Component;
 import akka.javasdk.annotations.Consume;
-import akka.javasdk.client.ComponentClient;
 import akka.javasdk.consumer.Consumer;
 
 @Component(id = "session-memory-consumer")
 @Consume.FromEventSourcedEntity(SessionMemoryEntity.class)
 public class SessionMemoryConsumer extends Consumer {
   static final Logger log = LoggerFactory.getLogger(SessionMemoryConsumer.class);
-  final ComponentClient componentClient;
+  final Metrics metrics;
 
-  public SessionMemoryConsumer(ComponentClient componentClient) {
-    this.componentClient = componentClient;
+  public SessionMemoryConsumer(Metrics metrics) {
+    this.metrics = metrics;
   }
 
   public Effect onEvent(SessionMemoryEntity.Event event) {
+    metrics.consumerLag("session-memory-consumer", messageContext());
+
     if (!messageContext().hasLocalOrigin()) {
       log.debug("Ignoring event from other region: {}", event);
       return effects().done();
@@ -45,14 +42,8 @@ public class SessionMemoryConsumer extends Consumer {
 
   Effect onEvent(SessionMemoryEntity.Event.UserMessageAdded event, String entityId, long sequenceId) {
     log.debug("UserMessageAdded ================================= {}\n_Event: {}", event.timestamp(), event);
-    log.debug("EntityId: {}\n_SequenceId: {}\n_Timestamp: {}\n_UserMessage:\n_message: {}",
-        entityId, sequenceId, event.timestamp(), event.message());
-
-    var history = getHistory(entityId);
-    IntStream.range(0, history.messages().size()).forEach(i -> {
-      log.debug("EntityId: {}\n_SequenceId: {}\n_Index: {}\n_HistoryMessage: {}",
-          entityId, sequenceId, i, history.messages().get(i));
-    });
+    log.debug("EntityId: {}\n_SequenceId: {}\n_Timestamp: {}\n_UserMessage:\n_sizeInBytes: {}\n_message: {}",
+        entityId, sequenceId, event.timestamp(), event.sizeInBytes(), event.message());
     return effects().done();
   }
 
@@ -77,12 +68,4 @@ public class SessionMemoryConsumer extends Consumer {
         entityId, sequenceId, event.timestamp(), event.name(), event.content());
     return effects().done();
   }
-
-  SessionHistory getHistory(String entityId) {
-    var history = componentClient
-        .forEventSourcedEntity(entityId)
-        .method(SessionMemoryEntity::getHistory)
-        .invoke(new SessionMemoryEntity.GetHistoryCmd(Optional.empty()));
-    return history;
-  }
-}
\ No newline at end of file
+}
@@ -0,0 +1,196 @@
+package com.example.application;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.typesafe.config.Config;
+
+import akka.javasdk.agent.Agent;
+import akka.javasdk.agent.MemoryProvider;
+import akka.javasdk.agent.SessionHistory;
+import akka.javasdk.agent.SessionMemory;
+import akka.javasdk.agent.SessionMemoryEntity;
+import akka.javasdk.agent.SessionMessage;
+import akka.javasdk.client.ComponentClient;
+
+/**
+ * Session memory budgets per agent component. The full session is still stored, but the history sent to the model is
+ * kept within a byte and token budget: the last keep-last messages are sent verbatim, older tool responses are replaced
+ * by a short summary, and if that is not enough the oldest interactions are dropped.
+ */
+public class SessionMemoryPolicies {
+  static final Logger log = LoggerFactory.getLogger(SessionMemoryPolicies.class);
+  static final int bytesPerToken = 4;
+
+  public record Policy(long maxBytes, long maxTokens, int keepLast, int summaryChars) {
+    long budgetBytes() {
+      return maxTokens > 0 ? Math.min(maxBytes, maxTokens * bytesPerToken) : maxBytes;
+    }
+  }
+
+  final boolean enabled;
+  final Map<String, Policy> agentPolicies;
+
+  public SessionMemoryPolicies(boolean enabled, Map<String, Policy> agentPolicies) {
+    this.enabled = enabled;
+    this.agentPolicies = agentPolicies;
+  }
+
+  public static SessionMemoryPolicies disabled() {
+    return new SessionMemoryPolicies(false, Map.of());
+  }
+
+  public static SessionMemoryPolicies fromConfig(Config config) {
+    var path = "agent-player.session-memory";
+    if (!config.hasPath(path)) {
+      return disabled();
+    }
+
+    var memoryConfig = config.getConfig(path);
+    var defaults = memoryConfig.getConfig("default");
+    var agents = memoryConfig.getConfig("agents");
+    var agentPolicies = agents.root().keySet().stream()
+        .collect(Collectors.toMap(agent -> agent, agent -> policy(agents.getConfig("\"" + agent + "\"").withFallback(defaults))));
+
+    return new SessionMemoryPolicies(memoryConfig.getBoolean("enabled"), agentPolicies);
+  }
+
+  static Policy policy(Config config) {
+    return new Policy(
+        config.getMemorySize("max-bytes").toBytes(),
+        config.getLong("max-tokens"),
+        config.getInt("keep-last"),
+        config.getInt("summary-chars"));
+  }
+
+  public Optional<Policy> policyFor(String componentId) {
+    return enabled ? Optional.ofNullable(agentPolicies.get(componentId)) : Optional.empty();
+  }
+
+  /** Bounds the agent component's session memory, the effect keeps its default memory when the component has no budget. */
+  public Agent.Effect.Builder withMemory(Agent.Effect.Builder effect, ComponentClient componentClient, String componentId) {
+    return policyFor(componentId)
+        .map(policy -> effect.memory(MemoryProvider.custom(new BoundedSessionMemory(componentClient, componentId, policy))))
+        .orElse(effect);
+  }
+
+  static class BoundedSessionMemory implements SessionMemory {
+    final ComponentClient componentClient;
+    final String componentId;
+    final Policy policy;
+
+    BoundedSessionMemory(ComponentClient componentClient, String componentId, Policy policy) {
+      this.componentClient = componentClient;
+      this.componentId = componentId;
+      this.policy = policy;
+    }
+
+    @Override
+    public void addInteraction(String sessionId, SessionMessage.UserMessage userMessage, List<SessionMessage> messages) {
+      componentClient
+          .forEventSourcedEntity(sessionId)
+          .method(SessionMemoryEntity::addInteraction)
+          .invoke(new SessionMemoryEntity.AddInteractionCmd(userMessage, messages));
+    }
+
+    @Override
+    public SessionHistory getHistory(String sessionId) {
+      var history = componentClient
+          .forEventSourcedEntity(sessionId)
+          .method(SessionMemoryEntity::getHistory)
+          .invoke(new SessionMemoryEntity.GetHistoryCmd(Optional.empty()));
+
+      var messages = bound(history.messages(), policy);
+      if (messages.size() != history.messages().size() || bytes(messages) != bytes(history.messages())) {
+        log.debug("Component: {}, SessionId: {}, bounded history from {} messages, {} bytes to {} messages, {} bytes",
+            componentId, sessionId, history.messages().size(), bytes(history.messages()), messages.size(), bytes(messages));
+      }
+
+      return new SessionHistory(messages, history.sequenceNumber());
+    }
+  }
+
+  /** Applies the policy's budget to a session history, see the class comment. */
+  static List<SessionMessage> bound(List<SessionMessage> messages, Policy policy) {
+    var budget = policy.budgetBytes();
+    if (bytes(messages) <= budget) {
+      return messages;
+    }
+
+    var verbatimFrom = Math.max(0, messages.size() - policy.keepLast());
+    var summarized = new ArrayList<SessionMessage>(messages.size());
+    for (var i = 0; i < messages.size(); i++) {
+      var message = messages.get(i);
+      summarized.add(i < verbatimFrom && message instanceof SessionMessage.ToolCallResponse response
+          ? summarize(response, policy.summaryChars())
+          : message);
+    }
+
+    // drop whole interactions, starting at a user message, so tool calls keep their responses
+    var elidedMessages = 0;
+    var elidedBytes = 0L;
+    List<SessionMessage> bounded = summarized;
+    while (bytes(bounded) > budget) {
+      var next = nextInteraction(bounded);
+      if (next < 0 || next > verbatimFrom - elidedMessages) {
+        break;
+      }
+      elidedMessages += next;
+      elidedBytes += bytes(bounded.subList(0, next));
+      bounded = bounded.subList(next, bounded.size());
+    }
+
+    if (elidedMessages == 0) {
+      return summarized;
+    }
+
+    var first = (SessionMessage.UserMessage) bounded.get(0);
+    var note = "[%d earlier session messages, %d bytes, were left out to stay within the session memory budget]\n\n"
+        .formatted(elidedMessages, elidedBytes);
+    var result = new ArrayList<SessionMessage>(bounded.size());
+    result.add(new SessionMessage.UserMessage(first.timestamp(), note + first.text(), first.componentId()));
+    result.addAll(bounded.subList(1, bounded.size()));
+    return result;
+  }
+
+  // index of the second user message, the start of the next interaction, or -1 when there is none
+  static int nextInteraction(List<SessionMessage> messages) {
+    for (var i = 1; i < messages.size(); i++) {
+      if (messages.get(i) instanceof SessionMessage.UserMessage) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static SessionMessage.ToolCallResponse summarize(SessionMessage.ToolCallResponse response, int summaryChars) {
+    var text = response.text() == null ? "" : response.text();
+    if (text.length() <= summaryChars) {
+      return response;
+    }
+
+    var summary = "[summarized %s response, %d bytes, first %d characters follow]\n%s"
+        .formatted(response.name(), text.getBytes(UTF_8).length, summaryChars, text.substring(0, summaryChars));
+    return new SessionMessage.ToolCallResponse(response.timestamp(), response.componentId(), response.id(), response.name(), summary);
+  }
+
+  static long bytes(List<SessionMessage> messages) {
+    return messages.stream()
+        .mapToLong(message -> {
+          var text = message.text() == null ? 0L : message.text().getBytes(UTF_8).length;
+          if (message instanceof SessionMessage.AiMessage ai && ai.toolCallRequests() != null) {
+            text += ai.toolCallRequests().stream().mapToLong(request -> request.arguments() == null ? 0 : request.arguments().length()).sum();
+          }
+          return text;
+        })
+        .sum();
+  }
+}
@@ -14,10 +14,16 @@ public class SystemPromptTools {
   static final Logger log = LoggerFactory.getLogger(SystemPromptTools.class);
   final ComponentClient componentClient;
   final GameActionLogger gameLog;
+  final Metrics metrics;
 
   public SystemPromptTools(ComponentClient componentClient) {
+    this(componentClient, Metrics.disabled());
+  }
+
+  public SystemPromptTools(ComponentClient componentClient, Metrics metrics) {
     this.componentClient = componentClient;
     this.gameLog = new GameActionLogger(componentClient);
+    this.metrics = metrics;
   }
 
   @FunctionTool(description = """
@@ -29,15 +35,17 @@ public class SystemPromptTools {
   public AgentRole.State readSystemPrompt(
       @Description("The ID of your agent") String agentId,
       @Description("The ID of the game you are playing and want to get the move history for") String gameId) {
-    log.debug("AgentId: {}, GameId: {}, Read system prompt", agentId, gameId);
+    try (var timer = metrics.toolCall("SystemPromptTools_readSystemPrompt")) {
+      log.debug("AgentId: {}, GameId: {}, Read system prompt", agentId, gameId);
 
-    var state = componentClient.forEventSourcedEntity(agentId)
-        .method(AgentRoleEntity::getState)
-        .invoke();
+      var state = componentClient.forEventSourcedEntity(agentId)
+          .method(AgentRoleEntity::getState)
+          .invoke();
 
-    gameLog.logToolCall(gameId, agentId, "readSystemPrompt", state.systemPrompt());
+      gameLog.logToolCall(gameId, agentId, "readSystemPrompt", state.systemPrompt());
 
-    return state;
+      return state;
+    }
   }
 
   @FunctionTool(description = """
@@ -50,39 +58,41 @@ public class SystemPromptTools {
       @Description("The ID of your agent") String agentId,
       @Description("The ID of the game you are playing and want to get the move history for") String gameId,
       @Description("The revised system prompt contents you want to write") String revisedSystemPromptContents) {
-    log.debug("AgentId: {}, GameId: {}, Write system prompt", agentId, gameId);
-
-    var currentState = componentClient.forEventSourcedEntity(agentId)
-        .method(AgentRoleEntity::getState)
-        .invoke();
-
-    var currentPrompt = currentState.systemPrompt();
-    var finalPrompt = revisedSystemPromptContents;
-
-    if (currentPrompt != null && !currentPrompt.isBlank() && revisedSystemPromptContents != null) {
-      var currentLength = currentPrompt.length();
-      var revisedLength = revisedSystemPromptContents.length();
-
-      // If the revised system prompt is less than 33% of the current system prompt, append it to the current system prompt.
-      // This is to avoid overwriting the current system prompt with a too short revised system prompt.
-      // There have been cases where an agent mistakenly thinks it is appending to the system prompt instead of replacing it.
-      if (currentLength > 0 && revisedLength > 0 && revisedLength < (currentLength * 0.33)) {
-        log.warn(
-            "AgentId: {}, GameId: {}, Revised system prompt shorter than 33% of existing prompt. Appending instead of replacing.",
-            agentId,
-            gameId);
-        finalPrompt = currentPrompt + "\n\n" + revisedSystemPromptContents;
-        var message = "System prompt revision too short (%d vs %d chars). Appended instead of replacing.".formatted(revisedLength, currentLength);
-        gameLog.logGuardrailEvent(gameId, agentId, message);
+    try (var timer = metrics.toolCall("SystemPromptTools_writeSystemPrompt")) {
+      log.debug("AgentId: {}, GameId: {}, Write system prompt", agentId, gameId);
+
+      var currentState = componentClient.forEventSourcedEntity(agentId)
+          .method(AgentRoleEntity::getState)
+          .invoke();
+
+      var currentPrompt = currentState.systemPrompt();
+      var finalPrompt = revisedSystemPromptContents;
+
+      if (currentPrompt != null && !currentPrompt.isBlank() && revisedSystemPromptContents != null) {
+        var currentLength = currentPrompt.length();
+        var revisedLength = revisedSystemPromptContents.length();
+
+        // If the revised system prompt is less than 33% of the current system prompt, append it to the current system prompt.
+        // This is to avoid overwriting the current system prompt with a too short revised system prompt.
+        // There have been cases where an agent mistakenly thinks it is appending to the system prompt instead of replacing it.
+        if (currentLength > 0 && revisedLength > 0 && revisedLength < (currentLength * 0.33)) {
+          log.warn(
+              "AgentId: {}, GameId: {}, Revised system prompt shorter than 33% of existing prompt. Appending instead of replacing.",
+              agentId,
+              gameId);
+          finalPrompt = currentPrompt + "\n\n" + revisedSystemPromptContents;
+          var message = "System prompt revision too short (%d vs %d chars). Appended instead of replacing.".formatted(revisedLength, currentLength);
+          gameLog.logGuardrailEvent(gameId, agentId, message);
+        }
       }
-    }
 
-    gameLog.logToolCall(gameId, agentId, "writeSystemPrompt", finalPrompt);
+      gameLog.logToolCall(gameId, agentId, "writeSystemPrompt", finalPrompt);
 
-    var command = new AgentRole.Command.WriteAgentRole(agentId, finalPrompt);
+      var command = new AgentRole.Command.WriteAgentRole(agentId, finalPrompt);
 
-    return componentClient.forEventSourcedEntity(agentId)
-        .method(AgentRoleEntity::writeAgentRole)
-        .invoke(command);
+      return componentClient.forEventSourcedEntity(agentId)
+          .method(AgentRoleEntity::writeAgentRole)
+          .invoke(command);
+    }
   }
 }
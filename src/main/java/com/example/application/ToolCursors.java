@@ -0,0 +1,72 @@
+package com.example.application;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.typesafe.config.Config;
+
+/**
+ * Remembers how far into a game each agent tool has already served data, keyed by tool, game, and agent. Tools use the
+ * cursor to return only what changed since the last call plus a compact summary of everything before it, so a response
+ * stands on its own in a new agent session, and cursors carry over from one move to the next. A missing cursor means
+ * the tool returns the full response, so losing a cursor is always safe.
+ */
+public class ToolCursors {
+  final boolean enabled;
+  final int maxEntries;
+  final Map<String, Integer> cursors;
+
+  public ToolCursors(boolean enabled, int maxEntries) {
+    this.enabled = enabled;
+    this.maxEntries = maxEntries;
+    this.cursors = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+        return size() > ToolCursors.this.maxEntries;
+      }
+    };
+  }
+
+  public static ToolCursors disabled() {
+    return new ToolCursors(false, 0);
+  }
+
+  public static ToolCursors fromConfig(Config config) {
+    var path = "agent-player.incremental-tools";
+    if (!config.hasPath(path)) {
+      return disabled();
+    }
+
+    var cursorsConfig = config.getConfig(path);
+    return new ToolCursors(cursorsConfig.getBoolean("enabled"), cursorsConfig.getInt("max-entries"));
+  }
+
+  public boolean isEnabled() {
+    return enabled && maxEntries > 0;
+  }
+
+  /** Returns the position served by the last call, or -1 when the next response should be a full refresh. */
+  public int lastServed(String tool, String gameId, String agentId) {
+    if (!isEnabled() || agentId.isEmpty()) {
+      return -1;
+    }
+
+    synchronized (cursors) {
+      return cursors.getOrDefault(key(tool, gameId, agentId), -1);
+    }
+  }
+
+  public void served(String tool, String gameId, String agentId, int position) {
+    if (!isEnabled() || agentId.isEmpty()) {
+      return;
+    }
+
+    synchronized (cursors) {
+      cursors.put(key(tool, gameId, agentId), position);
+    }
+  }
+
+  static String key(String tool, String gameId, String agentId) {
+    return tool + ":" + gameId + ":" + agentId;
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.domain.Tournament;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.eventsourcedentity.EventSourcedEntity;
+import akka.javasdk.eventsourcedentity.EventSourcedEntityContext;
+
+@Component(id = "tournament-entity")
+public class TournamentEntity extends EventSourcedEntity<Tournament.State, Tournament.Event> {
+  final Logger log = LoggerFactory.getLogger(getClass());
+  final String entityId;
+
+  public TournamentEntity(EventSourcedEntityContext context) {
+    this.entityId = context.entityId();
+  }
+
+  @Override
+  public Tournament.State emptyState() {
+    return Tournament.State.empty();
+  }
+
+  public Effect<Tournament.State> createTournament(Tournament.Command.CreateTournament command) {
+    log.debug("EntityId: {}\n_State: {}\n_Command: {}", entityId, currentState(), command);
+
+    var validationError = command.validationError();
+    if (validationError.isPresent()) {
+      return effects().error(validationError.get());
+    }
+
+    return effects()
+        .persistAll(currentState().onCommand(command))
+        .thenReply(newState -> newState);
+  }
+
+  public Effect<Tournament.State> gameFinished(Tournament.Command.GameFinished command) {
+    log.debug("EntityId: {}\n_State: {}\n_Command: {}", entityId, currentState(), command);
+
+    return effects()
+        .persistAll(currentState().onCommand(command))
+        .thenReply(newState -> newState);
+  }
+
+  public Effect<Tournament.State> cancelTournament(Tournament.Command.CancelTournament command) {
+    log.debug("EntityId: {}\n_State: {}\n_Command: {}", entityId, currentState(), command);
+
+    return effects()
+        .persistAll(currentState().onCommand(command).stream().toList())
+        .thenReply(newState -> newState);
+  }
+
+  public ReadOnlyEffect<Tournament.State> getState() {
+    log.debug("EntityId: {}\n_State: {}", entityId, currentState());
+
+    if (currentState().isEmpty()) {
+      return effects().error("Tournament '%s' not found".formatted(entityId));
+    }
+
+    return effects().reply(currentState());
+  }
+
+  @Override
+  public Tournament.State applyEvent(Tournament.Event event) {
+    log.debug("EntityId: {}\n_State: {}\n_Event: {}", entityId, currentState(), event);
+
+    return switch (event) {
+      case Tournament.Event.TournamentCreated e -> currentState().onEvent(e);
+      case Tournament.Event.RoundPaired e -> currentState().onEvent(e);
+      case Tournament.Event.GamesStarted e -> currentState().onEvent(e);
+      case Tournament.Event.GameCompleted e -> currentState().onEvent(e);
+      case Tournament.Event.TournamentCompleted e -> currentState().onEvent(e);
+      case Tournament.Event.TournamentCanceled e -> currentState().onEvent(e);
+    };
+  }
+}
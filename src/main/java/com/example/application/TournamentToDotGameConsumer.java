@@ -0,0 +1,82 @@
+package com.example.application;
+
+import java.util.concurrent.CompletionStage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.domain.DotGame;
+import com.example.domain.Tournament;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.consumer.Consumer;
+
+/**
+ * Starts the games scheduled by a tournament and cancels its running games when the tournament is canceled. Creating
+ * the game is all it takes to start it, the created game is handed to the player 1 agent workflow like any game an
+ * agent starts.
+ */
+@Component(id = "tournament-to-dot-game-consumer")
+@Consume.FromEventSourcedEntity(TournamentEntity.class)
+public class TournamentToDotGameConsumer extends Consumer {
+  final Logger log = LoggerFactory.getLogger(getClass());
+  final ComponentClient componentClient;
+  final Metrics metrics;
+
+  public TournamentToDotGameConsumer(ComponentClient componentClient, Metrics metrics) {
+    this.componentClient = componentClient;
+    this.metrics = metrics;
+  }
+
+  public Effect onEvent(Tournament.Event event) {
+    metrics.consumerLag("tournament-to-dot-game-consumer", messageContext());
+
+    if (!messageContext().hasLocalOrigin()) {
+      log.debug("Ignoring event from other region: {}", event);
+      return effects().done();
+    }
+
+    return switch (event) {
+      case Tournament.Event.GamesStarted e -> onEvent(e);
+      case Tournament.Event.TournamentCanceled e -> onEvent(e);
+      default -> effects().done();
+    };
+  }
+
+  Effect onEvent(Tournament.Event.GamesStarted event) {
+    log.debug("Event: {}", event);
+
+    var calls = event.games().stream()
+        .map(this::startGame)
+        .toList();
+
+    return effects().asyncDone(AsyncFanOut.all(calls));
+  }
+
+  Effect onEvent(Tournament.Event.TournamentCanceled event) {
+    log.debug("Event: {}", event);
+
+    var reason = "Tournament canceled: %s".formatted(event.reason());
+    var calls = event.canceledGames().stream()
+        .filter(game -> game.startedAt().isPresent())
+        .map(game -> componentClient
+            .forEventSourcedEntity(game.gameId())
+            .method(DotGameEntity::cancelGame)
+            .invokeAsync(new DotGame.Command.CancelGame(game.gameId(), reason)))
+        .toList();
+
+    return effects().asyncDone(AsyncFanOut.all(calls));
+  }
+
+  // a no-op when redelivered, the game exists and its agent workflow ignores the opening turn it has already started
+  CompletionStage<DotGame.State> startGame(Tournament.Game game) {
+    var gameId = game.gameId();
+
+    return componentClient
+        .forEventSourcedEntity(gameId)
+        .method(DotGameEntity::createGame)
+        .invokeAsync(new DotGame.Command.CreateGame(gameId, game.player1(), game.player2(), game.level()));
+  }
+}
@@ -0,0 +1,65 @@
+package com.example.application;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.domain.PlayerGames;
+import com.example.domain.Tournament;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.consumer.Consumer;
+
+/**
+ * Records the players' new Elo ratings with their games after each finished tournament game, so a player's rating
+ * carries over to the next tournament they play in. The game results themselves are recorded from the game's events.
+ */
+@Component(id = "tournament-to-player-games-consumer")
+@Consume.FromEventSourcedEntity(TournamentEntity.class)
+public class TournamentToPlayerGamesConsumer extends Consumer {
+  final Logger log = LoggerFactory.getLogger(getClass());
+  final ComponentClient componentClient;
+  final Metrics metrics;
+
+  public TournamentToPlayerGamesConsumer(ComponentClient componentClient, Metrics metrics) {
+    this.componentClient = componentClient;
+    this.metrics = metrics;
+  }
+
+  public Effect onEvent(Tournament.Event event) {
+    metrics.consumerLag("tournament-to-player-games-consumer", messageContext());
+
+    if (!messageContext().hasLocalOrigin()) {
+      log.debug("Ignoring event from other region: {}", event);
+      return effects().done();
+    }
+
+    return switch (event) {
+      case Tournament.Event.GameCompleted e -> onEvent(e);
+      default -> effects().done();
+    };
+  }
+
+  Effect onEvent(Tournament.Event.GameCompleted event) {
+    if (event.game().status() != Tournament.GameStatus.finished) {
+      return effects().done();
+    }
+
+    log.debug("Event: {}", event);
+
+    var gameId = event.game().gameId();
+    var playerIds = List.of(event.game().player1().id(), event.game().player2().id());
+    var calls = event.standings().stream()
+        .filter(standing -> playerIds.contains(standing.player().id()))
+        .map(standing -> componentClient
+            .forEventSourcedEntity(standing.player().id())
+            .method(PlayerGamesEntity::recordRating)
+            .invokeAsync(new PlayerGames.Command.RecordRating(standing.player().id(), gameId, standing.rating())))
+        .toList();
+
+    return effects().asyncDone(AsyncFanOut.all(calls));
+  }
+}
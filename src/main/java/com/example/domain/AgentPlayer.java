@@ -20,10 +20,11 @@ public interface AgentPlayer {
       int stepRetryCount,
       String postGameReview,
       String playbookReview,
-      String systemPromptReview) {
+      String systemPromptReview,
+      String deferredStep) {
 
     public static State empty() {
-      return new State("", "", DotGame.Player.empty(), Status.empty, 0, 0, "", "", "");
+      return new State("", "", DotGame.Player.empty(), Status.empty, 0, 0, "", "", "", "");
     }
 
     public boolean isEmpty() {
@@ -31,36 +32,44 @@ public interface AgentPlayer {
     }
 
     public State withGameId(String newGameId) {
-      return new State(sessionIdPrefix, newGameId, agent, status, moveCount, stepRetryCount, postGameReview, playbookReview, systemPromptReview);
+      return new State(sessionIdPrefix, newGameId, agent, status, moveCount, stepRetryCount, postGameReview, playbookReview, systemPromptReview, deferredStep);
     }
 
     public State with(String newSessionId, String newGameId, DotGame.Player newAgent) {
-      return new State(newSessionId, newGameId, newAgent, Status.in_progress, 0, 0, "", "", "");
+      return new State(newSessionId, newGameId, newAgent, Status.in_progress, 0, 0, "", "", "", "");
     }
 
     public State withPostGameReview(String newPostGameReview) {
-      return new State(sessionIdPrefix, gameId, agent, Status.post_processing_review, moveCount, stepRetryCount, newPostGameReview, "", "");
+      return new State(sessionIdPrefix, gameId, agent, Status.post_processing_review, moveCount, stepRetryCount, newPostGameReview, "", "", deferredStep);
     }
 
     public State withPlaybookReview(String newPlaybookReview) {
-      return new State(sessionIdPrefix, gameId, agent, Status.post_processing_playbook_review, moveCount, stepRetryCount, postGameReview, newPlaybookReview, "");
+      return new State(sessionIdPrefix, gameId, agent, Status.post_processing_playbook_review, moveCount, stepRetryCount, postGameReview, newPlaybookReview, "", deferredStep);
     }
 
     public State withSystemPromptReview(String newSystemPromptReview) {
-      return new State(sessionIdPrefix, gameId, agent, Status.post_processing_system_prompt_review, moveCount, stepRetryCount, postGameReview, playbookReview, newSystemPromptReview);
+      return new State(sessionIdPrefix, gameId, agent, Status.post_processing_system_prompt_review, moveCount, stepRetryCount, postGameReview, playbookReview, newSystemPromptReview, deferredStep);
     }
 
     public State withMoveCount(int newMoveCount) {
-      return new State(sessionIdPrefix, gameId, agent, status, newMoveCount, stepRetryCount, postGameReview, playbookReview, systemPromptReview);
+      return new State(sessionIdPrefix, gameId, agent, status, newMoveCount, stepRetryCount, postGameReview, playbookReview, systemPromptReview, deferredStep);
     }
 
     public State incrementStepRetryCount() {
       var newStepRetryCount = stepRetryCount + 1;
-      return new State(sessionIdPrefix, gameId, agent, status, moveCount, newStepRetryCount, postGameReview, playbookReview, systemPromptReview);
+      return new State(sessionIdPrefix, gameId, agent, status, moveCount, newStepRetryCount, postGameReview, playbookReview, systemPromptReview, deferredStep);
+    }
+
+    public State withDeferredStep(String newDeferredStep) {
+      return new State(sessionIdPrefix, gameId, agent, status, moveCount, stepRetryCount, postGameReview, playbookReview, systemPromptReview, newDeferredStep);
+    }
+
+    public boolean isDeferred(String step) {
+      return step.equals(deferredStep);
     }
 
     public State resetStepRetryCount() {
-      return new State(sessionIdPrefix, gameId, agent, status, moveCount, 0, postGameReview, playbookReview, systemPromptReview);
+      return new State(sessionIdPrefix, gameId, agent, status, moveCount, 0, postGameReview, playbookReview, systemPromptReview, deferredStep);
     }
   }
 
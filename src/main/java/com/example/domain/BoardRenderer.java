@@ -0,0 +1,45 @@
+package com.example.domain;
+
+/**
+ * Renders a board as a fixed-width text grid from one player's point of view. Rows are labeled A.. on the left, columns
+ * 1.. across the top, and each square is X (you), O (opponent), or . (empty).
+ *
+ * <pre>
+ *    1  2  3  4  5
+ * A  X  .  .  .  O
+ * B  .  X  .  O  .
+ * </pre>
+ */
+public class BoardRenderer {
+  public static final char you = 'X';
+  public static final char opponent = 'O';
+  public static final char empty = '.';
+
+  public static String ascii(DotGame.Board board, String playerId) {
+    var size = board.level().getSize();
+    var cellWidth = String.valueOf(size).length() + 1;
+    var grid = new StringBuilder((size + 1) * (size * cellWidth + 3));
+
+    grid.append("  ");
+    for (var col = 1; col <= size; col++) {
+      pad(grid, String.valueOf(col), cellWidth);
+    }
+    grid.append('\n');
+
+    for (var row = 0; row < size; row++) {
+      grid.append((char) ('A' + row)).append(' ');
+      for (var col = 0; col < size; col++) {
+        var square = board.squares().get(row * size + col);
+        var cell = square.playerId().map(id -> id.equals(playerId) ? you : opponent).orElse(empty);
+        pad(grid, String.valueOf(cell), cellWidth);
+      }
+      grid.append('\n');
+    }
+
+    return grid.toString();
+  }
+
+  static void pad(StringBuilder grid, String value, int width) {
+    grid.append(" ".repeat(width - value.length())).append(value);
+  }
+}
@@ -0,0 +1,148 @@
+package com.example.domain;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Compact wire form of a game state for clients that ask for it. Squares are referred to by their index in the board,
+ * the board is one character per square, '.' when empty, '1' or '2' for the player on it, the move history is two
+ * arrays of square indexes and think times, and each scoring move is a flat array of player number, move square index,
+ * scoring move type ordinal, score and the indexes of the scoring squares. The players of moves and scoring moves
+ * follow from the board and the player numbers, so {@link #toState()} gives back the full state.
+ */
+public record CompactGameState(
+    String gameId,
+    DotGame.Status status,
+    Instant createdAt,
+    Instant updatedAt,
+    Instant turnCompletedAt,
+    Optional<Instant> finishedAt,
+    List<PlayerStatus> players,
+    int currentPlayer,
+    DotGame.Board.Level level,
+    String board,
+    int[] moves,
+    long[] thinkMs,
+    int[][] scoringMoves) {
+
+  public record PlayerStatus(DotGame.Player player, int moves, int score, boolean isWinner) {}
+
+  public static CompactGameState of(DotGame.State state) {
+    var squares = state.board().squares();
+    var indexes = new HashMap<String, Integer>(squares.size() * 2);
+    for (var i = 0; i < squares.size(); i++) {
+      indexes.put(squares.get(i).squareId(), i);
+    }
+
+    var statuses = List.of(state.player1Status(), state.player2Status());
+    var board = new StringBuilder(squares.size());
+    for (var square : squares) {
+      board.append(square.playerId().map(playerId -> (char) ('0' + playerNumber(statuses, playerId))).orElse('.'));
+    }
+
+    var moves = state.moveHistory().stream().mapToInt(move -> indexes.get(move.squareId())).toArray();
+    var thinkMs = state.moveHistory().stream().mapToLong(DotGame.Move::thinkMs).toArray();
+
+    var scoringMoves = new ArrayList<int[]>();
+    for (var player = 1; player <= statuses.size(); player++) {
+      for (var scoringMove : statuses.get(player - 1).scoringMoves().scoringMoves()) {
+        var scoringSquares = scoringMove.scoringSquares();
+        var flat = new int[4 + scoringSquares.size()];
+        flat[0] = player;
+        flat[1] = indexes.get(scoringMove.move().squareId());
+        flat[2] = scoringMove.type().ordinal();
+        flat[3] = scoringMove.score();
+        for (var i = 0; i < scoringSquares.size(); i++) {
+          flat[4 + i] = indexes.get(scoringSquares.get(i));
+        }
+        scoringMoves.add(flat);
+      }
+    }
+
+    var currentPlayer = state.currentPlayerStatus()
+        .map(current -> playerNumber(statuses, current.player().id()))
+        .orElse(0);
+
+    return new CompactGameState(
+        state.gameId(),
+        state.status(),
+        state.createdAt(),
+        state.updatedAt(),
+        state.turnCompletedAt(),
+        state.finishedAt(),
+        statuses.stream().map(status -> new PlayerStatus(status.player(), status.moves(), status.score(), status.isWinner())).toList(),
+        currentPlayer,
+        state.board().level(),
+        board.toString(),
+        moves,
+        thinkMs,
+        scoringMoves.toArray(int[][]::new));
+  }
+
+  public DotGame.State toState() {
+    var size = level.getSize();
+    var squareIds = IntStream.range(0, board.length())
+        .mapToObj(i -> (char) ('A' + i / size) + String.valueOf(i % size + 1))
+        .toList();
+    var playerIds = players.stream().map(status -> status.player().id()).toList();
+
+    var squares = IntStream.range(0, board.length())
+        .mapToObj(i -> new DotGame.Square(squareIds.get(i), playerIdOf(board.charAt(i), playerIds)))
+        .toList();
+
+    var moveHistory = IntStream.range(0, moves.length)
+        .mapToObj(i -> new DotGame.Move(squareIds.get(moves[i]), playerIdOf(board.charAt(moves[i]), playerIds).orElse(""), thinkMs[i]))
+        .toList();
+
+    Map<Integer, List<DotGame.ScoringMove>> scoringMovesByPlayer = new HashMap<>();
+    for (var flat : scoringMoves) {
+      var playerId = playerIds.get(flat[0] - 1);
+      var scoringSquares = Arrays.stream(flat, 4, flat.length).mapToObj(squareIds::get).toList();
+      scoringMovesByPlayer.computeIfAbsent(flat[0], player -> new ArrayList<>()).add(new DotGame.ScoringMove(
+          new DotGame.Square(squareIds.get(flat[1]), Optional.of(playerId)),
+          DotGame.ScoringMoveType.values()[flat[2]],
+          flat[3],
+          scoringSquares));
+    }
+
+    var statuses = IntStream.range(0, players.size())
+        .mapToObj(i -> {
+          var status = players.get(i);
+          var scoringMoves = new DotGame.ScoringMoves(status.player().id(), scoringMovesByPlayer.getOrDefault(i + 1, List.of()));
+          return new DotGame.PlayerStatus(status.player(), status.moves(), status.score(), status.isWinner(), scoringMoves);
+        })
+        .toList();
+
+    return new DotGame.State(
+        gameId,
+        status,
+        createdAt,
+        updatedAt,
+        turnCompletedAt,
+        finishedAt,
+        statuses.get(0),
+        statuses.get(1),
+        currentPlayer > 0 ? Optional.of(statuses.get(currentPlayer - 1)) : Optional.empty(),
+        moveHistory,
+        new DotGame.Board(level, squares));
+  }
+
+  static int playerNumber(List<DotGame.PlayerStatus> statuses, String playerId) {
+    for (var i = 0; i < statuses.size(); i++) {
+      if (statuses.get(i).player().id().equals(playerId)) {
+        return i + 1;
+      }
+    }
+    throw new IllegalArgumentException("Player %s is not in the game".formatted(playerId));
+  }
+
+  static Optional<String> playerIdOf(char square, List<String> playerIds) {
+    return square == '.' ? Optional.empty() : Optional.of(playerIds.get(square - '1'));
+  }
+}
@@ -0,0 +1,72 @@
+package com.example.domain;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * A move that has only one sensible answer: the last open square, an immediate winning move, or the only square that blocks
+ * the opponent from winning on their next move. Forced moves can be played without asking the model.
+ */
+public record ForcedMove(String squareId, Reason reason, String description) {
+
+  public enum Reason {
+    last_square,
+    winning_move,
+    blocking_move
+  }
+
+  public static Optional<ForcedMove> find(DotGame.State state, String playerId) {
+    if (state.status() != DotGame.Status.in_progress) {
+      return Optional.empty();
+    }
+
+    if (state.currentPlayerStatus().isEmpty() || !state.currentPlayerStatus().get().player().id().equals(playerId)) {
+      return Optional.empty();
+    }
+
+    var emptySquares = state.board().squares().stream()
+        .filter(DotGame.Square::isEmpty)
+        .toList();
+
+    if (emptySquares.isEmpty()) {
+      return Optional.empty();
+    }
+
+    if (emptySquares.size() == 1) {
+      var squareId = emptySquares.get(0).squareId();
+      return Optional.of(new ForcedMove(squareId, Reason.last_square, "Square %s is the only available square".formatted(squareId)));
+    }
+
+    var level = state.board().level();
+    var winningScore = level.getSize() / 2 + 1;
+    var isPlayer1 = state.player1Status().player().id().equals(playerId);
+    var playerStatus = isPlayer1 ? state.player1Status() : state.player2Status();
+    var opponentStatus = isPlayer1 ? state.player2Status() : state.player1Status();
+
+    var winningMove = emptySquares.stream()
+        .map(square -> new Candidate(square.squareId(), playerStatus.makeMove(square.squareId(), level, state.moveHistory()).score()))
+        .filter(candidate -> candidate.score() >= winningScore)
+        .max(Comparator.comparingInt(Candidate::score));
+
+    if (winningMove.isPresent()) {
+      var squareId = winningMove.get().squareId();
+      var description = "Square %s wins the game with a score of %d".formatted(squareId, winningMove.get().score());
+      return Optional.of(new ForcedMove(squareId, Reason.winning_move, description));
+    }
+
+    var opponentWinningMoves = emptySquares.stream()
+        .map(square -> new Candidate(square.squareId(), opponentStatus.makeMove(square.squareId(), level, state.moveHistory()).score()))
+        .filter(candidate -> candidate.score() >= winningScore)
+        .toList();
+
+    if (opponentWinningMoves.size() == 1) { // when the opponent has more than one winning square there is nothing to block
+      var squareId = opponentWinningMoves.get(0).squareId();
+      var description = "Square %s blocks the opponent's only winning move".formatted(squareId);
+      return Optional.of(new ForcedMove(squareId, Reason.blocking_move, description));
+    }
+
+    return Optional.empty();
+  }
+
+  record Candidate(String squareId, int score) {}
+}
@@ -0,0 +1,51 @@
+package com.example.domain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read side view of a game state with the scoring moves of both players indexed by the square that was moved to. The
+ * index is built in a single pass so per-move lookups don't have to scan every scoring move of both players.
+ */
+public record GameProjection(DotGame.State state, String version, Map<String, List<DotGame.ScoringMove>> scoringMovesBySquare) {
+
+  public static GameProjection of(DotGame.State state) {
+    var scoringMovesBySquare = new HashMap<String, List<DotGame.ScoringMove>>();
+
+    for (var playerStatus : List.of(state.player1Status(), state.player2Status())) {
+      for (var scoringMove : playerStatus.scoringMoves().scoringMoves()) {
+        scoringMovesBySquare.computeIfAbsent(scoringMove.move().squareId(), squareId -> new ArrayList<>()).add(scoringMove);
+      }
+    }
+
+    return new GameProjection(state, versionOf(state), scoringMovesBySquare);
+  }
+
+  /** Changes whenever the game state changes, every command that updates the game moves at least one of these values. */
+  public static String versionOf(DotGame.State state) {
+    return "%d:%s:%s:%s".formatted(
+        state.moveHistory().size(),
+        state.status().name(),
+        state.updatedAt().toEpochMilli(),
+        state.turnCompletedAt().toEpochMilli());
+  }
+
+  /**
+   * True when the game is over and the final turn has been completed, after which the game state no longer changes. The
+   * final turn completion can come after the game finished when an agent made the last move.
+   */
+  public boolean isSettled() {
+    var isOver = state.status() == DotGame.Status.won_by_player || state.status() == DotGame.Status.draw;
+    return isOver && state.finishedAt().map(finishedAt -> !state.turnCompletedAt().isBefore(finishedAt)).orElse(false);
+  }
+
+  public List<DotGame.ScoringMove> scoringMovesAt(String squareId) {
+    return scoringMovesBySquare.getOrDefault(squareId, List.of());
+  }
+
+  public int moveScoreAt(String squareId) {
+    return scoringMovesAt(squareId).stream().mapToInt(DotGame.ScoringMove::score).sum();
+  }
+}
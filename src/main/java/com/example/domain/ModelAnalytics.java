@@ -0,0 +1,295 @@
+package com.example.domain;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import akka.javasdk.annotations.TypeName;
+
+/**
+ * Per model analytics, one entity per model with stats per board level. Think times are kept in a log bucketed sketch,
+ * so percentiles are maintained incrementally from each finished game without rescanning old games.
+ */
+public interface ModelAnalytics {
+  static final int recentKeysLimit = 200;
+
+  public record State(
+      String model,
+      List<LevelStats> levels,
+      List<String> recentKeys,
+      Instant updatedAt) {
+
+    public static State empty() {
+      return new State("", List.of(), List.of(), Instant.now());
+    }
+
+    public boolean isEmpty() {
+      return model.isEmpty();
+    }
+
+    public LevelStats levelStats(DotGame.Board.Level level) {
+      return levels.stream()
+          .filter(stats -> stats.level == level)
+          .findFirst()
+          .orElse(LevelStats.empty(level));
+    }
+
+    // ============================================================
+    // Command RecordGame
+    // ============================================================
+    public Optional<Event> onCommand(Command.RecordGame command) {
+      var key = "game:%s:%s".formatted(command.gameId, command.playerId);
+      if (recentKeys.contains(key)) {
+        return Optional.empty(); // redelivered game result
+      }
+
+      return Optional.of(new Event.GameRecorded(
+          command.model,
+          key,
+          command.gameId,
+          levelStats(command.level).addGame(command.outcome, command.thinkMs),
+          Instant.now()));
+    }
+
+    // ============================================================
+    // Command RecordForfeit
+    // ============================================================
+    public Optional<Event> onCommand(Command.RecordForfeit command) {
+      var key = "forfeit:%s".formatted(command.forfeitId);
+      if (recentKeys.contains(key)) {
+        return Optional.empty();
+      }
+
+      return Optional.of(new Event.ForfeitRecorded(
+          command.model,
+          key,
+          command.gameId,
+          levelStats(command.level).addForfeit(),
+          Instant.now()));
+    }
+
+    // ============================================================
+    // Event handlers
+    // ============================================================
+    public State onEvent(Event.GameRecorded event) {
+      return new State(event.model, withLevel(event.levelStats), withKey(event.key), event.updatedAt);
+    }
+
+    public State onEvent(Event.ForfeitRecorded event) {
+      return new State(event.model, withLevel(event.levelStats), withKey(event.key), event.updatedAt);
+    }
+
+    List<LevelStats> withLevel(LevelStats levelStats) {
+      return Stream.concat(levels.stream().filter(stats -> stats.level != levelStats.level), Stream.of(levelStats))
+          .sorted(Comparator.comparing(LevelStats::level))
+          .toList();
+    }
+
+    List<String> withKey(String key) {
+      var keys = Stream.concat(recentKeys.stream(), Stream.of(key)).toList();
+      return keys.size() > recentKeysLimit ? keys.subList(keys.size() - recentKeysLimit, keys.size()) : keys;
+    }
+  }
+
+  // ============================================================
+  // Commands
+  // ============================================================
+  public sealed interface Command {
+    record RecordGame(
+        String model,
+        String gameId,
+        String playerId,
+        DotGame.Board.Level level,
+        Outcome outcome,
+        List<Long> thinkMs) implements Command {
+
+      public static List<RecordGame> from(DotGame.State gameState) {
+        return Stream.of(gameState.player1Status(), gameState.player2Status())
+            .filter(playerStatus -> playerStatus.player().isAgent())
+            .map(playerStatus -> new RecordGame(
+                playerStatus.player().model(),
+                gameState.gameId(),
+                playerStatus.player().id(),
+                gameState.board().level(),
+                Outcome.of(gameState.status(), playerStatus),
+                gameState.moveHistory().stream()
+                    .filter(move -> move.playerId().equals(playerStatus.player().id()))
+                    .map(DotGame.Move::thinkMs)
+                    .toList()))
+            .toList();
+      }
+    }
+
+    record RecordForfeit(
+        String model,
+        String forfeitId,
+        String gameId,
+        DotGame.Board.Level level) implements Command {}
+  }
+
+  // ============================================================
+  // Events
+  // ============================================================
+  public sealed interface Event {
+
+    @TypeName("game-recorded")
+    record GameRecorded(
+        String model,
+        String key,
+        String gameId,
+        LevelStats levelStats,
+        Instant updatedAt) implements Event {}
+
+    @TypeName("forfeit-recorded")
+    record ForfeitRecorded(
+        String model,
+        String key,
+        String gameId,
+        LevelStats levelStats,
+        Instant updatedAt) implements Event {}
+  }
+
+  // ============================================================
+  // Utility records
+  // ============================================================
+  public enum Outcome {
+    won,
+    lost,
+    draw;
+
+    static Outcome of(DotGame.Status status, DotGame.PlayerStatus playerStatus) {
+      if (status != DotGame.Status.won_by_player) {
+        return draw;
+      }
+      return playerStatus.isWinner() ? won : lost;
+    }
+  }
+
+  public record LevelStats(
+      DotGame.Board.Level level,
+      int games,
+      int won,
+      int lost,
+      int draw,
+      int moves,
+      int forfeits,
+      ThinkTimeSketch thinkTime) {
+
+    public static LevelStats empty(DotGame.Board.Level level) {
+      return new LevelStats(level, 0, 0, 0, 0, 0, 0, ThinkTimeSketch.empty());
+    }
+
+    LevelStats addGame(Outcome outcome, List<Long> thinkMs) {
+      var sketch = thinkTime;
+      for (var ms : thinkMs) {
+        sketch = sketch.add(ms);
+      }
+
+      return new LevelStats(
+          level,
+          games + 1,
+          won + (outcome == Outcome.won ? 1 : 0),
+          lost + (outcome == Outcome.lost ? 1 : 0),
+          draw + (outcome == Outcome.draw ? 1 : 0),
+          moves + thinkMs.size(),
+          forfeits,
+          sketch);
+    }
+
+    LevelStats addForfeit() {
+      return new LevelStats(level, games, won, lost, draw, moves, forfeits + 1, thinkTime);
+    }
+
+    public Summary summary() {
+      return new Summary(
+          level,
+          games,
+          won,
+          lost,
+          draw,
+          games > 0 ? (double) won / games : 0,
+          moves + forfeits > 0 ? (double) forfeits / (moves + forfeits) : 0,
+          games > 0 ? (double) moves / games : 0,
+          thinkTime.mean(),
+          thinkTime.quantile(0.5),
+          thinkTime.quantile(0.9),
+          thinkTime.quantile(0.99),
+          thinkTime.maxMs());
+    }
+  }
+
+  /** Read model of a level's stats, with rates and think time percentiles in milliseconds. */
+  public record Summary(
+      DotGame.Board.Level level,
+      int games,
+      int won,
+      int lost,
+      int draw,
+      double winRate,
+      double forfeitRate,
+      double averageMovesPerGame,
+      long thinkMsMean,
+      long thinkMsP50,
+      long thinkMsP90,
+      long thinkMsP99,
+      long thinkMsMax) {}
+
+  /**
+   * Log bucketed think time sketch, bucket i holds values in (gamma^(i-1), gamma^i] milliseconds. Quantiles are within
+   * about 5% of the true value, and a one hour think time needs about 160 buckets, so the sketch stays small enough to
+   * carry in events.
+   */
+  public record ThinkTimeSketch(List<Long> buckets, long count, long sumMs, long maxMs) {
+    static final double gamma = 1.1;
+    static final double logGamma = Math.log(gamma);
+
+    public static ThinkTimeSketch empty() {
+      return new ThinkTimeSketch(List.of(), 0, 0, 0);
+    }
+
+    static int bucketOf(long ms) {
+      return ms <= 1 ? 0 : (int) Math.ceil(Math.log(ms) / logGamma);
+    }
+
+    ThinkTimeSketch add(long ms) {
+      var value = Math.max(0, ms);
+      var bucket = bucketOf(value);
+      var newBuckets = new ArrayList<>(buckets);
+      while (newBuckets.size() <= bucket) {
+        newBuckets.add(0L);
+      }
+      newBuckets.set(bucket, newBuckets.get(bucket) + 1);
+
+      return new ThinkTimeSketch(List.copyOf(newBuckets), count + 1, sumMs + value, Math.max(maxMs, value));
+    }
+
+    public long mean() {
+      return count > 0 ? sumMs / count : 0;
+    }
+
+    public long quantile(double quantile) {
+      if (count == 0) {
+        return 0;
+      }
+
+      var rank = Math.max(1, (long) Math.ceil(quantile * count));
+      if (rank >= count) {
+        return maxMs;
+      }
+
+      var seen = 0L;
+      for (var i = 0; i < buckets.size(); i++) {
+        seen += buckets.get(i);
+        if (seen >= rank) {
+          // midpoint of the bucket, capped by the largest value seen
+          var value = i == 0 ? 1 : Math.round(2 * Math.pow(gamma, i) / (gamma + 1));
+          return Math.min(value, maxMs);
+        }
+      }
+      return maxMs;
+    }
+  }
+}
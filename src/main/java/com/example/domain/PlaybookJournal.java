@@ -1,8 +1,17 @@
 package com.example.domain;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * Playbook versions, one journal entry per version. An entry is either a checkpoint with the full instructions, or a
+ * line diff against a base entry. Each diff entry also names its checkpoint, so a version is rebuilt from the entries
+ * between the checkpoint and the version by following the base links.
+ */
 public interface PlaybookJournal {
 
   public record State(
@@ -10,10 +19,14 @@ public interface PlaybookJournal {
       String agentId,
       long sequenceId,
       String instructions,
-      Instant updatedAt) {
+      Instant updatedAt,
+      long baseSequenceId,
+      long checkpointSequenceId,
+      int depth,
+      List<Edit> edits) {
 
     public static State empty() {
-      return new State("", "", 0, "", Instant.now());
+      return new State("", "", 0, "", Instant.now(), 0, 0, 0, List.of());
     }
 
     public boolean isEmpty() {
@@ -35,13 +48,49 @@ public interface PlaybookJournal {
           command.updatedAt));
     }
 
+    public Optional<Event> onCommand(Command.CreatePlaybookJournalDelta command) {
+      if (!isEmpty()) {
+        return Optional.empty();
+      }
+
+      var journalId = command.agentId + ":" + command.sequenceId;
+
+      return Optional.of(new Event.PlaybookJournalDeltaCreated(
+          journalId,
+          command.agentId,
+          command.sequenceId,
+          command.baseSequenceId,
+          command.checkpointSequenceId,
+          command.depth,
+          command.edits,
+          command.size,
+          command.updatedAt));
+    }
+
     public State onEvent(Event.PlaybookJournalCreated event) {
       return new State(
           event.journalId,
           event.agentId,
           event.sequenceId,
           event.instructions,
-          event.updatedAt);
+          event.updatedAt,
+          0,
+          event.sequenceId,
+          0,
+          List.of());
+    }
+
+    public State onEvent(Event.PlaybookJournalDeltaCreated event) {
+      return new State(
+          event.journalId,
+          event.agentId,
+          event.sequenceId,
+          "",
+          event.updatedAt,
+          event.baseSequenceId,
+          event.checkpointSequenceId,
+          event.depth,
+          event.edits);
     }
   }
 
@@ -51,6 +100,16 @@ public interface PlaybookJournal {
         long sequenceId,
         String instructions,
         Instant updatedAt) implements Command {}
+
+    record CreatePlaybookJournalDelta(
+        String agentId,
+        long sequenceId,
+        long baseSequenceId,
+        long checkpointSequenceId,
+        int depth,
+        List<Edit> edits,
+        int size,
+        Instant updatedAt) implements Command {}
   }
 
   public sealed interface Event {
@@ -60,5 +119,141 @@ public interface PlaybookJournal {
         long sequenceId,
         String instructions,
         Instant updatedAt) implements Event {}
+
+    record PlaybookJournalDeltaCreated(
+        String journalId,
+        String agentId,
+        long sequenceId,
+        long baseSequenceId,
+        long checkpointSequenceId,
+        int depth,
+        List<Edit> edits,
+        int size,
+        Instant updatedAt) implements Event {}
+  }
+
+  // ============================================================
+  // Delta encoding
+  // ============================================================
+
+  /** One hunk of a line diff: keep lines from the base, delete lines from the base, then insert lines. */
+  public record Edit(int keep, int delete, List<String> insert) {}
+
+  /** A journal entry as stored, instructions are empty for diff entries, base sequence id 0 marks a checkpoint. */
+  public record Entry(long sequenceId, String instructions, long baseSequenceId, List<Edit> edits) {
+    public boolean isCheckpoint() {
+      return baseSequenceId <= 0;
+    }
+  }
+
+  /** Line diff limit, larger diffs fall back to replacing everything between the common prefix and suffix. */
+  static final long maxDiffCells = 4_000_000;
+
+  public static List<Edit> diff(String base, String target) {
+    var a = lines(base);
+    var b = lines(target);
+
+    var prefix = 0;
+    while (prefix < a.length && prefix < b.length && a[prefix].equals(b[prefix])) {
+      prefix++;
+    }
+    var suffix = 0;
+    while (suffix < a.length - prefix && suffix < b.length - prefix && a[a.length - 1 - suffix].equals(b[b.length - 1 - suffix])) {
+      suffix++;
+    }
+
+    var aMiddle = Arrays.copyOfRange(a, prefix, a.length - suffix);
+    var bMiddle = Arrays.copyOfRange(b, prefix, b.length - suffix);
+    var edits = new ArrayList<Edit>();
+
+    if ((long) aMiddle.length * bMiddle.length > maxDiffCells) {
+      edits.add(new Edit(prefix, aMiddle.length, List.of(bMiddle)));
+    } else {
+      lcsDiff(aMiddle, bMiddle, prefix, edits);
+    }
+
+    return edits.stream().filter(edit -> edit.delete > 0 || !edit.insert.isEmpty()).toList();
+  }
+
+  // longest common subsequence of lines, walked forward into keep/delete/insert hunks
+  static void lcsDiff(String[] a, String[] b, int leadingKeep, List<Edit> edits) {
+    var lcs = new int[a.length + 1][b.length + 1];
+    for (var i = a.length - 1; i >= 0; i--) {
+      for (var j = b.length - 1; j >= 0; j--) {
+        lcs[i][j] = a[i].equals(b[j]) ? lcs[i + 1][j + 1] + 1 : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+      }
+    }
+
+    var keep = leadingKeep;
+    var delete = 0;
+    var insert = new ArrayList<String>();
+    var i = 0;
+    var j = 0;
+    while (i < a.length || j < b.length) {
+      if (i < a.length && j < b.length && a[i].equals(b[j])) {
+        if (delete > 0 || !insert.isEmpty()) {
+          edits.add(new Edit(keep, delete, List.copyOf(insert)));
+          keep = 0;
+          delete = 0;
+          insert.clear();
+        }
+        keep++;
+        i++;
+        j++;
+      } else if (j < b.length && (i == a.length || lcs[i][j + 1] >= lcs[i + 1][j])) {
+        insert.add(b[j++]);
+      } else {
+        delete++;
+        i++;
+      }
+    }
+    edits.add(new Edit(keep, delete, List.copyOf(insert)));
+  }
+
+  public static String apply(String base, List<Edit> edits) {
+    var a = lines(base);
+    var result = new ArrayList<String>(a.length);
+    var position = 0;
+    for (var edit : edits) {
+      result.addAll(Arrays.asList(a).subList(position, position + edit.keep));
+      position += edit.keep + edit.delete;
+      result.addAll(edit.insert);
+    }
+    result.addAll(Arrays.asList(a).subList(position, a.length));
+    return String.join("\n", result);
+  }
+
+  static String[] lines(String text) {
+    return text.split("\n", -1);
+  }
+
+  /** Approximate stored size of a diff, used to decide when a checkpoint is smaller. */
+  public static long size(List<Edit> edits) {
+    return edits.stream().mapToLong(edit -> 8 + edit.insert.stream().mapToLong(line -> line.length() + 3).sum()).sum();
+  }
+
+  /**
+   * Rebuilds the instructions of the target sequence id from entries that include its chain back to a checkpoint.
+   * Returns empty when an entry in the chain is missing.
+   */
+  public static Optional<String> reconstruct(long sequenceId, List<Entry> entries) {
+    var bySequence = new HashMap<Long, Entry>();
+    entries.forEach(entry -> bySequence.put(entry.sequenceId, entry));
+
+    var chain = new ArrayList<Entry>();
+    var entry = bySequence.get(sequenceId);
+    while (entry != null && !entry.isCheckpoint()) {
+      chain.add(entry);
+      entry = bySequence.get(entry.baseSequenceId);
+    }
+    if (entry == null) {
+      return Optional.empty();
+    }
+
+    var instructions = entry.instructions;
+    for (var i = chain.size() - 1; i >= 0; i--) {
+      instructions = apply(instructions, chain.get(i).edits);
+    }
+    return Optional.of(instructions);
   }
 }
@@ -9,22 +9,34 @@ import akka.javasdk.annotations.TypeName;
 
 public interface PlayerGames {
 
+  /** Changes whenever the player's games change, every event that updates the state sets a new updatedAt. */
+  public static String versionOf(State state) {
+    return "%d:%d:%d".formatted(state.updatedAt().toEpochMilli(), state.subBranches().size(), state.leaves().size());
+  }
+
   public record State(
       String branchId,
       String playerId,
       Optional<String> parentBranchId,
       List<Branch> subBranches,
       List<Leaf> leaves,
-      Instant updatedAt) {
+      Instant updatedAt,
+      Rating rating) {
 
     public static State empty() {
-      return new State("", "", Optional.empty(), List.of(), List.of(), Instant.now());
+      return new State("", "", Optional.empty(), List.of(), List.of(), Instant.now(), Rating.initial());
     }
 
     public boolean isEmpty() {
       return playerId.isEmpty();
     }
 
+    // states saved before ratings were recorded have no rating
+    @Override
+    public Rating rating() {
+      return rating == null ? Rating.initial() : rating;
+    }
+
     // ============================================================
     // Command AddGame
     // ============================================================
@@ -170,6 +182,21 @@ public interface PlayerGames {
       return List.of(event);
     }
 
+    // ============================================================
+    // Command RecordRating
+    // ============================================================
+    public List<Event> onCommand(Command.RecordRating command) {
+      if (rating().lastRatedGameId().equals(command.gameId)) {
+        return List.of(); // duplicate
+      }
+
+      return List.of(new Event.RatingRecorded(
+          command.playerId,
+          command.gameId,
+          command.rating,
+          Instant.now()));
+    }
+
     // ============================================================
     // Utility methods
     // ============================================================
@@ -202,7 +229,8 @@ public interface PlayerGames {
           event.parentBranchId,
           event.subBranches,
           event.leaves,
-          event.updatedAt);
+          event.updatedAt,
+          rating);
     }
 
     public State onEvent(Event.StatsUpdated event) {
@@ -212,7 +240,8 @@ public interface PlayerGames {
           parentBranchId,
           event.branches,
           leaves,
-          event.updatedAt);
+          event.updatedAt,
+          rating);
     }
 
     public State onEvent(Event.DelegatedGameToSubBranch event) {
@@ -222,6 +251,18 @@ public interface PlayerGames {
     public State onEvent(Event.ParentUpdateRequired event) {
       return this;
     }
+
+    // ratings are recorded on the trunk branch, whose branchId is the playerId
+    public State onEvent(Event.RatingRecorded event) {
+      return new State(
+          event.playerId,
+          event.playerId,
+          parentBranchId,
+          subBranches,
+          leaves,
+          event.updatedAt,
+          rating().record(event.gameId, event.rating));
+    }
   }
 
   // ============================================================
@@ -244,6 +285,11 @@ public interface PlayerGames {
         String branchId,
         String subBranchId,
         GameStats subBranchStats) implements Command {}
+
+    record RecordRating(
+        String playerId,
+        String gameId,
+        double rating) implements Command {}
   }
 
   // ============================================================
@@ -283,6 +329,13 @@ public interface PlayerGames {
         String parentBranchId,
         String updatedSubBranchId,
         GameStats updatedSubBranchStats) implements Event {}
+
+    @TypeName("rating-recorded")
+    record RatingRecorded(
+        String playerId,
+        String gameId,
+        double rating,
+        Instant updatedAt) implements Event {}
   }
 
   // ============================================================
@@ -336,6 +389,19 @@ public interface PlayerGames {
     }
   }
 
+  public static final double initialRating = 1500;
+
+  /** The player's Elo rating after their last rated game, rated games are tournament games. */
+  public record Rating(double rating, int ratedGames, String lastRatedGameId) {
+    public static Rating initial() {
+      return new Rating(initialRating, 0, "");
+    }
+
+    Rating record(String gameId, double newRating) {
+      return new Rating(newRating, ratedGames + 1, gameId);
+    }
+  }
+
   public static int maxBranches = 10;
 
   public record Branch(String branchId, GameStats stats) {
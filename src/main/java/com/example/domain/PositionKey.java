@@ -0,0 +1,97 @@
+package com.example.domain;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Canonical key for a board position as seen by one agent playing on one model. Decisions are never shared between
+ * agents or models, even when their playbook and system prompt versions match. The board is reduced to the smallest of its 8 symmetries
+ * (4 rotations, each with and without a mirror), so symmetric positions share a key. The symmetry that produced the
+ * canonical board is kept so square ids can be mapped between the canonical and the actual board.
+ */
+public record PositionKey(String key, DotGame.Board.Level level, int symmetry) {
+
+  public static PositionKey of(
+      DotGame.Board.Level level,
+      List<DotGame.Move> moveHistory,
+      String agentId,
+      String model,
+      int agentScore,
+      int opponentScore,
+      long playbookVersion,
+      long systemPromptVersion) {
+    var size = level.getSize();
+    var board = new char[size * size];
+
+    var bestBoard = (String) null;
+    var bestSymmetry = 0;
+    for (var symmetry = 0; symmetry < 8; symmetry++) {
+      Arrays.fill(board, '.');
+      for (var move : moveHistory) {
+        var rc = transform(symmetry, size, move.row() - 1, move.col() - 1);
+        board[rc[0] * size + rc[1]] = move.playerId().equals(agentId) ? 'x' : 'o';
+      }
+      var candidate = new String(board);
+      if (bestBoard == null || candidate.compareTo(bestBoard) < 0) {
+        bestBoard = candidate;
+        bestSymmetry = symmetry;
+      }
+    }
+
+    var key = "%s:%s:%s:%s:%d:%d:%x:%x".formatted(
+        model,
+        agentId,
+        level.name(),
+        bestBoard,
+        agentScore,
+        opponentScore,
+        playbookVersion,
+        systemPromptVersion);
+
+    return new PositionKey(key, level, bestSymmetry);
+  }
+
+  public static long versionOf(String text) {
+    return Murmur1.hash(text);
+  }
+
+  public String toCanonical(String squareId) {
+    var square = new DotGame.Square(squareId);
+    var rc = transform(symmetry, level.getSize(), square.row() - 1, square.col() - 1);
+    return squareIdOf(rc);
+  }
+
+  public String fromCanonical(String squareId) {
+    var square = new DotGame.Square(squareId);
+    var rc = transform(inverse(symmetry), level.getSize(), square.row() - 1, square.col() - 1);
+    return squareIdOf(rc);
+  }
+
+  static String squareIdOf(int[] rc) {
+    return (char) ('A' + rc[0]) + String.valueOf(rc[1] + 1);
+  }
+
+  static int inverse(int symmetry) {
+    return switch (symmetry) {
+      case 1 -> 3;
+      case 3 -> 1;
+      default -> symmetry;
+    };
+  }
+
+  // 0-3 rotate 0, 90, 180, 270 degrees, 4-7 mirror, transpose, flip, anti-transpose
+  static int[] transform(int symmetry, int size, int row, int col) {
+    var last = size - 1;
+    return switch (symmetry) {
+      case 0 -> new int[] { row, col };
+      case 1 -> new int[] { col, last - row };
+      case 2 -> new int[] { last - row, last - col };
+      case 3 -> new int[] { last - col, row };
+      case 4 -> new int[] { row, last - col };
+      case 5 -> new int[] { col, row };
+      case 6 -> new int[] { last - row, col };
+      case 7 -> new int[] { last - col, last - row };
+      default -> throw new IllegalArgumentException("Invalid symmetry: " + symmetry);
+    };
+  }
+}
@@ -0,0 +1,74 @@
+package com.example.domain;
+
+import java.time.Instant;
+
+/**
+ * Per session capacity analytics, maintained incrementally from session memory events. Agent player sessions are named
+ * {gameId}/{agentId}/{session}, e.g. game-1/agent-1/move-3 or game-1/agent-1/post-game-review. Token counts are
+ * estimates at about four bytes per token, input tokens count the history sent with each model response.
+ */
+public interface SessionAnalytics {
+  static final int bytesPerToken = 4;
+
+  public record Session(
+      String sessionId,
+      String gameId,
+      String agentId,
+      String session,
+      int userMessages,
+      int aiMessages,
+      int toolCalls,
+      int toolResponses,
+      long messageBytes,
+      long historySizeInBytes,
+      long maxHistorySizeInBytes,
+      long inputTokenEstimate,
+      long outputTokenEstimate,
+      Instant startedAt,
+      Instant updatedAt) {
+
+    public static Session of(String sessionId, Instant timestamp) {
+      var parts = sessionId.split("/", 3);
+      var gameId = parts[0];
+      var agentId = parts.length > 1 ? parts[1] : "";
+      var session = parts.length > 2 ? parts[2] : "";
+
+      return new Session(sessionId, gameId, agentId, session, 0, 0, 0, 0, 0, 0, 0, 0, 0, timestamp, timestamp);
+    }
+
+    public Session onUserMessage(long sizeInBytes, Instant timestamp) {
+      return new Session(sessionId, gameId, agentId, session,
+          userMessages + 1, aiMessages, toolCalls, toolResponses,
+          messageBytes + sizeInBytes, historySizeInBytes + sizeInBytes, Math.max(maxHistorySizeInBytes, historySizeInBytes + sizeInBytes),
+          inputTokenEstimate, outputTokenEstimate, startedAt, timestamp);
+    }
+
+    // historySizeInBytes includes the ai message, the model was sent the history before it
+    public Session onAiMessage(long sizeInBytes, long newHistorySizeInBytes, int newToolCalls, Instant timestamp) {
+      var inputBytes = Math.max(0, newHistorySizeInBytes - sizeInBytes);
+
+      return new Session(sessionId, gameId, agentId, session,
+          userMessages, aiMessages + 1, toolCalls + newToolCalls, toolResponses,
+          messageBytes + sizeInBytes, newHistorySizeInBytes, Math.max(maxHistorySizeInBytes, newHistorySizeInBytes),
+          inputTokenEstimate + tokens(inputBytes), outputTokenEstimate + tokens(sizeInBytes), startedAt, timestamp);
+    }
+
+    public Session onToolResponse(long sizeInBytes, Instant timestamp) {
+      return new Session(sessionId, gameId, agentId, session,
+          userMessages, aiMessages, toolCalls, toolResponses + 1,
+          messageBytes + sizeInBytes, historySizeInBytes + sizeInBytes, Math.max(maxHistorySizeInBytes, historySizeInBytes + sizeInBytes),
+          inputTokenEstimate, outputTokenEstimate, startedAt, timestamp);
+    }
+
+    public Session onHistoryCleared(Instant timestamp) {
+      return new Session(sessionId, gameId, agentId, session,
+          userMessages, aiMessages, toolCalls, toolResponses,
+          messageBytes, 0, maxHistorySizeInBytes,
+          inputTokenEstimate, outputTokenEstimate, startedAt, timestamp);
+    }
+
+    static long tokens(long bytes) {
+      return (bytes + bytesPerToken - 1) / bytesPerToken;
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package com.example.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Myers line or word diff of two texts, used to show the changes between two journal versions. Parts use the same
+ * shape as the browser diff library, unchanged, removed or added text in order, so joining the parts that are not
+ * added gives the previous text and joining the parts that are not removed gives the current text.
+ */
+public interface TextDiff {
+
+  public enum Mode {
+    line,
+    word
+  }
+
+  public record Part(String value, boolean added, boolean removed) {}
+
+  /** Edit distance limit, larger diffs fall back to removing and adding everything between the common prefix and suffix. */
+  static final int maxEditDistance = 1_000;
+
+  static final Pattern lineTokens = Pattern.compile("[^\\n]*\\n|[^\\n]+");
+  static final Pattern wordTokens = Pattern.compile("\\w+|\\s+|[^\\w\\s]", Pattern.UNICODE_CHARACTER_CLASS);
+
+  public static List<Part> diff(String previous, String current, Mode mode) {
+    return diff(tokens(previous, mode), tokens(current, mode));
+  }
+
+  static List<String> tokens(String text, Mode mode) {
+    var matcher = (mode == Mode.line ? lineTokens : wordTokens).matcher(text == null ? "" : text);
+    var tokens = new ArrayList<String>();
+    while (matcher.find()) {
+      tokens.add(matcher.group());
+    }
+    return tokens;
+  }
+
+  // operations on tokens: 0 keep, -1 remove, 1 add
+  record Op(int type, String token) {}
+
+  static List<Part> diff(List<String> a, List<String> b) {
+    var prefix = 0;
+    while (prefix < a.size() && prefix < b.size() && a.get(prefix).equals(b.get(prefix))) {
+      prefix++;
+    }
+    var suffix = 0;
+    while (suffix < a.size() - prefix && suffix < b.size() - prefix
+        && a.get(a.size() - 1 - suffix).equals(b.get(b.size() - 1 - suffix))) {
+      suffix++;
+    }
+
+    var ops = new ArrayList<Op>();
+    a.subList(0, prefix).forEach(token -> ops.add(new Op(0, token)));
+    ops.addAll(myers(a.subList(prefix, a.size() - suffix), b.subList(prefix, b.size() - suffix)));
+    a.subList(a.size() - suffix, a.size()).forEach(token -> ops.add(new Op(0, token)));
+
+    return parts(ops);
+  }
+
+  static List<Op> myers(List<String> a, List<String> b) {
+    var n = a.size();
+    var m = b.size();
+    var max = n + m;
+    var offset = max + 1;
+    var v = new int[2 * max + 3];
+    var trace = new ArrayList<int[]>();
+
+    for (var d = 0; d <= Math.min(max, maxEditDistance); d++) {
+      // v before step d, for diagonals -d..d
+      trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+      for (var k = -d; k <= d; k += 2) {
+        var x = k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])
+            ? v[offset + k + 1]
+            : v[offset + k - 1] + 1;
+        var y = x - k;
+        while (x < n && y < m && a.get(x).equals(b.get(y))) {
+          x++;
+          y++;
+        }
+        v[offset + k] = x;
+        if (x >= n && y >= m) {
+          return backtrack(a, b, trace);
+        }
+      }
+    }
+
+    var ops = new ArrayList<Op>();
+    a.forEach(token -> ops.add(new Op(-1, token)));
+    b.forEach(token -> ops.add(new Op(1, token)));
+    return ops;
+  }
+
+  static List<Op> backtrack(List<String> a, List<String> b, List<int[]> trace) {
+    var reversed = new ArrayList<Op>();
+    var x = a.size();
+    var y = b.size();
+
+    for (var d = trace.size() - 1; d > 0; d--) {
+      var v = trace.get(d);
+      var k = x - y;
+      var previousK = k == -d || (k != d && v[k - 1 + d] < v[k + 1 + d]) ? k + 1 : k - 1;
+      var previousX = v[previousK + d];
+      var previousY = previousX - previousK;
+
+      while (x > previousX && y > previousY) {
+        reversed.add(new Op(0, a.get(--x)));
+        y--;
+      }
+      if (x == previousX) {
+        reversed.add(new Op(1, b.get(--y)));
+      } else {
+        reversed.add(new Op(-1, a.get(--x)));
+      }
+    }
+    while (x > 0) {
+      reversed.add(new Op(0, a.get(--x)));
+    }
+
+    var ops = new ArrayList<Op>(reversed.size());
+    for (var i = reversed.size() - 1; i >= 0; i--) {
+      ops.add(reversed.get(i));
+    }
+    return ops;
+  }
+
+  // joins runs of tokens, within a change all removed text comes before the added text
+  static List<Part> parts(List<Op> ops) {
+    var parts = new ArrayList<Part>();
+    var kept = new StringBuilder();
+    var removed = new StringBuilder();
+    var added = new StringBuilder();
+
+    for (var op : ops) {
+      if (op.type == 0) {
+        if (!removed.isEmpty() || !added.isEmpty()) {
+          flush(parts, removed, added);
+        }
+        kept.append(op.token);
+      } else {
+        if (!kept.isEmpty()) {
+          parts.add(new Part(kept.toString(), false, false));
+          kept.setLength(0);
+        }
+        (op.type < 0 ? removed : added).append(op.token);
+      }
+    }
+    if (!kept.isEmpty()) {
+      parts.add(new Part(kept.toString(), false, false));
+    }
+    flush(parts, removed, added);
+
+    return parts;
+  }
+
+  static void flush(List<Part> parts, StringBuilder removed, StringBuilder added) {
+    if (!removed.isEmpty()) {
+      parts.add(new Part(removed.toString(), false, true));
+      removed.setLength(0);
+    }
+    if (!added.isEmpty()) {
+      parts.add(new Part(added.toString(), true, false));
+      added.setLength(0);
+    }
+  }
+}
@@ -0,0 +1,738 @@
+package com.example.domain;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import akka.javasdk.annotations.TypeName;
+
+/**
+ * A tournament of agent vs agent games. Round robin tournaments pair every player with every other player once per
+ * level, Swiss tournaments pair players with similar points each round. At most maxConcurrentGames games run at once,
+ * the next pending games start as running games finish. Standings carry an Elo rating that starts from the player's
+ * rating recorded with their games, or 1500 for a player without one.
+ */
+public interface Tournament {
+
+  public enum Status {
+    empty,
+    in_progress,
+    completed,
+    canceled
+  }
+
+  public enum Format {
+    round_robin,
+    swiss
+  }
+
+  public enum GameStatus {
+    pending,
+    running,
+    finished,
+    canceled
+  }
+
+  static final double initialRating = PlayerGames.initialRating;
+  static final double ratingK = 32;
+
+  public record State(
+      String tournamentId,
+      Status status,
+      Format format,
+      List<DotGame.Board.Level> levels,
+      int rounds,
+      int maxConcurrentGames,
+      List<DotGame.Player> players,
+      List<Game> games,
+      List<Standing> standings,
+      List<ModelLatency> modelLatencies,
+      Instant createdAt,
+      Instant updatedAt,
+      Optional<Instant> finishedAt) {
+
+    public static State empty() {
+      return new State(
+          "",
+          Status.empty,
+          Format.round_robin,
+          List.of(),
+          0,
+          0,
+          List.of(),
+          List.of(),
+          List.of(),
+          List.of(),
+          Instant.now(),
+          Instant.now(),
+          Optional.empty());
+    }
+
+    public boolean isEmpty() {
+      return tournamentId.isEmpty();
+    }
+
+    // ============================================================
+    // Command CreateTournament
+    // ============================================================
+    public List<Event> onCommand(Command.CreateTournament command) {
+      if (!isEmpty()) {
+        return List.of();
+      }
+
+      var now = Instant.now();
+      var rounds = command.format == Format.round_robin
+          ? command.levels.size()
+          : command.rounds > 0 ? command.rounds : swissRounds(command.players.size());
+      var standings = command.players.stream()
+          .map(player -> Standing.of(player, command.ratings.getOrDefault(player.id(), initialRating)))
+          .toList();
+      var games = command.format == Format.round_robin
+          ? roundRobinGames(command.tournamentId, command.players, command.levels)
+          : List.<Game>of();
+
+      var created = new Event.TournamentCreated(
+          command.tournamentId,
+          Status.in_progress,
+          command.format,
+          command.levels,
+          rounds,
+          command.maxConcurrentGames,
+          command.players,
+          games,
+          standings,
+          now);
+
+      var events = new ArrayList<Event>(List.of(created));
+      var newState = onEvent(created);
+      if (command.format == Format.swiss) {
+        var paired = newState.pairNextRound(now);
+        events.add(paired);
+        newState = newState.onEvent(paired);
+      }
+
+      events.addAll(newState.startPendingGames(now));
+      return events;
+    }
+
+    // ============================================================
+    // Command GameFinished
+    // ============================================================
+    public List<Event> onCommand(Command.GameFinished command) {
+      var game = gameAt(command.gameId);
+      if (status != Status.in_progress || game.isEmpty() || game.get().status != GameStatus.running) {
+        return List.of(); // duplicate or unknown game
+      }
+
+      var now = Instant.now();
+      var finishedGame = command.status == DotGame.Status.canceled
+          ? game.get().cancel(now)
+          : game.get().finish(command.winnerId, command.player1Score, command.player2Score, now);
+      var newStandings = finishedGame.status == GameStatus.finished
+          ? rateGame(standings, finishedGame)
+          : standings;
+      var newModelLatencies = addLatencies(modelLatencies, finishedGame, command.playerMoves);
+
+      var completed = new Event.GameCompleted(tournamentId, finishedGame, newStandings, newModelLatencies, now);
+
+      var events = new ArrayList<Event>(List.of(completed));
+      var newState = onEvent(completed);
+      if (format == Format.swiss && newState.isRoundComplete() && newState.currentRound() < rounds) {
+        var paired = newState.pairNextRound(now);
+        events.add(paired);
+        newState = newState.onEvent(paired);
+      }
+
+      var started = newState.startPendingGames(now);
+      events.addAll(started);
+      if (started.isEmpty() && newState.runningGames().isEmpty()) {
+        events.add(new Event.TournamentCompleted(tournamentId, Status.completed, now));
+      }
+
+      return events;
+    }
+
+    // ============================================================
+    // Command CancelTournament
+    // ============================================================
+    public Optional<Event> onCommand(Command.CancelTournament command) {
+      if (status != Status.in_progress) {
+        return Optional.empty();
+      }
+
+      var now = Instant.now();
+      var canceledGames = games.stream()
+          .filter(game -> game.status == GameStatus.pending || game.status == GameStatus.running)
+          .map(game -> game.cancel(now))
+          .toList();
+
+      return Optional.of(new Event.TournamentCanceled(tournamentId, Status.canceled, canceledGames, command.reason, now));
+    }
+
+    // ============================================================
+    // Scheduling
+    // ============================================================
+    List<Event> startPendingGames(Instant now) {
+      var slots = maxConcurrentGames - runningGames().size();
+      var startGames = games.stream()
+          .filter(game -> game.status == GameStatus.pending)
+          .limit(Math.max(0, slots))
+          .map(game -> game.start(now))
+          .toList();
+
+      return startGames.isEmpty()
+          ? List.of()
+          : List.of(new Event.GamesStarted(tournamentId, startGames, now));
+    }
+
+    public List<Game> runningGames() {
+      return games.stream().filter(game -> game.status == GameStatus.running).toList();
+    }
+
+    public int currentRound() {
+      return games.stream().mapToInt(Game::round).max().orElse(0);
+    }
+
+    // round robin games are all paired up front, the current round is the lowest round with games left to play
+    int roundRobinRound() {
+      return games.stream()
+          .filter(game -> game.status == GameStatus.pending || game.status == GameStatus.running)
+          .mapToInt(Game::round)
+          .min()
+          .orElse(rounds);
+    }
+
+    boolean isRoundComplete() {
+      var round = currentRound();
+      return games.stream()
+          .filter(game -> game.round == round)
+          .allMatch(game -> game.status == GameStatus.finished || game.status == GameStatus.canceled);
+    }
+
+    public int expectedGames() {
+      return format == Format.round_robin
+          ? games.size()
+          : rounds * (players.size() / 2);
+    }
+
+    // ============================================================
+    // Pairing
+    // ============================================================
+    static int swissRounds(int playerCount) {
+      return Math.max(1, 32 - Integer.numberOfLeadingZeros(playerCount - 1));
+    }
+
+    static List<Game> roundRobinGames(String tournamentId, List<DotGame.Player> players, List<DotGame.Board.Level> levels) {
+      var games = new ArrayList<Game>();
+      for (var l = 0; l < levels.size(); l++) {
+        var round = l + 1;
+        var index = 0;
+        for (var i = 0; i < players.size(); i++) {
+          for (var j = i + 1; j < players.size(); j++) {
+            var player1 = (i + j + l) % 2 == 0 ? players.get(i) : players.get(j); // alternate who moves first
+            var player2 = player1 == players.get(i) ? players.get(j) : players.get(i);
+            games.add(Game.pending(gameId(tournamentId, round, ++index), round, levels.get(l), player1, player2));
+          }
+        }
+      }
+      return games;
+    }
+
+    // pairs the highest ranked unpaired player with the next ranked player they have not played, the lowest ranked
+    // player without a bye sits out when the player count is odd
+    Event.RoundPaired pairNextRound(Instant now) {
+      var round = currentRound() + 1;
+      var level = levels.get((round - 1) % levels.size());
+      var ranked = new ArrayList<>(round == 1 ? standings : rankedStandings(standings));
+      var newStandings = standings;
+
+      if (ranked.size() % 2 == 1) {
+        var fewestByes = ranked.stream().mapToInt(Standing::byes).min().getAsInt();
+        var bye = ranked.stream()
+            .filter(standing -> standing.byes == fewestByes)
+            .reduce((higher, lower) -> lower)
+            .get();
+        ranked.remove(bye);
+        newStandings = standings.stream()
+            .map(standing -> standing.playerId().equals(bye.playerId()) ? standing.bye() : standing)
+            .toList();
+      }
+
+      if (round == 1) { // top half plays bottom half
+        var half = ranked.size() / 2;
+        var reordered = new ArrayList<Standing>();
+        for (var i = 0; i < half; i++) {
+          reordered.add(ranked.get(i));
+          reordered.add(ranked.get(i + half));
+        }
+        ranked = reordered;
+      }
+
+      var opponents = opponents();
+      var firstMoves = firstMoves();
+      var pairs = pairWithoutRematches(ranked, opponents, new int[] { maxPairingSteps });
+      if (pairs == null) { // every pairing repeats a game, pair by rank
+        pairs = ranked;
+      }
+
+      var newGames = new ArrayList<Game>();
+      for (var i = 0; i + 1 < pairs.size(); i += 2) {
+        var player = pairs.get(i);
+        var opponent = pairs.get(i + 1);
+        var playerFirst = firstMoves.getOrDefault(player.playerId(), 0) <= firstMoves.getOrDefault(opponent.playerId(), 0);
+        var player1 = playerFirst ? player.player() : opponent.player();
+        var player2 = playerFirst ? opponent.player() : player.player();
+        newGames.add(Game.pending(gameId(tournamentId, round, newGames.size() + 1), round, level, player1, player2));
+      }
+
+      return new Event.RoundPaired(tournamentId, round, newGames, newStandings, now);
+    }
+
+    static final int maxPairingSteps = 100_000;
+
+    // pairs each player with the highest ranked player they have not played, backtracking when that leaves players
+    // below who can't be paired, returns null when no such pairing is found within the step budget
+    static List<Standing> pairWithoutRematches(List<Standing> ranked, Map<String, Set<String>> opponents, int[] steps) {
+      if (ranked.isEmpty()) {
+        return List.of();
+      }
+
+      var player = ranked.get(0);
+      var played = opponents.getOrDefault(player.playerId(), Set.of());
+      for (var i = 1; i < ranked.size() && steps[0]-- > 0; i++) {
+        var opponent = ranked.get(i);
+        if (played.contains(opponent.playerId())) {
+          continue;
+        }
+
+        var rest = new ArrayList<>(ranked.subList(1, ranked.size()));
+        rest.remove(opponent);
+        var pairs = pairWithoutRematches(rest, opponents, steps);
+        if (pairs != null) {
+          return Stream.concat(Stream.of(player, opponent), pairs.stream()).toList();
+        }
+      }
+      return null;
+    }
+
+    Map<String, Set<String>> opponents() {
+      var opponents = new HashMap<String, Set<String>>();
+      games.forEach(game -> {
+        opponents.computeIfAbsent(game.player1.id(), id -> new HashSet<>()).add(game.player2.id());
+        opponents.computeIfAbsent(game.player2.id(), id -> new HashSet<>()).add(game.player1.id());
+      });
+      return opponents;
+    }
+
+    Map<String, Integer> firstMoves() {
+      var firstMoves = new HashMap<String, Integer>();
+      games.forEach(game -> firstMoves.merge(game.player1.id(), 1, Integer::sum));
+      return firstMoves;
+    }
+
+    Optional<Game> gameAt(String gameId) {
+      return games.stream().filter(game -> game.gameId.equals(gameId)).findFirst();
+    }
+
+    // ============================================================
+    // Progress report
+    // ============================================================
+    public Progress progress(Instant now) {
+      var counts = new HashMap<GameStatus, Integer>();
+      games.forEach(game -> counts.merge(game.status, 1, Integer::sum));
+
+      var startedAt = games.stream()
+          .map(Game::startedAt)
+          .flatMap(Optional::stream)
+          .min(Comparator.naturalOrder())
+          .orElse(createdAt);
+      var elapsed = Duration.between(startedAt, finishedAt.orElse(now));
+      var finished = counts.getOrDefault(GameStatus.finished, 0);
+      var hours = elapsed.toMillis() / 3_600_000.0;
+      var gamesPerHour = hours > 0 ? finished / hours : 0;
+
+      return new Progress(
+          tournamentId,
+          status,
+          format,
+          format == Format.swiss ? currentRound() : roundRobinRound(),
+          rounds,
+          expectedGames(),
+          counts.getOrDefault(GameStatus.pending, 0),
+          counts.getOrDefault(GameStatus.running, 0),
+          finished,
+          counts.getOrDefault(GameStatus.canceled, 0),
+          elapsed.toMillis(),
+          gamesPerHour,
+          rankedStandings(standings),
+          modelLatencies.stream().map(ModelLatency::report).toList());
+    }
+
+    // ============================================================
+    // Event handlers
+    // ============================================================
+    public State onEvent(Event.TournamentCreated event) {
+      return new State(
+          event.tournamentId,
+          event.status,
+          event.format,
+          event.levels,
+          event.rounds,
+          event.maxConcurrentGames,
+          event.players,
+          event.games,
+          event.standings,
+          List.of(),
+          event.createdAt,
+          event.createdAt,
+          Optional.empty());
+    }
+
+    public State onEvent(Event.RoundPaired event) {
+      var newGames = Stream.concat(games.stream(), event.games.stream()).toList();
+      return new State(tournamentId, status, format, levels, rounds, maxConcurrentGames, players, newGames,
+          event.standings, modelLatencies, createdAt, event.updatedAt, finishedAt);
+    }
+
+    public State onEvent(Event.GamesStarted event) {
+      var newGames = replaceGames(games, event.games);
+      return new State(tournamentId, status, format, levels, rounds, maxConcurrentGames, players, newGames,
+          standings, modelLatencies, createdAt, event.updatedAt, finishedAt);
+    }
+
+    public State onEvent(Event.GameCompleted event) {
+      var newGames = replaceGames(games, List.of(event.game));
+      return new State(tournamentId, status, format, levels, rounds, maxConcurrentGames, players, newGames,
+          event.standings, event.modelLatencies, createdAt, event.updatedAt, finishedAt);
+    }
+
+    public State onEvent(Event.TournamentCompleted event) {
+      return new State(tournamentId, event.status, format, levels, rounds, maxConcurrentGames, players, games,
+          standings, modelLatencies, createdAt, event.finishedAt, Optional.of(event.finishedAt));
+    }
+
+    public State onEvent(Event.TournamentCanceled event) {
+      var newGames = replaceGames(games, event.canceledGames);
+      return new State(tournamentId, event.status, format, levels, rounds, maxConcurrentGames, players, newGames,
+          standings, modelLatencies, createdAt, event.finishedAt, Optional.of(event.finishedAt));
+    }
+
+    static List<Game> replaceGames(List<Game> games, List<Game> updatedGames) {
+      var updates = new HashMap<String, Game>();
+      updatedGames.forEach(game -> updates.put(game.gameId, game));
+      return games.stream().map(game -> updates.getOrDefault(game.gameId, game)).toList();
+    }
+  }
+
+  // ============================================================
+  // Commands
+  // ============================================================
+  public sealed interface Command {
+
+    public record CreateTournament(
+        String tournamentId,
+        Format format,
+        List<DotGame.Player> players,
+        List<DotGame.Board.Level> levels,
+        int rounds,
+        int maxConcurrentGames,
+        Map<String, Double> ratings) implements Command {
+
+      public CreateTournament(String tournamentId, Format format, List<DotGame.Player> players, List<DotGame.Board.Level> levels,
+          int rounds, int maxConcurrentGames) {
+        this(tournamentId, format, players, levels, rounds, maxConcurrentGames, Map.of());
+      }
+
+      public Optional<String> validationError() {
+        if (players == null || players.size() < 2) {
+          return Optional.of("A tournament needs at least 2 players");
+        }
+        if (players.stream().anyMatch(player -> !player.isAgent())) {
+          return Optional.of("Tournament players must be agents");
+        }
+        if (players.stream().map(DotGame.Player::id).distinct().count() != players.size()) {
+          return Optional.of("Tournament player ids must be unique");
+        }
+        if (levels == null || levels.isEmpty()) {
+          return Optional.of("A tournament needs at least 1 level");
+        }
+        if (maxConcurrentGames < 1) {
+          return Optional.of("Max concurrent games must be at least 1");
+        }
+        return Optional.empty();
+      }
+    }
+
+    public record GameFinished(
+        String tournamentId,
+        String gameId,
+        DotGame.Status status,
+        Optional<String> winnerId,
+        int player1Score,
+        int player2Score,
+        List<PlayerMoves> playerMoves) implements Command {
+
+      public static GameFinished from(String tournamentId, DotGame.State gameState) {
+        var winnerId = gameState.status() != DotGame.Status.won_by_player
+            ? Optional.<String>empty()
+            : Optional.of(gameState.player1Status().isWinner()
+                ? gameState.player1Status().player().id()
+                : gameState.player2Status().player().id());
+
+        return new GameFinished(
+            tournamentId,
+            gameState.gameId(),
+            gameState.status(),
+            winnerId,
+            gameState.player1Status().score(),
+            gameState.player2Status().score(),
+            List.of(
+                PlayerMoves.from(gameState.player1Status().player().id(), gameState.moveHistory()),
+                PlayerMoves.from(gameState.player2Status().player().id(), gameState.moveHistory())));
+      }
+    }
+
+    public record CancelTournament(String tournamentId, String reason) implements Command {}
+  }
+
+  // ============================================================
+  // Events
+  // ============================================================
+  public sealed interface Event {
+
+    @TypeName("tournament-created")
+    public record TournamentCreated(
+        String tournamentId,
+        Status status,
+        Format format,
+        List<DotGame.Board.Level> levels,
+        int rounds,
+        int maxConcurrentGames,
+        List<DotGame.Player> players,
+        List<Game> games,
+        List<Standing> standings,
+        Instant createdAt) implements Event {}
+
+    @TypeName("tournament-round-paired")
+    public record RoundPaired(
+        String tournamentId,
+        int round,
+        List<Game> games,
+        List<Standing> standings,
+        Instant updatedAt) implements Event {}
+
+    @TypeName("tournament-games-started")
+    public record GamesStarted(
+        String tournamentId,
+        List<Game> games,
+        Instant updatedAt) implements Event {}
+
+    @TypeName("tournament-game-completed")
+    public record GameCompleted(
+        String tournamentId,
+        Game game,
+        List<Standing> standings,
+        List<ModelLatency> modelLatencies,
+        Instant updatedAt) implements Event {}
+
+    @TypeName("tournament-completed")
+    public record TournamentCompleted(
+        String tournamentId,
+        Status status,
+        Instant finishedAt) implements Event {}
+
+    @TypeName("tournament-canceled")
+    public record TournamentCanceled(
+        String tournamentId,
+        Status status,
+        List<Game> canceledGames,
+        String reason,
+        Instant finishedAt) implements Event {}
+  }
+
+  // ============================================================
+  // Game ids
+  // ============================================================
+  static final Pattern gameIdPattern = Pattern.compile("^(.+)-round-\\d+-game-\\d+$");
+
+  public static String gameId(String tournamentId, int round, int index) {
+    return "%s-round-%d-game-%d".formatted(tournamentId, round, index);
+  }
+
+  public static Optional<String> tournamentIdOf(String gameId) {
+    var matcher = gameIdPattern.matcher(gameId);
+    return matcher.matches() ? Optional.of(matcher.group(1)) : Optional.empty();
+  }
+
+  // ============================================================
+  // Game
+  // ============================================================
+  public record Game(
+      String gameId,
+      int round,
+      DotGame.Board.Level level,
+      DotGame.Player player1,
+      DotGame.Player player2,
+      GameStatus status,
+      Optional<String> winnerId,
+      int player1Score,
+      int player2Score,
+      Optional<Instant> startedAt,
+      Optional<Instant> finishedAt) {
+
+    static Game pending(String gameId, int round, DotGame.Board.Level level, DotGame.Player player1, DotGame.Player player2) {
+      return new Game(gameId, round, level, player1, player2, GameStatus.pending, Optional.empty(), 0, 0, Optional.empty(), Optional.empty());
+    }
+
+    Game start(Instant now) {
+      return new Game(gameId, round, level, player1, player2, GameStatus.running, winnerId, player1Score, player2Score, Optional.of(now), finishedAt);
+    }
+
+    Game finish(Optional<String> winnerId, int player1Score, int player2Score, Instant now) {
+      return new Game(gameId, round, level, player1, player2, GameStatus.finished, winnerId, player1Score, player2Score, startedAt, Optional.of(now));
+    }
+
+    Game cancel(Instant now) {
+      return new Game(gameId, round, level, player1, player2, GameStatus.canceled, winnerId, player1Score, player2Score, startedAt, Optional.of(now));
+    }
+
+    // 1 for a player 1 win, 0 for a player 2 win, 0.5 for a draw
+    double player1Result() {
+      return winnerId.map(id -> id.equals(player1.id()) ? 1.0 : 0.0).orElse(0.5);
+    }
+  }
+
+  // ============================================================
+  // Standings
+  // ============================================================
+  public record Standing(
+      DotGame.Player player,
+      int played,
+      int won,
+      int lost,
+      int drawn,
+      int byes,
+      double points,
+      double rating) {
+
+    static Standing of(DotGame.Player player, double rating) {
+      return new Standing(player, 0, 0, 0, 0, 0, 0, rating);
+    }
+
+    String playerId() {
+      return player.id();
+    }
+
+    Standing bye() {
+      return new Standing(player, played, won, lost, drawn, byes + 1, points + 1, rating);
+    }
+
+    Standing result(double result, double newRating) {
+      return new Standing(
+          player,
+          played + 1,
+          won + (result == 1 ? 1 : 0),
+          lost + (result == 0 ? 1 : 0),
+          drawn + (result == 0.5 ? 1 : 0),
+          byes,
+          points + result,
+          newRating);
+    }
+  }
+
+  static List<Standing> rankedStandings(List<Standing> standings) {
+    return standings.stream()
+        .sorted(Comparator.comparingDouble(Standing::points).reversed()
+            .thenComparing(Comparator.comparingDouble(Standing::rating).reversed()))
+        .toList();
+  }
+
+  static List<Standing> rateGame(List<Standing> standings, Game game) {
+    var player1 = standings.stream().filter(s -> s.playerId().equals(game.player1.id())).findFirst().get();
+    var player2 = standings.stream().filter(s -> s.playerId().equals(game.player2.id())).findFirst().get();
+    var result = game.player1Result();
+    var expected = expectedScore(player1.rating, player2.rating);
+    var newPlayer1 = player1.result(result, player1.rating + ratingK * (result - expected));
+    var newPlayer2 = player2.result(1 - result, player2.rating - ratingK * (result - expected));
+
+    return standings.stream()
+        .map(s -> s == player1 ? newPlayer1 : s == player2 ? newPlayer2 : s)
+        .toList();
+  }
+
+  static double expectedScore(double rating, double opponentRating) {
+    return 1 / (1 + Math.pow(10, (opponentRating - rating) / 400));
+  }
+
+  // ============================================================
+  // Model latency
+  // ============================================================
+  public record PlayerMoves(String playerId, int moves, long thinkMs, long maxThinkMs) {
+    static PlayerMoves from(String playerId, List<DotGame.Move> moveHistory) {
+      var thinkMs = moveHistory.stream()
+          .filter(move -> move.playerId().equals(playerId))
+          .mapToLong(DotGame.Move::thinkMs)
+          .toArray();
+
+      return new PlayerMoves(
+          playerId,
+          thinkMs.length,
+          Arrays.stream(thinkMs).sum(),
+          Arrays.stream(thinkMs).max().orElse(0));
+    }
+  }
+
+  public record ModelLatency(String model, int games, int moves, long thinkMs, long maxThinkMs) {
+    ModelLatency add(PlayerMoves playerMoves) {
+      return new ModelLatency(model, games + 1, moves + playerMoves.moves, thinkMs + playerMoves.thinkMs, Math.max(maxThinkMs, playerMoves.maxThinkMs));
+    }
+
+    ModelLatencyReport report() {
+      return new ModelLatencyReport(model, games, moves, moves > 0 ? thinkMs / moves : 0, maxThinkMs);
+    }
+  }
+
+  static List<ModelLatency> addLatencies(List<ModelLatency> latencies, Game game, List<PlayerMoves> playerMoves) {
+    var byModel = new TreeMap<String, ModelLatency>();
+    latencies.forEach(latency -> byModel.put(latency.model, latency));
+
+    playerMoves.forEach(moves -> {
+      var model = moves.playerId.equals(game.player1.id()) ? game.player1.model() : game.player2.model();
+      byModel.put(model, byModel.getOrDefault(model, new ModelLatency(model, 0, 0, 0, 0)).add(moves));
+    });
+
+    return List.copyOf(byModel.values());
+  }
+
+  // ============================================================
+  // Progress
+  // ============================================================
+  public record ModelLatencyReport(String model, int games, int moves, long averageThinkMs, long maxThinkMs) {}
+
+  public record Progress(
+      String tournamentId,
+      Status status,
+      Format format,
+      int currentRound,
+      int rounds,
+      int expectedGames,
+      int pendingGames,
+      int runningGames,
+      int finishedGames,
+      int canceledGames,
+      long elapsedMs,
+      double gamesPerHour,
+      List<Standing> standings,
+      List<ModelLatencyReport> modelLatencies) {}
+}
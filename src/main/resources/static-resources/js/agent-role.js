@@ -182,16 +182,16 @@ async function navigateJournal(direction) {
   }
 }
 
+function journalNavigator() {
+  if (journalState.navigator?.agentId !== journalState.currentAgentId) {
+    journalState.navigator = JournalViewer.createNavigator('/agent-role', journalState.currentAgentId);
+  }
+  return journalState.navigator;
+}
+
 async function fetchJournalEntry(direction) {
-  const endpoint = direction === 'up' ? '/agent-role/get-journal-by-agent-id-up' : '/agent-role/get-journal-by-agent-id-down';
-
-  const dataCurrent = await fetchJson(endpoint, {
-    method: 'POST',
-    body: JSON.stringify({
-      agentId: journalState.currentAgentId,
-      sequenceId: journalState.currentSequenceId,
-    }),
-  });
+  const entry = await journalNavigator().step(journalState.currentSequenceId, direction);
+  const dataCurrent = { journals: entry ? [entry] : [] };
 
   if (dataCurrent && dataCurrent.journals && dataCurrent.journals.length > 0) {
     journalState.currentSequenceId = dataCurrent.journals[0].sequenceId;
@@ -201,22 +201,15 @@ async function fetchJournalEntry(direction) {
   const checkbox = $('showDiffCheckbox');
   journalState.showDiff = checkbox ? checkbox.checked : false;
 
-  const dataPrevious = await fetchJson('/agent-role/get-journal-by-agent-id-and-sequence', {
-    method: 'POST',
-    body: JSON.stringify({
-      agentId: journalState.currentAgentId,
-      sequenceId: journalState.currentSequenceId - 1,
-    }),
-  });
-  if (dataPrevious && dataPrevious.journals && dataPrevious.journals.length > 0) {
-    journalState.previousEntry = dataPrevious.journals[0];
-  } else {
-    journalState.previousEntry = null;
-  }
+  journalState.diff = journalState.showDiff ? await fetchJournalDiff() : null;
 
   return dataCurrent;
 }
 
+async function fetchJournalDiff() {
+  return JournalViewer.fetchDiff('/agent-role/get-journal-diff', journalState.currentAgentId, journalState.currentSequenceId);
+}
+
 function displayJournalEntry() {
   const entry = journalState.currentEntry;
 
@@ -233,18 +226,25 @@ function displayJournalEntry() {
 
   JournalViewer.renderTextDiff({
     targetElement: instructionsEl,
-    previousText: journalState?.previousEntry?.systemPrompt || '',
+    parts: journalState?.diff?.parts,
     currentText: journalState?.currentEntry?.systemPrompt || '',
     showDiff: journalState.showDiff,
     emptyMessage: 'No system prompt available.',
   });
 }
 
-function toggleDiff() {
+async function toggleDiff() {
   const checkbox = $('showDiffCheckbox');
   journalState.showDiff = checkbox.checked;
 
   if (journalState.isViewing) {
+    if (journalState.showDiff && journalState.diff?.toSequenceId !== journalState.currentSequenceId) {
+      try {
+        journalState.diff = await fetchJournalDiff();
+      } catch (error) {
+        console.error('Error loading journal diff:', error);
+      }
+    }
     displayJournalEntry();
   }
 }
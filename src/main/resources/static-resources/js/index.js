@@ -715,49 +715,287 @@ async function onSquareClick(squareId) {
   const current = state.game.currentPlayerStatus?.player?.id;
   if (!current) return;
 
-  const req = { gameId: state.game.gameId, playerId: current, squareId };
-  const res = await fetch('/game/make-move', {
+  const startedAt = performance.now();
+  const transport = channelReady() ? 'websocket' : 'http';
+  const gameState =
+    transport === 'websocket'
+      ? await channelRequest({ type: 'move', playerId: current, squareId })
+      : await postMove({ gameId: state.game.gameId, playerId: current, squareId });
+  if (!gameState) return;
+  await inStreamOrder(() => applyGameState(gameState));
+  recordMoveLatency(transport, performance.now() - startedAt);
+}
+
+async function postMove(req) {
+  const res = await fetch('/game/make-move?format=compact', {
     method: 'POST',
     headers: { 'Content-Type': 'application/json' },
     body: JSON.stringify(req),
   });
-  const { gameState } = await res.json();
-  await playMoveSound(state.game, gameState);
-  state.game = gameState;
-  renderGameInfo();
-  renderGameBoard();
+  return gameStateOf(await res.json());
+}
+
+// Game state responses in the compact form, see CompactGameState, are expanded to the full game state shape
+function gameStateOf(response) {
+  return response.compactGameState ? expandGameState(response.compactGameState) : response.gameState;
 }
 
+// same order as DotGame.ScoringMoveType
+const scoringMoveTypes = ['horizontal', 'vertical', 'diagonal', 'adjacent', 'topToBottom', 'leftToRight'];
+
+function expandGameState(compact) {
+  const size = { one: 5, two: 7, three: 9, four: 11, five: 13, six: 15, seven: 17, eight: 19, nine: 21 }[compact.level] || 5;
+  const squareId = (index) => String.fromCharCode(65 + Math.floor(index / size)) + ((index % size) + 1);
+  const playerIds = compact.players.map((status) => status.player.id);
+  const playerIdAt = (index) => (compact.board[index] === '.' ? null : playerIds[compact.board.charCodeAt(index) - 49]);
+
+  const scoringMoves = compact.players.map(() => []);
+  for (const [player, move, type, score, ...scoringSquares] of compact.scoringMoves) {
+    scoringMoves[player - 1].push({
+      move: { squareId: squareId(move), playerId: playerIds[player - 1] },
+      type: scoringMoveTypes[type],
+      score,
+      scoringSquares: scoringSquares.map(squareId),
+    });
+  }
+
+  const statuses = compact.players.map((status, i) => ({
+    ...status,
+    scoringMoves: { playerId: status.player.id, scoringMoves: scoringMoves[i] },
+  }));
+
+  return {
+    gameId: compact.gameId,
+    status: compact.status,
+    createdAt: compact.createdAt,
+    updatedAt: compact.updatedAt,
+    turnCompletedAt: compact.turnCompletedAt,
+    finishedAt: compact.finishedAt,
+    player1Status: statuses[0],
+    player2Status: statuses[1],
+    currentPlayerStatus: compact.currentPlayer > 0 ? statuses[compact.currentPlayer - 1] : null,
+    moveHistory: compact.moves.map((index, i) => ({ squareId: squareId(index), playerId: playerIdAt(index), thinkMs: compact.thinkMs[i] })),
+    board: {
+      level: compact.level,
+      squares: [...compact.board].map((_, index) => ({ squareId: squareId(index), playerId: playerIdAt(index) })),
+    },
+    empty: !compact.gameId,
+  };
+}
+
+// Move round trip times, from the square click to the rendered reply, per transport. Open the page with
+// ?transport=http to play over POST + SSE, and call moveLatency() in the console to compare the two.
+const moveLatencies = { websocket: [], http: [] };
+
+function recordMoveLatency(transport, ms) {
+  const samples = moveLatencies[transport];
+  samples.push(ms);
+  if (samples.length > 200) samples.shift();
+  if (samples.length % 10 === 0) console.log(`move latency ${transport}`, moveLatency()[transport]);
+}
+
+function moveLatency() {
+  const summary = (samples) => {
+    if (samples.length === 0) return { moves: 0 };
+    const sorted = [...samples].sort((a, b) => a - b);
+    const at = (p) => Math.round(sorted[Math.min(sorted.length - 1, Math.floor(p * sorted.length))]);
+    return { moves: sorted.length, p50: at(0.5), p95: at(0.95), max: at(1) };
+  };
+  return { websocket: summary(moveLatencies.websocket), http: summary(moveLatencies.http) };
+}
+window.moveLatency = moveLatency;
+
 let evtSrc;
+// version of the last stream event applied to state.game, 0 until the stream and the state are in step
+let streamVersion = 0;
+// stream events, state reads and move replies update state.game one at a time, in arrival order
+let streamUpdates = Promise.resolve();
+
+function inStreamOrder(update) {
+  streamUpdates = streamUpdates.then(update).catch((error) => console.error('Game state update failed:', error));
+  return streamUpdates;
+}
+
+// The game channel is one WebSocket that carries moves, state reads, move stream deltas and agent workflow steps.
+// When it cannot be opened, or the page asks for ?transport=http, moves are posted and deltas come from SSE.
+let channel;
+let channelRequestId = 0;
+const channelRequests = new Map();
+
+function channelReady() {
+  return channel?.readyState === WebSocket.OPEN;
+}
+
 function openMoveStream(gameId) {
+  closeMoveStream();
+  streamVersion = 0;
+  if (new URLSearchParams(location.search).get('transport') === 'http' || !('WebSocket' in window)) {
+    openEventSource(gameId);
+    return;
+  }
+
+  const protocol = location.protocol === 'https:' ? 'wss:' : 'ws:';
+  const socket = new WebSocket(`${protocol}//${location.host}/game/game-channel/${encodeURIComponent(gameId)}`);
+  let opened = false;
+  channel = socket;
+  socket.onopen = () => (opened = true);
+  socket.onmessage = (e) => {
+    try {
+      onChannelMessage(JSON.parse(e.data));
+    } catch (error) {
+      console.error('Game channel message failed:', error);
+    }
+  };
+  socket.onclose = () => {
+    if (channel !== socket) return;
+    channel = undefined;
+    channelRequests.forEach(({ resolve }) => resolve(null));
+    channelRequests.clear();
+    // fall back to the event stream when the channel never opened, otherwise reconnect while the game is shown
+    if (!opened) openEventSource(gameId);
+    else if (state.game?.gameId === gameId) setTimeout(() => state.game?.gameId === gameId && openMoveStream(gameId), 1000);
+  };
+}
+
+function closeMoveStream() {
   if (evtSrc) evtSrc.close();
+  evtSrc = undefined;
+  if (channel) {
+    const socket = channel;
+    channel = undefined;
+    socket.close();
+  }
+}
+
+function openEventSource(gameId) {
   const url = `/game/get-move-stream-by-game-id/${encodeURIComponent(gameId)}`;
   evtSrc = new EventSource(url);
   evtSrc.onmessage = (e) => {
     try {
-      const event = JSON.parse(e.data);
-      console.log(`${new Date().toISOString()} lastAction: ${event.lastAction}`);
-      if (event.lastAction === 'move_forfeited') {
-        playSound('game-alarm.wav');
-        alert(event.message);
-      }
-      if (!('move_made' === event.lastAction)) {
-        refreshGameState();
-      }
+      onStreamEvent(JSON.parse(e.data));
     } catch {}
   };
 }
 
+function channelRequest(message) {
+  const id = ++channelRequestId;
+  return new Promise((resolve) => {
+    channelRequests.set(id, { resolve });
+    channel.send(JSON.stringify({ ...message, id }));
+  });
+}
+
+function onChannelMessage(message) {
+  const request = message.id != null ? channelRequests.get(message.id) : undefined;
+  if (request) channelRequests.delete(message.id);
+
+  switch (message.type) {
+    case 'state': {
+      const gameState = gameStateOf(message);
+      if (request) request.resolve(gameState);
+      else if (state.game?.gameId === gameState.gameId) inStreamOrder(() => applyGameState(gameState));
+      break;
+    }
+    case 'delta':
+      onStreamEvent(message.delta);
+      break;
+    case 'step':
+      console.log(`${new Date().toISOString()} agent: ${message.agentId} step: ${message.step}`);
+      break;
+    case 'error':
+      console.error('Game channel error:', message.message);
+      if (request) request.resolve(null);
+      break;
+  }
+}
+
+function onStreamEvent(event) {
+  console.log(`${new Date().toISOString()} lastAction: ${event.lastAction} version: ${event.version}`);
+  if (event.lastAction === 'move_forfeited') {
+    playSound('game-alarm.wav');
+    alert(event.message);
+  }
+  inStreamOrder(() => applyStreamEvent(event));
+}
+
+// Stream events carry the move, the scoring moves it made and the new scores, so moves are applied to the local
+// state. The full state is read only when an event is missing, or for events that are not moves.
+async function applyStreamEvent(event) {
+  const inStep = state.game?.gameId === event.gameId && streamVersion > 0 && event.version === streamVersion + 1;
+  streamVersion = event.version || 0;
+
+  if (!inStep || !['move_made', 'player_turn_completed', 'move_forfeited'].includes(event.lastAction)) {
+    await refreshGameState();
+    return;
+  }
+
+  await applyGameState(applyGameDelta(state.game, event));
+}
+
+function applyGameDelta(game, event) {
+  const move = event.lastMove;
+  const scoringMoves = event.lastScoringMoves || [];
+
+  const playerStatus = (status, moves, score, isWinner) => {
+    const existing = status.scoringMoves?.scoringMoves || [];
+    // a refreshed state may already hold the scoring moves of the next events
+    const added = scoringMoves.filter(
+      (scoringMove) =>
+        scoringMove.move?.playerId === status.player.id &&
+        !existing.some((known) => known.move?.squareId === scoringMove.move?.squareId && known.type === scoringMove.type),
+    );
+    return {
+      ...status,
+      moves,
+      score,
+      isWinner,
+      scoringMoves: { ...status.scoringMoves, scoringMoves: added.length > 0 ? [...existing, ...added] : existing },
+    };
+  };
+
+  const next = { ...game, status: event.status, updatedAt: event.updatedAt };
+
+  if (event.lastAction === 'move_made' && move) {
+    next.board = {
+      ...game.board,
+      squares: game.board.squares.map((square) => (square.squareId === move.squareId ? { ...square, playerId: move.playerId } : square)),
+    };
+    next.player1Status = playerStatus(game.player1Status, event.player1Moves, event.player1Score, event.player1Winner);
+    next.player2Status = playerStatus(game.player2Status, event.player2Moves, event.player2Score, event.player2Winner);
+  }
+
+  if (move) {
+    const history = game.moveHistory || [];
+    const last = history[history.length - 1];
+    next.moveHistory = last?.squareId === move.squareId ? [...history.slice(0, -1), move] : [...history, move];
+  }
+
+  const players = [next.player1Status, next.player2Status];
+  next.currentPlayerStatus = players.find((status) => status.player.id === event.currentPlayerId) || null;
+
+  return next;
+}
+
 async function refreshGameState() {
   if (!state.game?.gameId) return;
-  const res = await fetch(`/game/get-state/${encodeURIComponent(state.game.gameId)}`, {
+  const gameState = channelReady() ? await channelRequest({ type: 'state' }) : await fetchGameState(state.game.gameId);
+  if (gameState) await applyGameState(gameState);
+}
+
+async function fetchGameState(gameId) {
+  const res = await fetch(`/game/get-state/${encodeURIComponent(gameId)}?format=compact`, {
     headers: { Accept: 'application/json' },
   });
-  const { gameState } = await res.json();
-  await playMoveSound(state.game, gameState);
+  return gameStateOf(await res.json());
+}
+
+// state.game is replaced before the sound is awaited, so an update queued behind this one starts from the new state
+async function applyGameState(gameState) {
+  const previous = state.game;
   state.game = gameState;
   renderGameInfo();
   renderGameBoard();
+  await playMoveSound(previous, gameState);
 }
 
 function handleGameResize() {
@@ -1550,16 +1788,16 @@ async function navigateJournal(direction) {
   }
 }
 
-async function fetchJournalEntry(direction) {
-  const endpoint = direction === 'up' ? '/playbook/get-journal-by-agent-id-up' : '/playbook/get-journal-by-agent-id-down';
+function journalNavigator() {
+  if (journalState.navigator?.agentId !== journalState.currentAgentId) {
+    journalState.navigator = JournalViewer.createNavigator('/playbook', journalState.currentAgentId);
+  }
+  return journalState.navigator;
+}
 
-  const dataCurrent = await fetchJson(endpoint, {
-    method: 'POST',
-    body: JSON.stringify({
-      agentId: journalState.currentAgentId,
-      sequenceId: journalState.currentSequenceId,
-    }),
-  });
+async function fetchJournalEntry(direction) {
+  const entry = await journalNavigator().step(journalState.currentSequenceId, direction);
+  const dataCurrent = { journals: entry ? [entry] : [] };
 
   if (dataCurrent && dataCurrent.journals && dataCurrent.journals.length > 0) {
     journalState.currentSequenceId = dataCurrent.journals[0].sequenceId;
@@ -1569,22 +1807,15 @@ async function fetchJournalEntry(direction) {
   const checkbox = $('showDiffCheckbox');
   journalState.showDiff = checkbox ? checkbox.checked : false;
 
-  const dataPrevious = await fetchJson('/playbook/get-journal-by-agent-id-and-sequence', {
-    method: 'POST',
-    body: JSON.stringify({
-      agentId: journalState.currentAgentId,
-      sequenceId: journalState.currentSequenceId - 1,
-    }),
-  });
-  if (dataPrevious && dataPrevious.journals && dataPrevious.journals.length > 0) {
-    journalState.previousEntry = dataPrevious.journals[0];
-  } else {
-    journalState.previousEntry = null;
-  }
+  journalState.diff = journalState.showDiff ? await fetchJournalDiff() : null;
 
   return dataCurrent;
 }
 
+async function fetchJournalDiff() {
+  return JournalViewer.fetchDiff('/playbook/get-journal-diff', journalState.currentAgentId, journalState.currentSequenceId);
+}
+
 function displayJournalEntry(entry) {
   const updatedAt = entry.updatedAt ? new Date(entry.updatedAt).toLocaleString() : '-';
   $('journalAgentId').textContent = entry.agentId;
@@ -1611,18 +1842,25 @@ function displayJournalEntry() {
 
   JournalViewer.renderTextDiff({
     targetElement: instructionsEl,
-    previousText: journalState?.previousEntry?.instructions || '',
+    parts: journalState?.diff?.parts,
     currentText: journalState?.currentEntry?.instructions || '',
     showDiff: journalState.showDiff,
     emptyMessage: 'No instructions available.',
   });
 }
 
-function toggleDiff() {
+async function toggleDiff() {
   const checkbox = $('showDiffCheckbox');
   journalState.showDiff = checkbox.checked;
 
   if (journalState.isViewing) {
+    if (journalState.showDiff && journalState.diff?.toSequenceId !== journalState.currentSequenceId) {
+      try {
+        journalState.diff = await fetchJournalDiff();
+      } catch (error) {
+        console.error('Error loading journal diff:', error);
+      }
+    }
     displayJournalEntry();
   }
 }
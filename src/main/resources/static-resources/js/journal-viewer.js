@@ -5,16 +5,15 @@
     }
   }
 
-  function renderTextDiff({ targetElement, previousText = '', currentText = '', showDiff = false, emptyMessage = 'No content available.' }) {
+  // parts are the server side diff of the previous and current text, see fetchDiff
+  function renderTextDiff({ targetElement, parts = null, currentText = '', showDiff = false, emptyMessage = 'No content available.' }) {
     if (!targetElement) return;
 
     const fragment = document.createDocumentFragment();
-    const previous = previousText || '';
     const current = currentText || '';
 
-    if (showDiff && typeof Diff !== 'undefined') {
-      const diff = Diff.diffWords(previous, current);
-      diff.forEach((part) => {
+    if (showDiff && parts) {
+      parts.forEach((part) => {
         const span = document.createElement('span');
         span.style.color = part.added ? 'green' : part.removed ? 'red' : 'lightgrey';
         span.appendChild(document.createTextNode(part.value));
@@ -41,7 +40,106 @@
     if (diffCheckbox) diffCheckbox.disabled = !isEnabled;
   }
 
+  async function fetchDiff(endpoint, agentId, sequenceId) {
+    return fetchJson(endpoint, {
+      method: 'POST',
+      body: JSON.stringify({
+        agentId,
+        fromSequenceId: sequenceId - 1,
+        toSequenceId: sequenceId,
+        mode: 'word',
+      }),
+    });
+  }
+
+  // Steps through an agent's journal using an index of sequence ids, fetched a page at a time. Entry texts are
+  // fetched in batches around the current entry, so stepping to a neighbour is usually served without a request.
+  function createNavigator(basePath, agentId, { pageSize = 100, batchSize = 10 } = {}) {
+    const index = []; // sequence ids, newest first
+    const entries = new Map();
+    let complete = false;
+
+    async function fetchIndex(sequenceId) {
+      const data = await fetchJson(`${basePath}/get-journal-index`, {
+        method: 'POST',
+        body: JSON.stringify({ agentId, sequenceId, limit: pageSize }),
+      });
+      return (data?.entries || []).map((entry) => entry.sequenceId);
+    }
+
+    async function loadLatest() {
+      const latest = await fetchIndex(Number.MAX_SAFE_INTEGER);
+      if (index.length === 0) {
+        index.push(...latest);
+        complete = latest.length < pageSize;
+      } else {
+        index.unshift(...latest.filter((sequenceId) => sequenceId > index[0]));
+      }
+    }
+
+    async function loadOlder() {
+      const older = await fetchIndex(index.length > 0 ? index[index.length - 1] : Number.MAX_SAFE_INTEGER);
+      index.push(...older);
+      complete = older.length < pageSize;
+    }
+
+    async function loadRange(fromSequenceId, toSequenceId) {
+      const data = await fetchJson(`${basePath}/get-journals`, {
+        method: 'POST',
+        body: JSON.stringify({ agentId, fromSequenceId, toSequenceId }),
+      });
+      (data?.journals || []).forEach((journal) => entries.set(journal.sequenceId, journal));
+    }
+
+    // the entry at the position and the next batch in the direction of travel
+    async function loadEntries(position, direction) {
+      const from = direction === 'up' ? Math.max(0, position - batchSize + 1) : position;
+      const missing = index.slice(from, from + batchSize).filter((sequenceId) => !entries.has(sequenceId));
+      if (missing.length > 0) {
+        await loadRange(Math.min(...missing), Math.max(...missing));
+      }
+      // the server caps the range, so sparse sequence ids may need the entry on its own
+      if (!entries.has(index[position])) {
+        await loadRange(index[position], index[position]);
+      }
+    }
+
+    let prefetching = Promise.resolve();
+
+    // the entry after (up) or before (down) the sequence id, null at either end of the journal
+    async function step(sequenceId, direction) {
+      await prefetching;
+
+      if (direction === 'up' ? index.length === 0 || sequenceId >= index[0] : sequenceId === Number.MAX_SAFE_INTEGER) {
+        await loadLatest();
+      }
+
+      let position = direction === 'up' ? index.findLastIndex((id) => id > sequenceId) : index.findIndex((id) => id < sequenceId);
+      while (direction === 'down' && position < 0 && !complete) {
+        await loadOlder();
+        position = index.findIndex((id) => id < sequenceId);
+      }
+      if (position < 0) return null;
+
+      if (!entries.has(index[position])) {
+        await loadEntries(position, direction);
+      }
+
+      // prefetch the next batch in the background when nearing the end of the fetched entries
+      const ahead = direction === 'up' ? position - 2 : position + 2;
+      if (ahead >= 0 && ahead < index.length && !entries.has(index[ahead])) {
+        prefetching = loadEntries(ahead, direction).catch((error) => console.error('Error prefetching journal entries:', error));
+      }
+
+      return entries.get(index[position]) || null;
+    }
+
+    return { agentId, step };
+  }
+
   window.JournalViewer = {
+    createNavigator,
+    fetchDiff,
     renderTextDiff,
     setNavigationButtonsEnabled,
   };
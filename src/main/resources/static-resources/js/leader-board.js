@@ -2,6 +2,7 @@
 
 // State management
 let leaderBoardData = [];
+let modelAnalyticsData = [];
 let selectedPlayerId = null;
 let selectedGameId = null;
 const urlParams = new URLSearchParams(window.location.search);
@@ -25,7 +26,7 @@ document.addEventListener('DOMContentLoaded', async () => {
   ensureReplayBoardSizing($('gameBoard'));
   window.addEventListener('resize', handleReplayResize, { passive: true });
   initGameInfoToggle();
-  await loadLeaderBoard();
+  await Promise.all([loadLeaderBoard(), loadModelAnalytics()]);
   document.addEventListener('keydown', handleReplayKeyboard, { passive: false });
 });
 
@@ -36,6 +37,13 @@ document.addEventListener('DOMContentLoaded', () => {
       loadLeaderBoard();
     });
   }
+
+  const modelRefreshBtn = $('modelRefreshBtn');
+  if (modelRefreshBtn) {
+    modelRefreshBtn.addEventListener('click', () => {
+      loadModelAnalytics();
+    });
+  }
 });
 
 // Load leader board data
@@ -95,6 +103,57 @@ function renderLeaderBoard() {
   });
 }
 
+// Load per model think time and performance analytics
+async function loadModelAnalytics() {
+  try {
+    const response = await fetch('/model-analytics/get-model-analytics', {
+      headers: { Accept: 'application/json' },
+    });
+
+    if (response.ok) {
+      const data = await response.json();
+      modelAnalyticsData = data.models || [];
+      renderModelAnalytics();
+    } else {
+      console.error('Failed to load model analytics');
+    }
+  } catch (error) {
+    console.error('Error loading model analytics:', error);
+  }
+}
+
+// Render one row per model and board level
+function renderModelAnalytics() {
+  const tbody = $('modelAnalyticsBody');
+  tbody.innerHTML = '';
+
+  const rows = modelAnalyticsData.flatMap((model) => (model.levels || []).map((level) => ({ model: model.model, ...level })));
+  if (rows.length === 0) {
+    tbody.innerHTML = '<tr class="leader-empty-row"><td colspan="10">No agent games finished yet.</td></tr>';
+    return;
+  }
+
+  const percent = (value) => `${((value || 0) * 100).toFixed(1)}%`;
+
+  rows.forEach((level) => {
+    const row = document.createElement('tr');
+    row.innerHTML = `
+            <td>${level.model}</td>
+            <td>${level.level}</td>
+            <td>${level.games || 0}</td>
+            <td>${percent(level.winRate)}</td>
+            <td>${percent(level.forfeitRate)}</td>
+            <td>${(level.averageMovesPerGame || 0).toFixed(1)}</td>
+            <td>${calculateMoveThinkTime(level.thinkMsP50 || 0)}</td>
+            <td>${calculateMoveThinkTime(level.thinkMsP90 || 0)}</td>
+            <td>${calculateMoveThinkTime(level.thinkMsP99 || 0)}</td>
+            <td>${calculateMoveThinkTime(level.thinkMsMax || 0)}</td>
+        `;
+
+    tbody.appendChild(row);
+  });
+}
+
 function setupReplayControls() {
   const firstBtn = $('replayFirstBtn');
   const prevBtn = $('replayPrevBtn');
@@ -0,0 +1,87 @@
+package com.example.aicustommodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import akka.javasdk.JsonSupport;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+
+public class StubChatModelTest {
+  static final List<String> makeMoveTools = List.of(
+      "GameStateTool_getGameState",
+      "PlaybookTools_readPlaybook",
+      "MoveResponseLogsTool_getMoveResponseLogs",
+      "MakeMoveTool_makeMove");
+
+  final StubModelProvider provider = new StubModelProvider("stub", new StubModelProvider.Settings(Duration.ZERO, Duration.ZERO, 0, 0, 0, 42));
+  final StubChatModel chatModel = new StubChatModel(provider);
+  final UserMessage turnPrompt = UserMessage.from("""
+      TURN BRIEFING — YOUR MOVE
+      Game Id: game-1 | Agent Id: agent-1 | Game Status: in_progress | Your Score: 0 | Opponent Score: 0
+      """);
+
+  @Test
+  void testMakeMoveTurnUsesGameStateThenMakeMoveTools() throws Exception {
+    var getGameState = chatModel.respond(List.of(turnPrompt), makeMoveTools).toolExecutionRequests().get(0);
+    assertEquals("GameStateTool_getGameState", getGameState.name());
+    assertEquals("game-1", arguments(getGameState.arguments()).get("gameId").asText());
+    assertEquals("agent-1", arguments(getGameState.arguments()).get("agentId").asText());
+
+    var gameState = """
+        {"gameInfo":{"gameId":"game-1","status":"in_progress"},"availableSquares":{"availableSquareIds":["B2","C3"]}}
+        """;
+    var gameStateResult = ToolExecutionResultMessage.from(getGameState, gameState);
+    var makeMove = chatModel.respond(List.of(turnPrompt, gameStateResult), makeMoveTools).toolExecutionRequests().get(0);
+    assertEquals("MakeMoveTool_makeMove", makeMove.name());
+    assertTrue(List.of("B2", "C3").contains(arguments(makeMove.arguments()).get("squareId").asText()));
+
+    var makeMoveResult = ToolExecutionResultMessage.from(makeMove, "{\"moveCompleted\":true}");
+    var response = chatModel.respond(List.of(turnPrompt, gameStateResult, makeMoveResult), makeMoveTools);
+    assertFalse(response.hasToolExecutionRequests());
+    assertTrue(response.text().startsWith("Stub model move."));
+  }
+
+  @Test
+  void testSquareChoiceFromAsciiBoard() throws Exception {
+    var board = """
+           1  2  3
+        A  X  O  .
+        B  .  X  O
+        C  O  X  X
+        """;
+    var gameState = JsonSupport.getObjectMapper().createObjectNode().put("board", board);
+
+    assertEquals(List.of("A3", "B1"), StubChatModel.availableSquares(gameState.get("board")));
+    assertEquals("A3", StubChatModel.chooseSquare("game-1", "{\"board\":\"A  X  O  .\\n\"}"));
+  }
+
+  @Test
+  void testReviewWithoutToolsRespondsWithText() {
+    var response = chatModel.respond(List.of(turnPrompt), List.of("MoveHistoryTool_getMoveHistory"));
+
+    assertFalse(response.hasToolExecutionRequests());
+    assertTrue(response.text().contains("game-1"));
+  }
+
+  @Test
+  void testMalformedJsonInjection() {
+    var failing = new StubModelProvider("stub", new StubModelProvider.Settings(Duration.ZERO, Duration.ZERO, 0, 0, 1.0, 42));
+    var arguments = new StubChatModel(failing).respond(List.of(turnPrompt), makeMoveTools).toolExecutionRequests().get(0).arguments();
+
+    assertFalse(arguments.endsWith("}"));
+    assertEquals(1, failing.stats().malformedJson());
+  }
+
+  static JsonNode arguments(String json) throws Exception {
+    return JsonSupport.getObjectMapper().readTree(json);
+  }
+}
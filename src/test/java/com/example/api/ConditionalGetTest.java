@@ -0,0 +1,31 @@
+package com.example.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+public class ConditionalGetTest {
+
+  @Test
+  void testIfNoneMatchNamesTheVersion() {
+    var etag = ConditionalGet.etag("12:in_progress:1700000000000:1700000000000");
+
+    assertTrue(ConditionalGet.matches(etag, etag));
+    assertTrue(ConditionalGet.matches("\"other\", W/" + etag, etag));
+    assertTrue(ConditionalGet.matches("*", etag));
+
+    assertFalse(ConditionalGet.matches(null, etag));
+    assertFalse(ConditionalGet.matches(" ", etag));
+    assertFalse(ConditionalGet.matches(ConditionalGet.etag("13:in_progress:1700000000000:1700000000000"), etag));
+  }
+
+  @Test
+  void testSettledCacheControl() {
+    assertEquals("public, max-age=604800, immutable", ConditionalGet.immutable(Duration.ofDays(7)));
+    assertEquals(ConditionalGet.revalidate, ConditionalGet.immutable(Duration.ZERO));
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+public class StaticAssetsTest {
+  static final byte[] script = "function play() {\n  return 1;\n}\n".repeat(100).getBytes(UTF_8);
+  static final byte[] noise = new byte[4_096];
+
+  static {
+    new Random(1).nextBytes(noise);
+  }
+
+  StaticAssets assets() {
+    return new StaticAssets(Map.of("js/index.js", script, "index.html", script, "refresh.png", noise));
+  }
+
+  @Test
+  void testGzipVariantWhenAccepted() throws IOException {
+    var asset = assets().get("/js/index.js").orElseThrow();
+
+    var gzip = asset.variant("gzip, deflate, br");
+    assertEquals("gzip", gzip.encoding());
+    assertArrayEquals(script, new GZIPInputStream(new ByteArrayInputStream(gzip.bytes())).readAllBytes());
+
+    assertSame(asset.identity(), asset.variant(null));
+    assertSame(asset.identity(), asset.variant("br"));
+    assertSame(asset.identity(), asset.variant("gzip;q=0"));
+    assertNotEquals(asset.identity().etag(), gzip.etag());
+  }
+
+  @Test
+  void testIncompressibleAssetsHaveNoGzipVariant() {
+    var asset = assets().get("refresh.png").orElseThrow();
+
+    assertTrue(asset.gzip().isEmpty());
+    assertEquals("image/png", asset.contentType());
+    assertSame(asset.identity(), asset.variant("gzip"));
+  }
+
+  @Test
+  void testNotModifiedMatchesTheVariantEtag() {
+    var asset = assets().get("js/index.js").orElseThrow();
+    var gzip = asset.variant("gzip");
+
+    assertTrue(asset.notModified(gzip.etag(), gzip));
+    assertTrue(asset.notModified("\"other\", W/" + gzip.etag(), gzip));
+    assertTrue(asset.notModified("*", gzip));
+    assertFalse(asset.notModified(asset.identity().etag(), gzip));
+    assertFalse(asset.notModified(null, gzip));
+  }
+
+  @Test
+  void testEtagsAreContentHashes() {
+    var first = assets().get("js/index.js").orElseThrow();
+    var page = assets().get("index.html").orElseThrow();
+
+    assertEquals(first.identity().etag(), page.identity().etag());
+    assertEquals("no-cache", page.cacheControl());
+    assertEquals("no-cache", first.cacheControl());
+    assertTrue(assets().get("missing.js").isEmpty());
+  }
+}
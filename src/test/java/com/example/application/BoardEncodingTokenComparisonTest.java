@@ -0,0 +1,40 @@
+package com.example.application;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.domain.DotGame;
+import com.example.domain.GameProjection;
+import com.example.domain.RandomGames;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import akka.javasdk.JsonSupport;
+
+/**
+ * Compares the size of game state tool responses in the json and ascii board encodings. Token counts are estimated by
+ * splitting on words, numbers, and punctuation, which tracks model tokenizers closely enough to compare encodings.
+ */
+public class BoardEncodingTokenComparisonTest {
+  static final Pattern tokenPattern = Pattern.compile("[A-Za-z]+|\\d+|[^\\sA-Za-z\\d]");
+
+  @Test
+  void testAsciiEncodingIsSmallerOnEveryLevel() throws JsonProcessingException {
+    for (var level : DotGame.Board.Level.values()) {
+      var gameState = RandomGames.play(level, level.getSize() * level.getSize() / 2, new Random(level.ordinal()));
+
+      var jsonTokens = tokens(GameStateTool.GameState.from(RandomGames.player1.id(), GameProjection.of(gameState), -1, BoardEncodings.Encoding.json));
+      var asciiTokens = tokens(GameStateTool.GameState.from(RandomGames.player1.id(), GameProjection.of(gameState), -1, BoardEncodings.Encoding.ascii));
+
+      assertTrue(asciiTokens < jsonTokens, "level %s, ascii %d tokens, json %d tokens".formatted(level, asciiTokens, jsonTokens));
+    }
+  }
+
+  static int tokens(GameStateTool.GameState gameState) throws JsonProcessingException {
+    var json = JsonSupport.getObjectMapper().writeValueAsString(gameState);
+    return (int) tokenPattern.matcher(json).results().count();
+  }
+}
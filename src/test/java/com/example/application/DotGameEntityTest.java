@@ -509,6 +509,21 @@ public class DotGameEntityTest {
     assertTrue(state.player2Status().isWinner());
   }
 
+  @Test
+  void testPlayerTurnCompletedWithoutMoves() {
+    var testKit = EventSourcedTestKit.of(DotGameEntity::new);
+    var gameId = "game-1011";
+    var player1 = new DotGame.Player("player1", DotGame.PlayerType.human, "Alice", "model1");
+    var player2 = new DotGame.Player("player2", DotGame.PlayerType.human, "Bob", "model1");
+
+    createGame(testKit, gameId, player1, player2, DotGame.Board.Level.one);
+
+    var command = new DotGame.Command.PlayerTurnCompleted(gameId, "player1");
+    var result = testKit.method(DotGameEntity::playerTurnCompleted).invoke(command);
+    assertTrue(result.isError());
+    assertEquals(0, result.getAllEvents().size());
+  }
+
   @Test
   void testCancelGame() {
     var testKit = EventSourcedTestKit.of(DotGameEntity::new);
@@ -0,0 +1,54 @@
+package com.example.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.domain.DotGame;
+
+import akka.javasdk.testkit.TestKitSupport;
+
+public class GameStateToolIntegrationTest extends TestKitSupport {
+
+  @Test
+  void testSecondMoveGetsOnlyTheNewMoves() {
+    var gameId = "tool-cursor-game";
+    var player1 = new DotGame.Player("tool-cursor-agent-1", DotGame.PlayerType.agent, "Agent 1", "model1");
+    var player2 = new DotGame.Player("tool-cursor-agent-2", DotGame.PlayerType.agent, "Agent 2", "model2");
+    var cursors = new ToolCursors(true, 100);
+
+    componentClient.forEventSourcedEntity(gameId)
+        .method(DotGameEntity::createGame)
+        .invoke(new DotGame.Command.CreateGame(gameId, player1, player2, DotGame.Board.Level.one));
+
+    makeMove(gameId, player1.id(), "A1");
+    makeMove(gameId, player2.id(), "E1");
+
+    // each move's agent builds its own tool, only the cursors are shared
+    var firstMove = tool(cursors).getGameState(gameId, player1.id(), false);
+    assertNull(firstMove.earlierMoves());
+    assertEquals(2, firstMove.moveHistory().moves().size());
+
+    makeMove(gameId, player1.id(), "A2");
+    makeMove(gameId, player2.id(), "E2");
+
+    var secondMove = tool(cursors).getGameState(gameId, player1.id(), false);
+    assertNotNull(secondMove.earlierMoves());
+    assertEquals(2, secondMove.earlierMoves().moveCount());
+    assertEquals(List.of("A2", "E2"), secondMove.moveHistory().moves().stream().map(GameStateTool.Move::squareId).toList());
+  }
+
+  GameStateTool tool(ToolCursors cursors) {
+    return new GameStateTool(componentClient, cursors, BoardEncodings.json(), GameProjectionCache.disabled(), Metrics.disabled());
+  }
+
+  void makeMove(String gameId, String playerId, String squareId) {
+    componentClient.forEventSourcedEntity(gameId)
+        .method(DotGameEntity::makeMove)
+        .invoke(new DotGame.Command.MakeMove(gameId, playerId, squareId));
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.domain.DotGame;
+import com.example.domain.GameProjection;
+
+public class GameStateToolTest {
+  static final DotGame.Player player1 = new DotGame.Player("player1", DotGame.PlayerType.agent, "Alice", "model1");
+  static final DotGame.Player player2 = new DotGame.Player("player2", DotGame.PlayerType.agent, "Bob", "model1");
+
+  @Test
+  void testNextMoveGetsOnlyTheNewMoves() {
+    var cursors = new ToolCursors(true, 100);
+    var move1 = GameProjection.of(play(List.of("A1", "E1")));
+    var move2 = GameProjection.of(play(List.of("A1", "E1", "A2", "E2")));
+
+    // every move runs in a new agent with its own tool instance
+    var firstCall = tool(cursors).gameState(move1, player1.id(), false);
+    assertNull(firstCall.earlierMoves());
+    assertEquals(2, firstCall.moveHistory().moves().size());
+
+    var secondCall = tool(cursors).gameState(move2, player1.id(), false);
+    assertNotNull(secondCall.earlierMoves());
+    assertEquals(2, secondCall.earlierMoves().moveCount());
+    assertEquals("A1", secondCall.earlierMoves().yourSquares());
+    assertEquals("E1", secondCall.earlierMoves().opponentSquares());
+    assertEquals(List.of("A2", "E2"), secondCall.moveHistory().moves().stream().map(GameStateTool.Move::squareId).toList());
+
+    var fullRefresh = tool(cursors).gameState(move2, player1.id(), true);
+    assertNull(fullRefresh.earlierMoves());
+    assertEquals(4, fullRefresh.moveHistory().moves().size());
+  }
+
+  static GameStateTool tool(ToolCursors cursors) {
+    return new GameStateTool(null, cursors, BoardEncodings.json(), GameProjectionCache.disabled(), Metrics.disabled());
+  }
+
+  static DotGame.State play(List<String> squareIds) {
+    var created = DotGame.State.empty().onCommand(new DotGame.Command.CreateGame("game-1", player1, player2, DotGame.Board.Level.one));
+    var state = DotGame.State.empty().onEvent((DotGame.Event.GameCreated) created.get());
+
+    for (var squareId : squareIds) {
+      var playerId = state.currentPlayerStatus().get().player().id();
+      for (var event : state.onCommand(new DotGame.Command.MakeMove("game-1", playerId, squareId))) {
+        if (event instanceof DotGame.Event.MoveMade moveMade) {
+          state = state.onEvent(moveMade);
+        }
+      }
+    }
+
+    return state;
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class MetricsTest {
+  final AtomicLong clock = new AtomicLong();
+  final Metrics metrics = new Metrics(true, Duration.ofMinutes(1), clock::get);
+
+  @Test
+  void testTimerQuantilesSumAndCount() {
+    for (var millis = 1; millis <= 100; millis++) {
+      try (var timer = metrics.workflowStep("makeMoveStep")) {
+        clock.addAndGet(Duration.ofMillis(millis).toNanos());
+      }
+    }
+
+    var text = metrics.prometheus();
+    assertTrue(text.contains("# TYPE me_dot_u_dot_workflow_step_duration_seconds summary"));
+    assertEquals(0.05, value(text, "me_dot_u_dot_workflow_step_duration_seconds{step=\"makeMoveStep\",quantile=\"0.5\"}"), 0.001);
+    assertEquals(0.1, value(text, "me_dot_u_dot_workflow_step_duration_seconds{step=\"makeMoveStep\",quantile=\"0.999\"}"), 0.001);
+    assertEquals(5.05, value(text, "me_dot_u_dot_workflow_step_duration_seconds_sum{step=\"makeMoveStep\"}"), 0.0001);
+    assertEquals(100, value(text, "me_dot_u_dot_workflow_step_duration_seconds_count{step=\"makeMoveStep\"}"));
+  }
+
+  @Test
+  void testQuantilesExpireAfterTwoWindowsButCountsDoNot() {
+    try (var timer = metrics.toolCall("MakeMoveTool_makeMove")) {
+      clock.addAndGet(Duration.ofMillis(10).toNanos());
+    }
+
+    var quantile = "me_dot_u_dot_tool_call_duration_seconds{tool=\"MakeMoveTool_makeMove\",quantile=\"0.5\"}";
+    metrics.prometheus();
+    clock.addAndGet(Duration.ofMinutes(1).toNanos());
+    assertEquals(0.01, value(metrics.prometheus(), quantile), 0.001);
+
+    clock.addAndGet(Duration.ofMinutes(1).toNanos());
+    var text = metrics.prometheus();
+    assertTrue(Double.isNaN(value(text, quantile)));
+    assertEquals(1, value(text, "me_dot_u_dot_tool_call_duration_seconds_count{tool=\"MakeMoveTool_makeMove\"}"));
+  }
+
+  @Test
+  void testCountersAndLabelEscaping() {
+    metrics.modelError("gpt-4o", "make-move", new IllegalStateException("boom"));
+    metrics.modelError("gpt-4o", "make-move", new IllegalStateException("boom"));
+    metrics.modelRetry("model \"x\"");
+    metrics.moveForfeit("gpt-4o");
+
+    var text = metrics.prometheus();
+    assertEquals(2, value(text, "me_dot_u_dot_model_errors_total{model=\"gpt-4o\",agent=\"make-move\",error=\"IllegalStateException\"}"));
+    assertEquals(1, value(text, "me_dot_u_dot_model_retries_total{model=\"model \\\"x\\\"\"}"));
+    assertEquals(1, value(text, "me_dot_u_dot_move_forfeits_total{model=\"gpt-4o\"}"));
+  }
+
+  @Test
+  void testDisabledRecordsNothing() {
+    var disabled = Metrics.disabled();
+    try (var timer = disabled.modelCall("gpt-4o", "make-move")) {
+      disabled.moveForfeit("gpt-4o");
+    }
+
+    assertEquals("", disabled.prometheus());
+  }
+
+  static double value(String text, String series) {
+    return text.lines()
+        .filter(line -> line.startsWith(series + " "))
+        .mapToDouble(line -> Double.parseDouble(line.substring(series.length() + 1)))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("Missing series: " + series + "\n" + text));
+  }
+}
@@ -0,0 +1,169 @@
+package com.example.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class ModelRateLimiterTest {
+  final AtomicLong clock = new AtomicLong();
+
+  ModelRateLimiter limiter(int requestsPerMinute, int tokensPerMinute) {
+    return new ModelRateLimiter(
+        true,
+        new ModelRateLimiter.Limits(requestsPerMinute, tokensPerMinute),
+        Map.of(),
+        Duration.ofMinutes(2),
+        Duration.ofSeconds(1),
+        Duration.ofSeconds(4),
+        0,
+        0,
+        Map.of("make-move", 3),
+        clock::get);
+  }
+
+  @Test
+  void testRequestBucketRefillsOverTheMinute() {
+    var limiter = limiter(2, 0);
+    assertEquals(Duration.ZERO, limiter.tryAcquire("model-1", "game-1", "call-1", "review"));
+    assertEquals(Duration.ZERO, limiter.tryAcquire("model-1", "game-2", "call-2", "review"));
+
+    var bucket = limiter.bucket("model-1");
+    assertEquals(TimeUnit.SECONDS.toNanos(30), bucket.waitNanos(clock.get(), 1, 0));
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+    assertTrue(bucket.waitNanos(clock.get(), 1, 0) <= 0);
+    assertEquals(2, limiter.stats().models().get(0).admitted());
+  }
+
+  @Test
+  void testTokenBucketUsesTheLastPromptSize() {
+    var limiter = limiter(0, 1000);
+    var bucket = limiter.bucket("model-1");
+
+    assertEquals(Duration.ZERO, limiter.tryAcquire("model-1", "game-1", "call-1", "review"));
+    limiter.promptBuilt("model-1", "review", "x".repeat(2000)); // 500 tokens settled after admission
+    assertEquals(500.0, limiter.stats().models().get(0).availableTokens());
+
+    assertEquals(Duration.ZERO, limiter.tryAcquire("model-1", "game-1", "call-2", "review")); // charged 500 up front
+    assertEquals(TimeUnit.SECONDS.toNanos(6), bucket.waitNanos(clock.get(), 1, 100));
+
+    limiter.promptBuilt("model-1", "review", "x".repeat(400)); // 100 tokens, 400 refunded
+    assertEquals(400.0, limiter.stats().models().get(0).availableTokens());
+  }
+
+  @Test
+  void testCommandIsChargedForItsExpectedRoundTrips() {
+    var limiter = limiter(4, 0);
+    assertEquals(Duration.ZERO, limiter.tryAcquire("model-1", "game-1", "call-1", "make-move"));
+
+    var bucket = limiter.bucket("model-1");
+    assertEquals(1.0, limiter.stats().models().get(0).availableRequests());
+    assertTrue(bucket.waitNanos(clock.get(), 1, 0) <= 0);
+    assertEquals(TimeUnit.SECONDS.toNanos(30), bucket.waitNanos(clock.get(), 3, 0));
+    assertEquals(1, limiter.roundTrips("unknown-call"));
+  }
+
+  @Test
+  void testTokenEstimateCountsResentHistory() {
+    // 3 round trips of a 500 token prompt, plus 1 + 2 + 3 completions of 100 tokens as the history is resent
+    assertEquals(3 * 500 + 6 * 100, ModelRateLimiter.estimateTokens(3, 100, "x".repeat(2000)));
+    assertEquals(500 + 100, ModelRateLimiter.estimateTokens(1, 100, "x".repeat(2000)));
+  }
+
+  @Test
+  void testBackoffDoublesOnConsecutiveRateLimits() {
+    var limiter = limiter(100, 0);
+    var bucket = limiter.bucket("model-1");
+    var rateLimited = new RuntimeException("Rate limit reached");
+
+    limiter.rateLimited("model-1", rateLimited);
+    assertEquals(1000, limiter.stats().models().get(0).backoffMs());
+
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+    limiter.rateLimited("model-1", rateLimited);
+    assertEquals(2000, limiter.stats().models().get(0).backoffMs());
+
+    limiter.rateLimited("model-1", rateLimited);
+    limiter.rateLimited("model-1", rateLimited);
+    assertEquals(4000, limiter.stats().models().get(0).backoffMs());
+    assertEquals(TimeUnit.SECONDS.toNanos(4), bucket.waitNanos(clock.get(), 1, 0));
+
+    clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+    limiter.rateLimited("model-1", rateLimited);
+    assertEquals(1000, limiter.stats().models().get(0).backoffMs());
+  }
+
+  @Test
+  void testRetryAfterHintOverridesBackoff() {
+    var limiter = limiter(100, 0);
+    limiter.rateLimited("model-1", new RuntimeException("Rate limit reached for requests. Please try again in 7.5s."));
+
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(7500), limiter.bucket("model-1").waitNanos(clock.get(), 1, 0));
+  }
+
+  @Test
+  void testRetryAfterParsing() {
+    assertEquals(Optional.of(Duration.ofMillis(1500)), ModelRateLimiter.retryAfter("Please try again in 1.5s"));
+    assertEquals(Optional.of(Duration.ofMillis(250)), ModelRateLimiter.retryAfter("please try again in 250ms"));
+    assertEquals(Optional.of(Duration.ofSeconds(7)), ModelRateLimiter.retryAfter("429 Too Many Requests, Retry-After: 7"));
+    assertEquals(Optional.empty(), ModelRateLimiter.retryAfter("Rate limit reached"));
+    assertEquals(Optional.empty(), ModelRateLimiter.retryAfter(null));
+  }
+
+  @Test
+  void testDeferredCallKeepsItsPlaceWithoutBeingCharged() {
+    var limiter = limiter(1, 0);
+    assertEquals(Duration.ZERO, limiter.tryAcquire("model-1", "game-1", "call-1", "review"));
+
+    assertEquals(Duration.ofSeconds(60), limiter.tryAcquire("model-1", "game-2", "call-2", "review"));
+    assertEquals(Duration.ofSeconds(60), limiter.tryAcquire("model-1", "game-3", "call-3", "review"));
+    assertEquals(2, limiter.stats().models().get(0).waiting());
+    assertEquals(0.0, limiter.stats().models().get(0).availableRequests());
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+    assertTrue(limiter.tryAcquire("model-1", "game-3", "call-3", "review").isPositive());
+    assertEquals(Duration.ZERO, limiter.tryAcquire("model-1", "game-2", "call-2", "review"));
+    assertEquals(2, limiter.stats().models().get(0).admitted());
+    assertEquals(3, limiter.stats().models().get(0).deferred());
+  }
+
+  @Test
+  void testCallerThatStopsAskingLosesItsPlace() {
+    var limiter = limiter(1, 0);
+    assertEquals(Duration.ZERO, limiter.tryAcquire("model-1", "game-1", "call-1", "review"));
+    assertTrue(limiter.tryAcquire("model-1", "game-2", "call-2", "review").isPositive());
+
+    clock.addAndGet(TimeUnit.MINUTES.toNanos(5));
+    assertEquals(Duration.ZERO, limiter.tryAcquire("model-1", "game-3", "call-3", "review"));
+    assertEquals(0, limiter.stats().models().get(0).waiting());
+  }
+
+  @Test
+  void testWaitingCallsAreAdmittedRoundRobinAcrossGames() {
+    var bucket = limiter(1, 0).bucket("model-1");
+    var game1First = new ModelRateLimiter.Waiter("call-1", "game-1", 0);
+    var game1Second = new ModelRateLimiter.Waiter("call-2", "game-1", 0);
+    var game2First = new ModelRateLimiter.Waiter("call-3", "game-2", 0);
+
+    bucket.enqueue(game1First);
+    bucket.enqueue(game1Second);
+    bucket.enqueue(game2First);
+
+    assertTrue(bucket.isNext(game1First));
+    bucket.dequeue(game1First);
+
+    assertTrue(bucket.isNext(game2First));
+    assertFalse(bucket.isNext(game1Second));
+    bucket.dequeue(game2First);
+
+    assertTrue(bucket.isNext(game1Second));
+  }
+}
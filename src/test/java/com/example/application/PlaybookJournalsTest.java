@@ -0,0 +1,48 @@
+package com.example.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.domain.PlaybookJournal;
+
+public class PlaybookJournalsTest {
+  final PlaybookJournals journals = new PlaybookJournals(null, 5);
+  final Instant updatedAt = Instant.now();
+
+  @Test
+  void testDiffEntryIsRebuiltFromItsCheckpoint() {
+    var checkpoint = checkpoint(1, "first line\n");
+    var delta = delta(2, 1, "first line\n", "first line\nsecond line\n");
+
+    var rebuilt = journals.rebuild(delta, PlaybookJournals.entries(List.of(checkpoint, delta)));
+
+    assertTrue(rebuilt.isPresent());
+    assertEquals("first line\nsecond line\n", rebuilt.get().instructions());
+    assertTrue(rebuilt.get().isCheckpoint());
+  }
+
+  @Test
+  void testDiffEntryWithoutItsBaseIsUnresolved() {
+    var delta = delta(2, 1, "first line\n", "first line\nsecond line\n");
+
+    var rebuilt = journals.rebuild(delta, PlaybookJournals.entries(List.of(delta)));
+
+    assertTrue(rebuilt.isEmpty());
+  }
+
+  PlaybookJournalView.JournalRow checkpoint(long sequenceId, String instructions) {
+    return new PlaybookJournalView.JournalRow(
+        "agent:" + sequenceId, "agent", sequenceId, instructions, updatedAt, 0, sequenceId, 0, List.of(), instructions.length());
+  }
+
+  PlaybookJournalView.JournalRow delta(long sequenceId, long baseSequenceId, String base, String instructions) {
+    return new PlaybookJournalView.JournalRow(
+        "agent:" + sequenceId, "agent", sequenceId, "", updatedAt, baseSequenceId, baseSequenceId, 1,
+        PlaybookJournal.diff(base, instructions), instructions.length());
+  }
+}
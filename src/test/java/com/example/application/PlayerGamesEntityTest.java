@@ -36,6 +36,28 @@ public class PlayerGamesEntityTest {
     assertEquals(command.playerId(), state.playerId());
   }
 
+  @Test
+  void testRecordRating() {
+    var testKit = EventSourcedTestKit.of(PlayerGamesEntity::new);
+    assertEquals(PlayerGames.initialRating, testKit.method(PlayerGamesEntity::getRating).invoke().getReply().rating());
+
+    var command = new PlayerGames.Command.RecordRating("player1", "game1", 1516.0);
+    var result = testKit.method(PlayerGamesEntity::recordRating).invoke(command);
+    assertEquals(1, result.getAllEvents().size());
+
+    var duplicate = testKit.method(PlayerGamesEntity::recordRating).invoke(command);
+    assertTrue(duplicate.getAllEvents().isEmpty());
+
+    var rating = testKit.getState().rating();
+    assertEquals(1516.0, rating.rating());
+    assertEquals(1, rating.ratedGames());
+    assertEquals("game1", rating.lastRatedGameId());
+
+    var addGame = testKit.method(PlayerGamesEntity::addGame).invoke(new PlayerGames.Command.AddGame("player1", "game1", GameStats.playerWins()));
+    assertEquals(1, addGame.getAllEvents().size());
+    assertEquals(rating, testKit.getState().rating());
+  }
+
   @Test
   void testAddGameToBranch() {
     var testKit = EventSourcedTestKit.of(PlayerGamesEntity::new);
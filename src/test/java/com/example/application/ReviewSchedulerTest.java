@@ -0,0 +1,127 @@
+package com.example.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+public class ReviewSchedulerTest {
+  final Supplier<Duration> admitted = () -> Duration.ZERO;
+
+  @Test
+  void testReviewWaitsForLiveMove() {
+    var scheduler = new ReviewScheduler(true, 1, 1, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    var called = new AtomicBoolean();
+
+    var duringLiveMove = scheduler.live("model-1", () -> scheduler.tryReview("model-1", "review-1", admitted, () -> called.getAndSet(true)));
+
+    assertTrue(duringLiveMove.isDeferred());
+    assertEquals(Duration.ofSeconds(5), duringLiveMove.retryAfter());
+    assertFalse(called.get());
+    assertEquals(1, scheduler.stats().models().get(0).reviewsQueued());
+
+    assertEquals(Optional.of("reviewed"), scheduler.tryReview("model-1", "review-1", admitted, () -> "reviewed").result());
+
+    var stats = scheduler.stats().models().get(0);
+    assertEquals(0, stats.reviewsQueued());
+    assertEquals(1, stats.reviewsDeferred());
+    assertEquals(0, stats.reviewsStartedAfterMaxWait());
+  }
+
+  @Test
+  void testReviewsRunOneAtATimePerModel() {
+    var scheduler = new ReviewScheduler(true, 1, 1, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+    var first = scheduler.tryReview("model-1", "review-1", admitted, () -> {
+      assertTrue(scheduler.tryReview("model-1", "review-2", admitted, () -> true).isDeferred());
+      assertEquals(Optional.of(true), scheduler.tryReview("model-2", "review-3", admitted, () -> true).result());
+      return true;
+    });
+
+    assertEquals(Optional.of(true), first.result());
+    assertEquals(Optional.of(true), scheduler.tryReview("model-1", "review-2", admitted, () -> true).result());
+
+    var stats = scheduler.stats().models().get(0);
+    assertEquals("model-1", stats.model());
+    assertEquals(2, stats.reviewsCompleted());
+    assertEquals(1, stats.maxQueueDepth());
+  }
+
+  @Test
+  void testReviewStartsAfterMaxQueueWait() throws Exception {
+    var scheduler = new ReviewScheduler(true, 1, 1, Duration.ofMillis(50), Duration.ofSeconds(5));
+
+    var review = scheduler.live("model-1", () -> {
+      assertTrue(scheduler.tryReview("model-1", "review-1", admitted, () -> "reviewed").isDeferred());
+      sleep(Duration.ofMillis(60));
+      return scheduler.tryReview("model-1", "review-1", admitted, () -> "reviewed");
+    });
+
+    assertEquals(Optional.of("reviewed"), review.result());
+    assertEquals(1, scheduler.stats().models().get(0).reviewsStartedAfterMaxWait());
+  }
+
+  @Test
+  void testDeferredReviewKeepsItsPlaceInLine() {
+    var scheduler = new ReviewScheduler(true, 1, 1, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+    scheduler.live("model-1", () -> {
+      assertTrue(scheduler.tryReview("model-1", "review-1", admitted, () -> 1).isDeferred());
+      assertTrue(scheduler.tryReview("model-1", "review-2", admitted, () -> 2).isDeferred());
+      return true;
+    });
+
+    assertTrue(scheduler.tryReview("model-1", "review-2", admitted, () -> 2).isDeferred());
+    assertEquals(Optional.of(1), scheduler.tryReview("model-1", "review-1", admitted, () -> 1).result());
+    assertEquals(Optional.of(2), scheduler.tryReview("model-1", "review-2", admitted, () -> 2).result());
+
+    var stats = scheduler.stats().models().get(0);
+    assertEquals(3, stats.reviewsDeferred());
+    assertEquals(2, stats.reviewsCompleted());
+    assertEquals(2, stats.maxQueueDepth());
+  }
+
+  @Test
+  void testReviewThatStopsAskingLosesItsPlace() {
+    var scheduler = new ReviewScheduler(true, 1, 1, Duration.ofMinutes(1), Duration.ofMillis(10));
+
+    scheduler.live("model-1", () -> {
+      assertTrue(scheduler.tryReview("model-1", "review-1", admitted, () -> 1).isDeferred());
+      assertTrue(scheduler.tryReview("model-1", "review-2", admitted, () -> 2).isDeferred());
+      return true;
+    });
+    sleep(Duration.ofMillis(60));
+
+    assertEquals(Optional.of(2), scheduler.tryReview("model-1", "review-2", admitted, () -> 2).result());
+    assertEquals(Optional.of(1), scheduler.tryReview("model-1", "review-1", admitted, () -> 1).result());
+  }
+
+  @Test
+  void testReviewWaitsForAdmissionAtTheFrontOfTheLine() {
+    var scheduler = new ReviewScheduler(true, 1, 1, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    var called = new AtomicBoolean();
+
+    var rateLimited = scheduler.tryReview("model-1", "review-1", () -> Duration.ofSeconds(30), () -> called.getAndSet(true));
+    assertTrue(rateLimited.isDeferred());
+    assertEquals(Duration.ofSeconds(30), rateLimited.retryAfter());
+    assertFalse(called.get());
+
+    assertTrue(scheduler.tryReview("model-1", "review-2", admitted, () -> 2).isDeferred());
+    assertEquals(Optional.of(false), scheduler.tryReview("model-1", "review-1", admitted, () -> called.getAndSet(true)).result());
+    assertTrue(called.get());
+  }
+
+  static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration);
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
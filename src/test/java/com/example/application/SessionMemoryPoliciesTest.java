@@ -0,0 +1,82 @@
+package com.example.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+import akka.javasdk.agent.SessionMessage;
+
+public class SessionMemoryPoliciesTest {
+  static final Instant now = Instant.now();
+  static final String componentId = "agent-player-playbook-review-agent";
+
+  @Test
+  void testHistoryWithinBudgetIsUnchanged() {
+    var messages = interaction("review", 100);
+
+    assertSame(messages, SessionMemoryPolicies.bound(messages, new SessionMemoryPolicies.Policy(10_000, 0, 2, 50)));
+  }
+
+  @Test
+  void testOlderToolResponsesAreSummarizedAndLastMessagesKeptVerbatim() {
+    var messages = new ArrayList<SessionMessage>();
+    messages.addAll(interaction("first attempt", 5_000));
+    messages.addAll(interaction("retry", 5_000));
+
+    var bounded = SessionMemoryPolicies.bound(messages, new SessionMemoryPolicies.Policy(8_000, 0, 4, 50));
+
+    assertEquals(messages.size(), bounded.size());
+    assertTrue(bounded.get(2).text().startsWith("[summarized MoveHistoryTool_getMoveHistory response, 5000 bytes"));
+    assertSame(messages.get(6), bounded.get(6));
+    assertTrue(SessionMemoryPolicies.bytes(bounded) <= 8_000);
+  }
+
+  @Test
+  void testOldestInteractionsAreLeftOutWhenSummariesAreNotEnough() {
+    var messages = new ArrayList<SessionMessage>();
+    messages.addAll(interaction("first attempt", 5_000));
+    messages.addAll(interaction("second attempt", 5_000));
+    messages.addAll(interaction("third attempt", 5_000));
+
+    // a 1000 token budget is 4000 bytes, below the size of the last interaction's summarized history
+    var bounded = SessionMemoryPolicies.bound(messages, new SessionMemoryPolicies.Policy(1_000_000, 1_000, 4, 3_000));
+
+    assertEquals(4, bounded.size());
+    assertTrue(bounded.get(0) instanceof SessionMessage.UserMessage);
+    assertTrue(bounded.get(0).text().startsWith("[8 earlier session messages"));
+    assertTrue(bounded.get(0).text().endsWith("third attempt"));
+  }
+
+  @Test
+  void testPoliciesFromConfigFallBackToDefaults() {
+    var config = ConfigFactory.parseString("""
+        agent-player.session-memory {
+          enabled = true
+          default { max-bytes = 1 KiB, max-tokens = 100, keep-last = 6, summary-chars = 200 }
+          agents { "agent-player-playbook-review-agent" { keep-last = 2 } }
+        }
+        """);
+    var policies = SessionMemoryPolicies.fromConfig(config);
+
+    assertEquals(new SessionMemoryPolicies.Policy(1024, 100, 2, 200), policies.policyFor(componentId).get());
+    assertTrue(policies.policyFor("agent-player-make-move-agent").isEmpty());
+    assertTrue(SessionMemoryPolicies.disabled().policyFor(componentId).isEmpty());
+  }
+
+  static List<SessionMessage> interaction(String prompt, int toolResponseBytes) {
+    var toolCall = new SessionMessage.ToolCallRequest("call-" + prompt, "MoveHistoryTool_getMoveHistory", "{}");
+    return List.of(
+        new SessionMessage.UserMessage(now, prompt, componentId),
+        new SessionMessage.AiMessage(now, "", componentId, List.of(toolCall)),
+        new SessionMessage.ToolCallResponse(now, componentId, toolCall.id(), toolCall.name(), "x".repeat(toolResponseBytes)),
+        new SessionMessage.AiMessage(now, "review done", componentId, List.of()));
+  }
+}
@@ -0,0 +1,54 @@
+package com.example.domain;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Prints the JSON size and serialization time of the full and compact forms of a played out level nine game. Not part
+ * of mvn test, run it with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class CompactGameStateBenchmarkTest {
+  static final ObjectMapper om = new ObjectMapper()
+      .findAndRegisterModules()
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  static final int warmupIterations = 20_000;
+  static final int iterations = 20_000;
+
+  @Test
+  void serializeLevelNineGame() throws JsonProcessingException {
+    var state = RandomGames.playOut(DotGame.Board.Level.nine, new Random(7));
+
+    var full = om.writeValueAsString(state);
+    var compact = om.writeValueAsString(CompactGameState.of(state));
+    var fullNanos = time(() -> om.writeValueAsString(state));
+    var compactNanos = time(() -> om.writeValueAsString(CompactGameState.of(state)));
+
+    System.out.printf("level nine, seed 7, %d moves, mean of %,d serializations after %,d warm-up%n",
+        state.moveHistory().size(), iterations, warmupIterations);
+    System.out.printf("  full     %,7d bytes %,6.1f us%n", full.length(), fullNanos / 1_000.0);
+    System.out.printf("  compact  %,7d bytes %,6.1f us (including the conversion)%n", compact.length(), compactNanos / 1_000.0);
+  }
+
+  interface Serialization {
+    String run() throws JsonProcessingException;
+  }
+
+  // mean nanos per serialization
+  static double time(Serialization serialization) throws JsonProcessingException {
+    for (var i = 0; i < warmupIterations; i++) {
+      serialization.run();
+    }
+    var start = System.nanoTime();
+    for (var i = 0; i < iterations; i++) {
+      serialization.run();
+    }
+    return (System.nanoTime() - start) / (double) iterations;
+  }
+}
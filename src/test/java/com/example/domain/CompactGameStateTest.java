@@ -0,0 +1,54 @@
+package com.example.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+public class CompactGameStateTest {
+  static final ObjectMapper om = new ObjectMapper()
+      .findAndRegisterModules()
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  @Test
+  void testRoundTripOfPartlyPlayedGame() {
+    var state = ForcedMoveTest.play(DotGame.Board.Level.one, List.of(
+        "A1", "E1",
+        "A2", "E2",
+        "A3", "E3",
+        "B2", "D2"));
+
+    assertEquals(state, CompactGameState.of(state).toState());
+  }
+
+  @Test
+  void testRoundTripOfEmptyState() {
+    var state = DotGame.State.empty();
+
+    assertEquals(state, CompactGameState.of(state).toState());
+  }
+
+  @Test
+  void testRoundTripOfFinishedLevelNineGame() {
+    var state = RandomGames.playOut(DotGame.Board.Level.nine, new Random(7));
+
+    assertEquals(state, CompactGameState.of(state).toState());
+  }
+
+  @Test
+  void testCompactFormIsSmallerThanTheFullForm() throws JsonProcessingException {
+    var state = RandomGames.playOut(DotGame.Board.Level.nine, new Random(7));
+
+    var full = om.writeValueAsString(state);
+    var compact = om.writeValueAsString(CompactGameState.of(state));
+
+    assertTrue(compact.length() * 3 < full.length(), "compact %d bytes, full %d bytes".formatted(compact.length(), full.length()));
+  }
+}
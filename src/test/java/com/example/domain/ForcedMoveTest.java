@@ -0,0 +1,113 @@
+package com.example.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class ForcedMoveTest {
+  static final DotGame.Player player1 = new DotGame.Player("player1", DotGame.PlayerType.agent, "Alice", "model1");
+  static final DotGame.Player player2 = new DotGame.Player("player2", DotGame.PlayerType.agent, "Bob", "model1");
+
+  @Test
+  void testNoForcedMoveOnEmptyBoard() {
+    var state = play(DotGame.Board.Level.one, List.of());
+
+    assertTrue(ForcedMove.find(state, player1.id()).isEmpty());
+  }
+
+  @Test
+  void testNoForcedMoveWhenNotPlayersTurn() {
+    var state = play(DotGame.Board.Level.one, List.of(
+        "A5", "B1",
+        "E1", "B2",
+        "E5", "B4",
+        "A1", "B5"));
+
+    assertTrue(ForcedMove.find(state, player2.id()).isEmpty());
+  }
+
+  @Test
+  void testWinningMoveBeforeBlockingMove() {
+    // _____ 1 __ 2 __ 3 __ 4 __ 5
+    // A | p1 | p1 | __ | p1 | p1 |
+    // B | __ | __ | __ | __ | __ |
+    // C | __ | __ | __ | __ | __ |
+    // D | __ | __ | __ | __ | __ |
+    // E | p2 | p2 | __ | p2 | p2 |
+    var state = play(DotGame.Board.Level.one, List.of(
+        "A1", "E1",
+        "A2", "E2",
+        "A4", "E4",
+        "A5", "E5"));
+
+    var forcedMove = ForcedMove.find(state, player1.id());
+
+    assertTrue(forcedMove.isPresent());
+    assertEquals("A3", forcedMove.get().squareId());
+    assertEquals(ForcedMove.Reason.winning_move, forcedMove.get().reason());
+  }
+
+  @Test
+  void testBlockingMove() {
+    // _____ 1 __ 2 __ 3 __ 4 __ 5
+    // A | __ | __ | p1 | __ | __ |
+    // B | p2 | p2 | __ | p2 | p2 |
+    // C | __ | __ | p1 | __ | __ |
+    // D | __ | __ | __ | __ | __ |
+    // E | p1 | __ | __ | __ | p1 |
+    var state = play(DotGame.Board.Level.one, List.of(
+        "A3", "B1",
+        "C3", "B2",
+        "E1", "B4",
+        "E5", "B5"));
+
+    var forcedMove = ForcedMove.find(state, player1.id());
+
+    assertTrue(forcedMove.isPresent());
+    assertEquals("B3", forcedMove.get().squareId());
+    assertEquals(ForcedMove.Reason.blocking_move, forcedMove.get().reason());
+  }
+
+  @Test
+  void testNoForcedMoveWhenOpponentHasTwoWinningMoves() {
+    // _____ 1 __ 2 __ 3 __ 4 __ 5
+    // A | p1 | __ | p1 | __ | p1 |
+    // B | p2 | p2 | __ | p2 | p2 |
+    // C | p1 | __ | __ | __ | p1 |
+    // D | p2 | p2 | __ | p2 | p2 |
+    // E | p1 | __ | p1 | __ | p1 |
+    var state = play(DotGame.Board.Level.one, List.of(
+        "A1", "B1",
+        "A5", "B2",
+        "E1", "B4",
+        "E5", "B5",
+        "C1", "D1",
+        "C5", "D2",
+        "A3", "D4",
+        "E3", "D5"));
+
+    assertTrue(ForcedMove.find(state, player1.id()).isEmpty());
+  }
+
+  static DotGame.State play(DotGame.Board.Level level, List<String> squareIds) {
+    var created = DotGame.State.empty().onCommand(new DotGame.Command.CreateGame("game-1", player1, player2, level));
+    var state = DotGame.State.empty().onEvent((DotGame.Event.GameCreated) created.get());
+
+    for (var i : IntStream.range(0, squareIds.size()).boxed().toList()) {
+      var playerId = i % 2 == 0 ? player1.id() : player2.id();
+      for (var event : state.onCommand(new DotGame.Command.MakeMove("game-1", playerId, squareIds.get(i)))) {
+        state = switch (event) {
+          case DotGame.Event.MoveMade e -> state.onEvent(e);
+          case DotGame.Event.GameFinished e -> state.onEvent(e);
+          default -> state;
+        };
+      }
+    }
+
+    return state;
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+public class GameProjectionTest {
+
+  @Test
+  void testScoringMovesIndexMatchesScanOfBothPlayers() {
+    var state = ForcedMoveTest.play(DotGame.Board.Level.one, List.of(
+        "A1", "E1",
+        "A2", "E2",
+        "A3", "E3",
+        "B2", "D2"));
+    var projection = GameProjection.of(state);
+
+    for (var move : state.moveHistory()) {
+      var scanned = Stream.concat(
+          state.player1Status().scoringMoves().scoringMoves().stream(),
+          state.player2Status().scoringMoves().scoringMoves().stream())
+          .filter(scoringMove -> scoringMove.move().squareId().equals(move.squareId()))
+          .toList();
+
+      assertEquals(scanned, projection.scoringMovesAt(move.squareId()));
+      assertEquals(scanned.stream().mapToInt(DotGame.ScoringMove::score).sum(), projection.moveScoreAt(move.squareId()));
+    }
+    assertEquals(List.of(), projection.scoringMovesAt("C5"));
+  }
+
+  @Test
+  void testVersionChangesWithEachMove() {
+    var before = ForcedMoveTest.play(DotGame.Board.Level.one, List.of("A1", "E1"));
+    var after = ForcedMoveTest.play(DotGame.Board.Level.one, List.of("A1", "E1", "A2"));
+
+    assertNotEquals(GameProjection.versionOf(before), GameProjection.versionOf(after));
+    assertFalse(GameProjection.of(after).isSettled());
+  }
+}
@@ -0,0 +1,72 @@
+package com.example.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+public class ModelAnalyticsTest {
+  static final DotGame.Board.Level level = DotGame.Board.Level.one;
+
+  @Test
+  void testRecordGameUpdatesLevelStats() {
+    var state = ModelAnalytics.State.empty();
+    state = record(state, "game-1", "agent-1", ModelAnalytics.Outcome.won, List.of(1000L, 2000L, 3000L));
+    state = record(state, "game-2", "agent-1", ModelAnalytics.Outcome.lost, List.of(4000L));
+
+    var summary = state.levelStats(level).summary();
+    assertEquals("model1", state.model());
+    assertEquals(2, summary.games());
+    assertEquals(0.5, summary.winRate());
+    assertEquals(2.0, summary.averageMovesPerGame());
+    assertEquals(2500, summary.thinkMsMean());
+    assertEquals(4000, summary.thinkMsMax());
+  }
+
+  @Test
+  void testDuplicateGameIsIgnoredButSelfPlayCountsBothPlayers() {
+    var state = record(ModelAnalytics.State.empty(), "game-1", "agent-1", ModelAnalytics.Outcome.won, List.of(1000L));
+
+    assertTrue(state.onCommand(recordGame("game-1", "agent-1", ModelAnalytics.Outcome.won, List.of(1000L))).isEmpty());
+
+    state = record(state, "game-1", "agent-2", ModelAnalytics.Outcome.lost, List.of(1000L));
+    assertEquals(2, state.levelStats(level).games());
+  }
+
+  @Test
+  void testForfeitRate() {
+    var state = record(ModelAnalytics.State.empty(), "game-1", "agent-1", ModelAnalytics.Outcome.draw, List.of(1L, 2L, 3L));
+    var forfeit = new ModelAnalytics.Command.RecordForfeit("model1", "game-1:7", "game-1", level);
+
+    state = state.onEvent((ModelAnalytics.Event.ForfeitRecorded) state.onCommand(forfeit).get());
+
+    assertEquals(0.25, state.levelStats(level).summary().forfeitRate());
+    assertTrue(state.onCommand(forfeit).isEmpty());
+  }
+
+  @Test
+  void testSketchQuantilesAreWithinRelativeError() {
+    var sketch = ModelAnalytics.ThinkTimeSketch.empty();
+    for (var ms : LongStream.rangeClosed(1, 10_000).toArray()) {
+      sketch = sketch.add(ms);
+    }
+
+    assertEquals(5000, sketch.quantile(0.5), 5000 * 0.05);
+    assertEquals(9000, sketch.quantile(0.9), 9000 * 0.05);
+    assertEquals(9900, sketch.quantile(0.99), 9900 * 0.05);
+    assertEquals(10_000, sketch.quantile(1.0));
+    assertTrue(sketch.buckets().size() < 100);
+  }
+
+  static ModelAnalytics.State record(ModelAnalytics.State state, String gameId, String playerId, ModelAnalytics.Outcome outcome, List<Long> thinkMs) {
+    var event = (ModelAnalytics.Event.GameRecorded) state.onCommand(recordGame(gameId, playerId, outcome, thinkMs)).get();
+    return state.onEvent(event);
+  }
+
+  static ModelAnalytics.Command.RecordGame recordGame(String gameId, String playerId, ModelAnalytics.Outcome outcome, List<Long> thinkMs) {
+    return new ModelAnalytics.Command.RecordGame("model1", gameId, playerId, level, outcome, thinkMs);
+  }
+}
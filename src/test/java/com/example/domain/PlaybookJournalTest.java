@@ -0,0 +1,72 @@
+package com.example.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PlaybookJournalTest {
+
+  @Test
+  void testDiffAndApplyRoundTrip() {
+    var base = "# Playbook\n\n1. Take corners\n2. Block lines\n3. Avoid edges\n";
+    var target = "# Playbook\n\n1. Take corners first\n2. Block lines\n3. Avoid edges\n4. Count squares\n";
+
+    var edits = PlaybookJournal.diff(base, target);
+
+    assertEquals(target, PlaybookJournal.apply(base, edits));
+    assertEquals(2, edits.size());
+    assertTrue(PlaybookJournal.size(edits) < target.length());
+  }
+
+  @Test
+  void testIdenticalAndEmptyTexts() {
+    assertTrue(PlaybookJournal.diff("same\ntext", "same\ntext").isEmpty());
+    assertEquals("new", PlaybookJournal.apply("", PlaybookJournal.diff("", "new")));
+    assertEquals("", PlaybookJournal.apply("old\nlines\n", PlaybookJournal.diff("old\nlines\n", "")));
+  }
+
+  @Test
+  void testRandomEditsRoundTrip() {
+    var random = new Random(42);
+    var lines = new ArrayList<String>();
+    for (var i = 0; i < 50; i++) {
+      lines.add("line " + random.nextInt(20));
+    }
+
+    for (var round = 0; round < 100; round++) {
+      var base = String.join("\n", lines);
+      for (var change = 0; change < 3; change++) {
+        var index = random.nextInt(lines.size());
+        switch (random.nextInt(3)) {
+          case 0 -> lines.remove(index);
+          case 1 -> lines.add(index, "added " + round);
+          default -> lines.set(index, "changed " + round);
+        }
+      }
+      var target = String.join("\n", lines);
+
+      assertEquals(target, PlaybookJournal.apply(base, PlaybookJournal.diff(base, target)));
+    }
+  }
+
+  @Test
+  void testReconstructFollowsBaseLinksFromCheckpoint() {
+    var v1 = "a\nb\nc";
+    var v2 = "a\nB\nc";
+    var v3 = "a\nB\nc\nd";
+    var entries = List.of(
+        new PlaybookJournal.Entry(1, v1, 0, List.of()),
+        new PlaybookJournal.Entry(2, "", 1, PlaybookJournal.diff(v1, v2)),
+        new PlaybookJournal.Entry(3, "", 2, PlaybookJournal.diff(v2, v3)));
+
+    assertEquals(Optional.of(v3), PlaybookJournal.reconstruct(3, entries));
+    assertEquals(Optional.of(v2), PlaybookJournal.reconstruct(2, entries));
+    assertEquals(Optional.empty(), PlaybookJournal.reconstruct(3, entries.subList(1, 3)));
+  }
+}
@@ -0,0 +1,50 @@
+package com.example.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class PositionKeyTest {
+  static final DotGame.Board.Level level = DotGame.Board.Level.one;
+
+  @Test
+  void testSymmetricPositionsShareKey() {
+    var topLeft = PositionKey.of(level, List.of(new DotGame.Move("A1", "agent"), new DotGame.Move("B3", "opponent")), "agent", "model", 0, 0, 1L, 2L);
+    var bottomRight = PositionKey.of(level, List.of(new DotGame.Move("E5", "agent"), new DotGame.Move("D3", "opponent")), "agent", "model", 0, 0, 1L, 2L);
+    var transposed = PositionKey.of(level, List.of(new DotGame.Move("A1", "agent"), new DotGame.Move("C2", "opponent")), "agent", "model", 0, 0, 1L, 2L);
+
+    assertEquals(topLeft.key(), bottomRight.key());
+    assertEquals(topLeft.key(), transposed.key());
+  }
+
+  @Test
+  void testKeyIncludesPlayerModelScoresAndVersions() {
+    var moves = List.of(new DotGame.Move("A1", "agent"), new DotGame.Move("B3", "opponent"));
+    var key = PositionKey.of(level, moves, "agent", "model", 0, 0, 1L, 2L);
+
+    assertNotEquals(key.key(), PositionKey.of(level, moves, "opponent", "model", 0, 0, 1L, 2L).key());
+    assertNotEquals(key.key(), PositionKey.of(level, moves, "agent", "other-model", 0, 0, 1L, 2L).key());
+    assertNotEquals(key.key(), PositionKey.of(level, moves, "agent", "model", 1, 0, 1L, 2L).key());
+    assertNotEquals(key.key(), PositionKey.of(level, moves, "agent", "model", 0, 0, 3L, 2L).key());
+    assertNotEquals(key.key(), PositionKey.of(level, moves, "agent", "model", 0, 0, 1L, 3L).key());
+  }
+
+  @Test
+  void testCanonicalSquaresMapBackToTheBoard() {
+    var topLeft = PositionKey.of(level, List.of(new DotGame.Move("A1", "agent"), new DotGame.Move("B3", "opponent")), "agent", "model", 0, 0, 1L, 2L);
+    var bottomRight = PositionKey.of(level, List.of(new DotGame.Move("E5", "agent"), new DotGame.Move("D3", "opponent")), "agent", "model", 0, 0, 1L, 2L);
+
+    var canonical = topLeft.toCanonical("B2");
+
+    assertEquals("B2", topLeft.fromCanonical(canonical));
+    assertEquals("D4", bottomRight.fromCanonical(canonical));
+
+    for (var symmetry = 0; symmetry < 8; symmetry++) {
+      var key = new PositionKey("", DotGame.Board.Level.three, symmetry);
+      assertEquals("C7", key.fromCanonical(key.toCanonical("C7")));
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.domain;
+
+import java.util.Random;
+
+/** Games played with random moves for tests that need a realistic state of a given size. */
+public class RandomGames {
+  public static final DotGame.Player player1 = new DotGame.Player("agent-1", DotGame.PlayerType.agent, "Agent 1", "model-1");
+  public static final DotGame.Player player2 = new DotGame.Player("agent-2", DotGame.PlayerType.agent, "Agent 2", "model-2");
+
+  // plays random moves until the move count is reached or the game is over
+  public static DotGame.State play(DotGame.Board.Level level, int moves, Random random) {
+    var created = DotGame.State.empty().onCommand(new DotGame.Command.CreateGame("game-1", player1, player2, level));
+    var state = DotGame.State.empty().onEvent((DotGame.Event.GameCreated) created.get());
+
+    while (state.status() == DotGame.Status.in_progress && state.moveHistory().size() < moves) {
+      var available = state.board().squares().stream().filter(square -> square.playerId().isEmpty()).toList();
+      var squareId = available.get(random.nextInt(available.size())).squareId();
+      var playerId = state.currentPlayerStatus().get().player().id();
+
+      for (var event : state.onCommand(new DotGame.Command.MakeMove("game-1", playerId, squareId))) {
+        state = switch (event) {
+          case DotGame.Event.MoveMade e -> state.onEvent(e);
+          case DotGame.Event.GameFinished e -> state.onEvent(e);
+          default -> state;
+        };
+      }
+    }
+
+    return state;
+  }
+
+  public static DotGame.State playOut(DotGame.Board.Level level, Random random) {
+    return play(level, Integer.MAX_VALUE, random);
+  }
+}
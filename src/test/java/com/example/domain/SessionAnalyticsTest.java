@@ -0,0 +1,43 @@
+package com.example.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+public class SessionAnalyticsTest {
+  final Instant now = Instant.now();
+
+  @Test
+  void testSessionIdIsSplitIntoGameAgentAndSession() {
+    var session = SessionAnalytics.Session.of("game-1/agent-1/move-3", now);
+
+    assertEquals("game-1", session.gameId());
+    assertEquals("agent-1", session.agentId());
+    assertEquals("move-3", session.session());
+    assertEquals("", SessionAnalytics.Session.of("other", now).agentId());
+  }
+
+  @Test
+  void testCountsHistoryGrowthAndTokenEstimates() {
+    var session = SessionAnalytics.Session.of("game-1/agent-1/move-1", now)
+        .onUserMessage(400, now)
+        .onAiMessage(40, 440, 1, now)
+        .onToolResponse(800, now)
+        .onAiMessage(80, 1320, 0, now);
+
+    assertEquals(1, session.userMessages());
+    assertEquals(2, session.aiMessages());
+    assertEquals(1, session.toolCalls());
+    assertEquals(1, session.toolResponses());
+    assertEquals(1320, session.messageBytes());
+    assertEquals(1320, session.historySizeInBytes());
+    assertEquals((400 + 1240) / 4, session.inputTokenEstimate());
+    assertEquals((40 + 80) / 4, session.outputTokenEstimate());
+
+    var cleared = session.onHistoryCleared(now);
+    assertEquals(0, cleared.historySizeInBytes());
+    assertEquals(1320, cleared.maxHistorySizeInBytes());
+  }
+}
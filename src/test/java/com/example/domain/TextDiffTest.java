@@ -0,0 +1,94 @@
+package com.example.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class TextDiffTest {
+
+  @Test
+  void testWordDiff() {
+    var parts = TextDiff.diff("Take the corners first", "Take the edges first", TextDiff.Mode.word);
+
+    assertEquals(List.of(
+        new TextDiff.Part("Take the ", false, false),
+        new TextDiff.Part("corners", false, true),
+        new TextDiff.Part("edges", true, false),
+        new TextDiff.Part(" first", false, false)), parts);
+  }
+
+  @Test
+  void testLineDiff() {
+    var parts = TextDiff.diff("a\nb\nc\n", "a\nc\nd\n", TextDiff.Mode.line);
+
+    assertEquals(List.of(
+        new TextDiff.Part("a\n", false, false),
+        new TextDiff.Part("b\n", false, true),
+        new TextDiff.Part("c\n", false, false),
+        new TextDiff.Part("d\n", true, false)), parts);
+  }
+
+  @Test
+  void testIdenticalAndEmptyTexts() {
+    assertEquals(List.of(new TextDiff.Part("same text", false, false)), TextDiff.diff("same text", "same text", TextDiff.Mode.word));
+    assertEquals(List.of(new TextDiff.Part("new", true, false)), TextDiff.diff("", "new", TextDiff.Mode.word));
+    assertEquals(List.of(new TextDiff.Part("old", false, true)), TextDiff.diff("old", null, TextDiff.Mode.word));
+    assertTrue(TextDiff.diff("", "", TextDiff.Mode.line).isEmpty());
+  }
+
+  @Test
+  void testRandomEditsRebuildBothTexts() {
+    var random = new Random(7);
+    var words = new ArrayList<String>();
+    for (var i = 0; i < 200; i++) {
+      words.add("w" + random.nextInt(30));
+    }
+
+    for (var round = 0; round < 50; round++) {
+      var previous = String.join(" ", words);
+      for (var change = 0; change < 10; change++) {
+        var index = random.nextInt(words.size());
+        switch (random.nextInt(3)) {
+          case 0 -> words.remove(index);
+          case 1 -> words.add(index, "added" + round);
+          default -> words.set(index, "changed" + round);
+        }
+      }
+      var current = String.join(" ", words);
+
+      var parts = TextDiff.diff(previous, current, TextDiff.Mode.word);
+
+      assertEquals(previous, join(parts, part -> !part.added()));
+      assertEquals(current, join(parts, part -> !part.removed()));
+      assertFalse(parts.stream().anyMatch(part -> part.added() && part.removed()));
+    }
+  }
+
+  @Test
+  void testLargeDiffFallsBackToReplacingTheMiddle() {
+    var previous = new StringBuilder("start\n");
+    var current = new StringBuilder("start\n");
+    for (var i = 0; i < 1_500; i++) {
+      previous.append("old ").append(i).append('\n');
+      current.append("new ").append(i).append('\n');
+    }
+
+    var parts = TextDiff.diff(previous.toString(), current.toString(), TextDiff.Mode.line);
+
+    assertEquals(3, parts.size());
+    assertEquals(previous.toString(), join(parts, part -> !part.added()));
+    assertEquals(current.toString(), join(parts, part -> !part.removed()));
+  }
+
+  static String join(List<TextDiff.Part> parts, Predicate<TextDiff.Part> filter) {
+    return parts.stream().filter(filter).map(TextDiff.Part::value).collect(Collectors.joining());
+  }
+}
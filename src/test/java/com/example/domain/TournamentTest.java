@@ -0,0 +1,159 @@
+package com.example.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class TournamentTest {
+  static final List<DotGame.Player> players = IntStream.rangeClosed(1, 5)
+      .mapToObj(i -> new DotGame.Player("agent" + i, DotGame.PlayerType.agent, "Agent " + i, i % 2 == 0 ? "model2" : "model1"))
+      .toList();
+
+  @Test
+  void testRoundRobinStartsUpToMaxConcurrentGames() {
+    var command = new Tournament.Command.CreateTournament("t1", Tournament.Format.round_robin, players.subList(0, 3),
+        List.of(DotGame.Board.Level.one, DotGame.Board.Level.two), 0, 2);
+    var state = apply(Tournament.State.empty(), command);
+
+    assertEquals(6, state.games().size());
+    assertEquals(2, state.runningGames().size());
+    assertEquals(2, state.rounds());
+    assertEquals(Optional.of("t1"), Tournament.tournamentIdOf(state.games().get(0).gameId()));
+  }
+
+  @Test
+  void testFinishedGameStartsNextGameAndUpdatesRatings() {
+    var command = new Tournament.Command.CreateTournament("t1", Tournament.Format.round_robin, players.subList(0, 3),
+        List.of(DotGame.Board.Level.one), 0, 1);
+    var state = apply(Tournament.State.empty(), command);
+    var game = state.runningGames().get(0);
+
+    state = finish(state, game, Optional.of(game.player1().id()));
+
+    var next = state.runningGames().get(0);
+    assertNotEquals(game.gameId(), next.gameId());
+    var winner = standing(state, game.player1().id());
+    var loser = standing(state, game.player2().id());
+    assertEquals(1516, winner.rating(), 0.001);
+    assertEquals(1484, loser.rating(), 0.001);
+    assertEquals(1, winner.won());
+    assertEquals(1, loser.lost());
+
+    var progress = state.progress(java.time.Instant.now());
+    assertEquals(1, progress.finishedGames());
+    assertEquals(1, progress.runningGames());
+    assertEquals(1, progress.pendingGames());
+    assertEquals(List.of("model1", "model2"), progress.modelLatencies().stream().map(Tournament.ModelLatencyReport::model).toList());
+  }
+
+  @Test
+  void testDuplicateGameFinishedIsIgnored() {
+    var command = new Tournament.Command.CreateTournament("t1", Tournament.Format.round_robin, players.subList(0, 2),
+        List.of(DotGame.Board.Level.one), 0, 1);
+    var state = apply(Tournament.State.empty(), command);
+    var game = state.runningGames().get(0);
+    var gameFinished = gameFinished(game, Optional.empty());
+
+    var events = state.onCommand(gameFinished);
+    assertInstanceOf(Tournament.Event.TournamentCompleted.class, events.get(events.size() - 1));
+
+    state = apply(state, events);
+    assertEquals(Tournament.Status.completed, state.status());
+    assertTrue(state.onCommand(gameFinished).isEmpty());
+    assertEquals(0.5, standing(state, game.player1().id()).points());
+  }
+
+  @Test
+  void testSwissPairsWithoutRematchesAndGivesOneBye() {
+    var command = new Tournament.Command.CreateTournament("t1", Tournament.Format.swiss, players,
+        List.of(DotGame.Board.Level.one), 3, 10);
+    var state = apply(Tournament.State.empty(), command);
+
+    assertEquals(3, state.rounds());
+    assertEquals(2, state.runningGames().size());
+    assertEquals(1, state.standings().stream().mapToInt(Tournament.Standing::byes).sum());
+
+    for (var round = 1; round <= 3; round++) {
+      assertEquals(round, state.currentRound());
+      for (var game : state.runningGames()) {
+        state = finish(state, game, Optional.of(game.player1().id()));
+      }
+    }
+
+    assertEquals(Tournament.Status.completed, state.status());
+    assertEquals(6, state.games().size());
+    assertEquals(3, state.standings().stream().mapToInt(Tournament.Standing::byes).sum());
+    var pairs = state.games().stream()
+        .map(game -> List.of(game.player1().id(), game.player2().id()).stream().sorted().toList())
+        .distinct()
+        .count();
+    assertEquals(6, pairs);
+  }
+
+  @Test
+  void testCancelTournamentCancelsOpenGames() {
+    var command = new Tournament.Command.CreateTournament("t1", Tournament.Format.round_robin, players.subList(0, 3),
+        List.of(DotGame.Board.Level.one), 0, 1);
+    var state = apply(Tournament.State.empty(), command);
+
+    var canceled = (Tournament.Event.TournamentCanceled) state.onCommand(new Tournament.Command.CancelTournament("t1", "test")).get();
+    assertEquals(3, canceled.canceledGames().size());
+
+    state = state.onEvent(canceled);
+    assertEquals(Tournament.Status.canceled, state.status());
+    assertTrue(state.runningGames().isEmpty());
+  }
+
+  @Test
+  void testStandingsStartFromRecordedRatings() {
+    var command = new Tournament.Command.CreateTournament("t1", Tournament.Format.round_robin, players.subList(0, 2),
+        List.of(DotGame.Board.Level.one), 0, 1, Map.of("agent1", 1620.0));
+    var state = apply(Tournament.State.empty(), command);
+
+    var ratings = state.standings().stream().collect(Collectors.toMap(s -> s.player().id(), Tournament.Standing::rating));
+    assertEquals(Map.of("agent1", 1620.0, "agent2", 1500.0), ratings);
+    assertEquals(Optional.empty(), Tournament.tournamentIdOf("game-123"));
+  }
+
+  static Tournament.State finish(Tournament.State state, Tournament.Game game, Optional<String> winnerId) {
+    return apply(state, state.onCommand(gameFinished(game, winnerId)));
+  }
+
+  static Tournament.Command.GameFinished gameFinished(Tournament.Game game, Optional<String> winnerId) {
+    var status = winnerId.isPresent() ? DotGame.Status.won_by_player : DotGame.Status.draw;
+    return new Tournament.Command.GameFinished("t1", game.gameId(), status, winnerId, 3, 1, List.of(
+        new Tournament.PlayerMoves(game.player1().id(), 5, 5000, 2000),
+        new Tournament.PlayerMoves(game.player2().id(), 4, 2000, 1000)));
+  }
+
+  static Tournament.Standing standing(Tournament.State state, String playerId) {
+    return state.standings().stream().filter(s -> s.player().id().equals(playerId)).findFirst().get();
+  }
+
+  static Tournament.State apply(Tournament.State state, Tournament.Command.CreateTournament command) {
+    return apply(state, state.onCommand(command));
+  }
+
+  static Tournament.State apply(Tournament.State state, List<Tournament.Event> events) {
+    for (var event : events) {
+      state = switch (event) {
+        case Tournament.Event.TournamentCreated e -> state.onEvent(e);
+        case Tournament.Event.RoundPaired e -> state.onEvent(e);
+        case Tournament.Event.GamesStarted e -> state.onEvent(e);
+        case Tournament.Event.GameCompleted e -> state.onEvent(e);
+        case Tournament.Event.TournamentCompleted e -> state.onEvent(e);
+        case Tournament.Event.TournamentCanceled e -> state.onEvent(e);
+      };
+    }
+    return state;
+  }
+}
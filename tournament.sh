@@ -0,0 +1,55 @@
+#!/bin/bash
+
+# Tournament script: runs an agent vs agent tournament and reports progress until it ends
+# Usage: ./tournament.sh <tournamentId> <format> <maxConcurrentGames> <levels> <agentId:model>...
+# Example: ./tournament.sh eval-1 round_robin 8 one,two agent-a:gpt-4o agent-b:stub agent-c:stub
+#
+# format is round_robin or swiss. Swiss tournaments play ROUNDS rounds (default: enough rounds
+# to separate the players). Results are added to each player's games and the leader board, and
+# the tournament standings carry an Elo rating per player. Requires curl and jq.
+
+if [ $# -lt 6 ]; then
+    echo "Usage: $0 <tournamentId> <format> <maxConcurrentGames> <levels> <agentId:model>..."
+    echo "Example: $0 eval-1 round_robin 8 one,two agent-a:gpt-4o agent-b:stub agent-c:stub"
+    exit 1
+fi
+
+TOURNAMENT_ID="$1"
+FORMAT="$2"
+MAX_CONCURRENT_GAMES="$3"
+LEVELS="$4"
+shift 4
+ROUNDS="${ROUNDS:-0}"
+POLL_SECONDS="${POLL_SECONDS:-30}"
+HOST="${AKKA_RUNTIME_HTTP_INTERFACE:-localhost:9000}"
+BASE_URL="http://$HOST"
+
+PLAYERS=""
+for PLAYER in "$@"; do
+  AGENT_ID="${PLAYER%%:*}"
+  MODEL="${PLAYER#*:}"
+  PLAYERS="$PLAYERS${PLAYERS:+,}{\"id\":\"$AGENT_ID\",\"type\":\"agent\",\"name\":\"$AGENT_ID\",\"model\":\"$MODEL\"}"
+done
+LEVELS_JSON="\"${LEVELS//,/\",\"}\""
+
+curl -s -X POST -H "Content-Type: application/json" \
+  -d "{\"tournamentId\":\"$TOURNAMENT_ID\",\"format\":\"$FORMAT\",\"players\":[$PLAYERS],
+       \"levels\":[$LEVELS_JSON],\"rounds\":$ROUNDS,\"maxConcurrentGames\":$MAX_CONCURRENT_GAMES}" \
+  "$BASE_URL/tournament/create-tournament" > /dev/null
+
+while true; do
+  PROGRESS=$(curl -s "$BASE_URL/tournament/get-progress/$TOURNAMENT_ID")
+  echo "$PROGRESS" | jq -r '"\(.status) round \(.currentRound)/\(.rounds), games: \(.finishedGames)/\(.expectedGames) finished, \(.runningGames) running, \(.canceledGames) canceled, \(.gamesPerHour | floor) games/hour"'
+
+  STATUS=$(echo "$PROGRESS" | jq -r '.status')
+  if [ "$STATUS" != "in_progress" ]; then
+    break
+  fi
+  sleep "$POLL_SECONDS"
+done
+
+echo ""
+echo "Standings:"
+echo "$PROGRESS" | jq -r '.standings[] | "  \(.player.id) (\(.player.model)): \(.points) points, \(.won)-\(.lost)-\(.drawn), rating \(.rating | round)"'
+echo "Model latency:"
+echo "$PROGRESS" | jq -r '.modelLatencies[] | "  \(.model): \(.moves) moves, avg \(.averageThinkMs) ms, max \(.maxThinkMs) ms"'